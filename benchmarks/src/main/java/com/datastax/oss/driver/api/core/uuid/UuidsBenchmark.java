@@ -0,0 +1,64 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.api.core.uuid;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the generation of time-based UUIDs by 8 concurrent threads: with the global sequence of
+ * {@link Uuids#timeBased()}, one UUID or a batch of 100 at a time, and with {@link
+ * Uuids#stripedTimeBased()}.
+ *
+ * <p>Note that the global sequence is capped at 10,000 UUIDs per millisecond, so a fast enough
+ * machine measures that cap rather than the cost of the generation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class UuidsBenchmark {
+
+  private static final int BATCH_SIZE = 100;
+
+  @Benchmark
+  public UUID timeBased() {
+    return Uuids.timeBased();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public List<UUID> timeBasedBatch() {
+    return Uuids.timeBased(BATCH_SIZE);
+  }
+
+  @Benchmark
+  public UUID stripedTimeBased() {
+    return Uuids.stripedTimeBased();
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core;
+
+import com.datastax.oss.driver.api.core.DefaultProtocolVersion;
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.DriverConfigLoader;
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.session.ProgrammaticArguments;
+import com.datastax.oss.driver.internal.core.context.DefaultDriverContext;
+import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
+
+/**
+ * Creates driver contexts for benchmarks.
+ *
+ * <p>The contexts are real, so that the components they build lazily (codec registry, policies,
+ * timer, etc.) are the same as in production; they are simply never used to open connections.
+ */
+public class BenchmarkContexts {
+
+  public static final String LOCAL_DC = "dc1";
+
+  public static InternalDriverContext newContext() {
+    DriverConfigLoader configLoader =
+        DriverConfigLoader.programmaticBuilder()
+            .withString(DefaultDriverOption.PROTOCOL_VERSION, DefaultProtocolVersion.V4.name())
+            .build();
+    return new DefaultDriverContext(
+        configLoader,
+        ProgrammaticArguments.builder()
+            .withLocalDatacenter(DriverExecutionProfile.DEFAULT_NAME, LOCAL_DC)
+            .build());
+  }
+
+  /** Releases the resources (event loops, timer) that might have been created by the context. */
+  public static void close(InternalDriverContext context) {
+    context.getNettyOptions().onClose().awaitUninterruptibly();
+  }
+}
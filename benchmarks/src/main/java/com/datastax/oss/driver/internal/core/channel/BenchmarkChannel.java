@@ -0,0 +1,176 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.channel;
+
+import com.datastax.oss.driver.api.core.ProtocolVersion;
+import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
+import com.datastax.oss.driver.internal.core.metadata.DefaultEndPoint;
+import com.datastax.oss.driver.internal.core.protocol.ByteBufPrimitiveCodec;
+import com.datastax.oss.driver.internal.core.protocol.FrameDecoder;
+import com.datastax.oss.driver.internal.core.protocol.FrameEncoder;
+import com.datastax.oss.protocol.internal.Compressor;
+import com.datastax.oss.protocol.internal.Frame;
+import com.datastax.oss.protocol.internal.FrameCodec;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.net.InetSocketAddress;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import net.jcip.annotations.NotThreadSafe;
+
+/**
+ * A {@link DriverChannel} backed by a Netty {@link EmbeddedChannel}, to exercise the channel layer
+ * in benchmarks without any network I/O.
+ *
+ * <p>Like the embedded channel itself, this is not thread-safe: all operations must be performed
+ * from the benchmark thread.
+ */
+@NotThreadSafe
+public class BenchmarkChannel {
+
+  private static final int MAX_FRAME_LENGTH = 256 * 1024 * 1024;
+
+  /**
+   * Creates a channel that never writes anything: it is only meant to exercise stream id
+   * accounting, for example to benchmark channel selection in a pool.
+   */
+  public static BenchmarkChannel idle(int maxRequests, ProtocolVersion protocolVersion) {
+    EmbeddedChannel channel = new EmbeddedChannel();
+    StreamIdGenerator streamIds = new StreamIdGenerator(maxRequests);
+    channel
+        .pipeline()
+        .addLast("inflight", newInFlightHandler(channel, streamIds, maxRequests, protocolVersion));
+    return new BenchmarkChannel(channel, streamIds, null, protocolVersion);
+  }
+
+  /**
+   * Creates a channel that encodes every request into bytes, and answers it with the given
+   * response. The response bytes go through the regular decoding pipeline.
+   *
+   * <p>Responses are not delivered immediately, the caller must invoke {@link #deliverResponses()}
+   * after writing, like an event loop would do when the socket becomes readable.
+   */
+  public static BenchmarkChannel answering(
+      InternalDriverContext context, int maxRequests, Frame response) {
+    ProtocolVersion protocolVersion = context.getProtocolVersion();
+    EmbeddedChannel channel = new EmbeddedChannel();
+    StreamIdGenerator streamIds = new StreamIdGenerator(maxRequests);
+    FrameCodec<ByteBuf> serverCodec =
+        FrameCodec.defaultServer(
+            new ByteBufPrimitiveCodec(ByteBufAllocator.DEFAULT), Compressor.none());
+    Responder responder = new Responder(serverCodec.encode(response));
+    channel
+        .pipeline()
+        .addLast("responder", responder)
+        .addLast("encoder", new FrameEncoder(context.getFrameCodec(), MAX_FRAME_LENGTH))
+        .addLast("decoder", new FrameDecoder(context.getFrameCodec(), MAX_FRAME_LENGTH))
+        .addLast("inflight", newInFlightHandler(channel, streamIds, maxRequests, protocolVersion));
+    return new BenchmarkChannel(channel, streamIds, responder, protocolVersion);
+  }
+
+  private static InFlightHandler newInFlightHandler(
+      EmbeddedChannel channel,
+      StreamIdGenerator streamIds,
+      int maxRequests,
+      ProtocolVersion protocolVersion) {
+    return new InFlightHandler(
+        protocolVersion,
+        streamIds,
+        maxRequests / 4,
+        Long.MAX_VALUE,
+        channel.newPromise(),
+        null,
+        "benchmark");
+  }
+
+  private final EmbeddedChannel channel;
+  private final StreamIdGenerator streamIds;
+  private final Responder responder;
+  private final DriverChannel driverChannel;
+
+  private BenchmarkChannel(
+      EmbeddedChannel channel,
+      StreamIdGenerator streamIds,
+      Responder responder,
+      ProtocolVersion protocolVersion) {
+    this.channel = channel;
+    this.streamIds = streamIds;
+    this.responder = responder;
+    this.driverChannel =
+        new DriverChannel(
+            new DefaultEndPoint(new InetSocketAddress("127.0.0.1", 9042)),
+            channel,
+            new PassThroughWriteCoalescer(null),
+            protocolVersion);
+  }
+
+  public DriverChannel getDriverChannel() {
+    return driverChannel;
+  }
+
+  /** Gives back a stream id obtained with {@link DriverChannel#preAcquireId()}. */
+  public void cancelPreAcquire() {
+    streamIds.cancelPreAcquire();
+  }
+
+  /** Feeds the responses to all the requests written so far back into the channel. */
+  public void deliverResponses() {
+    ByteBuf response;
+    while ((response = responder.pending.poll()) != null) {
+      channel.writeInbound(response);
+    }
+  }
+
+  public void close() {
+    channel.finishAndReleaseAll();
+  }
+
+  /** Intercepts encoded requests, and prepares a copy of the response with a matching stream id. */
+  private static class Responder extends ChannelOutboundHandlerAdapter {
+
+    private final ByteBuf responseTemplate;
+    private final Queue<ByteBuf> pending = new ArrayDeque<>();
+
+    private Responder(ByteBuf responseTemplate) {
+      this.responseTemplate = responseTemplate;
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+      ByteBuf request = (ByteBuf) msg;
+      // The stream id is at the same position in the header for all protocol versions >= 3
+      short streamId = request.getShort(request.readerIndex() + 2);
+      request.release();
+      ByteBuf response = responseTemplate.copy();
+      response.setShort(2, streamId);
+      pending.offer(response);
+      promise.setSuccess();
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+      responseTemplate.release();
+      for (ByteBuf response : pending) {
+        response.release();
+      }
+      pending.clear();
+    }
+  }
+}
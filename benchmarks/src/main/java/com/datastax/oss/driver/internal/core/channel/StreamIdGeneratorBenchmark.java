@@ -0,0 +1,73 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.channel;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the allocation of a stream id (pre-acquire, acquire and release) on a connection that
+ * already has a given percentage of its ids in use.
+ *
+ * <p>The ids in use are the lowest ones, which is what happens in practice since the generator
+ * always hands out the lowest available id.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+public class StreamIdGeneratorBenchmark {
+
+  @Param({"1024", "32768"})
+  public int maxRequests;
+
+  @Param({"0", "50", "99"})
+  public int percentInUse;
+
+  private StreamIdGenerator generator;
+
+  @Setup
+  public void setup() {
+    generator = new StreamIdGenerator(maxRequests);
+    int inUse = maxRequests * percentInUse / 100;
+    for (int i = 0; i < inUse; i++) {
+      generator.preAcquire();
+      generator.acquire();
+    }
+  }
+
+  @Benchmark
+  public int acquireAndRelease() {
+    generator.preAcquire();
+    int id = generator.acquire();
+    generator.release(id);
+    return id;
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.cql;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.DefaultProtocolVersion;
+import com.datastax.oss.driver.api.core.ProtocolVersion;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinition;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.detach.AttachmentPoint;
+import com.datastax.oss.driver.api.core.type.codec.TypeCodecs;
+import com.datastax.oss.driver.api.core.type.codec.registry.CodecRegistry;
+import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
+import com.datastax.oss.protocol.internal.Frame;
+import com.datastax.oss.protocol.internal.ProtocolConstants;
+import com.datastax.oss.protocol.internal.response.result.ColumnSpec;
+import com.datastax.oss.protocol.internal.response.result.DefaultRows;
+import com.datastax.oss.protocol.internal.response.result.RawType;
+import com.datastax.oss.protocol.internal.response.result.RowsMetadata;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+
+/**
+ * The data shared by the CQL benchmarks: a table with one column of each of the most common types.
+ *
+ * <pre>
+ * CREATE TABLE ks.bench(id uuid PRIMARY KEY, name text, count int, total bigint, score double,
+ *                       created timestamp)
+ * </pre>
+ */
+public class BenchmarkFixtures {
+
+  public static final String KEYSPACE = "ks";
+  public static final String TABLE = "bench";
+  public static final String SELECT_QUERY = "SELECT * FROM ks.bench WHERE id = ?";
+  public static final String INSERT_QUERY =
+      "INSERT INTO ks.bench (id, name, count, total, score, created) VALUES (?, ?, ?, ?, ?, ?)";
+
+  private static final ProtocolVersion PROTOCOL_VERSION = DefaultProtocolVersion.V4;
+
+  private static final String[] COLUMN_NAMES = {"id", "name", "count", "total", "score", "created"};
+  private static final int[] COLUMN_TYPES = {
+    ProtocolConstants.DataType.UUID,
+    ProtocolConstants.DataType.VARCHAR,
+    ProtocolConstants.DataType.INT,
+    ProtocolConstants.DataType.BIGINT,
+    ProtocolConstants.DataType.DOUBLE,
+    ProtocolConstants.DataType.TIMESTAMP
+  };
+
+  public static final UUID ID = UUID.fromString("2b5a7cf0-67c3-11ea-bc55-0242ac130003");
+
+  public static List<ColumnSpec> columnSpecs() {
+    List<ColumnSpec> specs = new ArrayList<>(COLUMN_NAMES.length);
+    for (int i = 0; i < COLUMN_NAMES.length; i++) {
+      specs.add(
+          new ColumnSpec(
+              KEYSPACE, TABLE, COLUMN_NAMES[i], i, RawType.PRIMITIVES.get(COLUMN_TYPES[i])));
+    }
+    return specs;
+  }
+
+  public static ColumnDefinitions columnDefinitions() {
+    List<ColumnDefinition> definitions = new ArrayList<>(COLUMN_NAMES.length);
+    for (ColumnSpec spec : columnSpecs()) {
+      definitions.add(new DefaultColumnDefinition(spec, AttachmentPoint.NONE));
+    }
+    return DefaultColumnDefinitions.valueOf(definitions);
+  }
+
+  /** The encoded values of a row, in the order of the columns. */
+  public static List<ByteBuffer> rowValues(int i) {
+    return ImmutableList.of(
+        TypeCodecs.UUID.encode(ID, PROTOCOL_VERSION),
+        TypeCodecs.TEXT.encode("name" + i, PROTOCOL_VERSION),
+        TypeCodecs.INT.encode(i, PROTOCOL_VERSION),
+        TypeCodecs.BIGINT.encode((long) i * 1000, PROTOCOL_VERSION),
+        TypeCodecs.DOUBLE.encode(i / 3.0, PROTOCOL_VERSION),
+        TypeCodecs.TIMESTAMP.encode(Instant.ofEpochMilli(1584000000000L + i), PROTOCOL_VERSION));
+  }
+
+  /** A single page of rows response, such as the server would return for a SELECT. */
+  public static Frame rowsResponse(int rowCount) {
+    Queue<List<ByteBuffer>> data = new ArrayDeque<>(rowCount);
+    for (int i = 0; i < rowCount; i++) {
+      data.add(rowValues(i));
+    }
+    RowsMetadata metadata = new RowsMetadata(columnSpecs(), null, new int[] {0}, null);
+    return Frame.forResponse(
+        PROTOCOL_VERSION.getCode(),
+        0,
+        null,
+        Frame.NO_PAYLOAD,
+        Collections.emptyList(),
+        new DefaultRows(metadata, data));
+  }
+
+  /** A prepared statement for {@link #INSERT_QUERY}, as if it had been returned by the server. */
+  public static PreparedStatement insertStatement(InternalDriverContext context) {
+    return preparedStatement(
+        INSERT_QUERY, columnDefinitions(), EmptyColumnDefinitions.INSTANCE, context);
+  }
+
+  /** A prepared statement for {@link #SELECT_QUERY}, as if it had been returned by the server. */
+  public static PreparedStatement selectStatement(InternalDriverContext context) {
+    ColumnDefinitions allColumns = columnDefinitions();
+    ColumnDefinitions variables =
+        DefaultColumnDefinitions.valueOf(ImmutableList.of(allColumns.get(0)));
+    return preparedStatement(SELECT_QUERY, variables, allColumns, context);
+  }
+
+  private static PreparedStatement preparedStatement(
+      String query,
+      ColumnDefinitions variables,
+      ColumnDefinitions resultColumns,
+      InternalDriverContext context) {
+    CodecRegistry codecRegistry = context.getCodecRegistry();
+    return new DefaultPreparedStatement(
+        ByteBuffer.wrap(new byte[] {1, 2, 3, 4}),
+        query,
+        variables,
+        ImmutableList.of(0),
+        null,
+        resultColumns,
+        CqlIdentifier.fromInternal(KEYSPACE),
+        Collections.emptyMap(),
+        null,
+        null,
+        null,
+        null,
+        null,
+        Collections.emptyMap(),
+        null,
+        null,
+        null,
+        -1,
+        null,
+        null,
+        false,
+        codecRegistry,
+        PROTOCOL_VERSION);
+  }
+}
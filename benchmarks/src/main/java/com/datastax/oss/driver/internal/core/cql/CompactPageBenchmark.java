@@ -0,0 +1,97 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.cql;
+
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
+import com.datastax.oss.driver.api.core.cql.Row;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the cost of {@link CompactPage}: copying a page into it, and reading all the rows back
+ * through {@link DefaultRow}, compared to reading the rows as they were decoded by the protocol
+ * layer.
+ *
+ * <p>The read benchmarks drain a fresh queue each time, like a result set does. {@code readCompact}
+ * also includes the compaction: subtract {@code copy} to get the cost of reading alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompactPageBenchmark {
+
+  @Param({"100", "5000"})
+  public int rowCount;
+
+  private ColumnDefinitions definitions;
+  private List<List<ByteBuffer>> rows;
+
+  @Setup
+  public void setup() {
+    definitions = BenchmarkFixtures.columnDefinitions();
+    rows = new ArrayList<>(rowCount);
+    for (int i = 0; i < rowCount; i++) {
+      rows.add(BenchmarkFixtures.rowValues(i));
+    }
+  }
+
+  @Benchmark
+  public CompactPage copy() {
+    return CompactPage.copyOf(new ArrayDeque<>(rows), definitions.size());
+  }
+
+  @Benchmark
+  public void readDecoded(Blackhole bh) {
+    read(new ArrayDeque<>(rows), bh);
+  }
+
+  @Benchmark
+  public void readCompact(Blackhole bh) {
+    read(CompactPage.copyOf(new ArrayDeque<>(rows), definitions.size()), bh);
+  }
+
+  private void read(Queue<List<ByteBuffer>> page, Blackhole bh) {
+    List<ByteBuffer> data;
+    while ((data = page.poll()) != null) {
+      Row row = new DefaultRow(definitions, data);
+      bh.consume(row.getUuid(0));
+      bh.consume(row.getString(1));
+      bh.consume(row.getInt(2));
+      bh.consume(row.getLong(3));
+      bh.consume(row.getDouble(4));
+      bh.consume(row.getInstant(5));
+    }
+  }
+}
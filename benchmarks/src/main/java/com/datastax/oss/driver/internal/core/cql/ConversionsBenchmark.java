@@ -0,0 +1,99 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.cql;
+
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.internal.core.BenchmarkContexts;
+import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
+import com.datastax.oss.protocol.internal.Message;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures the conversion of statements into protocol messages, before they are encoded. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversionsBenchmark {
+
+  private InternalDriverContext context;
+  private DriverExecutionProfile profile;
+
+  private SimpleStatement simpleStatement;
+  private SimpleStatement simpleStatementWithValues;
+  private BoundStatement boundStatement;
+
+  @Setup
+  public void setup() {
+    context = BenchmarkContexts.newContext();
+    profile = context.getConfig().getDefaultProfile();
+
+    simpleStatement =
+        SimpleStatement.newInstance(
+            "SELECT * FROM ks.bench WHERE id = " + BenchmarkFixtures.ID.toString());
+    simpleStatementWithValues =
+        SimpleStatement.newInstance(
+            BenchmarkFixtures.INSERT_QUERY,
+            BenchmarkFixtures.ID,
+            "name",
+            1,
+            1000L,
+            0.5,
+            Instant.ofEpochMilli(1584000000000L));
+    PreparedStatement prepared = BenchmarkFixtures.insertStatement(context);
+    boundStatement =
+        prepared.bind(
+            BenchmarkFixtures.ID, "name", 1, 1000L, 0.5, Instant.ofEpochMilli(1584000000000L));
+  }
+
+  @TearDown
+  public void teardown() {
+    BenchmarkContexts.close(context);
+  }
+
+  @Benchmark
+  public Message simpleStatement() {
+    return Conversions.toMessage(simpleStatement, profile, context);
+  }
+
+  /** Includes the encoding of the values, since it happens during the conversion. */
+  @Benchmark
+  public Message simpleStatementWithValues() {
+    return Conversions.toMessage(simpleStatementWithValues, profile, context);
+  }
+
+  /** The values were already encoded when the statement was bound. */
+  @Benchmark
+  public Message boundStatement() {
+    return Conversions.toMessage(boundStatement, profile, context);
+  }
+}
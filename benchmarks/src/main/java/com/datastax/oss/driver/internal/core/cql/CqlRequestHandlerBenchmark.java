@@ -0,0 +1,124 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.cql;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.internal.core.BenchmarkContexts;
+import com.datastax.oss.driver.internal.core.channel.BenchmarkChannel;
+import com.datastax.oss.driver.internal.core.channel.DriverChannel;
+import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
+import com.datastax.oss.driver.internal.core.metadata.BenchmarkNodes;
+import com.datastax.oss.driver.internal.core.metrics.NoopSessionMetricUpdater;
+import com.datastax.oss.driver.internal.core.session.DefaultSession;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a complete request execution: statement conversion, throttling, stream id assignment,
+ * frame encoding, response decoding, and result set construction.
+ *
+ * <p>The channel is an in-process {@link BenchmarkChannel} that answers every request with a
+ * pre-encoded rows response. The session is a stub that always returns that channel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1) // the embedded channel is not thread-safe
+public class CqlRequestHandlerBenchmark {
+
+  @Param({"1", "100"})
+  public int rowCount;
+
+  private InternalDriverContext context;
+  private BenchmarkChannel channel;
+  private DefaultSession session;
+
+  private SimpleStatement simpleStatement;
+  private BoundStatement boundStatement;
+
+  @Setup
+  public void setup() {
+    context = BenchmarkContexts.newContext();
+    channel = BenchmarkChannel.answering(context, 1024, BenchmarkFixtures.rowsResponse(rowCount));
+    Node node = BenchmarkNodes.newNode(1, BenchmarkContexts.LOCAL_DC, context);
+
+    DriverChannel driverChannel = channel.getDriverChannel();
+    session = mock(DefaultSession.class);
+    when(session.getKeyspace()).thenReturn(Optional.empty());
+    when(session.getMetricUpdater()).thenReturn(NoopSessionMetricUpdater.INSTANCE);
+    // Same contract as ChannelPool.next()
+    when(session.getChannel(any(Node.class), anyString()))
+        .thenAnswer(invocation -> driverChannel.preAcquireId() ? driverChannel : null);
+
+    // Bypass the load balancing policy, it has its own benchmark
+    simpleStatement =
+        SimpleStatement.newInstance(BenchmarkFixtures.SELECT_QUERY, BenchmarkFixtures.ID)
+            .setNode(node);
+    boundStatement =
+        BenchmarkFixtures.selectStatement(context).bind(BenchmarkFixtures.ID).setNode(node);
+
+    // Sanity check
+    AsyncResultSet resultSet = executeSimpleStatement();
+    if (resultSet == null || resultSet.remaining() != rowCount) {
+      throw new IllegalStateException("Unexpected result, check the benchmark setup");
+    }
+  }
+
+  @TearDown
+  public void teardown() {
+    channel.close();
+    BenchmarkContexts.close(context);
+  }
+
+  @Benchmark
+  public AsyncResultSet executeSimpleStatement() {
+    return execute(new CqlRequestHandler(simpleStatement, session, context, "benchmark"));
+  }
+
+  @Benchmark
+  public AsyncResultSet executeBoundStatement() {
+    return execute(new CqlRequestHandler(boundStatement, session, context, "benchmark"));
+  }
+
+  private AsyncResultSet execute(CqlRequestHandler handler) {
+    channel.deliverResponses();
+    return handler.handle().toCompletableFuture().getNow(null);
+  }
+}
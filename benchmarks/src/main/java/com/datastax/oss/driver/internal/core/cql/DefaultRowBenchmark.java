@@ -0,0 +1,88 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.cql;
+
+import com.datastax.oss.driver.api.core.cql.Row;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Measures the typed getters of {@link DefaultRow}, by index and by name. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DefaultRowBenchmark {
+
+  private Row row;
+
+  @Setup
+  public void setup() {
+    row = new DefaultRow(BenchmarkFixtures.columnDefinitions(), BenchmarkFixtures.rowValues(42));
+  }
+
+  @Benchmark
+  public int getIntByIndex() {
+    return row.getInt(2);
+  }
+
+  @Benchmark
+  public int getIntByName() {
+    return row.getInt("count");
+  }
+
+  @Benchmark
+  public String getStringByIndex() {
+    return row.getString(1);
+  }
+
+  @Benchmark
+  public String getStringByName() {
+    return row.getString("name");
+  }
+
+  /** Reads every column with its natural getter, like a typical mapping function would. */
+  @Benchmark
+  public void getAllByIndex(Blackhole bh) {
+    bh.consume(row.getUuid(0));
+    bh.consume(row.getString(1));
+    bh.consume(row.getInt(2));
+    bh.consume(row.getLong(3));
+    bh.consume(row.getDouble(4));
+    bh.consume(row.getInstant(5));
+  }
+
+  @Benchmark
+  public void getAllByName(Blackhole bh) {
+    bh.consume(row.getUuid("id"));
+    bh.consume(row.getString("name"));
+    bh.consume(row.getInt("count"));
+    bh.consume(row.getLong("total"));
+    bh.consume(row.getDouble("score"));
+    bh.consume(row.getInstant("created"));
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.loadbalancing;
+
+import static org.mockito.Mockito.mock;
+
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.session.Request;
+import com.datastax.oss.driver.api.core.session.Session;
+import com.datastax.oss.driver.internal.core.BenchmarkContexts;
+import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
+import com.datastax.oss.driver.internal.core.metadata.BenchmarkNodes;
+import com.datastax.oss.driver.internal.core.session.DefaultSession;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableSet;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the computation of query plans by {@link DefaultLoadBalancingPolicy}.
+ *
+ * <p>The replicas are provided directly (instead of going through the token map), in order to
+ * isolate the cost of ordering the plan itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DefaultLoadBalancingPolicyBenchmark {
+
+  private static final int REPLICATION_FACTOR = 3;
+
+  @Param({"3", "30", "300"})
+  public int nodeCount;
+
+  private InternalDriverContext context;
+  private DefaultLoadBalancingPolicy policy;
+  private Request request;
+  private Session session;
+
+  @Setup
+  public void setup() {
+    context = BenchmarkContexts.newContext();
+
+    Map<UUID, Node> nodes = new LinkedHashMap<>();
+    ImmutableSet.Builder<Node> replicas = ImmutableSet.builder();
+    for (int i = 0; i < nodeCount; i++) {
+      Node node = BenchmarkNodes.newNode(i, BenchmarkContexts.LOCAL_DC, context);
+      nodes.put(UUID.randomUUID(), node);
+      if (i < REPLICATION_FACTOR) {
+        replicas.add(node);
+      }
+    }
+
+    policy = new FixedReplicasPolicy(context, replicas.build());
+    policy.init(nodes, (node, distance) -> {});
+    request = SimpleStatement.newInstance("SELECT * FROM ks.bench WHERE id = 1");
+    session = mock(DefaultSession.class);
+  }
+
+  @TearDown
+  public void teardown() {
+    policy.close();
+    BenchmarkContexts.close(context);
+  }
+
+  @Benchmark
+  public Queue<Node> newQueryPlan() {
+    return policy.newQueryPlan(request, session);
+  }
+
+  /** Consumes the whole plan, as a request that fails on every node would. */
+  @Benchmark
+  public int newQueryPlanFullyConsumed() {
+    Queue<Node> plan = policy.newQueryPlan(request, session);
+    int count = 0;
+    while (plan.poll() != null) {
+      count += 1;
+    }
+    return count;
+  }
+
+  private static class FixedReplicasPolicy extends DefaultLoadBalancingPolicy {
+
+    private final Set<Node> replicas;
+
+    private FixedReplicasPolicy(InternalDriverContext context, Set<Node> replicas) {
+      super(context, DriverExecutionProfile.DEFAULT_NAME);
+      this.replicas = replicas;
+    }
+
+    // The metadata manager is not initialized, skip the contact point checks
+    @NonNull
+    @Override
+    protected Optional<String> discoverLocalDc(@NonNull Map<UUID, Node> nodes) {
+      return Optional.of(BenchmarkContexts.LOCAL_DC);
+    }
+
+    @NonNull
+    @Override
+    protected Set<Node> getReplicas(@Nullable Request request, @Nullable Session session) {
+      return replicas;
+    }
+
+    @Override
+    protected int getInFlight(@NonNull Node node, @NonNull Session session) {
+      return 0;
+    }
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.metadata;
+
+import com.datastax.oss.driver.api.core.metadata.NodeState;
+import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
+import java.net.InetSocketAddress;
+import java.util.Set;
+
+/** Creates nodes for benchmarks, with the fields that are normally filled by node refreshes. */
+public class BenchmarkNodes {
+
+  /** @param index used to generate a distinct address for each node. */
+  public static DefaultNode newNode(int index, String datacenter, InternalDriverContext context) {
+    InetSocketAddress address =
+        new InetSocketAddress(
+            String.format("127.%d.%d.%d", (index >> 16) & 0xFF, (index >> 8) & 0xFF, index & 0xFF),
+            9042);
+    DefaultNode node = new DefaultNode(new DefaultEndPoint(address), context);
+    node.datacenter = datacenter;
+    node.state = NodeState.UP;
+    return node;
+  }
+
+  /** Same as {@link #newNode(int, String, InternalDriverContext)}, with the given tokens. */
+  public static DefaultNode newNode(
+      int index, String datacenter, Set<String> tokens, InternalDriverContext context) {
+    DefaultNode node = newNode(index, datacenter, context);
+    node.rawTokens = tokens;
+    return node;
+  }
+}
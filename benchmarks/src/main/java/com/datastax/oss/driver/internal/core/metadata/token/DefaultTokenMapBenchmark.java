@@ -0,0 +1,137 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.metadata.token;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.metadata.schema.KeyspaceMetadata;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
+import com.datastax.oss.driver.internal.core.BenchmarkContexts;
+import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
+import com.datastax.oss.driver.internal.core.metadata.BenchmarkNodes;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the lookup of the replicas of a partition key (or of a token) in {@link
+ * DefaultTokenMap}, with the Murmur3 partitioner and 256 virtual nodes per node.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DefaultTokenMapBenchmark {
+
+  private static final int VNODES = 256;
+  private static final int KEY_COUNT = 1024;
+  private static final CqlIdentifier KEYSPACE = CqlIdentifier.fromInternal("ks");
+
+  @Param({"3", "300"})
+  public int nodeCount;
+
+  private InternalDriverContext context;
+  private DefaultTokenMap tokenMap;
+  private ByteBuffer[] keys;
+  private Token[] tokens;
+  private int next;
+
+  @Setup
+  public void setup() {
+    context = BenchmarkContexts.newContext();
+    Random random = new Random(42);
+
+    List<Node> nodes = new ArrayList<>();
+    for (int i = 0; i < nodeCount; i++) {
+      Set<String> nodeTokens = new HashSet<>();
+      for (int j = 0; j < VNODES; j++) {
+        nodeTokens.add(Long.toString(random.nextLong()));
+      }
+      nodes.add(BenchmarkNodes.newNode(i, BenchmarkContexts.LOCAL_DC, nodeTokens, context));
+    }
+    KeyspaceMetadata keyspace = mock(KeyspaceMetadata.class);
+    when(keyspace.getName()).thenReturn(KEYSPACE);
+    when(keyspace.getReplication())
+        .thenReturn(
+            ImmutableMap.of(
+                "class",
+                "org.apache.cassandra.locator.NetworkTopologyStrategy",
+                BenchmarkContexts.LOCAL_DC,
+                "3"));
+
+    TokenFactory tokenFactory = new Murmur3TokenFactory();
+    tokenMap =
+        DefaultTokenMap.build(
+            nodes,
+            ImmutableList.of(keyspace),
+            tokenFactory,
+            new DefaultReplicationStrategyFactory(context),
+            "bench");
+
+    keys = new ByteBuffer[KEY_COUNT];
+    tokens = new Token[KEY_COUNT];
+    for (int i = 0; i < KEY_COUNT; i++) {
+      ByteBuffer key = ByteBuffer.allocate(8);
+      key.putLong(0, random.nextLong());
+      keys[i] = key;
+      tokens[i] = tokenFactory.hash(key);
+    }
+  }
+
+  @TearDown
+  public void teardown() {
+    BenchmarkContexts.close(context);
+  }
+
+  @Benchmark
+  public Set<Node> getReplicasByKey() {
+    return tokenMap.getReplicas(KEYSPACE, keys[nextIndex()]);
+  }
+
+  @Benchmark
+  public Set<Node> getReplicasByToken() {
+    return tokenMap.getReplicas(KEYSPACE, tokens[nextIndex()]);
+  }
+
+  private int nextIndex() {
+    int i = next;
+    next = (i + 1) & (KEY_COUNT - 1);
+    return i;
+  }
+}
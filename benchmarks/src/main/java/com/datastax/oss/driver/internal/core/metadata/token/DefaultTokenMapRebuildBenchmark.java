@@ -0,0 +1,128 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.metadata.token;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.metadata.schema.KeyspaceMetadata;
+import com.datastax.oss.driver.internal.core.BenchmarkContexts;
+import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
+import com.datastax.oss.driver.internal.core.metadata.BenchmarkNodes;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the computation of a {@link DefaultTokenMap} with 256 virtual nodes per node and three
+ * replication configurations: a full build, and a rebuild after a node was added to the cluster.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DefaultTokenMapRebuildBenchmark {
+
+  private static final int VNODES = 256;
+
+  @Param({"30", "300"})
+  public int nodeCount;
+
+  private InternalDriverContext context;
+  private ReplicationStrategyFactory replicationStrategyFactory;
+  private List<Node> nodes;
+  private List<KeyspaceMetadata> keyspaces;
+  private DefaultTokenMap previousTokenMap;
+
+  @Setup
+  public void setup() {
+    context = BenchmarkContexts.newContext();
+    replicationStrategyFactory = new DefaultReplicationStrategyFactory(context);
+    Random random = new Random(42);
+
+    nodes = new ArrayList<>();
+    for (int i = 0; i < nodeCount; i++) {
+      Set<String> nodeTokens = new HashSet<>();
+      for (int j = 0; j < VNODES; j++) {
+        nodeTokens.add(Long.toString(random.nextLong()));
+      }
+      nodes.add(BenchmarkNodes.newNode(i, BenchmarkContexts.LOCAL_DC, nodeTokens, context));
+    }
+    String nts = "org.apache.cassandra.locator.NetworkTopologyStrategy";
+    keyspaces =
+        ImmutableList.of(
+            newKeyspace("ks1", ImmutableMap.of("class", nts, BenchmarkContexts.LOCAL_DC, "2")),
+            newKeyspace("ks2", ImmutableMap.of("class", nts, BenchmarkContexts.LOCAL_DC, "3")),
+            newKeyspace(
+                "ks3",
+                ImmutableMap.of(
+                    "class", "org.apache.cassandra.locator.SimpleStrategy",
+                    "replication_factor", "3")));
+
+    previousTokenMap =
+        DefaultTokenMap.build(
+            nodes.subList(0, nodeCount - 1),
+            keyspaces,
+            new Murmur3TokenFactory(),
+            replicationStrategyFactory,
+            "bench");
+  }
+
+  @TearDown
+  public void teardown() {
+    BenchmarkContexts.close(context);
+  }
+
+  @Benchmark
+  public DefaultTokenMap build() {
+    return DefaultTokenMap.build(
+        nodes, keyspaces, new Murmur3TokenFactory(), replicationStrategyFactory, "bench");
+  }
+
+  @Benchmark
+  public DefaultTokenMap rebuildAfterNodeAdded() {
+    return previousTokenMap.rebuild(nodes, keyspaces, replicationStrategyFactory, null);
+  }
+
+  private static KeyspaceMetadata newKeyspace(String name, Map<String, String> replication) {
+    KeyspaceMetadata keyspace = mock(KeyspaceMetadata.class);
+    when(keyspace.getName()).thenReturn(CqlIdentifier.fromInternal(name));
+    when(keyspace.getReplication()).thenReturn(replication);
+    return keyspace;
+  }
+}
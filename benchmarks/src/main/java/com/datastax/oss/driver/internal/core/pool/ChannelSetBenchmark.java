@@ -0,0 +1,100 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.pool;
+
+import com.datastax.oss.driver.api.core.DefaultProtocolVersion;
+import com.datastax.oss.driver.internal.core.channel.BenchmarkChannel;
+import com.datastax.oss.driver.internal.core.channel.DriverChannel;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the selection of a channel in a pool, under various pool sizes, selection strategies and
+ * levels of contention.
+ *
+ * <p>Each invocation acquires a stream id and gives it back immediately, so the channels never run
+ * out of ids.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChannelSetBenchmark {
+
+  @Param({"1", "4", "8"})
+  public int poolSize;
+
+  @Param({"least-busy", "power-of-two-choices", "sticky"})
+  public String strategy;
+
+  private ChannelSet channelSet;
+  // Only read after setup, so it's safe to share between benchmark threads
+  private final Map<DriverChannel, BenchmarkChannel> channels = new IdentityHashMap<>();
+
+  @Setup
+  public void setup() {
+    channelSet = new ChannelSet(ChannelSelectionStrategy.fromName(strategy));
+    for (int i = 0; i < poolSize; i++) {
+      BenchmarkChannel channel = BenchmarkChannel.idle(1024, DefaultProtocolVersion.V4);
+      channels.put(channel.getDriverChannel(), channel);
+      channelSet.add(channel.getDriverChannel());
+    }
+  }
+
+  @TearDown
+  public void teardown() {
+    for (BenchmarkChannel channel : channels.values()) {
+      channel.close();
+    }
+    channels.clear();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public DriverChannel next() {
+    return nextAndRelease();
+  }
+
+  @Benchmark
+  @Threads(8)
+  public DriverChannel nextContended() {
+    return nextAndRelease();
+  }
+
+  private DriverChannel nextAndRelease() {
+    DriverChannel channel = channelSet.next();
+    if (channel != null) {
+      channels.get(channel).cancelPreAcquire();
+    }
+    return channel;
+  }
+}
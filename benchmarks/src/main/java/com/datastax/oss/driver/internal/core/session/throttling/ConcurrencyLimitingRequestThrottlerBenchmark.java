@@ -0,0 +1,117 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.session.throttling;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.RequestThrottlingException;
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.DriverConfig;
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.context.DriverContext;
+import com.datastax.oss.driver.api.core.session.throttling.RequestThrottler;
+import com.datastax.oss.driver.api.core.session.throttling.Throttled;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link ConcurrencyLimitingRequestThrottler} with the lock-based implementation it
+ * replaced, when 8 threads register requests concurrently.
+ *
+ * <p>Each benchmark invocation registers a request, then completes all the requests that have
+ * started so far. With a high limit, requests always start immediately; with a low one, some of
+ * them get enqueued and are started by other threads. Requests are completed outside of the
+ * throttler's callbacks, as they would be in practice (completing them from {@code onThrottleReady}
+ * would recurse through the queue).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class ConcurrencyLimitingRequestThrottlerBenchmark {
+
+  @Param({"lock-free", "locking"})
+  public String implementation;
+
+  @Param({"4", "10000"})
+  public int maxConcurrentRequests;
+
+  private RequestThrottler throttler;
+  private final Queue<Throttled> started = new ConcurrentLinkedQueue<>();
+
+  @Setup
+  public void setup() {
+    DriverContext context = mock(DriverContext.class);
+    DriverConfig config = mock(DriverConfig.class);
+    DriverExecutionProfile profile = mock(DriverExecutionProfile.class);
+    when(context.getSessionName()).thenReturn("benchmark");
+    when(context.getConfig()).thenReturn(config);
+    when(config.getDefaultProfile()).thenReturn(profile);
+    when(profile.getInt(DefaultDriverOption.REQUEST_THROTTLER_MAX_CONCURRENT_REQUESTS))
+        .thenReturn(maxConcurrentRequests);
+    when(profile.getInt(DefaultDriverOption.REQUEST_THROTTLER_MAX_QUEUE_SIZE)).thenReturn(10000);
+    throttler =
+        implementation.equals("locking")
+            ? new LockingConcurrencyLimitingRequestThrottler(context)
+            : new ConcurrencyLimitingRequestThrottler(context);
+  }
+
+  @Benchmark
+  public void registerAndComplete() {
+    throttler.register(new BenchmarkRequest(started));
+    Throttled request;
+    while ((request = started.poll()) != null) {
+      throttler.signalSuccess(request);
+    }
+  }
+
+  private static class BenchmarkRequest implements Throttled {
+
+    private final Queue<Throttled> started;
+
+    private BenchmarkRequest(Queue<Throttled> started) {
+      this.started = started;
+    }
+
+    @Override
+    public void onThrottleReady(boolean wasDelayed) {
+      started.offer(this);
+    }
+
+    @Override
+    public void onThrottleFailure(@NonNull RequestThrottlingException error) {
+      // nothing to do
+    }
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.type.codec.registry;
+
+import com.datastax.oss.driver.api.core.DefaultProtocolVersion;
+import com.datastax.oss.driver.api.core.ProtocolVersion;
+import com.datastax.oss.driver.api.core.type.DataType;
+import com.datastax.oss.driver.api.core.type.DataTypes;
+import com.datastax.oss.driver.api.core.type.codec.TypeCodec;
+import com.datastax.oss.driver.api.core.type.reflect.GenericType;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures codec lookups through {@link CachingCodecRegistry}, and encoding/decoding with the
+ * codecs it returns.
+ *
+ * <p>The lookups mirror what the driver does on the hot path: by CQL type when reading a row, by
+ * CQL and Java type when binding a value with an explicit class, and by value when a simple
+ * statement's values are encoded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CachingCodecRegistryBenchmark {
+
+  private static final ProtocolVersion PROTOCOL_VERSION = DefaultProtocolVersion.V4;
+  private static final DataType LIST_OF_INT = DataTypes.listOf(DataTypes.INT);
+  private static final GenericType<List<Integer>> LIST_OF_INTEGER =
+      GenericType.listOf(Integer.class);
+
+  private DefaultCodecRegistry registry;
+  private String text;
+  private ByteBuffer encodedText;
+  private List<Integer> list;
+  private ByteBuffer encodedList;
+
+  @Setup
+  public void setup() {
+    registry = new DefaultCodecRegistry("benchmark");
+    text = "The quick brown fox jumps over the lazy dog";
+    encodedText = registry.codecFor(DataTypes.TEXT, String.class).encode(text, PROTOCOL_VERSION);
+    list = ImmutableList.of(1, 2, 3, 4, 5, 6, 7, 8);
+    encodedList = registry.codecFor(LIST_OF_INT, LIST_OF_INTEGER).encode(list, PROTOCOL_VERSION);
+  }
+
+  @Benchmark
+  public TypeCodec<?> lookupPrimitiveByCqlType() {
+    return registry.codecFor(DataTypes.TEXT);
+  }
+
+  @Benchmark
+  public TypeCodec<?> lookupPrimitiveByCqlAndJavaType() {
+    return registry.codecFor(DataTypes.TEXT, String.class);
+  }
+
+  @Benchmark
+  public TypeCodec<?> lookupPrimitiveByValue() {
+    return registry.codecFor(text);
+  }
+
+  @Benchmark
+  public TypeCodec<?> lookupCollectionByCqlType() {
+    return registry.codecFor(LIST_OF_INT);
+  }
+
+  @Benchmark
+  public TypeCodec<?> lookupCollectionByCqlAndJavaType() {
+    return registry.codecFor(LIST_OF_INT, LIST_OF_INTEGER);
+  }
+
+  @Benchmark
+  public TypeCodec<?> lookupCollectionByValue() {
+    return registry.codecFor(list);
+  }
+
+  @Benchmark
+  public ByteBuffer encodeText() {
+    return registry.codecFor(DataTypes.TEXT, String.class).encode(text, PROTOCOL_VERSION);
+  }
+
+  @Benchmark
+  public String decodeText() {
+    return registry
+        .codecFor(DataTypes.TEXT, String.class)
+        .decode(encodedText.duplicate(), PROTOCOL_VERSION);
+  }
+
+  @Benchmark
+  public ByteBuffer encodeList() {
+    return registry.codecFor(LIST_OF_INT, LIST_OF_INTEGER).encode(list, PROTOCOL_VERSION);
+  }
+
+  @Benchmark
+  public List<Integer> decodeList() {
+    return registry
+        .codecFor(LIST_OF_INT, LIST_OF_INTEGER)
+        .decode(encodedList.duplicate(), PROTOCOL_VERSION);
+  }
+}
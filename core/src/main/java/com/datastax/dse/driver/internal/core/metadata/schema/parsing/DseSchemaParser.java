@@ -37,12 +37,20 @@ import com.datastax.oss.driver.internal.core.metadata.schema.parsing.SimpleJsonP
 import com.datastax.oss.driver.internal.core.metadata.schema.parsing.UserDefinedTypeParser;
 import com.datastax.oss.driver.internal.core.metadata.schema.queries.SchemaRows;
 import com.datastax.oss.driver.internal.core.metadata.schema.refresh.SchemaRefresh;
+import com.datastax.oss.driver.internal.core.metadata.schema.refresh.SchemaRefreshTarget;
 import com.datastax.oss.driver.internal.core.util.NanoTime;
+import com.datastax.oss.driver.internal.core.util.concurrent.CompletableFutures;
 import com.datastax.oss.driver.shaded.guava.common.base.MoreObjects;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
 import com.datastax.oss.driver.shaded.guava.common.collect.Multimap;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 import net.jcip.annotations.ThreadSafe;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -59,16 +67,36 @@ public class DseSchemaParser implements SchemaParser {
   private static final Logger LOG = LoggerFactory.getLogger(CassandraSchemaParser.class);
 
   private final SchemaRows rows;
+  private final SchemaRefreshTarget target;
+  private final Map<CqlIdentifier, KeyspaceMetadata> previousKeyspaces;
   private final UserDefinedTypeParser userDefinedTypeParser;
   private final DseTableParser tableParser;
   private final DseViewParser viewParser;
   private final DseFunctionParser functionParser;
   private final DseAggregateParser aggregateParser;
+  private final Executor executor;
   private final String logPrefix;
   private final long startTimeNs = System.nanoTime();
 
   public DseSchemaParser(SchemaRows rows, InternalDriverContext context) {
+    this(rows, context, null);
+  }
+
+  /**
+   * @param executor if not null, the keyspaces are parsed in parallel on this executor (they are
+   *     independent of each other). Otherwise they are parsed sequentially on the calling thread.
+   */
+  public DseSchemaParser(
+      SchemaRows rows, InternalDriverContext context, @Nullable Executor executor) {
     this.rows = rows;
+    this.executor = executor;
+    this.target = rows.getTarget();
+    // A table-level refresh only fetches some tables, the rest of their keyspace is copied from the
+    // current metadata. This is only called on the admin executor, so it can't change concurrently.
+    this.previousKeyspaces =
+        target.isTableLevel()
+            ? context.getMetadataManager().getMetadata().getKeyspaces()
+            : Collections.emptyMap();
     this.logPrefix = context.getSessionName();
 
     this.userDefinedTypeParser = new UserDefinedTypeParser(rows.dataTypeParser(), context);
@@ -81,19 +109,37 @@ public class DseSchemaParser implements SchemaParser {
   @Override
   public SchemaRefresh parse() {
     ImmutableMap.Builder<CqlIdentifier, KeyspaceMetadata> keyspacesBuilder = ImmutableMap.builder();
-    for (AdminRow row : rows.keyspaces()) {
-      DseKeyspaceMetadata keyspace = parseKeyspace(row);
+    for (DseKeyspaceMetadata keyspace : parseKeyspaces(rows.keyspaces(), this::parseKeyspace)) {
       keyspacesBuilder.put(keyspace.getName(), keyspace);
     }
-    for (AdminRow row : rows.virtualKeyspaces()) {
-      DseKeyspaceMetadata keyspace = parseVirtualKeyspace(row);
+    for (DseKeyspaceMetadata keyspace :
+        parseKeyspaces(rows.virtualKeyspaces(), this::parseVirtualKeyspace)) {
       keyspacesBuilder.put(keyspace.getName(), keyspace);
     }
-    SchemaRefresh refresh = new SchemaRefresh(keyspacesBuilder.build());
+    SchemaRefresh refresh = new SchemaRefresh(keyspacesBuilder.build(), target);
     LOG.debug("[{}] Schema parsing took {}", logPrefix, NanoTime.formatTimeSince(startTimeNs));
     return refresh;
   }
 
+  private List<DseKeyspaceMetadata> parseKeyspaces(
+      List<AdminRow> keyspaceRows, Function<AdminRow, DseKeyspaceMetadata> parser) {
+    List<DseKeyspaceMetadata> result = new ArrayList<>(keyspaceRows.size());
+    if (executor == null || keyspaceRows.size() < 2) {
+      for (AdminRow keyspaceRow : keyspaceRows) {
+        result.add(parser.apply(keyspaceRow));
+      }
+    } else {
+      List<CompletableFuture<DseKeyspaceMetadata>> futures = new ArrayList<>(keyspaceRows.size());
+      for (AdminRow keyspaceRow : keyspaceRows) {
+        futures.add(CompletableFuture.supplyAsync(() -> parser.apply(keyspaceRow), executor));
+      }
+      for (CompletableFuture<DseKeyspaceMetadata> future : futures) {
+        result.add(CompletableFutures.getUninterruptibly(future));
+      }
+    }
+    return result;
+  }
+
   private DseKeyspaceMetadata parseKeyspace(AdminRow keyspaceRow) {
 
     // Cassandra <= 2.2
@@ -133,6 +179,7 @@ public class DseSchemaParser implements SchemaParser {
 
     Map<CqlIdentifier, UserDefinedType> types = parseTypes(keyspaceId);
 
+    KeyspaceMetadata previous = previousKeyspaces.get(keyspaceId);
     return new DefaultDseKeyspaceMetadata(
         keyspaceId,
         durableWrites,
@@ -140,10 +187,12 @@ public class DseSchemaParser implements SchemaParser {
         graphEngine,
         replicationOptions,
         types,
-        parseTables(keyspaceId, types),
-        parseViews(keyspaceId, types),
-        parseFunctions(keyspaceId, types),
-        parseAggregates(keyspaceId, types));
+        target.mergeChildren(
+            (previous == null) ? null : previous.getTables(), parseTables(keyspaceId, types)),
+        target.mergeChildren(
+            (previous == null) ? null : previous.getViews(), parseViews(keyspaceId, types)),
+        (previous == null) ? parseFunctions(keyspaceId, types) : previous.getFunctions(),
+        (previous == null) ? parseAggregates(keyspaceId, types) : previous.getAggregates());
   }
 
   private Map<CqlIdentifier, UserDefinedType> parseTypes(CqlIdentifier keyspaceId) {
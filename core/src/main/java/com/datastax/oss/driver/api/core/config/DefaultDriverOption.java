@@ -811,6 +811,218 @@ public enum DefaultDriverOption implements DriverOption {
    * <p>Value-type: int
    */
   SESSION_LEAK_THRESHOLD("advanced.session-leak.threshold"),
+
+  /**
+   * The Netty transport used by the I/O event loop group: auto, nio, epoll or io_uring.
+   *
+   * <p>Value-type: {@link String}
+   */
+  NETTY_IO_TRANSPORT("advanced.netty.io-group.transport"),
+  /**
+   * Whether to enable TCP quick acknowledgements (native transports only).
+   *
+   * <p>Value-type: boolean
+   */
+  SOCKET_TCP_QUICK_ACK("advanced.socket.tcp-quick-ack"),
+  /**
+   * The busy poll timeout in microseconds (native transports only).
+   *
+   * <p>Value-type: int
+   */
+  SOCKET_BUSY_POLL("advanced.socket.busy-poll"),
+  /**
+   * How a connection pool picks a channel for each request: least-busy, power-of-two-choices or
+   * sticky.
+   *
+   * <p>Value-type: {@link String}
+   */
+  CONNECTION_POOL_CHANNEL_SELECTION("advanced.connection.pool.channel-selection"),
+  /**
+   * The number of nodes per remote datacenter that the load balancing policy uses for failover.
+   *
+   * <p>Value-type: int
+   */
+  LOAD_BALANCING_DC_FAILOVER_USED_HOSTS_PER_REMOTE_DC(
+      "advanced.load-balancing-policy.dc-failover.used-hosts-per-remote-dc"),
+  /**
+   * Whether datacenter failover is allowed for requests with a datacenter-local consistency level.
+   *
+   * <p>Value-type: boolean
+   */
+  LOAD_BALANCING_DC_FAILOVER_ALLOW_FOR_LOCAL_CONSISTENCY_LEVELS(
+      "advanced.load-balancing-policy.dc-failover.allow-for-local-consistency-levels"),
+  /**
+   * Whether the default load balancing policy ranks replicas by their measured latencies.
+   *
+   * <p>Value-type: boolean
+   */
+  LOAD_BALANCING_LATENCY_AWARENESS_ENABLED(
+      "advanced.load-balancing-policy.latency-awareness.enabled"),
+  /**
+   * The half-life of the latency measurements used by the default load balancing policy.
+   *
+   * <p>Value-type: {@link java.time.Duration Duration}
+   */
+  LOAD_BALANCING_LATENCY_AWARENESS_HALF_LIFE(
+      "advanced.load-balancing-policy.latency-awareness.half-life"),
+  /**
+   * How long the default load balancing policy keeps a node's latency average without new
+   * measurements.
+   *
+   * <p>Value-type: {@link java.time.Duration Duration}
+   */
+  LOAD_BALANCING_LATENCY_AWARENESS_RETRY_PERIOD(
+      "advanced.load-balancing-policy.latency-awareness.retry-period"),
+  /**
+   * Whether the token map computes the data of each replication configuration in parallel.
+   *
+   * <p>Value-type: boolean
+   */
+  METADATA_TOKEN_MAP_PARALLEL_REBUILD("advanced.metadata.token-map.parallel-rebuild"),
+  /**
+   * The largest duration that we expect to record for token map rebuilds.
+   *
+   * <p>Value-type: {@link java.time.Duration Duration}
+   */
+  METRICS_SESSION_TOKEN_MAP_REBUILD_HIGHEST(
+      "advanced.metrics.session.token-map.rebuild.highest-latency"),
+  /**
+   * The number of significant decimal digits to which internal structures will maintain for token
+   * map rebuilds.
+   *
+   * <p>Value-type: int
+   */
+  METRICS_SESSION_TOKEN_MAP_REBUILD_DIGITS(
+      "advanced.metrics.session.token-map.rebuild.significant-digits"),
+  /**
+   * The interval at which percentile data is refreshed for token map rebuilds.
+   *
+   * <p>Value-type: {@link java.time.Duration Duration}
+   */
+  METRICS_SESSION_TOKEN_MAP_REBUILD_INTERVAL(
+      "advanced.metrics.session.token-map.rebuild.refresh-interval"),
+  /**
+   * Whether the prepared statement cache uses weak values.
+   *
+   * <p>Value-type: boolean
+   */
+  PREPARED_CACHE_WEAK_VALUES("advanced.prepared-statements.prepared-cache.weak-values"),
+  /**
+   * The maximum number of entries in the prepared statement cache (0 for no limit).
+   *
+   * <p>Value-type: long
+   */
+  PREPARED_CACHE_MAX_SIZE("advanced.prepared-statements.prepared-cache.max-size"),
+  /**
+   * The maximum total weight of the entries in the prepared statement cache, where each entry
+   * weighs its number of columns (0 for no limit).
+   *
+   * <p>Value-type: long
+   */
+  PREPARED_CACHE_MAX_WEIGHT("advanced.prepared-statements.prepared-cache.max-weight"),
+  /**
+   * How many of the most recently used prepared statements the cache keeps strong references to,
+   * when it uses weak values.
+   *
+   * <p>Value-type: int
+   */
+  PREPARED_CACHE_STRONG_REFERENCES("advanced.prepared-statements.prepared-cache.strong-references"),
+  /**
+   * Whether the keyspaces are parsed in parallel during schema refreshes.
+   *
+   * <p>Value-type: boolean
+   */
+  METADATA_SCHEMA_PARALLEL_PARSING("advanced.metadata.schema.parallel-parsing"),
+  /**
+   * The largest duration that we expect to record for schema refreshes.
+   *
+   * <p>Value-type: {@link java.time.Duration Duration}
+   */
+  METRICS_SESSION_SCHEMA_REFRESH_HIGHEST("advanced.metrics.session.schema.refresh.highest-latency"),
+  /**
+   * The number of significant decimal digits to which internal structures will maintain for schema
+   * refreshes.
+   *
+   * <p>Value-type: int
+   */
+  METRICS_SESSION_SCHEMA_REFRESH_DIGITS(
+      "advanced.metrics.session.schema.refresh.significant-digits"),
+  /**
+   * The interval at which percentile data is refreshed for schema refreshes.
+   *
+   * <p>Value-type: {@link java.time.Duration Duration}
+   */
+  METRICS_SESSION_SCHEMA_REFRESH_INTERVAL(
+      "advanced.metrics.session.schema.refresh.refresh-interval"),
+  /**
+   * The path of the file where the driver persists the metadata.
+   *
+   * <p>Value-type: {@link String}
+   */
+  METADATA_SNAPSHOT_FILE("advanced.metadata.snapshot.file"),
+  /**
+   * How old a metadata snapshot can be to be used at initialization.
+   *
+   * <p>Value-type: {@link java.time.Duration Duration}
+   */
+  METADATA_SNAPSHOT_MAX_AGE("advanced.metadata.snapshot.max-age"),
+  /**
+   * Whether table metadata is built lazily.
+   *
+   * <p>Value-type: boolean
+   */
+  METADATA_SCHEMA_LAZY_TABLES("advanced.metadata.schema.lazy-tables"),
+  /**
+   * The size above which blob values are added to outgoing frames without being copied.
+   *
+   * <p>Value-type: long
+   */
+  PROTOCOL_ZERO_COPY_THRESHOLD("advanced.protocol.zero-copy-threshold"),
+  /**
+   * Whether result pages are stored in a compact form.
+   *
+   * <p>Value-type: boolean
+   */
+  REQUEST_COMPACT_PAGES("advanced.request.compact-pages"),
+  /**
+   * The minimum concurrency limit of the adaptive throttler.
+   *
+   * <p>Value-type: int
+   */
+  REQUEST_THROTTLER_MIN_CONCURRENT_REQUESTS("advanced.throttler.min-concurrent-requests"),
+  /**
+   * The initial concurrency limit of the adaptive throttler.
+   *
+   * <p>Value-type: int
+   */
+  REQUEST_THROTTLER_INITIAL_CONCURRENT_REQUESTS("advanced.throttler.initial-concurrent-requests"),
+  /**
+   * The factor applied to the concurrency limit of the adaptive throttler when the cluster shows
+   * signs of overload.
+   *
+   * <p>Value-type: double
+   */
+  REQUEST_THROTTLER_BACKOFF_RATIO("advanced.throttler.backoff-ratio"),
+  /**
+   * The latency above which the adaptive throttler considers that a request was slowed down by an
+   * overload.
+   *
+   * <p>Value-type: {@link java.time.Duration Duration}
+   */
+  REQUEST_THROTTLER_LATENCY_THRESHOLD("advanced.throttler.latency-threshold"),
+  /**
+   * How many pages the driver fetches in the background, ahead of the page being consumed.
+   *
+   * <p>Value-type: int
+   */
+  PAGING_PREFETCH_PAGES("advanced.paging.prefetch-pages"),
+  /**
+   * The fraction of the current page that must be consumed before the driver starts prefetching the
+   * next pages.
+   *
+   * <p>Value-type: double
+   */
+  PAGING_PREFETCH_THRESHOLD("advanced.paging.prefetch-threshold"),
   ;
 
   private final String path;
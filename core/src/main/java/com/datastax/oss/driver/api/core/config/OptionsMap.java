@@ -253,6 +253,19 @@ public class OptionsMap implements Serializable {
     map.put(TypedDriverOption.GRAPH_TRAVERSAL_SOURCE, "g");
     map.put(TypedDriverOption.LOAD_BALANCING_POLICY_CLASS, "DefaultLoadBalancingPolicy");
     map.put(TypedDriverOption.LOAD_BALANCING_POLICY_SLOW_AVOIDANCE, true);
+    map.put(TypedDriverOption.LOAD_BALANCING_DC_FAILOVER_USED_HOSTS_PER_REMOTE_DC, 0);
+    map.put(TypedDriverOption.LOAD_BALANCING_DC_FAILOVER_ALLOW_FOR_LOCAL_CONSISTENCY_LEVELS, false);
+    map.put(TypedDriverOption.LOAD_BALANCING_LATENCY_AWARENESS_ENABLED, false);
+    map.put(TypedDriverOption.LOAD_BALANCING_LATENCY_AWARENESS_HALF_LIFE, Duration.ofMillis(500));
+    map.put(
+        TypedDriverOption.LOAD_BALANCING_LATENCY_AWARENESS_RETRY_PERIOD, Duration.ofSeconds(10));
+    map.put(TypedDriverOption.METADATA_TOKEN_MAP_PARALLEL_REBUILD, false);
+    map.put(TypedDriverOption.METRICS_SESSION_TOKEN_MAP_REBUILD_HIGHEST, Duration.ofSeconds(30));
+    map.put(TypedDriverOption.METRICS_SESSION_TOKEN_MAP_REBUILD_DIGITS, 3);
+    map.put(TypedDriverOption.METRICS_SESSION_TOKEN_MAP_REBUILD_INTERVAL, Duration.ofMinutes(5));
+    map.put(TypedDriverOption.METRICS_SESSION_SCHEMA_REFRESH_HIGHEST, Duration.ofMinutes(1));
+    map.put(TypedDriverOption.METRICS_SESSION_SCHEMA_REFRESH_DIGITS, 3);
+    map.put(TypedDriverOption.METRICS_SESSION_SCHEMA_REFRESH_INTERVAL, Duration.ofMinutes(5));
     map.put(TypedDriverOption.SESSION_LEAK_THRESHOLD, 4);
     map.put(TypedDriverOption.CONNECTION_CONNECT_TIMEOUT, Duration.ofSeconds(5));
     map.put(TypedDriverOption.CONNECTION_INIT_QUERY_TIMEOUT, Duration.ofMillis(500));
@@ -260,6 +273,7 @@ public class OptionsMap implements Serializable {
     map.put(TypedDriverOption.CONNECTION_POOL_LOCAL_SIZE, 1);
     map.put(TypedDriverOption.CONNECTION_POOL_REMOTE_SIZE, 1);
     map.put(TypedDriverOption.CONNECTION_MAX_REQUESTS, 1024);
+    map.put(TypedDriverOption.CONNECTION_POOL_CHANNEL_SELECTION, "least-busy");
     map.put(TypedDriverOption.CONNECTION_MAX_ORPHAN_REQUESTS, 24576);
     map.put(TypedDriverOption.CONNECTION_WARN_INIT_ERROR, true);
     map.put(TypedDriverOption.RECONNECT_ON_INIT, false);
@@ -279,11 +293,15 @@ public class OptionsMap implements Serializable {
     map.put(TypedDriverOption.ADDRESS_TRANSLATOR_CLASS, "PassThroughAddressTranslator");
     map.put(TypedDriverOption.RESOLVE_CONTACT_POINTS, true);
     map.put(TypedDriverOption.PROTOCOL_MAX_FRAME_LENGTH, 256L * 1024 * 1024);
+    map.put(TypedDriverOption.PROTOCOL_ZERO_COPY_THRESHOLD, 1024L * 1024);
     map.put(TypedDriverOption.REQUEST_WARN_IF_SET_KEYSPACE, true);
     map.put(TypedDriverOption.REQUEST_TRACE_ATTEMPTS, 5);
     map.put(TypedDriverOption.REQUEST_TRACE_INTERVAL, Duration.ofMillis(3));
     map.put(TypedDriverOption.REQUEST_TRACE_CONSISTENCY, "ONE");
     map.put(TypedDriverOption.REQUEST_LOG_WARNINGS, true);
+    map.put(TypedDriverOption.REQUEST_COMPACT_PAGES, false);
+    map.put(TypedDriverOption.PAGING_PREFETCH_PAGES, 0);
+    map.put(TypedDriverOption.PAGING_PREFETCH_THRESHOLD, 0.5);
     map.put(TypedDriverOption.GRAPH_PAGING_ENABLED, "AUTO");
     map.put(TypedDriverOption.GRAPH_CONTINUOUS_PAGING_PAGE_SIZE, 5000);
     map.put(TypedDriverOption.GRAPH_CONTINUOUS_PAGING_MAX_PAGES, 0);
@@ -331,7 +349,10 @@ public class OptionsMap implements Serializable {
     map.put(TypedDriverOption.METADATA_SCHEMA_REQUEST_PAGE_SIZE, 5000);
     map.put(TypedDriverOption.METADATA_SCHEMA_WINDOW, Duration.ofSeconds(1));
     map.put(TypedDriverOption.METADATA_SCHEMA_MAX_EVENTS, 20);
+    map.put(TypedDriverOption.METADATA_SCHEMA_PARALLEL_PARSING, false);
+    map.put(TypedDriverOption.METADATA_SCHEMA_LAZY_TABLES, false);
     map.put(TypedDriverOption.METADATA_TOKEN_MAP_ENABLED, true);
+    map.put(TypedDriverOption.METADATA_SNAPSHOT_MAX_AGE, Duration.ofHours(1));
     map.put(TypedDriverOption.CONTROL_CONNECTION_TIMEOUT, Duration.ofMillis(500));
     map.put(TypedDriverOption.CONTROL_CONNECTION_AGREEMENT_INTERVAL, Duration.ofMillis(200));
     map.put(TypedDriverOption.CONTROL_CONNECTION_AGREEMENT_TIMEOUT, Duration.ofSeconds(10));
@@ -342,8 +363,13 @@ public class OptionsMap implements Serializable {
     map.put(TypedDriverOption.REPREPARE_MAX_STATEMENTS, 0);
     map.put(TypedDriverOption.REPREPARE_MAX_PARALLELISM, 100);
     map.put(TypedDriverOption.REPREPARE_TIMEOUT, Duration.ofMillis(500));
+    map.put(TypedDriverOption.PREPARED_CACHE_WEAK_VALUES, true);
+    map.put(TypedDriverOption.PREPARED_CACHE_MAX_SIZE, 0L);
+    map.put(TypedDriverOption.PREPARED_CACHE_MAX_WEIGHT, 0L);
+    map.put(TypedDriverOption.PREPARED_CACHE_STRONG_REFERENCES, 0);
     map.put(TypedDriverOption.NETTY_DAEMON, false);
     map.put(TypedDriverOption.NETTY_IO_SIZE, 0);
+    map.put(TypedDriverOption.NETTY_IO_TRANSPORT, "auto");
     map.put(TypedDriverOption.NETTY_IO_SHUTDOWN_QUIET_PERIOD, 2);
     map.put(TypedDriverOption.NETTY_IO_SHUTDOWN_TIMEOUT, 15);
     map.put(TypedDriverOption.NETTY_IO_SHUTDOWN_UNIT, "SECONDS");
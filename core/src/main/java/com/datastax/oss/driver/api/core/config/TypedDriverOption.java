@@ -300,6 +300,28 @@ public class TypedDriverOption<ValueT> {
   public static final TypedDriverOption<Duration> REQUEST_THROTTLER_DRAIN_INTERVAL =
       new TypedDriverOption<>(
           DefaultDriverOption.REQUEST_THROTTLER_DRAIN_INTERVAL, GenericType.DURATION);
+  /** The minimum concurrency limit of the adaptive throttler. */
+  public static final TypedDriverOption<Integer> REQUEST_THROTTLER_MIN_CONCURRENT_REQUESTS =
+      new TypedDriverOption<>(
+          DefaultDriverOption.REQUEST_THROTTLER_MIN_CONCURRENT_REQUESTS, GenericType.INTEGER);
+  /** The initial concurrency limit of the adaptive throttler. */
+  public static final TypedDriverOption<Integer> REQUEST_THROTTLER_INITIAL_CONCURRENT_REQUESTS =
+      new TypedDriverOption<>(
+          DefaultDriverOption.REQUEST_THROTTLER_INITIAL_CONCURRENT_REQUESTS, GenericType.INTEGER);
+  /**
+   * The factor applied to the concurrency limit of the adaptive throttler when the cluster shows
+   * signs of overload.
+   */
+  public static final TypedDriverOption<Double> REQUEST_THROTTLER_BACKOFF_RATIO =
+      new TypedDriverOption<>(
+          DefaultDriverOption.REQUEST_THROTTLER_BACKOFF_RATIO, GenericType.DOUBLE);
+  /**
+   * The latency above which the adaptive throttler considers that a request was slowed down by an
+   * overload.
+   */
+  public static final TypedDriverOption<Duration> REQUEST_THROTTLER_LATENCY_THRESHOLD =
+      new TypedDriverOption<>(
+          DefaultDriverOption.REQUEST_THROTTLER_LATENCY_THRESHOLD, GenericType.DURATION);
   /** The class of a session-wide component that listens for node state changes. */
   public static final TypedDriverOption<String> METADATA_NODE_STATE_LISTENER_CLASS =
       new TypedDriverOption<>(
@@ -323,6 +345,9 @@ public class TypedDriverOption<ValueT> {
   /** The maximum length, in bytes, of the frames supported by the driver. */
   public static final TypedDriverOption<Long> PROTOCOL_MAX_FRAME_LENGTH =
       new TypedDriverOption<>(DefaultDriverOption.PROTOCOL_MAX_FRAME_LENGTH, GenericType.LONG);
+  /** The size above which blob values are added to outgoing frames without being copied. */
+  public static final TypedDriverOption<Long> PROTOCOL_ZERO_COPY_THRESHOLD =
+      new TypedDriverOption<>(DefaultDriverOption.PROTOCOL_ZERO_COPY_THRESHOLD, GenericType.LONG);
   /**
    * Whether a warning is logged when a request (such as a CQL `USE ...`) changes the active
    * keyspace.
@@ -533,6 +558,18 @@ public class TypedDriverOption<ValueT> {
    */
   public static final TypedDriverOption<Boolean> REQUEST_LOG_WARNINGS =
       new TypedDriverOption<>(DefaultDriverOption.REQUEST_LOG_WARNINGS, GenericType.BOOLEAN);
+  /** Whether result pages are stored in a compact form. */
+  public static final TypedDriverOption<Boolean> REQUEST_COMPACT_PAGES =
+      new TypedDriverOption<>(DefaultDriverOption.REQUEST_COMPACT_PAGES, GenericType.BOOLEAN);
+  /** How many pages the driver fetches in the background, ahead of the page being consumed. */
+  public static final TypedDriverOption<Integer> PAGING_PREFETCH_PAGES =
+      new TypedDriverOption<>(DefaultDriverOption.PAGING_PREFETCH_PAGES, GenericType.INTEGER);
+  /**
+   * The fraction of the current page that must be consumed before the driver starts prefetching the
+   * next pages.
+   */
+  public static final TypedDriverOption<Double> PAGING_PREFETCH_THRESHOLD =
+      new TypedDriverOption<>(DefaultDriverOption.PAGING_PREFETCH_THRESHOLD, GenericType.DOUBLE);
   /** Whether the threads created by the driver should be daemon threads. */
   public static final TypedDriverOption<Boolean> NETTY_DAEMON =
       new TypedDriverOption<>(DefaultDriverOption.NETTY_DAEMON, GenericType.BOOLEAN);
@@ -552,6 +589,117 @@ public class TypedDriverOption<ValueT> {
   /** The maximum number of live sessions that are allowed to coexist in a given VM. */
   public static final TypedDriverOption<Integer> SESSION_LEAK_THRESHOLD =
       new TypedDriverOption<>(DefaultDriverOption.SESSION_LEAK_THRESHOLD, GenericType.INTEGER);
+  /** The Netty transport used by the I/O event loop group: auto, nio, epoll or io_uring. */
+  public static final TypedDriverOption<String> NETTY_IO_TRANSPORT =
+      new TypedDriverOption<>(DefaultDriverOption.NETTY_IO_TRANSPORT, GenericType.STRING);
+  /** Whether to enable TCP quick acknowledgements (native transports only). */
+  public static final TypedDriverOption<Boolean> SOCKET_TCP_QUICK_ACK =
+      new TypedDriverOption<>(DefaultDriverOption.SOCKET_TCP_QUICK_ACK, GenericType.BOOLEAN);
+  /** The busy poll timeout in microseconds (native transports only). */
+  public static final TypedDriverOption<Integer> SOCKET_BUSY_POLL =
+      new TypedDriverOption<>(DefaultDriverOption.SOCKET_BUSY_POLL, GenericType.INTEGER);
+  /**
+   * How a connection pool picks a channel for each request: least-busy, power-of-two-choices or
+   * sticky.
+   */
+  public static final TypedDriverOption<String> CONNECTION_POOL_CHANNEL_SELECTION =
+      new TypedDriverOption<>(
+          DefaultDriverOption.CONNECTION_POOL_CHANNEL_SELECTION, GenericType.STRING);
+  /** The number of nodes per remote datacenter that the load balancing policy uses for failover. */
+  public static final TypedDriverOption<Integer>
+      LOAD_BALANCING_DC_FAILOVER_USED_HOSTS_PER_REMOTE_DC =
+          new TypedDriverOption<>(
+              DefaultDriverOption.LOAD_BALANCING_DC_FAILOVER_USED_HOSTS_PER_REMOTE_DC,
+              GenericType.INTEGER);
+  /**
+   * Whether datacenter failover is allowed for requests with a datacenter-local consistency level.
+   */
+  public static final TypedDriverOption<Boolean>
+      LOAD_BALANCING_DC_FAILOVER_ALLOW_FOR_LOCAL_CONSISTENCY_LEVELS =
+          new TypedDriverOption<>(
+              DefaultDriverOption.LOAD_BALANCING_DC_FAILOVER_ALLOW_FOR_LOCAL_CONSISTENCY_LEVELS,
+              GenericType.BOOLEAN);
+  /** Whether the default load balancing policy ranks replicas by their measured latencies. */
+  public static final TypedDriverOption<Boolean> LOAD_BALANCING_LATENCY_AWARENESS_ENABLED =
+      new TypedDriverOption<>(
+          DefaultDriverOption.LOAD_BALANCING_LATENCY_AWARENESS_ENABLED, GenericType.BOOLEAN);
+  /** The half-life of the latency measurements used by the default load balancing policy. */
+  public static final TypedDriverOption<Duration> LOAD_BALANCING_LATENCY_AWARENESS_HALF_LIFE =
+      new TypedDriverOption<>(
+          DefaultDriverOption.LOAD_BALANCING_LATENCY_AWARENESS_HALF_LIFE, GenericType.DURATION);
+  /**
+   * How long the default load balancing policy keeps a node's latency average without new
+   * measurements.
+   */
+  public static final TypedDriverOption<Duration> LOAD_BALANCING_LATENCY_AWARENESS_RETRY_PERIOD =
+      new TypedDriverOption<>(
+          DefaultDriverOption.LOAD_BALANCING_LATENCY_AWARENESS_RETRY_PERIOD, GenericType.DURATION);
+  /** Whether the token map computes the data of each replication configuration in parallel. */
+  public static final TypedDriverOption<Boolean> METADATA_TOKEN_MAP_PARALLEL_REBUILD =
+      new TypedDriverOption<>(
+          DefaultDriverOption.METADATA_TOKEN_MAP_PARALLEL_REBUILD, GenericType.BOOLEAN);
+  /** The largest duration that we expect to record for token map rebuilds. */
+  public static final TypedDriverOption<Duration> METRICS_SESSION_TOKEN_MAP_REBUILD_HIGHEST =
+      new TypedDriverOption<>(
+          DefaultDriverOption.METRICS_SESSION_TOKEN_MAP_REBUILD_HIGHEST, GenericType.DURATION);
+  /**
+   * The number of significant decimal digits to which internal structures will maintain for token
+   * map rebuilds.
+   */
+  public static final TypedDriverOption<Integer> METRICS_SESSION_TOKEN_MAP_REBUILD_DIGITS =
+      new TypedDriverOption<>(
+          DefaultDriverOption.METRICS_SESSION_TOKEN_MAP_REBUILD_DIGITS, GenericType.INTEGER);
+  /** The interval at which percentile data is refreshed for token map rebuilds. */
+  public static final TypedDriverOption<Duration> METRICS_SESSION_TOKEN_MAP_REBUILD_INTERVAL =
+      new TypedDriverOption<>(
+          DefaultDriverOption.METRICS_SESSION_TOKEN_MAP_REBUILD_INTERVAL, GenericType.DURATION);
+  /** Whether the prepared statement cache uses weak values. */
+  public static final TypedDriverOption<Boolean> PREPARED_CACHE_WEAK_VALUES =
+      new TypedDriverOption<>(DefaultDriverOption.PREPARED_CACHE_WEAK_VALUES, GenericType.BOOLEAN);
+  /** The maximum number of entries in the prepared statement cache (0 for no limit). */
+  public static final TypedDriverOption<Long> PREPARED_CACHE_MAX_SIZE =
+      new TypedDriverOption<>(DefaultDriverOption.PREPARED_CACHE_MAX_SIZE, GenericType.LONG);
+  /**
+   * The maximum total weight of the entries in the prepared statement cache, where each entry
+   * weighs its number of columns (0 for no limit).
+   */
+  public static final TypedDriverOption<Long> PREPARED_CACHE_MAX_WEIGHT =
+      new TypedDriverOption<>(DefaultDriverOption.PREPARED_CACHE_MAX_WEIGHT, GenericType.LONG);
+  /**
+   * How many of the most recently used prepared statements the cache keeps strong references to,
+   * when it uses weak values.
+   */
+  public static final TypedDriverOption<Integer> PREPARED_CACHE_STRONG_REFERENCES =
+      new TypedDriverOption<>(
+          DefaultDriverOption.PREPARED_CACHE_STRONG_REFERENCES, GenericType.INTEGER);
+  /** Whether the keyspaces are parsed in parallel during schema refreshes. */
+  public static final TypedDriverOption<Boolean> METADATA_SCHEMA_PARALLEL_PARSING =
+      new TypedDriverOption<>(
+          DefaultDriverOption.METADATA_SCHEMA_PARALLEL_PARSING, GenericType.BOOLEAN);
+  /** The largest duration that we expect to record for schema refreshes. */
+  public static final TypedDriverOption<Duration> METRICS_SESSION_SCHEMA_REFRESH_HIGHEST =
+      new TypedDriverOption<>(
+          DefaultDriverOption.METRICS_SESSION_SCHEMA_REFRESH_HIGHEST, GenericType.DURATION);
+  /**
+   * The number of significant decimal digits to which internal structures will maintain for schema
+   * refreshes.
+   */
+  public static final TypedDriverOption<Integer> METRICS_SESSION_SCHEMA_REFRESH_DIGITS =
+      new TypedDriverOption<>(
+          DefaultDriverOption.METRICS_SESSION_SCHEMA_REFRESH_DIGITS, GenericType.INTEGER);
+  /** The interval at which percentile data is refreshed for schema refreshes. */
+  public static final TypedDriverOption<Duration> METRICS_SESSION_SCHEMA_REFRESH_INTERVAL =
+      new TypedDriverOption<>(
+          DefaultDriverOption.METRICS_SESSION_SCHEMA_REFRESH_INTERVAL, GenericType.DURATION);
+  /** The path of the file where the driver persists the metadata. */
+  public static final TypedDriverOption<String> METADATA_SNAPSHOT_FILE =
+      new TypedDriverOption<>(DefaultDriverOption.METADATA_SNAPSHOT_FILE, GenericType.STRING);
+  /** How old a metadata snapshot can be to be used at initialization. */
+  public static final TypedDriverOption<Duration> METADATA_SNAPSHOT_MAX_AGE =
+      new TypedDriverOption<>(DefaultDriverOption.METADATA_SNAPSHOT_MAX_AGE, GenericType.DURATION);
+  /** Whether table metadata is built lazily. */
+  public static final TypedDriverOption<Boolean> METADATA_SCHEMA_LAZY_TABLES =
+      new TypedDriverOption<>(DefaultDriverOption.METADATA_SCHEMA_LAZY_TABLES, GenericType.BOOLEAN);
 
   /** The name of the application using the session. */
   public static final TypedDriverOption<String> APPLICATION_NAME =
@@ -18,6 +18,7 @@ package com.datastax.oss.driver.api.core.cql;
 import com.datastax.oss.driver.api.core.CqlIdentifier;
 import com.datastax.oss.driver.api.core.data.AccessibleByName;
 import com.datastax.oss.driver.api.core.detach.Detachable;
+import com.datastax.oss.driver.internal.core.cql.DefaultRowAccessor;
 import edu.umd.cs.findbugs.annotations.NonNull;
 
 /**
@@ -115,4 +116,41 @@ public interface ColumnDefinitions extends Iterable<ColumnDefinition>, Detachabl
    * the next occurrences. One way to avoid this is to use aliases in your CQL queries.
    */
   int firstIndexOf(@NonNull CqlIdentifier id);
+
+  /**
+   * Returns an accessor that reads the first column that uses the given name, without resolving the
+   * name again for each row.
+   *
+   * <p>Because raw strings are ambiguous with regard to case-sensitivity, the argument will be
+   * interpreted according to the rules described in {@link AccessibleByName}.
+   *
+   * @throws IllegalArgumentException if the name does not exist (in other words, if {@code
+   *     !contains(name))}).
+   * @since 4.6.0
+   */
+  @NonNull
+  default RowAccessor accessor(@NonNull String name) {
+    int i = firstIndexOf(name);
+    if (i < 0) {
+      throw new IllegalArgumentException("No definition named " + name);
+    }
+    return new DefaultRowAccessor(i);
+  }
+
+  /**
+   * Returns an accessor that reads the first column that uses the given identifier, without
+   * resolving the identifier again for each row.
+   *
+   * @throws IllegalArgumentException if the identifier does not exist (in other words, if {@code
+   *     !contains(id))}).
+   * @since 4.6.0
+   */
+  @NonNull
+  default RowAccessor accessor(@NonNull CqlIdentifier id) {
+    int i = firstIndexOf(id);
+    if (i < 0) {
+      throw new IllegalArgumentException("No definition named " + id);
+    }
+    return new DefaultRowAccessor(i);
+  }
 }
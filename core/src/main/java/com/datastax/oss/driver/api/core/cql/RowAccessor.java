@@ -0,0 +1,89 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.api.core.cql;
+
+import com.datastax.oss.driver.api.core.data.GettableByIndex;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * A handle to read a given column from rows, obtained with {@link
+ * ColumnDefinitions#accessor(String)}.
+ *
+ * <p>The column name is resolved once, when the accessor is created; reading a value is then
+ * equivalent to calling the index-based getter on the row. This is intended for hot loops that read
+ * the same columns from a large number of rows:
+ *
+ * <pre>
+ * ResultSet rs = session.execute("SELECT id, score FROM scores");
+ * RowAccessor score = rs.getColumnDefinitions().accessor("score");
+ * for (Row row : rs) {
+ *   total += score.getDouble(row);
+ * }
+ * </pre>
+ *
+ * An accessor can only be used with rows that have the same column definitions as the ones it was
+ * created from (typically, rows from the same query). Accessors are immutable and thread-safe.
+ *
+ * @since 4.6.0
+ */
+public interface RowAccessor {
+
+  /** The index of the column in the rows. */
+  int getIndex();
+
+  /** @see GettableByIndex#isNull(int) */
+  default boolean isNull(@NonNull Row row) {
+    return row.isNull(getIndex());
+  }
+
+  /** @see GettableByIndex#getBoolean(int) */
+  default boolean getBoolean(@NonNull Row row) {
+    return row.getBoolean(getIndex());
+  }
+
+  /** @see GettableByIndex#getInt(int) */
+  default int getInt(@NonNull Row row) {
+    return row.getInt(getIndex());
+  }
+
+  /** @see GettableByIndex#getLong(int) */
+  default long getLong(@NonNull Row row) {
+    return row.getLong(getIndex());
+  }
+
+  /** @see GettableByIndex#getFloat(int) */
+  default float getFloat(@NonNull Row row) {
+    return row.getFloat(getIndex());
+  }
+
+  /** @see GettableByIndex#getDouble(int) */
+  default double getDouble(@NonNull Row row) {
+    return row.getDouble(getIndex());
+  }
+
+  /** @see GettableByIndex#getString(int) */
+  @Nullable
+  default String getString(@NonNull Row row) {
+    return row.getString(getIndex());
+  }
+
+  /** @see GettableByIndex#get(int, Class) */
+  @Nullable
+  default <ValueT> ValueT get(@NonNull Row row, @NonNull Class<ValueT> targetClass) {
+    return row.get(getIndex(), targetClass);
+  }
+}
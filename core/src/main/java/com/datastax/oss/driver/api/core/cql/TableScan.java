@@ -0,0 +1,122 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.api.core.cql;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
+import com.datastax.oss.driver.internal.core.cql.DefaultTableScan;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.List;
+
+/**
+ * A full scan of a table, split into token range queries that are executed in parallel.
+ *
+ * <p>Each range of the ring (as reported by {@link TokenMap#getTokenRanges()}) is split into
+ * {@linkplain #getSplitsPerRange() sub-ranges} with {@link TokenRange#splitEvenly(int)}, and each
+ * sub-range is read with a {@code token(pk) > ? AND token(pk) <= ?} query that is routed to one of
+ * its replicas. At most {@link #getParallelism()} sub-ranges are read at the same time.
+ *
+ * <p>To create instances, client applications can use the {@code newInstance} factory methods, and
+ * then pass them to {@link TableScanSession#scan(TableScan)} or one of its variants.
+ *
+ * <p>The default implementation returned by the driver is <b>immutable</b> and <b>thread-safe</b>.
+ * All mutating methods return a new instance.
+ *
+ * @since 4.6.0
+ */
+public interface TableScan {
+
+  /** Creates a scan of all the columns of the given table, with a parallelism of 1. */
+  @NonNull
+  static TableScan newInstance(@NonNull CqlIdentifier keyspace, @NonNull CqlIdentifier table) {
+    return new DefaultTableScan(keyspace, table, ImmutableList.of(), 1, 1, null, null, null);
+  }
+
+  /**
+   * Shortcut for {@link #newInstance(CqlIdentifier, CqlIdentifier)
+   * newInstance(CqlIdentifier.fromCql(keyspaceName), CqlIdentifier.fromCql(tableName))}.
+   */
+  @NonNull
+  static TableScan newInstance(@NonNull String keyspaceName, @NonNull String tableName) {
+    return newInstance(CqlIdentifier.fromCql(keyspaceName), CqlIdentifier.fromCql(tableName));
+  }
+
+  @NonNull
+  CqlIdentifier getKeyspace();
+
+  @NonNull
+  CqlIdentifier getTable();
+
+  /** The columns to select. If empty, all the columns are selected. */
+  @NonNull
+  List<CqlIdentifier> getColumns();
+
+  /** Sets the columns to select. If the list is empty, all the columns are selected. */
+  @NonNull
+  TableScan setColumns(@NonNull Iterable<CqlIdentifier> newColumns);
+
+  /**
+   * The maximum number of sub-ranges that are read concurrently.
+   *
+   * <p>Each of them holds at most one page in memory while it waits for the application to consume
+   * it (plus any page prefetched as configured by {@code advanced.paging.prefetch-pages}).
+   */
+  int getParallelism();
+
+  @NonNull
+  TableScan setParallelism(int newParallelism);
+
+  /**
+   * The number of sub-ranges that each range of the ring is split into. This is ignored if the
+   * ranges are set {@linkplain #getRanges() explicitly}.
+   */
+  int getSplitsPerRange();
+
+  @NonNull
+  TableScan setSplitsPerRange(int newSplitsPerRange);
+
+  /**
+   * The ranges to scan, or {@code null} to scan the whole ring.
+   *
+   * <p>Explicit ranges are read as-is, without being split further. This is typically used to
+   * resume a scan from a {@link TableScanCheckpoint}.
+   */
+  @Nullable
+  List<TokenRange> getRanges();
+
+  @NonNull
+  TableScan setRanges(@Nullable Iterable<TokenRange> newRanges);
+
+  /**
+   * The name of the execution profile of the range queries, or {@code null} to use the default
+   * profile. This can be used to set the consistency level, page size or timeout of the scan.
+   */
+  @Nullable
+  String getExecutionProfileName();
+
+  @NonNull
+  TableScan setExecutionProfileName(@Nullable String newExecutionProfileName);
+
+  /** The listener notified of the scan's progress, or {@code null} if there is none. */
+  @Nullable
+  TableScanListener getListener();
+
+  @NonNull
+  TableScan setListener(@Nullable TableScanListener newListener);
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.api.core.cql;
+
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * A listener that keeps track of the sub-ranges of a {@link TableScan} that remain to be read.
+ *
+ * <p>If a scan is interrupted, it can be resumed with {@code
+ * scan.setRanges(checkpoint.getRemainingRanges())}. Progress is tracked per sub-range: a sub-range
+ * that was only partially consumed will be read again from the start.
+ *
+ * @since 4.6.0
+ */
+@ThreadSafe
+public class TableScanCheckpoint implements TableScanListener {
+
+  private final Set<TokenRange> remainingRanges = new LinkedHashSet<>();
+  private boolean started;
+  private long rowCount;
+
+  @Override
+  public synchronized void onScanStarted(@NonNull List<TokenRange> ranges) {
+    started = true;
+    remainingRanges.clear();
+    remainingRanges.addAll(ranges);
+  }
+
+  @Override
+  public synchronized void onRangeCompleted(@NonNull TokenRange range, long rowCount) {
+    if (remainingRanges.remove(range)) {
+      this.rowCount += rowCount;
+    }
+  }
+
+  /** The sub-ranges that have not been fully consumed yet. */
+  @NonNull
+  public synchronized List<TokenRange> getRemainingRanges() {
+    return ImmutableList.copyOf(remainingRanges);
+  }
+
+  /** Whether the scan has started, and all the sub-ranges have been consumed. */
+  public synchronized boolean isComplete() {
+    return started && remainingRanges.isEmpty();
+  }
+
+  /** The number of rows in the sub-ranges that have been fully consumed. */
+  public synchronized long getRowCount() {
+    return rowCount;
+  }
+}
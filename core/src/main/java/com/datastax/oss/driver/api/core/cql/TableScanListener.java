@@ -0,0 +1,51 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.api.core.cql;
+
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.List;
+
+/**
+ * Receives notifications about the progress of a {@link TableScan}.
+ *
+ * <p>Methods are invoked on driver I/O threads or on the thread that consumes the results, so
+ * implementations must be thread-safe and must not block.
+ *
+ * @since 4.6.0
+ */
+public interface TableScanListener {
+
+  /**
+   * Invoked once, before any query is sent, with the sub-ranges that the scan is going to read.
+   * Wrapped-around ranges have already been unwrapped.
+   */
+  default void onScanStarted(@NonNull List<TokenRange> ranges) {
+    // nothing to do
+  }
+
+  /**
+   * Invoked when all the rows of a sub-range have been consumed by the application, that is when it
+   * moves past the last page of that sub-range. For the last sub-range of the scan, there is no
+   * next page to move to, so this is invoked as soon as its last page is delivered.
+   *
+   * @param range the sub-range.
+   * @param rowCount the number of rows it contained.
+   */
+  default void onRangeCompleted(@NonNull TokenRange range, long rowCount) {
+    // nothing to do
+  }
+}
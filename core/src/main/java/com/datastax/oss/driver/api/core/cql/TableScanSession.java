@@ -0,0 +1,118 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.api.core.cql;
+
+import com.datastax.dse.driver.api.core.cql.reactive.ReactiveResultSet;
+import com.datastax.dse.driver.internal.core.cql.reactive.DefaultReactiveResultSet;
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.internal.core.cql.ResultSets;
+import com.datastax.oss.driver.internal.core.cql.TableScanner;
+import com.datastax.oss.driver.internal.core.util.concurrent.BlockingOperation;
+import com.datastax.oss.driver.internal.core.util.concurrent.CompletableFutures;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A session that offers utility methods to read a whole table with parallel token range queries.
+ *
+ * <p>The rows of the different ranges are interleaved in the order their pages are received; there
+ * is no ordering guarantee across ranges.
+ *
+ * @see TableScan
+ * @since 4.6.0
+ */
+public interface TableScanSession extends AsyncCqlSession {
+
+  /**
+   * Starts the given scan asynchronously.
+   *
+   * <p>The returned result set behaves like a regular paged result: each page contains the rows of
+   * one page of one sub-range, and {@link AsyncResultSet#fetchNextPage()} completes with the next
+   * page received from any sub-range. If any range query fails, the scan stops and the failure is
+   * propagated to the next page.
+   */
+  @NonNull
+  default CompletionStage<AsyncResultSet> scanAsync(@NonNull TableScan scan) {
+    return new TableScanner(this, scan).start();
+  }
+
+  /**
+   * Executes the given scan synchronously. The first page is fetched before this method returns,
+   * the next ones are fetched as the result set is iterated.
+   *
+   * <p>This method blocks, it must not be called from a driver thread.
+   */
+  @NonNull
+  default ResultSet scan(@NonNull TableScan scan) {
+    BlockingOperation.checkNotDriverThread();
+    return ResultSets.newInstance(CompletableFutures.getUninterruptibly(scanAsync(scan)));
+  }
+
+  /**
+   * Returns a {@code Publisher} that, once subscribed to, executes the given scan and emits all the
+   * rows.
+   */
+  @NonNull
+  default ReactiveResultSet scanReactive(@NonNull TableScan scan) {
+    return new DefaultReactiveResultSet(() -> scanAsync(scan));
+  }
+
+  /**
+   * Shortcut to scan a table synchronously and return its rows as a sequential stream.
+   *
+   * <p>This method blocks until the first page is received, it must not be called from a driver
+   * thread.
+   *
+   * @param columns the columns to select; if empty, all the columns are selected.
+   * @param parallelism the maximum number of token ranges to read concurrently.
+   */
+  @NonNull
+  default Stream<Row> scanTable(
+      @NonNull CqlIdentifier keyspace,
+      @NonNull CqlIdentifier table,
+      @NonNull Iterable<CqlIdentifier> columns,
+      int parallelism) {
+    ResultSet rows =
+        scan(
+            TableScan.newInstance(keyspace, table).setColumns(columns).setParallelism(parallelism));
+    return StreamSupport.stream(rows.spliterator(), false);
+  }
+
+  /**
+   * Shortcut for {@link #scanTable(CqlIdentifier, CqlIdentifier, Iterable, int)
+   * scanTable(CqlIdentifier.fromCql(keyspaceName), CqlIdentifier.fromCql(tableName),
+   * columnNames.map(CqlIdentifier::fromCql), parallelism)}.
+   */
+  @NonNull
+  default Stream<Row> scanTable(
+      @NonNull String keyspaceName,
+      @NonNull String tableName,
+      @NonNull Iterable<String> columnNames,
+      int parallelism) {
+    ImmutableList.Builder<CqlIdentifier> columns = ImmutableList.builder();
+    for (String columnName : columnNames) {
+      columns.add(CqlIdentifier.fromCql(columnName));
+    }
+    return scanTable(
+        CqlIdentifier.fromCql(keyspaceName),
+        CqlIdentifier.fromCql(tableName),
+        columns.build(),
+        parallelism);
+  }
+}
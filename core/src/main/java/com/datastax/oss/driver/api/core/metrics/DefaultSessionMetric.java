@@ -30,6 +30,12 @@ public enum DefaultSessionMetric implements SessionMetric {
   THROTTLING_QUEUE_SIZE("throttling.queue-size"),
   THROTTLING_ERRORS("throttling.errors"),
   CQL_PREPARED_CACHE_SIZE("cql-prepared-cache-size"),
+  TOKEN_MAP_REBUILD("token-map.rebuild"),
+  CQL_PREPARED_CACHE_HITS("cql-prepared-cache-hits"),
+  CQL_PREPARED_CACHE_MISSES("cql-prepared-cache-misses"),
+  CQL_PREPARED_CACHE_EVICTIONS("cql-prepared-cache-evictions"),
+  SCHEMA_REFRESH("schema.refresh"),
+  THROTTLING_LIMIT("throttling.limit"),
   ;
 
   private static final Map<String, DefaultSessionMetric> BY_PATH = sortByPath();
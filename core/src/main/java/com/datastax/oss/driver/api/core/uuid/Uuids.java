@@ -28,17 +28,19 @@ import java.net.UnknownHostException;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Enumeration;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Random;
 import java.util.Set;
 import java.util.TimeZone;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -113,7 +115,27 @@ public final class Uuids {
   private Uuids() {}
 
   private static final long START_EPOCH = makeEpoch();
-  private static final long CLOCK_SEQ_AND_NODE = makeClockSeqAndNode();
+  private static final long CLOCK_SEQ = new Random(System.currentTimeMillis()).nextLong();
+  private static final long NODE = makeNode();
+  private static final long CLOCK_SEQ_AND_NODE = makeClockSeqAndNode(CLOCK_SEQ, NODE);
+
+  // The number of 100-nanosecond intervals in a millisecond, and therefore the maximum number of
+  // UUIDs that a sequence can generate in a millisecond.
+  private static final int TIMESTAMPS_PER_MILLI = 10000;
+
+  // The number of sequences used by stripedTimeBased(). Each one has its own clock sequence (the
+  // one of the global sequence, plus 1 + the stripe index), so that they can generate the same
+  // timestamps without producing the same UUIDs.
+  private static final int STRIPES =
+      Math.min(64, nextPowerOfTwo(Runtime.getRuntime().availableProcessors()));
+  private static final long[] STRIPE_CLOCK_SEQ_AND_NODE = makeStripeClockSeqAndNodes();
+
+  // The last timestamp of each sequence: the global one used by timeBased() at index 0, then the
+  // stripes. Only one slot out of PADDING is used, to keep the sequences on different cache lines.
+  private static final int PADDING = 8;
+  private static final int GLOBAL_SEQUENCE = 0;
+  private static final AtomicLongArray lastTimestamps =
+      new AtomicLongArray((STRIPES + 1) * PADDING);
 
   // The min and max possible lsb for a UUID.
   //
@@ -126,8 +148,6 @@ public final class Uuids {
   private static final long MIN_CLOCK_SEQ_AND_NODE = 0x8080808080808080L;
   private static final long MAX_CLOCK_SEQ_AND_NODE = 0x7f7f7f7f7f7f7f7fL;
 
-  private static final AtomicLong lastTimestamp = new AtomicLong(0L);
-
   private static long makeEpoch() {
     // UUID v1 timestamps must be in 100-nanoseconds interval since 00:00:00.000 15 Oct 1582.
     Calendar c = Calendar.getInstance(TimeZone.getTimeZone("GMT-0"));
@@ -221,10 +241,7 @@ public final class Uuids {
     }
   }
 
-  private static long makeClockSeqAndNode() {
-    long clock = new Random(System.currentTimeMillis()).nextLong();
-    long node = makeNode();
-
+  private static long makeClockSeqAndNode(long clock, long node) {
     long lsb = 0;
     lsb |= (clock & 0x0000000000003FFFL) << 48;
     lsb |= 0x8000000000000000L;
@@ -232,6 +249,18 @@ public final class Uuids {
     return lsb;
   }
 
+  private static long[] makeStripeClockSeqAndNodes() {
+    long[] result = new long[STRIPES];
+    for (int i = 0; i < STRIPES; i++) {
+      result[i] = makeClockSeqAndNode(CLOCK_SEQ + 1 + i, NODE);
+    }
+    return result;
+  }
+
+  private static int nextPowerOfTwo(int n) {
+    return (n <= 1) ? 1 : Integer.highestOneBit(n - 1) << 1;
+  }
+
   /**
    * Creates a new random (version 4) UUID.
    *
@@ -440,6 +469,55 @@ public final class Uuids {
     return new UUID(makeMsb(getCurrentTimestamp()), CLOCK_SEQ_AND_NODE);
   }
 
+  /**
+   * Creates the given number of time-based (version 1) UUIDs at once.
+   *
+   * <p>This is equivalent to calling {@link #timeBased()} {@code count} times, but the timestamps
+   * are reserved in blocks (up to 10,000 at a time, the number of distinct timestamps in a
+   * millisecond), which is cheaper when many UUIDs are needed at once. The UUIDs are returned in
+   * the order of their timestamps.
+   *
+   * @throws IllegalArgumentException if {@code count} is negative.
+   */
+  @NonNull
+  public static List<UUID> timeBased(int count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be positive, got: " + count);
+    }
+    UUID[] uuids = new UUID[count];
+    int generated = 0;
+    while (generated < count) {
+      int requested = count - generated;
+      long first = reserveTimestamps(GLOBAL_SEQUENCE, requested);
+      int reserved = reservedCount(first, requested);
+      for (int i = 0; i < reserved; i++) {
+        uuids[generated++] = new UUID(makeMsb(first + i), CLOCK_SEQ_AND_NODE);
+      }
+    }
+    return Arrays.asList(uuids);
+  }
+
+  /**
+   * Creates a new time-based (version 1) UUID, using a generator that is only shared with a subset
+   * of the JVM's threads.
+   *
+   * <p>{@link #timeBased()} uses a single sequence of timestamps for the whole JVM, which becomes a
+   * point of contention when many threads generate UUIDs concurrently; it also caps the JVM to
+   * 10,000 UUIDs per millisecond. This method spreads threads over multiple sequences, each with
+   * its own clock sequence, so that the UUIDs are still unique.
+   *
+   * <p>The tradeoff is ordering: the timestamps generated by a given thread are still strictly
+   * increasing, but two UUIDs generated by different threads might have the same timestamp, or
+   * timestamps that don't reflect the order in which they were generated (within the same
+   * millisecond).
+   */
+  @NonNull
+  public static UUID stripedTimeBased() {
+    int stripe = (int) (Thread.currentThread().getId() & (STRIPES - 1));
+    return new UUID(
+        makeMsb(reserveTimestamps((stripe + 1) * PADDING, 1)), STRIPE_CLOCK_SEQ_AND_NODE[stripe]);
+  }
+
   /**
    * Creates a "fake" time-based UUID that sorts as the smallest possible version 1 UUID generated
    * at the provided timestamp.
@@ -518,37 +596,52 @@ public final class Uuids {
   // modest machines), then we stall the generator (busy spin) until the next millisecond as
   // required by the RFC.
   private static long getCurrentTimestamp() {
+    return reserveTimestamps(GLOBAL_SEQUENCE, 1);
+  }
+
+  /**
+   * Reserves up to {@code count} consecutive timestamps in the sequence at the given index of
+   * {@link #lastTimestamps}, and returns the first one. The number of timestamps actually reserved
+   * is given by {@link #reservedCount(long, int)}.
+   */
+  private static long reserveTimestamps(int sequence, int count) {
     while (true) {
       long now = fromUnixTimestamp(System.currentTimeMillis());
-      long last = lastTimestamp.get();
+      long last = lastTimestamps.get(sequence);
       if (now > last) {
-        if (lastTimestamp.compareAndSet(last, now)) {
+        if (lastTimestamps.compareAndSet(sequence, last, now + reservedCount(now, count) - 1)) {
           return now;
         }
       } else {
-        long lastMillis = millisOf(last);
-        // If the clock went back in time, bail out
-        if (millisOf(now) < millisOf(last)) {
-          return lastTimestamp.incrementAndGet();
-        }
         long candidate = last + 1;
-        // If we've generated more than 10k uuid in that millisecond, restart the whole process
+        // If the clock went back in time, bail out: keep going from the last timestamp. Otherwise,
+        // if we've generated more than 10k uuid in that millisecond, restart the whole process
         // until we get to the next millis. Otherwise, we try use our candidate ... unless we've
         // been beaten by another thread in which case we try again.
-        if (millisOf(candidate) == lastMillis && lastTimestamp.compareAndSet(last, candidate)) {
+        if ((millisOf(now) < millisOf(last) || millisOf(candidate) == millisOf(last))
+            && lastTimestamps.compareAndSet(
+                sequence, last, candidate + reservedCount(candidate, count) - 1)) {
           return candidate;
         }
       }
     }
   }
 
+  /**
+   * How many timestamps {@link #reserveTimestamps} reserves from {@code first}: as many as
+   * requested, without crossing into the next millisecond.
+   */
+  private static int reservedCount(long first, int requested) {
+    return (int) Math.min(requested, TIMESTAMPS_PER_MILLI - (first % TIMESTAMPS_PER_MILLI));
+  }
+
   @VisibleForTesting
   static long fromUnixTimestamp(long tstamp) {
     return (tstamp - START_EPOCH) * 10000;
   }
 
   private static long millisOf(long timestamp) {
-    return timestamp / 10000;
+    return timestamp / TIMESTAMPS_PER_MILLI;
   }
 
   @VisibleForTesting
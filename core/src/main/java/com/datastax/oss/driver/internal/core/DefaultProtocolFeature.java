@@ -56,5 +56,13 @@ public enum DefaultProtocolFeature implements ProtocolFeature {
    * @see <a href="https://issues.apache.org/jira/browse/CASSANDRA-14664">CASSANDRA-14664</a>
    */
   NOW_IN_SECONDS,
+
+  /**
+   * The outer segment format, where frames are grouped into checksummed segments, and compression
+   * applies to whole segments instead of individual frames.
+   *
+   * @see <a href="https://issues.apache.org/jira/browse/CASSANDRA-15299">CASSANDRA-15299</a>
+   */
+  MODERN_FRAMING,
   ;
 }
@@ -100,6 +100,20 @@ public class AdminRow {
     return get(columnName, MAP_OF_STRING_TO_STRING);
   }
 
+  /** The metadata of the row's columns, indexed by name. */
+  public Map<String, ColumnSpec> getColumnSpecs() {
+    return columnSpecs;
+  }
+
+  /** The raw (serialized) values of the row's columns, in the order of their indices. */
+  public List<ByteBuffer> getData() {
+    return data;
+  }
+
+  public ProtocolVersion getProtocolVersion() {
+    return protocolVersion;
+  }
+
   public boolean contains(String columnName) {
     return columnSpecs.containsKey(columnName);
   }
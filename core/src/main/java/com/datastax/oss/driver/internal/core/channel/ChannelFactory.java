@@ -64,6 +64,7 @@ public class ChannelFactory {
   private static final String DATASTAX_CLOUD_PRODUCT_TYPE = "DATASTAX_APOLLO";
 
   private static final AtomicBoolean LOGGED_ORPHAN_WARNING = new AtomicBoolean();
+  private static final AtomicBoolean LOGGED_MAX_REQUESTS_WARNING = new AtomicBoolean();
 
   /**
    * A value for {@link #productType} that indicates that the server does not report any product
@@ -269,6 +270,22 @@ public class ChannelFactory {
               (int) defaultConfig.getBytes(DefaultDriverOption.PROTOCOL_MAX_FRAME_LENGTH);
           int maxRequestsPerConnection =
               defaultConfig.getInt(DefaultDriverOption.CONNECTION_MAX_REQUESTS);
+          if (maxRequestsPerConnection < 1
+              || maxRequestsPerConnection > StreamIdGenerator.MAX_STREAM_IDS) {
+            int fixedValue =
+                Math.max(1, Math.min(maxRequestsPerConnection, StreamIdGenerator.MAX_STREAM_IDS));
+            if (LOGGED_MAX_REQUESTS_WARNING.compareAndSet(false, true)) {
+              LOG.warn(
+                  "[{}] Invalid value for {}: {}. It must be between 1 and {}. "
+                      + "Defaulting to {} instead.",
+                  logPrefix,
+                  DefaultDriverOption.CONNECTION_MAX_REQUESTS.getPath(),
+                  maxRequestsPerConnection,
+                  StreamIdGenerator.MAX_STREAM_IDS,
+                  fixedValue);
+            }
+            maxRequestsPerConnection = fixedValue;
+          }
           int maxOrphanRequests =
               defaultConfig.getInt(DefaultDriverOption.CONNECTION_MAX_ORPHAN_REQUESTS);
           if (maxOrphanRequests >= maxRequestsPerConnection) {
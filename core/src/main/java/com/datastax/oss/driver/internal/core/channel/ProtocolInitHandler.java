@@ -26,7 +26,13 @@ import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
 import com.datastax.oss.driver.api.core.connection.ConnectionInitException;
 import com.datastax.oss.driver.api.core.metadata.EndPoint;
 import com.datastax.oss.driver.api.core.type.codec.TypeCodecs;
+import com.datastax.oss.driver.internal.core.DefaultProtocolFeature;
 import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
+import com.datastax.oss.driver.internal.core.protocol.BytesToSegmentDecoder;
+import com.datastax.oss.driver.internal.core.protocol.FrameEncoder;
+import com.datastax.oss.driver.internal.core.protocol.SegmentBuilder;
+import com.datastax.oss.driver.internal.core.protocol.SegmentCodec;
+import com.datastax.oss.driver.internal.core.protocol.SegmentToFrameDecoder;
 import com.datastax.oss.driver.internal.core.util.ProtocolUtils;
 import com.datastax.oss.driver.internal.core.util.concurrent.UncaughtExceptions;
 import com.datastax.oss.protocol.internal.Message;
@@ -46,6 +52,7 @@ import com.datastax.oss.protocol.internal.response.Supported;
 import com.datastax.oss.protocol.internal.response.result.Rows;
 import com.datastax.oss.protocol.internal.response.result.SetKeyspace;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPipeline;
 import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Objects;
@@ -65,6 +72,7 @@ class ProtocolInitHandler extends ConnectInitHandler {
 
   private final InternalDriverContext context;
   private final long timeoutMillis;
+  private final int maxFrameLength;
   private final ProtocolVersion initialProtocolVersion;
   private final DriverChannelOptions options;
   // might be null if this is the first channel to this cluster
@@ -96,6 +104,8 @@ class ProtocolInitHandler extends ConnectInitHandler {
 
     this.timeoutMillis =
         defaultConfig.getDuration(DefaultDriverOption.CONNECTION_INIT_QUERY_TIMEOUT).toMillis();
+    this.maxFrameLength =
+        (int) defaultConfig.getBytes(DefaultDriverOption.PROTOCOL_MAX_FRAME_LENGTH);
     this.initialProtocolVersion = protocolVersion;
     this.expectedClusterName = expectedClusterName;
     this.options = options;
@@ -128,6 +138,32 @@ class ProtocolInitHandler extends ConnectInitHandler {
     return result;
   }
 
+  /**
+   * If the protocol version uses the v5+ framing format, switch the pipeline to it. This must be
+   * done as soon as the server has replied to STARTUP (with READY or AUTHENTICATE), because the
+   * server switches right after sending that response: the authentication exchange, if any, already
+   * uses the new format.
+   */
+  private void maybeSwitchToModernFraming() {
+    if (context
+        .getProtocolVersionRegistry()
+        .supports(initialProtocolVersion, DefaultProtocolFeature.MODERN_FRAMING)) {
+      LOG.debug("[{}] Switching to protocol v5+ framing format", logPrefix);
+      SegmentCodec segmentCodec = context.getSegmentCodec();
+      ChannelPipeline pipeline = ctx.pipeline();
+      pipeline.replace(
+          "encoder", "encoder", new FrameEncoder(segmentCodec.getFrameCodec(), maxFrameLength));
+      pipeline.addBefore("encoder", "segmentBuilder", new SegmentBuilder(segmentCodec));
+      // Add the second decoder first: if the old decoder has buffered bytes, they are forwarded
+      // when it gets removed, and must go through the whole new chain.
+      pipeline.addAfter(
+          "decoder",
+          "segmentToFrameDecoder",
+          new SegmentToFrameDecoder(segmentCodec.getFrameCodec(), maxFrameLength));
+      pipeline.replace("decoder", "bytesToSegmentDecoder", new BytesToSegmentDecoder(segmentCodec));
+    }
+  }
+
   private enum Step {
     OPTIONS,
     STARTUP,
@@ -196,10 +232,12 @@ class ProtocolInitHandler extends ConnectInitHandler {
           step = Step.STARTUP;
           send();
         } else if (step == Step.STARTUP && response instanceof Ready) {
+          maybeSwitchToModernFraming();
           context.getAuthProvider().ifPresent(provider -> provider.onMissingChallenge(endPoint));
           step = Step.GET_CLUSTER_NAME;
           send();
         } else if (step == Step.STARTUP && response instanceof Authenticate) {
+          maybeSwitchToModernFraming();
           Authenticate authenticate = (Authenticate) response;
           authenticator = buildAuthenticator(endPoint, authenticate.authenticator);
           authenticator
@@ -15,7 +15,6 @@
  */
 package com.datastax.oss.driver.internal.core.channel;
 
-import java.util.BitSet;
 import java.util.concurrent.atomic.AtomicInteger;
 import net.jcip.annotations.NotThreadSafe;
 
@@ -27,18 +26,39 @@ import net.jcip.annotations.NotThreadSafe;
  *
  * <p>Other methods are not synchronized, they are only called by {@link InFlightHandler} on the I/O
  * thread.
+ *
+ * <p>Ids are tracked in a two-level bitmap: one bit per id, grouped in 64-bit words, and a summary
+ * with one bit per word that still has available ids. {@link #acquire()} always returns the lowest
+ * available id, but it only has to inspect the summary (at most 8 words for the 32768 ids allowed
+ * by the protocol) instead of scanning every id, so its cost does not degrade when the channel is
+ * nearly saturated.
  */
 @NotThreadSafe
 class StreamIdGenerator {
 
+  /**
+   * The maximum number of ids per connection: the protocol uses signed 16-bit stream ids, and
+   * negative values are reserved for server-initiated messages.
+   */
+  static final int MAX_STREAM_IDS = 32768;
+
   private final int maxAvailableIds;
-  // unset = available, set = borrowed (note that this is the opposite of the 3.x implementation)
-  private final BitSet ids;
+  // set = available, unset = borrowed
+  private final long[] ids;
+  // bit i is set if ids[i] has at least one available id
+  private final long[] nonEmptyWords;
   private AtomicInteger availableIds;
 
   StreamIdGenerator(int maxAvailableIds) {
     this.maxAvailableIds = maxAvailableIds;
-    this.ids = new BitSet(this.maxAvailableIds);
+    int wordCount = wordCount(maxAvailableIds);
+    this.ids = new long[wordCount];
+    this.nonEmptyWords = new long[wordCount(wordCount)];
+    for (int i = 0; i < wordCount; i++) {
+      int remaining = maxAvailableIds - (i << 6);
+      ids[i] = (remaining >= 64) ? -1L : (1L << remaining) - 1;
+      nonEmptyWords[i >>> 6] |= 1L << i;
+    }
     this.availableIds = new AtomicInteger(this.maxAvailableIds);
   }
 
@@ -61,19 +81,32 @@ class StreamIdGenerator {
 
   int acquire() {
     assert availableIds.get() < maxAvailableIds;
-    int id = ids.nextClearBit(0);
-    if (id >= maxAvailableIds) {
-      return -1;
+    for (int i = 0; i < nonEmptyWords.length; i++) {
+      long summary = nonEmptyWords[i];
+      if (summary != 0) {
+        int wordIndex = (i << 6) + Long.numberOfTrailingZeros(summary);
+        long word = ids[wordIndex];
+        int id = (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+        // clear the lowest set bit
+        word &= word - 1;
+        ids[wordIndex] = word;
+        if (word == 0) {
+          nonEmptyWords[i] = summary & ~(1L << wordIndex);
+        }
+        return id;
+      }
     }
-    ids.set(id);
-    return id;
+    return -1;
   }
 
   void release(int id) {
-    if (!ids.get(id)) {
+    int wordIndex = id >>> 6;
+    long mask = 1L << id;
+    if (id < 0 || id >= maxAvailableIds || (ids[wordIndex] & mask) != 0) {
       throw new IllegalStateException("Tried to release id that hadn't been borrowed: " + id);
     }
-    ids.clear(id);
+    ids[wordIndex] |= mask;
+    nonEmptyWords[wordIndex >>> 6] |= 1L << wordIndex;
     int available = availableIds.incrementAndGet();
     assert available <= maxAvailableIds;
   }
@@ -85,4 +118,8 @@ class StreamIdGenerator {
   int getMaxAvailableIds() {
     return maxAvailableIds;
   }
+
+  private static int wordCount(int bits) {
+    return (bits + 63) >>> 6;
+  }
 }
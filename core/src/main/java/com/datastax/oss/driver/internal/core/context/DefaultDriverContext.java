@@ -82,6 +82,7 @@ import com.datastax.oss.driver.internal.core.metrics.MetricsFactory;
 import com.datastax.oss.driver.internal.core.pool.ChannelPoolFactory;
 import com.datastax.oss.driver.internal.core.protocol.ByteBufPrimitiveCodec;
 import com.datastax.oss.driver.internal.core.protocol.Lz4Compressor;
+import com.datastax.oss.driver.internal.core.protocol.SegmentCodec;
 import com.datastax.oss.driver.internal.core.protocol.SnappyCompressor;
 import com.datastax.oss.driver.internal.core.servererrors.DefaultWriteTypeRegistry;
 import com.datastax.oss.driver.internal.core.servererrors.WriteTypeRegistry;
@@ -104,6 +105,7 @@ import com.datastax.oss.protocol.internal.ProtocolV5ClientCodecs;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -167,6 +169,8 @@ public class DefaultDriverContext implements InternalDriverContext {
       new LazyReference<>("compressor", this::buildCompressor, cycleDetector);
   private final LazyReference<FrameCodec<ByteBuf>> frameCodecRef =
       new LazyReference<>("frameCodec", this::buildFrameCodec, cycleDetector);
+  private final LazyReference<SegmentCodec> segmentCodecRef =
+      new LazyReference<>("segmentCodec", this::buildSegmentCodec, cycleDetector);
   private final LazyReference<ProtocolVersionRegistry> protocolVersionRegistryRef =
       new LazyReference<>(
           "protocolVersionRegistry", this::buildProtocolVersionRegistry, cycleDetector);
@@ -440,9 +444,12 @@ public class DefaultDriverContext implements InternalDriverContext {
   }
 
   protected FrameCodec<ByteBuf> buildFrameCodec() {
+    Compressor<ByteBuf> compressor = getCompressor();
+    // Zero-copy is pointless if frames get compressed (the compressor reads the whole frame)
+    int zeroCopyThreshold = (compressor.algorithm() == null) ? getZeroCopyThreshold() : 0;
     return new FrameCodec<>(
-        new ByteBufPrimitiveCodec(getNettyOptions().allocator()),
-        getCompressor(),
+        new ByteBufPrimitiveCodec(getNettyOptions().allocator(), zeroCopyThreshold),
+        compressor,
         new ProtocolV3ClientCodecs(),
         new ProtocolV4ClientCodecsForDse(),
         new ProtocolV5ClientCodecs(),
@@ -450,6 +457,27 @@ public class DefaultDriverContext implements InternalDriverContext {
         new DseProtocolV2ClientCodecs());
   }
 
+  protected SegmentCodec buildSegmentCodec() {
+    ByteBufAllocator allocator = getNettyOptions().allocator();
+    // With the segment format, compression is applied to whole segments, the frames inside are
+    // never compressed.
+    FrameCodec<ByteBuf> frameCodec =
+        new FrameCodec<>(
+            new ByteBufPrimitiveCodec(allocator, getZeroCopyThreshold()),
+            Compressor.none(),
+            new ProtocolV3ClientCodecs(),
+            new ProtocolV4ClientCodecsForDse(),
+            new ProtocolV5ClientCodecs(),
+            new DseProtocolV1ClientCodecs(),
+            new DseProtocolV2ClientCodecs());
+    return new SegmentCodec(allocator, getCompressor(), frameCodec);
+  }
+
+  private int getZeroCopyThreshold() {
+    DriverExecutionProfile defaultProfile = getConfig().getDefaultProfile();
+    return (int) defaultProfile.getBytes(DefaultDriverOption.PROTOCOL_ZERO_COPY_THRESHOLD);
+  }
+
   protected ProtocolVersionRegistry buildProtocolVersionRegistry() {
     return new DefaultProtocolVersionRegistry(getSessionName());
   }
@@ -514,7 +542,7 @@ public class DefaultDriverContext implements InternalDriverContext {
     processors.add(cqlRequestSyncProcessor);
 
     // prepare requests (sync and async)
-    CqlPrepareAsyncProcessor cqlPrepareAsyncProcessor = new CqlPrepareAsyncProcessor();
+    CqlPrepareAsyncProcessor cqlPrepareAsyncProcessor = new CqlPrepareAsyncProcessor(this);
     CqlPrepareSyncProcessor cqlPrepareSyncProcessor =
         new CqlPrepareSyncProcessor(cqlPrepareAsyncProcessor);
     processors.add(cqlPrepareAsyncProcessor);
@@ -785,6 +813,12 @@ public class DefaultDriverContext implements InternalDriverContext {
     return frameCodecRef.get();
   }
 
+  @NonNull
+  @Override
+  public SegmentCodec getSegmentCodec() {
+    return segmentCodecRef.get();
+  }
+
   @NonNull
   @Override
   public ProtocolVersionRegistry getProtocolVersionRegistry() {
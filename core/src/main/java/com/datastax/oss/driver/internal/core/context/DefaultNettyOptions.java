@@ -27,8 +27,6 @@ import io.netty.channel.ChannelOption;
 import io.netty.channel.DefaultEventLoopGroup;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.FixedRecvByteBufAllocator;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.util.HashedWheelTimer;
 import io.netty.util.Timer;
 import io.netty.util.concurrent.DefaultPromise;
@@ -49,6 +47,7 @@ public class DefaultNettyOptions implements NettyOptions {
   private static final Logger LOG = LoggerFactory.getLogger(DefaultNettyOptions.class);
 
   private final DriverExecutionProfile config;
+  private final NettyTransport transport;
   private final EventLoopGroup ioEventLoopGroup;
   private final EventLoopGroup adminEventLoopGroup;
   private final int ioShutdownQuietPeriod;
@@ -58,6 +57,8 @@ public class DefaultNettyOptions implements NettyOptions {
   private final int adminShutdownTimeout;
   private final TimeUnit adminShutdownUnit;
   private final Timer timer;
+  private final ChannelOption<Boolean> tcpQuickAckOption;
+  private final ChannelOption<Integer> busyPollOption;
 
   public DefaultNettyOptions(InternalDriverContext context) {
     this.config = context.getConfig().getDefaultProfile();
@@ -81,7 +82,16 @@ public class DefaultNettyOptions implements NettyOptions {
             .setNameFormat(context.getSessionName() + "-io-%d")
             .setDaemon(daemon)
             .build();
-    this.ioEventLoopGroup = new NioEventLoopGroup(ioGroupSize, ioThreadFactory);
+    this.transport =
+        NettyTransport.resolve(
+            config.getString(DefaultDriverOption.NETTY_IO_TRANSPORT), context.getSessionName());
+    this.ioEventLoopGroup = transport.newEventLoopGroup(ioGroupSize, ioThreadFactory);
+    this.tcpQuickAckOption =
+        transportOption(
+            DefaultDriverOption.SOCKET_TCP_QUICK_ACK, "TCP_QUICKACK", context.getSessionName());
+    this.busyPollOption =
+        transportOption(
+            DefaultDriverOption.SOCKET_BUSY_POLL, "SO_BUSY_POLL", context.getSessionName());
 
     ThreadFactory adminThreadFactory =
         new ThreadFactoryBuilder()
@@ -128,7 +138,7 @@ public class DefaultNettyOptions implements NettyOptions {
 
   @Override
   public Class<? extends Channel> channelClass() {
-    return NioSocketChannel.class;
+    return transport.channelClass();
   }
 
   @Override
@@ -167,6 +177,35 @@ public class DefaultNettyOptions implements NettyOptions {
       bootstrap.option(
           ChannelOption.CONNECT_TIMEOUT_MILLIS, Long.valueOf(connectTimeout.toMillis()).intValue());
     }
+    if (tcpQuickAckOption != null) {
+      boolean tcpQuickAck = config.getBoolean(DefaultDriverOption.SOCKET_TCP_QUICK_ACK);
+      bootstrap.option(tcpQuickAckOption, tcpQuickAck);
+    }
+    if (busyPollOption != null) {
+      int busyPoll = config.getInt(DefaultDriverOption.SOCKET_BUSY_POLL);
+      bootstrap.option(busyPollOption, busyPoll);
+    }
+  }
+
+  /**
+   * Looks up the channel option that implements a transport-specific socket option, if it is
+   * defined in the configuration. Returns null if it is not defined, or if the current transport
+   * does not support it (in which case we warn once here, rather than for every connection).
+   */
+  private <T> ChannelOption<T> transportOption(
+      DefaultDriverOption configOption, String channelOptionName, String logPrefix) {
+    if (!config.isDefined(configOption)) {
+      return null;
+    }
+    ChannelOption<T> channelOption = transport.channelOption(channelOptionName);
+    if (channelOption == null) {
+      LOG.warn(
+          "[{}] {} is not supported by the {} transport, it will be ignored",
+          logPrefix,
+          configOption.getPath(),
+          transport);
+    }
+    return channelOption;
   }
 
   @Override
@@ -32,6 +32,7 @@ import com.datastax.oss.driver.internal.core.metadata.token.ReplicationStrategyF
 import com.datastax.oss.driver.internal.core.metadata.token.TokenFactoryRegistry;
 import com.datastax.oss.driver.internal.core.metrics.MetricsFactory;
 import com.datastax.oss.driver.internal.core.pool.ChannelPoolFactory;
+import com.datastax.oss.driver.internal.core.protocol.SegmentCodec;
 import com.datastax.oss.driver.internal.core.servererrors.WriteTypeRegistry;
 import com.datastax.oss.driver.internal.core.session.PoolManager;
 import com.datastax.oss.driver.internal.core.session.RequestProcessorRegistry;
@@ -60,6 +61,10 @@ public interface InternalDriverContext extends DriverContext {
   @NonNull
   FrameCodec<ByteBuf> getFrameCodec();
 
+  /** The codec used for the outer segment format, on connections that use protocol v5 or above. */
+  @NonNull
+  SegmentCodec getSegmentCodec();
+
   @NonNull
   ProtocolVersionRegistry getProtocolVersionRegistry();
 
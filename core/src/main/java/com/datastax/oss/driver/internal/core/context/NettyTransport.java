@@ -0,0 +1,212 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.context;
+
+import com.datastax.oss.driver.internal.core.util.Reflection;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Locale;
+import java.util.concurrent.ThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The Netty transports that {@link DefaultNettyOptions} can use for the I/O event loop group.
+ *
+ * <p>The native transports are optional dependencies: they are loaded reflectively, and only if
+ * their classes are present on the classpath and their native library loads on the current
+ * platform.
+ */
+public enum NettyTransport {
+  NIO(null, null, null, null) {
+    @Override
+    public boolean isAvailable() {
+      return true;
+    }
+
+    @NonNull
+    @Override
+    public EventLoopGroup newEventLoopGroup(int size, @NonNull ThreadFactory threadFactory) {
+      return new NioEventLoopGroup(size, threadFactory);
+    }
+
+    @NonNull
+    @Override
+    public Class<? extends Channel> channelClass() {
+      return NioSocketChannel.class;
+    }
+  },
+  EPOLL(
+      "io.netty.channel.epoll.Epoll",
+      "io.netty.channel.epoll.EpollEventLoopGroup",
+      "io.netty.channel.epoll.EpollSocketChannel",
+      "io.netty.channel.epoll.EpollChannelOption"),
+  IO_URING(
+      "io.netty.incubator.channel.uring.IOUring",
+      "io.netty.incubator.channel.uring.IOUringEventLoopGroup",
+      "io.netty.incubator.channel.uring.IOUringSocketChannel",
+      "io.netty.incubator.channel.uring.IOUringChannelOption"),
+  ;
+
+  private static final Logger LOG = LoggerFactory.getLogger(NettyTransport.class);
+
+  /** The value of {@code advanced.netty.io-group.transport} that selects the best transport. */
+  public static final String AUTO = "auto";
+
+  private final String availabilityClassName;
+  private final String eventLoopGroupClassName;
+  private final String channelClassName;
+  private final String channelOptionClassName;
+
+  NettyTransport(
+      String availabilityClassName,
+      String eventLoopGroupClassName,
+      String channelClassName,
+      String channelOptionClassName) {
+    this.availabilityClassName = availabilityClassName;
+    this.eventLoopGroupClassName = eventLoopGroupClassName;
+    this.channelClassName = channelClassName;
+    this.channelOptionClassName = channelOptionClassName;
+  }
+
+  /**
+   * Resolves the transport to use from the value of {@code advanced.netty.io-group.transport}.
+   *
+   * <p>"auto" picks the first native transport that is available (epoll, then io_uring), or NIO if
+   * there is none. If a native transport is requested explicitly but is not available, this logs a
+   * warning and falls back to NIO.
+   *
+   * @throws IllegalArgumentException if the value does not match any transport.
+   */
+  @NonNull
+  public static NettyTransport resolve(@NonNull String configValue, @NonNull String logPrefix) {
+    if (AUTO.equalsIgnoreCase(configValue)) {
+      for (NettyTransport transport : new NettyTransport[] {EPOLL, IO_URING}) {
+        if (transport.isAvailable()) {
+          LOG.debug("[{}] Using {} transport", logPrefix, transport);
+          return transport;
+        }
+      }
+      LOG.debug("[{}] No native transport available, using NIO", logPrefix);
+      return NIO;
+    }
+    NettyTransport transport;
+    try {
+      transport = valueOf(configValue.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Unknown Netty transport '%s', expected one of auto, nio, epoll, io_uring",
+              configValue));
+    }
+    if (transport.isAvailable()) {
+      LOG.debug("[{}] Using {} transport", logPrefix, transport);
+      return transport;
+    } else {
+      LOG.warn(
+          "[{}] The {} transport was requested but is not available on this platform or "
+              + "classpath (check that the matching Netty native artifact is present), "
+              + "falling back to NIO",
+          logPrefix,
+          transport);
+      return NIO;
+    }
+  }
+
+  /**
+   * Whether the transport's classes are on the classpath, and its native library (if any) was
+   * loaded successfully.
+   */
+  public boolean isAvailable() {
+    Class<?> availabilityClass = Reflection.loadClass(null, availabilityClassName);
+    if (availabilityClass == null) {
+      return false;
+    }
+    try {
+      return (Boolean) availabilityClass.getMethod("isAvailable").invoke(null);
+    } catch (ReflectiveOperationException | LinkageError e) {
+      LOG.debug(String.format("Error while checking availability of %s", this), e);
+      return false;
+    }
+  }
+
+  /** Creates an event loop group for this transport. */
+  @NonNull
+  public EventLoopGroup newEventLoopGroup(int size, @NonNull ThreadFactory threadFactory) {
+    try {
+      return (EventLoopGroup)
+          loadRequiredClass(eventLoopGroupClassName)
+              .getConstructor(int.class, ThreadFactory.class)
+              .newInstance(size, threadFactory);
+    } catch (InvocationTargetException e) {
+      throw new IllegalStateException(
+          String.format("Error creating the %s event loop group", this), e.getCause());
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException(
+          String.format("Error creating the %s event loop group", this), e);
+    }
+  }
+
+  /** The channel class that must be used with the groups created by {@link #newEventLoopGroup}. */
+  @NonNull
+  public Class<? extends Channel> channelClass() {
+    return loadRequiredClass(channelClassName).asSubclass(Channel.class);
+  }
+
+  /**
+   * Returns a transport-specific channel option, or {@code null} if this transport does not support
+   * it.
+   *
+   * @param name the name of the constant in the transport's channel option class, for example
+   *     {@code "TCP_QUICKACK"}.
+   */
+  @Nullable
+  @SuppressWarnings("unchecked")
+  public <T> ChannelOption<T> channelOption(@NonNull String name) {
+    if (channelOptionClassName == null) {
+      return null;
+    }
+    Class<?> optionClass = Reflection.loadClass(null, channelOptionClassName);
+    if (optionClass == null) {
+      return null;
+    }
+    try {
+      Field field = optionClass.getField(name);
+      return (ChannelOption<T>) field.get(null);
+    } catch (NoSuchFieldException e) {
+      return null;
+    } catch (IllegalAccessException e) {
+      LOG.debug(String.format("Error while reading channel option %s of %s", name, this), e);
+      return null;
+    }
+  }
+
+  private Class<?> loadRequiredClass(String className) {
+    Class<?> clazz = Reflection.loadClass(null, className);
+    if (clazz == null) {
+      throw new IllegalStateException(
+          String.format("Can't load %s, is the %s transport on the classpath?", className, this));
+    }
+    return clazz;
+  }
+}
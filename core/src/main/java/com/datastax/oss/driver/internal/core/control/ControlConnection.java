@@ -34,6 +34,7 @@ import com.datastax.oss.driver.internal.core.metadata.DistanceEvent;
 import com.datastax.oss.driver.internal.core.metadata.MetadataManager;
 import com.datastax.oss.driver.internal.core.metadata.NodeStateEvent;
 import com.datastax.oss.driver.internal.core.metadata.TopologyEvent;
+import com.datastax.oss.driver.internal.core.metadata.schema.refresh.SchemaRefreshTarget;
 import com.datastax.oss.driver.internal.core.util.Loggers;
 import com.datastax.oss.driver.internal.core.util.concurrent.CompletableFutures;
 import com.datastax.oss.driver.internal.core.util.concurrent.Reconnection;
@@ -226,7 +227,8 @@ public class ControlConnection implements EventCallback, AsyncAutoCloseable {
     SchemaChangeEvent sce = (SchemaChangeEvent) event;
     context
         .getMetadataManager()
-        .refreshSchema(sce.keyspace, false, false)
+        .refreshSchema(
+            SchemaRefreshTarget.forSchemaChange(sce.target, sce.keyspace, sce.object), false, false)
         .whenComplete(
             (metadata, error) -> {
               if (error != null) {
@@ -478,7 +480,7 @@ public class ControlConnection implements EventCallback, AsyncAutoCloseable {
                       context.getLoadBalancingPolicyWrapper().init();
                       context
                           .getMetadataManager()
-                          .refreshSchema(null, false, true)
+                          .refreshSchema(SchemaRefreshTarget.FULL, false, true)
                           .whenComplete(
                               (metadata, schemaError) -> {
                                 if (schemaError != null) {
@@ -0,0 +1,196 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.cql;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import net.jcip.annotations.NotThreadSafe;
+
+/**
+ * A page of rows stored in a single array, with an {@code int[]} index of the cell boundaries.
+ *
+ * <p>The protocol layer decodes each cell into its own {@link ByteBuffer}, so a large page produces
+ * a lot of small objects; if the page is consumed slowly, they survive long enough to get promoted
+ * to the old generation. This class copies them into a compact form as soon as the page is
+ * received, so that only a couple of objects are retained; the cell buffers handed out to rows are
+ * short-lived duplicates of a single read-only buffer that wraps the whole page. They are
+ * positioned on their cell (their position is generally not 0), like the buffers of a message that
+ * was decoded in place, and they don't expose a backing array.
+ *
+ * <p>This behaves as a (read-only) queue of rows, so that it can be used in place of the data of a
+ * {@link com.datastax.oss.protocol.internal.response.result.Rows} message. Note that a row view
+ * references the whole page: retaining a single row keeps the page reachable.
+ */
+@NotThreadSafe // the read position is mutable
+public class CompactPage extends AbstractQueue<List<ByteBuffer>> {
+
+  /** Copies the given rows into a new compact page. The source queue is drained in the process. */
+  @NonNull
+  public static CompactPage copyOf(@NonNull Queue<List<ByteBuffer>> rows, int columnCount) {
+    int rowCount = rows.size();
+    long totalLength = 0;
+    for (List<ByteBuffer> row : rows) {
+      if (row.size() != columnCount) {
+        throw new IllegalArgumentException(
+            String.format("Expected %d cells per row, got %d", columnCount, row.size()));
+      }
+      for (ByteBuffer cell : row) {
+        if (cell != null) {
+          totalLength += cell.remaining();
+        }
+      }
+    }
+    if (totalLength > Integer.MAX_VALUE) {
+      // Can't happen with the default frame size limit
+      throw new IllegalArgumentException("Page is too large to be compacted: " + totalLength);
+    }
+    byte[] data = new byte[(int) totalLength];
+    int[] index = new int[rowCount * columnCount + 1];
+    int position = 0;
+    int i = 0;
+    List<ByteBuffer> row;
+    while ((row = rows.poll()) != null) {
+      for (ByteBuffer cell : row) {
+        if (cell == null) {
+          index[i++] = ~position;
+        } else {
+          int length = cell.remaining();
+          cell.duplicate().get(data, position, length);
+          index[i++] = position;
+          position += length;
+        }
+      }
+    }
+    index[i] = position;
+    return new CompactPage(data, index, rowCount, columnCount);
+  }
+
+  // Never modified: cells are duplicates of it, so that they don't need to copy or slice anything
+  private final ByteBuffer buffer;
+  // The start of each cell in the buffer, followed by a final entry that marks the end of the
+  // last cell. Null cells are encoded as the bitwise complement of their (empty) start.
+  private final int[] index;
+  private final int rowCount;
+  private final int columnCount;
+  private int nextRow;
+  // The view of nextRow, if it was already created by peek()
+  private RowView head;
+
+  private CompactPage(byte[] data, int[] index, int rowCount, int columnCount) {
+    // Read-only, so that a cell can't be used to modify (or, via array(), read) the rest of the
+    // page
+    this.buffer = ByteBuffer.wrap(data).asReadOnlyBuffer();
+    this.index = index;
+    this.rowCount = rowCount;
+    this.columnCount = columnCount;
+  }
+
+  @Override
+  public List<ByteBuffer> poll() {
+    List<ByteBuffer> result = peek();
+    if (result != null) {
+      nextRow += 1;
+      head = null;
+    }
+    return result;
+  }
+
+  @Override
+  public List<ByteBuffer> peek() {
+    if (nextRow >= rowCount) {
+      return null;
+    }
+    if (head == null) {
+      head = new RowView(nextRow);
+    }
+    return head;
+  }
+
+  @Override
+  public boolean offer(List<ByteBuffer> row) {
+    throw new UnsupportedOperationException("Compact pages are read-only");
+  }
+
+  @Override
+  public int size() {
+    return rowCount - nextRow;
+  }
+
+  @NonNull
+  @Override
+  public Iterator<List<ByteBuffer>> iterator() {
+    return new Iterator<List<ByteBuffer>>() {
+      private int row = nextRow;
+
+      @Override
+      public boolean hasNext() {
+        return row < rowCount;
+      }
+
+      @Override
+      public List<ByteBuffer> next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return new RowView(row++);
+      }
+    };
+  }
+
+  private ByteBuffer cell(int row, int column) {
+    int i = row * columnCount + column;
+    int start = index[i];
+    if (start < 0) {
+      return null;
+    }
+    int end = index[i + 1];
+    if (end < 0) {
+      end = ~end;
+    }
+    ByteBuffer cell = buffer.duplicate();
+    cell.limit(end);
+    cell.position(start);
+    return cell;
+  }
+
+  private class RowView extends AbstractList<ByteBuffer> {
+    private final int row;
+
+    private RowView(int row) {
+      this.row = row;
+    }
+
+    @Override
+    public ByteBuffer get(int column) {
+      if (column < 0 || column >= columnCount) {
+        throw new IndexOutOfBoundsException(
+            String.format("Index: %d, Size: %d", column, columnCount));
+      }
+      return cell(row, column);
+    }
+
+    @Override
+    public int size() {
+      return columnCount;
+    }
+  }
+}
@@ -94,6 +94,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 
 /**
  * Utility methods to convert to/from protocol messages.
@@ -334,8 +335,22 @@ public class Conversions {
       Rows rows = (Rows) result;
       Statement<?> statement = (Statement<?>) executionInfo.getRequest();
       ColumnDefinitions columnDefinitions = getResultDefinitions(rows, statement, context);
+      Queue<List<ByteBuffer>> data = rows.getData();
+      if (statement == null) {
+        return new DefaultAsyncResultSet(columnDefinitions, executionInfo, data, session, context);
+      }
+      DriverExecutionProfile config = resolveExecutionProfile(statement, context);
+      if (config.getBoolean(DefaultDriverOption.REQUEST_COMPACT_PAGES)) {
+        data = CompactPage.copyOf(data, rows.getMetadata().columnCount);
+      }
       return new DefaultAsyncResultSet(
-          columnDefinitions, executionInfo, rows.getData(), session, context);
+          columnDefinitions,
+          executionInfo,
+          data,
+          session,
+          context,
+          config.getInt(DefaultDriverOption.PAGING_PREFETCH_PAGES),
+          config.getDouble(DefaultDriverOption.PAGING_PREFETCH_THRESHOLD));
     } else if (result instanceof Prepared) {
       // This should never happen
       throw new IllegalArgumentException("Unexpected PREPARED response to a CQL query");
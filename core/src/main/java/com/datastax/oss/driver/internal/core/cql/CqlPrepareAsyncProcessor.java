@@ -15,16 +15,22 @@
  */
 package com.datastax.oss.driver.internal.core.cql;
 
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
 import com.datastax.oss.driver.api.core.cql.PrepareRequest;
 import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.metrics.DefaultSessionMetric;
 import com.datastax.oss.driver.api.core.session.Request;
 import com.datastax.oss.driver.api.core.type.reflect.GenericType;
 import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
+import com.datastax.oss.driver.internal.core.metrics.SessionMetricUpdater;
 import com.datastax.oss.driver.internal.core.session.DefaultSession;
 import com.datastax.oss.driver.internal.core.session.RequestProcessor;
 import com.datastax.oss.driver.internal.core.util.concurrent.CompletableFutures;
 import com.datastax.oss.driver.shaded.guava.common.cache.Cache;
 import com.datastax.oss.driver.shaded.guava.common.cache.CacheBuilder;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
@@ -36,13 +42,76 @@ public class CqlPrepareAsyncProcessor
 
   protected final Cache<PrepareRequest, CompletableFuture<PreparedStatement>> cache;
 
+  /**
+   * Strong references to the most recently used entries of {@link #cache}, if it uses weak values.
+   * This is never read, it only prevents those entries from being garbage-collected.
+   */
+  @Nullable private final Cache<PrepareRequest, CompletableFuture<PreparedStatement>> recentlyUsed;
+
+  /** Whether the cache weighs its entries, in which case they must be reweighed once complete. */
+  private final boolean weighed;
+
+  /** Builds a processor with an unbounded cache that uses weak values. */
   public CqlPrepareAsyncProcessor() {
     this(CacheBuilder.newBuilder().weakValues().build());
   }
 
+  /**
+   * Builds a processor with the cache settings defined in the configuration (see {@code
+   * advanced.prepared-statements.prepared-cache} in {@code reference.conf}).
+   */
+  public CqlPrepareAsyncProcessor(@NonNull InternalDriverContext context) {
+    DriverExecutionProfile config = context.getConfig().getDefaultProfile();
+    boolean weakValues = config.getBoolean(DefaultDriverOption.PREPARED_CACHE_WEAK_VALUES, true);
+    long maxSize = config.getLong(DefaultDriverOption.PREPARED_CACHE_MAX_SIZE, 0);
+    long maxWeight = config.getLong(DefaultDriverOption.PREPARED_CACHE_MAX_WEIGHT, 0);
+    int strongReferences = config.getInt(DefaultDriverOption.PREPARED_CACHE_STRONG_REFERENCES, 0);
+    if (maxSize > 0 && maxWeight > 0) {
+      throw new IllegalArgumentException(
+          String.format(
+              "%s and %s can't be used together, set one of them to 0",
+              DefaultDriverOption.PREPARED_CACHE_MAX_SIZE.getPath(),
+              DefaultDriverOption.PREPARED_CACHE_MAX_WEIGHT.getPath()));
+    }
+
+    CacheBuilder<PrepareRequest, CompletableFuture<PreparedStatement>> builder =
+        CacheBuilder.newBuilder()
+            .removalListener(
+                notification -> {
+                  if (notification.wasEvicted()) {
+                    context
+                        .getMetricsFactory()
+                        .getSessionUpdater()
+                        .incrementCounter(DefaultSessionMetric.CQL_PREPARED_CACHE_EVICTIONS, null);
+                  }
+                });
+    if (weakValues) {
+      builder.weakValues();
+    }
+    if (maxSize > 0 || maxWeight > 0) {
+      // Guava splits the limit between segments, and evicts in LRU order within each segment only.
+      // Writes only happen on cache misses, which go to the network anyway, so a single segment
+      // doesn't cause any significant contention, and makes the limit exact.
+      builder.concurrencyLevel(1);
+      if (maxSize > 0) {
+        builder.maximumSize(maxSize);
+      } else {
+        builder.maximumWeight(maxWeight).weigher(CqlPrepareAsyncProcessor::weigh);
+      }
+    }
+    this.cache = builder.build();
+    this.recentlyUsed =
+        (weakValues && strongReferences > 0)
+            ? CacheBuilder.newBuilder().maximumSize(strongReferences).build()
+            : null;
+    this.weighed = maxSize <= 0 && maxWeight > 0;
+  }
+
   protected CqlPrepareAsyncProcessor(
       Cache<PrepareRequest, CompletableFuture<PreparedStatement>> cache) {
     this.cache = cache;
+    this.recentlyUsed = null;
+    this.weighed = false;
   }
 
   @Override
@@ -57,25 +126,40 @@ public class CqlPrepareAsyncProcessor
       InternalDriverContext context,
       String sessionLogPrefix) {
 
+    SessionMetricUpdater metricUpdater = context.getMetricsFactory().getSessionUpdater();
     try {
       CompletableFuture<PreparedStatement> result = cache.getIfPresent(request);
       if (result == null) {
         CompletableFuture<PreparedStatement> mine = new CompletableFuture<>();
         result = cache.get(request, () -> mine);
         if (result == mine) {
+          metricUpdater.incrementCounter(DefaultSessionMetric.CQL_PREPARED_CACHE_MISSES, null);
+          retain(request, mine);
           new CqlPrepareHandler(request, session, context, sessionLogPrefix)
               .handle()
               .whenComplete(
                   (preparedStatement, error) -> {
                     if (error != null) {
                       mine.completeExceptionally(error);
-                      cache.invalidate(request); // Make sure failure isn't cached indefinitely
+                      // Make sure failure isn't cached indefinitely
+                      cache.invalidate(request);
+                      if (recentlyUsed != null) {
+                        recentlyUsed.invalidate(request);
+                      }
                     } else {
                       mine.complete(preparedStatement);
+                      if (weighed) {
+                        // The entry was weighed while it was incomplete, replace it by itself
+                        // (if it is still present) to weigh it again now that we know its size.
+                        cache.asMap().replace(request, mine, mine);
+                      }
                     }
                   });
+          return result;
         }
       }
+      metricUpdater.incrementCounter(DefaultSessionMetric.CQL_PREPARED_CACHE_HITS, null);
+      retain(request, result);
       return result;
     } catch (ExecutionException e) {
       return CompletableFutures.failedFuture(e.getCause());
@@ -90,4 +174,28 @@ public class CqlPrepareAsyncProcessor
   public Cache<PrepareRequest, CompletableFuture<PreparedStatement>> getCache() {
     return cache;
   }
+
+  private void retain(PrepareRequest request, CompletableFuture<PreparedStatement> result) {
+    if (recentlyUsed != null
+        && !result.isCompletedExceptionally()
+        // getIfPresent updates the access order, only write if the entry is not there yet
+        && recentlyUsed.getIfPresent(request) != result) {
+      recentlyUsed.put(request, result);
+    }
+  }
+
+  /**
+   * The weight of an entry: the number of columns in the statement's metadata plus one, or 1 if the
+   * statement is still being prepared.
+   */
+  private static int weigh(
+      @NonNull PrepareRequest request, @NonNull CompletableFuture<PreparedStatement> result) {
+    if (!result.isDone() || result.isCompletedExceptionally()) {
+      return 1;
+    }
+    PreparedStatement statement = result.join();
+    return 1
+        + statement.getVariableDefinitions().size()
+        + statement.getResultSetDefinitions().size();
+  }
 }
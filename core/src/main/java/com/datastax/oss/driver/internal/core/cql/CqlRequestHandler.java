@@ -49,6 +49,7 @@ import com.datastax.oss.driver.internal.core.channel.DriverChannel;
 import com.datastax.oss.driver.internal.core.channel.ResponseCallback;
 import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
 import com.datastax.oss.driver.internal.core.metadata.DefaultNode;
+import com.datastax.oss.driver.internal.core.metadata.schema.refresh.SchemaRefreshTarget;
 import com.datastax.oss.driver.internal.core.metrics.NodeMetricUpdater;
 import com.datastax.oss.driver.internal.core.metrics.SessionMetricUpdater;
 import com.datastax.oss.driver.internal.core.session.DefaultSession;
@@ -611,7 +612,11 @@ public class CqlRequestHandler implements Throttled {
           SchemaChange schemaChange = (SchemaChange) responseMessage;
           context
               .getMetadataManager()
-              .refreshSchema(schemaChange.keyspace, false, false)
+              .refreshSchema(
+                  SchemaRefreshTarget.forSchemaChange(
+                      schemaChange.target, schemaChange.keyspace, schemaChange.object),
+                  false,
+                  false)
               .whenComplete(
                   (result, error) -> {
                     boolean schemaInAgreement;
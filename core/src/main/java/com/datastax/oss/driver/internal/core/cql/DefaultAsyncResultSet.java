@@ -30,6 +30,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.CompletionStage;
+import net.jcip.annotations.GuardedBy;
 import net.jcip.annotations.NotThreadSafe;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,20 +46,60 @@ public class DefaultAsyncResultSet implements AsyncResultSet {
   private final CountingIterator<Row> iterator;
   private final Iterable<Row> currentPage;
 
+  // The next page, if it was requested ahead of time. This can be accessed both by the client
+  // thread (that consumes this page) and by a driver thread (when a prefetched page completes and
+  // prefetches the following one).
+  @GuardedBy("this")
+  private CompletionStage<AsyncResultSet> nextPage;
+
+  @GuardedBy("this")
+  private int prefetchedPages;
+
   public DefaultAsyncResultSet(
       ColumnDefinitions definitions,
       ExecutionInfo executionInfo,
       Queue<List<ByteBuffer>> data,
       CqlSession session,
       InternalDriverContext context) {
+    this(definitions, executionInfo, data, session, context, 0, 0);
+  }
+
+  /**
+   * @param prefetchPages how many pages to fetch ahead of this one, as soon as {@code
+   *     prefetchThreshold} of its rows have been consumed. 0 disables prefetching.
+   * @param prefetchThreshold the fraction of the rows of this page (between 0 and 1) that must be
+   *     consumed before prefetching starts. 0 starts it when the first row is consumed.
+   */
+  public DefaultAsyncResultSet(
+      ColumnDefinitions definitions,
+      ExecutionInfo executionInfo,
+      Queue<List<ByteBuffer>> data,
+      CqlSession session,
+      InternalDriverContext context,
+      int prefetchPages,
+      double prefetchThreshold) {
     this.definitions = definitions;
     this.executionInfo = executionInfo;
     this.session = session;
+    int size = data.size();
+    // The number of remaining rows that triggers the prefetch. This is never reached before the
+    // first row is consumed: a page that was itself prefetched must not prefetch the next one until
+    // the client gets to it, otherwise a threshold of 0 would fetch the whole result set eagerly.
+    int prefetchTrigger =
+        (prefetchPages > 0 && hasMorePages())
+            ? Math.min(
+                size - 1,
+                size - (int) Math.ceil(size * Math.max(0, Math.min(1, prefetchThreshold))))
+            : -1;
     this.iterator =
-        new CountingIterator<Row>(data.size()) {
+        new CountingIterator<Row>(size) {
           @Override
           protected Row computeNext() {
             List<ByteBuffer> rowData = data.poll();
+            if (remaining == prefetchTrigger + 1) {
+              // The row we're about to return brings us to the trigger
+              prefetch(prefetchPages);
+            }
             return (rowData == null) ? endOfData() : new DefaultRow(definitions, rowData, context);
           }
         };
@@ -101,6 +142,50 @@ public class DefaultAsyncResultSet implements AsyncResultSet {
       throw new IllegalStateException(
           "No next page. Use #hasMorePages before calling this method to avoid this error.");
     }
+    synchronized (this) {
+      if (nextPage != null && !nextPage.toCompletableFuture().isCompletedExceptionally()) {
+        LOG.trace("Using prefetched page");
+        return nextPage;
+      }
+      // If a prefetch failed, try again now: the error might have been transient
+      nextPage = executeNextPage(nextState);
+      return nextPage;
+    }
+  }
+
+  /**
+   * Fetches the next {@code pages} pages in the background, so that they are ready by the time the
+   * client needs them.
+   *
+   * <p>The pages are fetched one after the other: each page, when it completes, prefetches the
+   * following one. So no more than {@code pages} are held in memory, in addition to the current
+   * one.
+   */
+  private void prefetch(int pages) {
+    CompletionStage<AsyncResultSet> page;
+    synchronized (this) {
+      ByteBuffer nextState = executionInfo.getPagingState();
+      if (nextState == null || pages <= prefetchedPages) {
+        return;
+      }
+      prefetchedPages = pages;
+      if (nextPage == null) {
+        LOG.trace("Prefetching next page");
+        nextPage = executeNextPage(nextState);
+      }
+      page = nextPage;
+    }
+    if (pages > 1) {
+      page.thenAccept(
+          next -> {
+            if (next instanceof DefaultAsyncResultSet) {
+              ((DefaultAsyncResultSet) next).prefetch(pages - 1);
+            }
+          });
+    }
+  }
+
+  private CompletionStage<AsyncResultSet> executeNextPage(ByteBuffer nextState) {
     Statement<?> statement = (Statement<?>) executionInfo.getRequest();
     LOG.trace("Fetching next page for {}", statement);
     Statement<?> nextStatement = statement.copy(nextState);
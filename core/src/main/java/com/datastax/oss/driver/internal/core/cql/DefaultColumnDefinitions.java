@@ -19,6 +19,8 @@ import com.datastax.oss.driver.api.core.CqlIdentifier;
 import com.datastax.oss.driver.api.core.cql.ColumnDefinition;
 import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
 import com.datastax.oss.driver.api.core.detach.AttachmentPoint;
+import com.datastax.oss.driver.api.core.type.codec.TypeCodec;
+import com.datastax.oss.driver.api.core.type.codec.registry.CodecRegistry;
 import com.datastax.oss.driver.internal.core.data.IdentifierIndex;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.InvalidObjectException;
@@ -27,9 +29,15 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import net.jcip.annotations.Immutable;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import net.jcip.annotations.ThreadSafe;
 
-@Immutable
+/**
+ * The definitions themselves are immutable; the only mutable state is a cache of the codecs
+ * resolved by the rows, which is safe to race on (see {@link #codecFor(int, CodecRegistry,
+ * Class)}).
+ */
+@ThreadSafe
 public class DefaultColumnDefinitions implements ColumnDefinitions, Serializable {
 
   public static ColumnDefinitions valueOf(List<ColumnDefinition> definitions) {
@@ -40,6 +48,10 @@ public class DefaultColumnDefinitions implements ColumnDefinitions, Serializable
 
   private final List<ColumnDefinition> definitions;
   private final IdentifierIndex index;
+  // Codecs resolved by the rows that use these definitions, see codecFor(). This is not part of the
+  // serialized form, and is reset if the rows switch to another registry. Concurrent rows may
+  // replace the cache or its entries, but any value they see is a valid codec for its registry.
+  private transient volatile CodecCache codecCache;
 
   private DefaultColumnDefinitions(List<ColumnDefinition> definitions) {
     assert definitions != null && definitions.size() > 0;
@@ -84,6 +96,32 @@ public class DefaultColumnDefinitions implements ColumnDefinitions, Serializable
     return index.firstIndexOf(id);
   }
 
+  /**
+   * Returns the codec to decode the {@code i}th column to the given Java type.
+   *
+   * <p>This is equivalent to {@code registry.codecFor(get(i).getType(), javaType)}, but the result
+   * is cached per column: the definitions of a prepared statement are shared by all its rows, so
+   * the getters don't need to repeat the registry lookup for every row.
+   */
+  @NonNull
+  public <JavaTypeT> TypeCodec<JavaTypeT> codecFor(
+      int i, @NonNull CodecRegistry registry, @NonNull Class<JavaTypeT> javaType) {
+    CodecCache cache = codecCache;
+    if (cache == null || cache.registry != registry) {
+      cache = new CodecCache(registry, definitions.size());
+      codecCache = cache;
+    }
+    TypeCodec<?> codec = cache.codecs.get(i);
+    if (codec == null || !codec.accepts(javaType)) {
+      codec = registry.codecFor(definitions.get(i).getType(), javaType);
+      // If a column is read as different Java types, the last one wins
+      cache.codecs.set(i, codec);
+    }
+    @SuppressWarnings("unchecked")
+    TypeCodec<JavaTypeT> result = (TypeCodec<JavaTypeT>) codec;
+    return result;
+  }
+
   @Override
   public boolean isDetached() {
     return definitions.get(0).isDetached();
@@ -104,6 +142,16 @@ public class DefaultColumnDefinitions implements ColumnDefinitions, Serializable
     return new IdentifierIndex(identifiers);
   }
 
+  private static class CodecCache {
+    private final CodecRegistry registry;
+    private final AtomicReferenceArray<TypeCodec<?>> codecs;
+
+    private CodecCache(CodecRegistry registry, int size) {
+      this.registry = registry;
+      this.codecs = new AtomicReferenceArray<>(size);
+    }
+  }
+
   /**
    * @serialData The list of definitions (the identifier index is reconstructed at deserialization).
    */
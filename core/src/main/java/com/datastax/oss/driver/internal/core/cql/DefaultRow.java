@@ -21,6 +21,12 @@ import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
 import com.datastax.oss.driver.api.core.cql.Row;
 import com.datastax.oss.driver.api.core.detach.AttachmentPoint;
 import com.datastax.oss.driver.api.core.type.DataType;
+import com.datastax.oss.driver.api.core.type.codec.PrimitiveBooleanCodec;
+import com.datastax.oss.driver.api.core.type.codec.PrimitiveDoubleCodec;
+import com.datastax.oss.driver.api.core.type.codec.PrimitiveFloatCodec;
+import com.datastax.oss.driver.api.core.type.codec.PrimitiveIntCodec;
+import com.datastax.oss.driver.api.core.type.codec.PrimitiveLongCodec;
+import com.datastax.oss.driver.api.core.type.codec.TypeCodec;
 import com.datastax.oss.driver.api.core.type.codec.registry.CodecRegistry;
 import com.datastax.oss.protocol.internal.util.Bytes;
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -126,6 +132,77 @@ public class DefaultRow implements Row, Serializable {
   public ByteBuffer getBytesUnsafe(int i) {
     return data.get(i);
   }
+
+  // The getters below are the same as the default implementations, except that they use the codecs
+  // cached in the column definitions, instead of looking them up in the registry every time.
+
+  @Nullable
+  @Override
+  public <ValueT> ValueT get(int i, Class<ValueT> targetClass) {
+    return get(i, codecFor(i, targetClass));
+  }
+
+  @Override
+  public boolean getBoolean(int i) {
+    TypeCodec<Boolean> codec = codecFor(i, Boolean.class);
+    if (codec instanceof PrimitiveBooleanCodec) {
+      return ((PrimitiveBooleanCodec) codec).decodePrimitive(getBytesUnsafe(i), protocolVersion());
+    } else {
+      Boolean value = get(i, codec);
+      return value == null ? false : value;
+    }
+  }
+
+  @Override
+  public double getDouble(int i) {
+    TypeCodec<Double> codec = codecFor(i, Double.class);
+    if (codec instanceof PrimitiveDoubleCodec) {
+      return ((PrimitiveDoubleCodec) codec).decodePrimitive(getBytesUnsafe(i), protocolVersion());
+    } else {
+      Double value = get(i, codec);
+      return value == null ? 0 : value;
+    }
+  }
+
+  @Override
+  public float getFloat(int i) {
+    TypeCodec<Float> codec = codecFor(i, Float.class);
+    if (codec instanceof PrimitiveFloatCodec) {
+      return ((PrimitiveFloatCodec) codec).decodePrimitive(getBytesUnsafe(i), protocolVersion());
+    } else {
+      Float value = get(i, codec);
+      return value == null ? 0 : value;
+    }
+  }
+
+  @Override
+  public int getInt(int i) {
+    TypeCodec<Integer> codec = codecFor(i, Integer.class);
+    if (codec instanceof PrimitiveIntCodec) {
+      return ((PrimitiveIntCodec) codec).decodePrimitive(getBytesUnsafe(i), protocolVersion());
+    } else {
+      Integer value = get(i, codec);
+      return value == null ? 0 : value;
+    }
+  }
+
+  @Override
+  public long getLong(int i) {
+    TypeCodec<Long> codec = codecFor(i, Long.class);
+    if (codec instanceof PrimitiveLongCodec) {
+      return ((PrimitiveLongCodec) codec).decodePrimitive(getBytesUnsafe(i), protocolVersion());
+    } else {
+      Long value = get(i, codec);
+      return value == null ? 0 : value;
+    }
+  }
+
+  private <ValueT> TypeCodec<ValueT> codecFor(int i, Class<ValueT> targetClass) {
+    return (definitions instanceof DefaultColumnDefinitions)
+        ? ((DefaultColumnDefinitions) definitions).codecFor(i, codecRegistry(), targetClass)
+        : codecRegistry().codecFor(getType(i), targetClass);
+  }
+
   /**
    * @serialData The column definitions, followed by an array of byte arrays representing the column
    *     values (null values are represented by {@code null}).
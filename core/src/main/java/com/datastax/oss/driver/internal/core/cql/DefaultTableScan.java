@@ -0,0 +1,192 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.cql;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.cql.TableScan;
+import com.datastax.oss.driver.api.core.cql.TableScanListener;
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
+import com.datastax.oss.driver.shaded.guava.common.base.Preconditions;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.List;
+import net.jcip.annotations.Immutable;
+
+@Immutable
+public class DefaultTableScan implements TableScan {
+
+  private final CqlIdentifier keyspace;
+  private final CqlIdentifier table;
+  private final List<CqlIdentifier> columns;
+  private final int parallelism;
+  private final int splitsPerRange;
+  private final List<TokenRange> ranges;
+  private final String executionProfileName;
+  private final TableScanListener listener;
+
+  /** @see TableScan#newInstance(CqlIdentifier, CqlIdentifier) */
+  public DefaultTableScan(
+      @NonNull CqlIdentifier keyspace,
+      @NonNull CqlIdentifier table,
+      @NonNull List<CqlIdentifier> columns,
+      int parallelism,
+      int splitsPerRange,
+      @Nullable List<TokenRange> ranges,
+      @Nullable String executionProfileName,
+      @Nullable TableScanListener listener) {
+    Preconditions.checkArgument(parallelism > 0, "Parallelism must be strictly positive");
+    Preconditions.checkArgument(splitsPerRange > 0, "Splits per range must be strictly positive");
+    this.keyspace = keyspace;
+    this.table = table;
+    this.columns = columns;
+    this.parallelism = parallelism;
+    this.splitsPerRange = splitsPerRange;
+    this.ranges = ranges;
+    this.executionProfileName = executionProfileName;
+    this.listener = listener;
+  }
+
+  @NonNull
+  @Override
+  public CqlIdentifier getKeyspace() {
+    return keyspace;
+  }
+
+  @NonNull
+  @Override
+  public CqlIdentifier getTable() {
+    return table;
+  }
+
+  @NonNull
+  @Override
+  public List<CqlIdentifier> getColumns() {
+    return columns;
+  }
+
+  @NonNull
+  @Override
+  public TableScan setColumns(@NonNull Iterable<CqlIdentifier> newColumns) {
+    return new DefaultTableScan(
+        keyspace,
+        table,
+        ImmutableList.copyOf(newColumns),
+        parallelism,
+        splitsPerRange,
+        ranges,
+        executionProfileName,
+        listener);
+  }
+
+  @Override
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  @NonNull
+  @Override
+  public TableScan setParallelism(int newParallelism) {
+    return new DefaultTableScan(
+        keyspace,
+        table,
+        columns,
+        newParallelism,
+        splitsPerRange,
+        ranges,
+        executionProfileName,
+        listener);
+  }
+
+  @Override
+  public int getSplitsPerRange() {
+    return splitsPerRange;
+  }
+
+  @NonNull
+  @Override
+  public TableScan setSplitsPerRange(int newSplitsPerRange) {
+    return new DefaultTableScan(
+        keyspace,
+        table,
+        columns,
+        parallelism,
+        newSplitsPerRange,
+        ranges,
+        executionProfileName,
+        listener);
+  }
+
+  @Nullable
+  @Override
+  public List<TokenRange> getRanges() {
+    return ranges;
+  }
+
+  @NonNull
+  @Override
+  public TableScan setRanges(@Nullable Iterable<TokenRange> newRanges) {
+    return new DefaultTableScan(
+        keyspace,
+        table,
+        columns,
+        parallelism,
+        splitsPerRange,
+        (newRanges == null) ? null : ImmutableList.copyOf(newRanges),
+        executionProfileName,
+        listener);
+  }
+
+  @Nullable
+  @Override
+  public String getExecutionProfileName() {
+    return executionProfileName;
+  }
+
+  @NonNull
+  @Override
+  public TableScan setExecutionProfileName(@Nullable String newExecutionProfileName) {
+    return new DefaultTableScan(
+        keyspace,
+        table,
+        columns,
+        parallelism,
+        splitsPerRange,
+        ranges,
+        newExecutionProfileName,
+        listener);
+  }
+
+  @Nullable
+  @Override
+  public TableScanListener getListener() {
+    return listener;
+  }
+
+  @NonNull
+  @Override
+  public TableScan setListener(@Nullable TableScanListener newListener) {
+    return new DefaultTableScan(
+        keyspace,
+        table,
+        columns,
+        parallelism,
+        splitsPerRange,
+        ranges,
+        executionProfileName,
+        newListener);
+  }
+}
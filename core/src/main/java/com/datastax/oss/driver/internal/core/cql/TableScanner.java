@@ -0,0 +1,418 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.cql;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.cql.AsyncCqlSession;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
+import com.datastax.oss.driver.api.core.cql.ExecutionInfo;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.cql.TableScan;
+import com.datastax.oss.driver.api.core.cql.TableScanListener;
+import com.datastax.oss.driver.api.core.metadata.Metadata;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.KeyspaceMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.RelationMetadata;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
+import com.datastax.oss.driver.internal.core.util.concurrent.CompletableFutures;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import net.jcip.annotations.GuardedBy;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Executes a {@link TableScan}, and exposes the pages of all its range queries as a single {@link
+ * AsyncResultSet}.
+ *
+ * <p>Each started range holds at most one page that has not been consumed yet: the next page of a
+ * range is only requested once the application moves past the current one. Therefore the number of
+ * buffered pages is bounded by the parallelism.
+ */
+@ThreadSafe
+public class TableScanner {
+
+  private static final TableScanListener NO_OP_LISTENER = new TableScanListener() {};
+
+  private final AsyncCqlSession session;
+  private final TableScan scan;
+  private final TableScanListener listener;
+
+  private volatile TokenMap tokenMap;
+  private volatile PreparedStatement rangeQuery;
+  // The query for the ranges that end at the minimum token. It can't be expressed with an upper
+  // bound, because the minimum token sorts before all the others.
+  private volatile PreparedStatement openRangeQuery;
+
+  @GuardedBy("this")
+  private final Deque<TokenRange> pendingRanges = new ArrayDeque<>();
+
+  // The ranges that have been started, but not fully consumed yet.
+  @GuardedBy("this")
+  private int runningRanges;
+
+  @GuardedBy("this")
+  private final Queue<ScanPage> readyPages = new ArrayDeque<>();
+
+  @GuardedBy("this")
+  private CompletableFuture<AsyncResultSet> nextPage;
+
+  @GuardedBy("this")
+  private Throwable error;
+
+  public TableScanner(@NonNull AsyncCqlSession session, @NonNull TableScan scan) {
+    this.session = session;
+    this.scan = scan;
+    this.listener = (scan.getListener() == null) ? NO_OP_LISTENER : scan.getListener();
+  }
+
+  /** Starts the scan; the returned stage completes with the first page received. */
+  @NonNull
+  public CompletionStage<AsyncResultSet> start() {
+    RelationMetadata relation;
+    List<TokenRange> ranges;
+    try {
+      Metadata metadata = session.getMetadata();
+      tokenMap =
+          metadata
+              .getTokenMap()
+              .orElseThrow(
+                  () ->
+                      new IllegalStateException(
+                          "Token metadata is not available, "
+                              + "check that advanced.metadata.token-map.enabled is true"));
+      relation = findRelation(metadata);
+      ranges = computeRanges();
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      return CompletableFutures.failedFuture(e);
+    }
+
+    listener.onScanStarted(ranges);
+
+    String tokenFunction = tokenFunction(relation);
+    String select = select(relation);
+    CompletionStage<PreparedStatement> prepareRangeQuery =
+        session.prepareAsync(
+            SimpleStatement.newInstance(
+                String.format("%s WHERE %2$s > ? AND %2$s <= ?", select, tokenFunction)));
+    CompletionStage<PreparedStatement> prepareOpenRangeQuery =
+        ranges.stream().anyMatch(range -> isMinToken(range.getEnd()))
+            ? session.prepareAsync(
+                SimpleStatement.newInstance(
+                    String.format("%s WHERE %s > ?", select, tokenFunction)))
+            : CompletableFuture.completedFuture(null);
+    return prepareRangeQuery
+        .thenCombine(
+            prepareOpenRangeQuery,
+            (range, open) -> {
+              rangeQuery = range;
+              openRangeQuery = open;
+              return null;
+            })
+        .thenCompose(
+            v -> {
+              int initialRanges;
+              synchronized (this) {
+                pendingRanges.addAll(ranges);
+                initialRanges = Math.min(scan.getParallelism(), ranges.size());
+              }
+              for (int i = 0; i < initialRanges; i++) {
+                startNextRange();
+              }
+              return nextPage();
+            });
+  }
+
+  private RelationMetadata findRelation(Metadata metadata) {
+    CqlIdentifier keyspaceId = scan.getKeyspace();
+    CqlIdentifier tableId = scan.getTable();
+    KeyspaceMetadata keyspace =
+        metadata
+            .getKeyspace(keyspaceId)
+            .orElseThrow(
+                () -> new IllegalArgumentException("Unknown keyspace " + keyspaceId.asCql(true)));
+    Optional<? extends RelationMetadata> relation = keyspace.getTable(tableId);
+    if (!relation.isPresent()) {
+      relation = Optional.ofNullable(keyspace.getViews().get(tableId));
+    }
+    return relation.orElseThrow(
+        () ->
+            new IllegalArgumentException(
+                String.format("Unknown table %s.%s", keyspaceId.asCql(true), tableId.asCql(true))));
+  }
+
+  private List<TokenRange> computeRanges() {
+    List<TokenRange> ranges = new ArrayList<>();
+    if (scan.getRanges() == null) {
+      for (TokenRange range : tokenMap.getTokenRanges()) {
+        ranges.addAll(range.splitEvenly(scan.getSplitsPerRange()));
+      }
+    } else {
+      ranges.addAll(scan.getRanges());
+    }
+    List<TokenRange> unwrapped = new ArrayList<>(ranges.size());
+    for (TokenRange range : ranges) {
+      if (!range.isEmpty()) {
+        unwrapped.addAll(range.unwrap());
+      }
+    }
+    if (unwrapped.isEmpty()) {
+      throw new IllegalArgumentException("Nothing to scan, the list of ranges is empty");
+    }
+    return interleaveByReplicas(unwrapped);
+  }
+
+  /**
+   * Reorders the ranges so that consecutive ones are owned by different replicas (when possible),
+   * in order to spread the load across the cluster.
+   */
+  private List<TokenRange> interleaveByReplicas(List<TokenRange> ranges) {
+    Map<Set<Node>, Deque<TokenRange>> rangesByReplicas = new LinkedHashMap<>();
+    for (TokenRange range : ranges) {
+      rangesByReplicas
+          .computeIfAbsent(tokenMap.getReplicas(scan.getKeyspace(), range), k -> new ArrayDeque<>())
+          .add(range);
+    }
+    List<TokenRange> result = new ArrayList<>(ranges.size());
+    while (result.size() < ranges.size()) {
+      for (Deque<TokenRange> replicaRanges : rangesByReplicas.values()) {
+        TokenRange range = replicaRanges.poll();
+        if (range != null) {
+          result.add(range);
+        }
+      }
+    }
+    return result;
+  }
+
+  private String select(RelationMetadata relation) {
+    StringBuilder builder = new StringBuilder("SELECT ");
+    List<CqlIdentifier> columns = scan.getColumns();
+    if (columns.isEmpty()) {
+      builder.append('*');
+    } else {
+      for (int i = 0; i < columns.size(); i++) {
+        if (i > 0) {
+          builder.append(',');
+        }
+        builder.append(columns.get(i).asCql(true));
+      }
+    }
+    return builder
+        .append(" FROM ")
+        .append(relation.getKeyspace().asCql(true))
+        .append('.')
+        .append(relation.getName().asCql(true))
+        .toString();
+  }
+
+  private String tokenFunction(RelationMetadata relation) {
+    StringBuilder builder = new StringBuilder("token(");
+    List<ColumnMetadata> partitionKey = relation.getPartitionKey();
+    for (int i = 0; i < partitionKey.size(); i++) {
+      if (i > 0) {
+        builder.append(',');
+      }
+      builder.append(partitionKey.get(i).getName().asCql(true));
+    }
+    return builder.append(')').toString();
+  }
+
+  private boolean isMinToken(Token token) {
+    // ]min, min] is the only range that covers the full ring
+    return tokenMap.newTokenRange(token, token).isFullRing();
+  }
+
+  private void startNextRange() {
+    TokenRange range;
+    synchronized (this) {
+      if (error != null) {
+        return;
+      }
+      range = pendingRanges.poll();
+      if (range == null) {
+        return;
+      }
+      runningRanges += 1;
+    }
+    BoundStatement statement =
+        isMinToken(range.getEnd())
+            ? openRangeQuery.bind().setToken(0, range.getStart())
+            : rangeQuery.bind().setToken(0, range.getStart()).setToken(1, range.getEnd());
+    statement =
+        statement
+            .setRoutingToken(range.getEnd())
+            .setExecutionProfileName(scan.getExecutionProfileName());
+    CompletionStage<AsyncResultSet> firstPage;
+    try {
+      firstPage = session.executeAsync(statement);
+    } catch (Throwable t) {
+      firstPage = CompletableFutures.failedFuture(t);
+    }
+    firstPage.whenComplete((page, t) -> onPage(range, 0, page, t));
+  }
+
+  private void onPage(TokenRange range, long previousRows, AsyncResultSet page, Throwable t) {
+    synchronized (this) {
+      if (t != null) {
+        if (error == null) {
+          error = t;
+        }
+      } else {
+        readyPages.add(new ScanPage(range, page, previousRows + page.remaining()));
+      }
+    }
+    deliver();
+  }
+
+  private void onRangeCompleted(TokenRange range, long rowCount) {
+    synchronized (this) {
+      runningRanges -= 1;
+    }
+    listener.onRangeCompleted(range, rowCount);
+    startNextRange();
+  }
+
+  private synchronized boolean hasMoreRanges() {
+    // The caller's range is still counted as running
+    return error != null || !pendingRanges.isEmpty() || runningRanges > 1;
+  }
+
+  private CompletionStage<AsyncResultSet> nextPage() {
+    CompletableFuture<AsyncResultSet> result = new CompletableFuture<>();
+    synchronized (this) {
+      assert nextPage == null;
+      nextPage = result;
+    }
+    deliver();
+    return result;
+  }
+
+  /** Completes the pending next page, if there is one and a page (or an error) is available. */
+  private void deliver() {
+    CompletableFuture<AsyncResultSet> toComplete;
+    ScanPage page = null;
+    Throwable failure;
+    boolean lastPage = false;
+    synchronized (this) {
+      if (nextPage == null || (error == null && readyPages.isEmpty())) {
+        return;
+      }
+      toComplete = nextPage;
+      nextPage = null;
+      failure = error;
+      if (failure == null) {
+        page = readyPages.poll();
+        lastPage = !page.page.hasMorePages() && !hasMoreRanges();
+      }
+    }
+    if (failure != null) {
+      toComplete.completeExceptionally(failure);
+    } else {
+      if (lastPage) {
+        // The client will never call fetchNextPage() on the last page of the scan, so this is our
+        // only chance to report its range
+        onRangeCompleted(page.range, page.rowCount);
+      }
+      toComplete.complete(page);
+    }
+  }
+
+  private class ScanPage implements AsyncResultSet {
+
+    private final TokenRange range;
+    private final AsyncResultSet page;
+    // The number of rows in the range, up to and including this page
+    private final long rowCount;
+
+    @GuardedBy("this")
+    private CompletionStage<AsyncResultSet> next;
+
+    private ScanPage(TokenRange range, AsyncResultSet page, long rowCount) {
+      this.range = range;
+      this.page = page;
+      this.rowCount = rowCount;
+    }
+
+    @NonNull
+    @Override
+    public ColumnDefinitions getColumnDefinitions() {
+      return page.getColumnDefinitions();
+    }
+
+    @NonNull
+    @Override
+    public ExecutionInfo getExecutionInfo() {
+      return page.getExecutionInfo();
+    }
+
+    @Override
+    public int remaining() {
+      return page.remaining();
+    }
+
+    @NonNull
+    @Override
+    public Iterable<Row> currentPage() {
+      return page.currentPage();
+    }
+
+    @Override
+    public boolean hasMorePages() {
+      return page.hasMorePages() || hasMoreRanges();
+    }
+
+    @NonNull
+    @Override
+    public synchronized CompletionStage<AsyncResultSet> fetchNextPage()
+        throws IllegalStateException {
+      if (next == null) {
+        if (!hasMorePages()) {
+          throw new IllegalStateException(
+              "No next page. Use #hasMorePages before calling this method to avoid this error.");
+        }
+        if (page.hasMorePages()) {
+          page.fetchNextPage().whenComplete((nextPage, t) -> onPage(range, rowCount, nextPage, t));
+        } else {
+          onRangeCompleted(range, rowCount);
+        }
+        next = nextPage();
+      }
+      return next;
+    }
+
+    @Override
+    public boolean wasApplied() {
+      return page.wasApplied();
+    }
+  }
+}
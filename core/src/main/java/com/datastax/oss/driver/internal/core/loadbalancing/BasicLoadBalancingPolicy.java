@@ -15,9 +15,12 @@
  */
 package com.datastax.oss.driver.internal.core.loadbalancing;
 
+import com.datastax.oss.driver.api.core.ConsistencyLevel;
 import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
 import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
 import com.datastax.oss.driver.api.core.context.DriverContext;
+import com.datastax.oss.driver.api.core.cql.Statement;
 import com.datastax.oss.driver.api.core.loadbalancing.LoadBalancingPolicy;
 import com.datastax.oss.driver.api.core.loadbalancing.NodeDistance;
 import com.datastax.oss.driver.api.core.metadata.Node;
@@ -26,21 +29,30 @@ import com.datastax.oss.driver.api.core.metadata.TokenMap;
 import com.datastax.oss.driver.api.core.metadata.token.Token;
 import com.datastax.oss.driver.api.core.session.Request;
 import com.datastax.oss.driver.api.core.session.Session;
+import com.datastax.oss.driver.internal.core.ConsistencyLevelRegistry;
 import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
 import com.datastax.oss.driver.internal.core.loadbalancing.helper.DefaultNodeFilterHelper;
 import com.datastax.oss.driver.internal.core.loadbalancing.helper.OptionalLocalDcHelper;
 import com.datastax.oss.driver.internal.core.util.ArrayUtils;
+import com.datastax.oss.driver.internal.core.util.collection.CompositeQueryPlan;
+import com.datastax.oss.driver.internal.core.util.collection.LazyQueryPlan;
 import com.datastax.oss.driver.internal.core.util.collection.QueryPlan;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableSet;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.IntUnaryOperator;
@@ -79,6 +91,14 @@ import org.slf4j.LoggerFactory;
  * will only include local nodes, never remote ones; if it is unspecified however, query plans may
  * contain nodes from different datacenters.
  *
+ * <p><b>Datacenter failover</b>: If the local datacenter is defined, and {@code
+ * advanced.load-balancing-policy.dc-failover.used-hosts-per-remote-dc} is set to a positive value,
+ * this implementation also assigns the {@link NodeDistance#REMOTE REMOTE} distance to that many
+ * nodes in each remote datacenter, and appends them at the end of query plans. They are only used
+ * once all local nodes have been tried. By default, this is not done for requests that use a
+ * datacenter-local consistency level (such as {@code LOCAL_QUORUM}), since they would be executed
+ * against a different datacenter than the one the application intended.
+ *
  * <p><b>This class is not recommended for normal users who should always prefer {@link
  * DefaultLoadBalancingPolicy}</b>.
  */
@@ -87,6 +107,8 @@ public class BasicLoadBalancingPolicy implements LoadBalancingPolicy {
 
   private static final Logger LOG = LoggerFactory.getLogger(BasicLoadBalancingPolicy.class);
 
+  private static final Object[] EMPTY_NODES = new Object[0];
+
   protected static final IntUnaryOperator INCREMENT = i -> (i == Integer.MAX_VALUE) ? 0 : i + 1;
 
   @NonNull protected final InternalDriverContext context;
@@ -94,17 +116,45 @@ public class BasicLoadBalancingPolicy implements LoadBalancingPolicy {
   @NonNull protected final String logPrefix;
 
   protected final AtomicInteger roundRobinAmount = new AtomicInteger();
+  /**
+   * The live local nodes.
+   *
+   * <p>Note that query plans cache some information derived from this set: if you modify it
+   * directly, you must override {@link #newQueryPlan(Request, Session)} as well.
+   */
   protected final CopyOnWriteArraySet<Node> liveNodes = new CopyOnWriteArraySet<>();
 
+  /**
+   * The live nodes in remote datacenters that are used for failover, grouped by datacenter. Each
+   * set contains at most {@link #usedHostsPerRemoteDc} nodes. This is always empty if failover is
+   * disabled.
+   */
+  protected final ConcurrentMap<String, CopyOnWriteArraySet<Node>> remoteLiveNodes =
+      new ConcurrentHashMap<>();
+
+  protected final int usedHostsPerRemoteDc;
+  protected final boolean allowRemoteDcsForLocalConsistencyLevels;
+
   // private because they should be set in init() and never be modified after
   private volatile DistanceReporter distanceReporter;
   private volatile Predicate<Node> filter;
   private volatile String localDc;
+  // only set if DC failover is enabled
+  private volatile Predicate<Node> remoteFilter;
+  private volatile ConsistencyLevel defaultConsistencyLevel;
+
+  private volatile ReplicaCache replicaCache = new ReplicaCache(null);
 
   public BasicLoadBalancingPolicy(@NonNull DriverContext context, @NonNull String profileName) {
     this.context = (InternalDriverContext) context;
     profile = context.getConfig().getProfile(profileName);
     logPrefix = context.getSessionName() + "|" + profileName;
+    usedHostsPerRemoteDc =
+        profile.getInt(DefaultDriverOption.LOAD_BALANCING_DC_FAILOVER_USED_HOSTS_PER_REMOTE_DC, 0);
+    allowRemoteDcsForLocalConsistencyLevels =
+        profile.getBoolean(
+            DefaultDriverOption.LOAD_BALANCING_DC_FAILOVER_ALLOW_FOR_LOCAL_CONSISTENCY_LEVELS,
+            false);
   }
 
   /** @return The local datacenter, if known; empty otherwise. */
@@ -125,6 +175,18 @@ public class BasicLoadBalancingPolicy implements LoadBalancingPolicy {
     this.distanceReporter = distanceReporter;
     localDc = discoverLocalDc(nodes).orElse(null);
     filter = createNodeFilter(localDc, nodes);
+    if (localDc != null && usedHostsPerRemoteDc > 0) {
+      LOG.debug(
+          "[{}] DC failover enabled, using up to {} nodes per remote DC",
+          logPrefix,
+          usedHostsPerRemoteDc);
+      // Without a local DC, the filter only applies the user-supplied criteria
+      remoteFilter = createNodeFilter(null, nodes);
+      ConsistencyLevelRegistry registry = context.getConsistencyLevelRegistry();
+      defaultConsistencyLevel =
+          registry.codeToLevel(
+              registry.nameToCode(profile.getString(DefaultDriverOption.REQUEST_CONSISTENCY)));
+    }
     for (Node node : nodes.values()) {
       if (filter.test(node)) {
         distanceReporter.setDistance(node, NodeDistance.LOCAL);
@@ -134,6 +196,8 @@ public class BasicLoadBalancingPolicy implements LoadBalancingPolicy {
           // signaled back to this policy
           liveNodes.add(node);
         }
+      } else if (node.getState() != NodeState.DOWN && addRemoteNode(node)) {
+        distanceReporter.setDistance(node, NodeDistance.REMOTE);
       } else {
         distanceReporter.setDistance(node, NodeDistance.IGNORED);
       }
@@ -186,37 +250,170 @@ public class BasicLoadBalancingPolicy implements LoadBalancingPolicy {
   @NonNull
   @Override
   public Queue<Node> newQueryPlan(@Nullable Request request, @Nullable Session session) {
-    // Take a snapshot since the set is concurrent:
-    Object[] currentNodes = liveNodes.toArray();
-
     Set<Node> allReplicas = getReplicas(request, session);
-    int replicaCount = 0; // in currentNodes
+    Object[] replicas = allReplicas.isEmpty() ? EMPTY_NODES : getLocalReplicas(allReplicas);
+    int roundRobinAmount = this.roundRobinAmount.getAndUpdate(INCREMENT);
+
+    LOG.trace("[{}] Prioritizing {} local replicas", logPrefix, replicas.length);
 
-    if (!allReplicas.isEmpty()) {
-      // Move replicas to the beginning
-      for (int i = 0; i < currentNodes.length; i++) {
-        Node node = (Node) currentNodes[i];
+    Queue<Node> plan;
+    if (replicas.length == 0) {
+      // Take a snapshot since the set is concurrent:
+      Object[] currentNodes = liveNodes.toArray();
+      ArrayUtils.rotate(currentNodes, 0, currentNodes.length, roundRobinAmount);
+      plan = new QueryPlan(currentNodes);
+    } else {
+      prioritizeReplicas(replicas, request, session);
+      // The rest of the nodes are only needed if all the replicas fail, compute them lazily
+      plan =
+          new CompositeQueryPlan(
+              new QueryPlan(replicas), new NonReplicaQueryPlan(allReplicas, roundRobinAmount));
+    }
+    return maybeAddDcFailover(request, plan);
+  }
+
+  /**
+   * Orders the live replicas at the beginning of a query plan. This implementation shuffles them.
+   *
+   * @param replicas the live local replicas, in the order of {@link #liveNodes}. This array is
+   *     owned by the caller, and can be reordered in place.
+   */
+  protected void prioritizeReplicas(
+      @NonNull Object[] replicas, @Nullable Request request, @Nullable Session session) {
+    if (replicas.length > 1) {
+      shuffleHead(replicas, replicas.length);
+    }
+  }
+
+  /**
+   * Returns a copy of the live nodes that are in the given set of replicas, in the order of {@link
+   * #liveNodes}.
+   *
+   * <p>The token map computes its replica sets once per keyspace replication settings and token
+   * range, and hands out the same instances for every request; so the result is cached per replica
+   * set, and the cost of scanning the live nodes is only paid on the first request to each range.
+   * The cache is discarded when the live nodes or the token map change.
+   */
+  private Object[] getLocalReplicas(Set<Node> allReplicas) {
+    ReplicaCache cache = replicaCache;
+    // Only cache sets that can't change under our feet (that is what the token map returns)
+    boolean cacheable = allReplicas instanceof ImmutableSet;
+    Object[] result = cacheable ? cache.localReplicas.get(allReplicas) : null;
+    if (result == null) {
+      List<Node> localReplicas = new ArrayList<>(allReplicas.size());
+      for (Node node : liveNodes) {
         if (allReplicas.contains(node)) {
-          ArrayUtils.bubbleUp(currentNodes, i, replicaCount);
-          replicaCount += 1;
+          localReplicas.add(node);
         }
       }
+      result = localReplicas.toArray();
+      if (cacheable) {
+        cache.localReplicas.put(allReplicas, result);
+      }
+    }
+    return (result.length == 0) ? result : result.clone();
+  }
+
+  private void invalidateReplicaCache() {
+    replicaCache = new ReplicaCache(replicaCache.tokenMap);
+  }
 
-      if (replicaCount > 1) {
-        shuffleHead(currentNodes, replicaCount);
+  /**
+   * Appends the remote nodes used for datacenter failover to a query plan, if failover is enabled
+   * and allowed for this request.
+   *
+   * <p>The remote part of the plan is computed lazily: if the local nodes are enough to complete
+   * the request, it is never materialized.
+   *
+   * @param request the request that the plan is computed for.
+   * @param localPlan the plan that contains the local nodes.
+   * @return the local plan itself if there is no failover, or a composite plan otherwise.
+   */
+  @NonNull
+  protected Queue<Node> maybeAddDcFailover(
+      @Nullable Request request, @NonNull Queue<Node> localPlan) {
+    if (remoteFilter == null || remoteLiveNodes.isEmpty()) {
+      return localPlan;
+    }
+    if (!allowRemoteDcsForLocalConsistencyLevels && request instanceof Statement) {
+      ConsistencyLevel consistency = ((Statement<?>) request).getConsistencyLevel();
+      if (consistency == null) {
+        consistency = defaultConsistencyLevel;
+      }
+      if (consistency.isDcLocal()) {
+        return localPlan;
       }
     }
+    return new CompositeQueryPlan(
+        localPlan,
+        new LazyQueryPlan() {
+          @NonNull
+          @Override
+          protected Object[] computeNodes() {
+            List<Node> remoteNodes = new ArrayList<>();
+            for (Set<Node> dcNodes : remoteLiveNodes.values()) {
+              remoteNodes.addAll(dcNodes);
+            }
+            Object[] result = remoteNodes.toArray();
+            shuffleHead(result, result.length);
+            return result;
+          }
+        });
+  }
 
-    LOG.trace("[{}] Prioritizing {} local replicas", logPrefix, replicaCount);
+  /**
+   * Whether a node that was rejected by the local filter can be used for datacenter failover. This
+   * does not check the node's state, nor whether its datacenter already has enough remote nodes.
+   */
+  private boolean isUsableAsRemote(Node node) {
+    Predicate<Node> remoteFilter = this.remoteFilter;
+    String dc = node.getDatacenter();
+    return remoteFilter != null && dc != null && !dc.equals(localDc) && remoteFilter.test(node);
+  }
 
-    // Round-robin the remaining nodes
-    ArrayUtils.rotate(
-        currentNodes,
-        replicaCount,
-        currentNodes.length - replicaCount,
-        roundRobinAmount.getAndUpdate(INCREMENT));
+  /**
+   * Adds a node to the remote live nodes of its datacenter, if it can be used for failover and the
+   * datacenter has fewer than {@link #usedHostsPerRemoteDc} nodes. This does not check the node's
+   * state.
+   *
+   * @return whether the node is a remote live node after this call (whether it was just added or
+   *     already there).
+   */
+  private boolean addRemoteNode(Node node) {
+    if (!isUsableAsRemote(node)) {
+      return false;
+    }
+    Set<Node> dcNodes =
+        remoteLiveNodes.computeIfAbsent(node.getDatacenter(), k -> new CopyOnWriteArraySet<>());
+    // Synchronize so that concurrent additions can't exceed the limit
+    synchronized (dcNodes) {
+      return dcNodes.contains(node) || (dcNodes.size() < usedHostsPerRemoteDc && dcNodes.add(node));
+    }
+  }
 
-    return new QueryPlan(currentNodes);
+  private boolean isRemoteNode(Node node) {
+    String dc = node.getDatacenter();
+    Set<Node> dcNodes = (dc == null) ? null : remoteLiveNodes.get(dc);
+    return dcNodes != null && dcNodes.contains(node);
+  }
+
+  /**
+   * Called when a remote node used for failover is no longer live: if its datacenter has other
+   * usable nodes, promote one of them to replace it.
+   */
+  private void replaceRemoteNode(Node removed) {
+    for (Node node : context.getMetadataManager().getMetadata().getNodes().values()) {
+      if (node != removed
+          && node.getState() == NodeState.UP
+          && Objects.equals(node.getDatacenter(), removed.getDatacenter())
+          && !filter.test(node)
+          && !isRemoteNode(node)
+          && addRemoteNode(node)) {
+        LOG.debug("[{}] Using {} as a replacement for remote node {}", logPrefix, node, removed);
+        distanceReporter.setDistance(node, NodeDistance.REMOTE);
+        return;
+      }
+    }
   }
 
   @NonNull
@@ -260,6 +457,10 @@ public class BasicLoadBalancingPolicy implements LoadBalancingPolicy {
     }
 
     TokenMap tokenMap = maybeTokenMap.get();
+    if (replicaCache.tokenMap != tokenMap) {
+      // The topology or the schema changed, the cached replica sets are obsolete
+      replicaCache = new ReplicaCache(tokenMap);
+    }
     return token != null
         ? tokenMap.getReplicas(keyspace, token)
         : tokenMap.getReplicas(keyspace, key);
@@ -277,6 +478,9 @@ public class BasicLoadBalancingPolicy implements LoadBalancingPolicy {
       // Setting to a non-ignored distance triggers the session to open a pool, which will in turn
       // set the node UP when the first channel gets opened.
       distanceReporter.setDistance(node, NodeDistance.LOCAL);
+    } else if (addRemoteNode(node)) {
+      LOG.debug("[{}] {} was added, setting distance to REMOTE", logPrefix, node);
+      distanceReporter.setDistance(node, NodeDistance.REMOTE);
     } else {
       distanceReporter.setDistance(node, NodeDistance.IGNORED);
     }
@@ -290,7 +494,13 @@ public class BasicLoadBalancingPolicy implements LoadBalancingPolicy {
       distanceReporter.setDistance(node, NodeDistance.LOCAL);
       if (liveNodes.add(node)) {
         LOG.debug("[{}] {} came back UP, added to live set", logPrefix, node);
+        invalidateReplicaCache();
       }
+    } else if (isRemoteNode(node)) {
+      distanceReporter.setDistance(node, NodeDistance.REMOTE);
+    } else if (addRemoteNode(node)) {
+      distanceReporter.setDistance(node, NodeDistance.REMOTE);
+      LOG.debug("[{}] {} came back UP, added to remote live set", logPrefix, node);
     } else {
       distanceReporter.setDistance(node, NodeDistance.IGNORED);
     }
@@ -300,6 +510,10 @@ public class BasicLoadBalancingPolicy implements LoadBalancingPolicy {
   public void onDown(@NonNull Node node) {
     if (liveNodes.remove(node)) {
       LOG.debug("[{}] {} went DOWN, removed from live set", logPrefix, node);
+      invalidateReplicaCache();
+    } else if (removeRemoteNode(node)) {
+      LOG.debug("[{}] {} went DOWN, removed from remote live set", logPrefix, node);
+      replaceRemoteNode(node);
     }
   }
 
@@ -307,6 +521,21 @@ public class BasicLoadBalancingPolicy implements LoadBalancingPolicy {
   public void onRemove(@NonNull Node node) {
     if (liveNodes.remove(node)) {
       LOG.debug("[{}] {} was removed, removed from live set", logPrefix, node);
+      invalidateReplicaCache();
+    } else if (removeRemoteNode(node)) {
+      LOG.debug("[{}] {} was removed, removed from remote live set", logPrefix, node);
+      replaceRemoteNode(node);
+    }
+  }
+
+  private boolean removeRemoteNode(Node node) {
+    String dc = node.getDatacenter();
+    Set<Node> dcNodes = (dc == null) ? null : remoteLiveNodes.get(dc);
+    if (dcNodes == null) {
+      return false;
+    }
+    synchronized (dcNodes) {
+      return dcNodes.remove(node);
     }
   }
 
@@ -314,4 +543,43 @@ public class BasicLoadBalancingPolicy implements LoadBalancingPolicy {
   public void close() {
     // nothing to do
   }
+
+  /**
+   * The part of a query plan that comes after the replicas: the other live nodes, in round-robin
+   * order.
+   */
+  private class NonReplicaQueryPlan extends LazyQueryPlan {
+
+    private final Set<Node> allReplicas;
+    private final int roundRobinAmount;
+
+    private NonReplicaQueryPlan(Set<Node> allReplicas, int roundRobinAmount) {
+      this.allReplicas = allReplicas;
+      this.roundRobinAmount = roundRobinAmount;
+    }
+
+    @NonNull
+    @Override
+    protected Object[] computeNodes() {
+      Object[] currentNodes = liveNodes.toArray();
+      int count = 0;
+      for (Object node : currentNodes) {
+        if (!allReplicas.contains(node)) {
+          currentNodes[count] = node;
+          count += 1;
+        }
+      }
+      ArrayUtils.rotate(currentNodes, 0, count, roundRobinAmount);
+      return (count == currentNodes.length) ? currentNodes : Arrays.copyOf(currentNodes, count);
+    }
+  }
+
+  private static class ReplicaCache {
+    private final TokenMap tokenMap;
+    private final ConcurrentMap<Set<Node>, Object[]> localReplicas = new ConcurrentHashMap<>();
+
+    private ReplicaCache(TokenMap tokenMap) {
+      this.tokenMap = tokenMap;
+    }
+  }
 }
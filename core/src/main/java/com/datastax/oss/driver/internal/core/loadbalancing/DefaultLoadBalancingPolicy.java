@@ -30,21 +30,16 @@ import com.datastax.oss.driver.internal.core.loadbalancing.helper.MandatoryLocal
 import com.datastax.oss.driver.internal.core.pool.ChannelPool;
 import com.datastax.oss.driver.internal.core.session.DefaultSession;
 import com.datastax.oss.driver.internal.core.util.ArrayUtils;
-import com.datastax.oss.driver.internal.core.util.collection.QueryPlan;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.util.BitSet;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Queue;
-import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicLongArray;
 import net.jcip.annotations.ThreadSafe;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  * The default load balancing policy implementation.
@@ -83,31 +78,56 @@ import org.slf4j.LoggerFactory;
  * available, they will be ordered from most healthy to least healthy ("Power of 2 choices" or busy
  * node avoidance algorithm). Non-replica nodes will be included in a round-robin fashion. If the
  * local datacenter is defined (see above), query plans will only include local nodes, never remote
- * ones; if it is unspecified however, query plans may contain nodes from different datacenters.
+ * ones (unless {@linkplain BasicLoadBalancingPolicy datacenter failover} is enabled); if it is
+ * unspecified however, query plans may contain nodes from different datacenters.
+ *
+ * <p><b>Latency awareness</b>: If {@code advanced.load-balancing-policy.latency-awareness.enabled}
+ * is true, the ordering of replicas described above is replaced by a ranking of all the replicas:
+ * each one gets a score that combines an exponentially decaying average of its response latencies
+ * (see {@link NodeLatencyStats}) with its current number of in-flight requests, and replicas are
+ * tried in ascending order of their score. Replicas that have no recent measurements are scored
+ * with the average latency of the others, so that they are neither flooded nor starved.
  */
 @ThreadSafe
 public class DefaultLoadBalancingPolicy extends BasicLoadBalancingPolicy implements RequestTracker {
 
-  private static final Logger LOG = LoggerFactory.getLogger(DefaultLoadBalancingPolicy.class);
-
   private static final long NEWLY_UP_INTERVAL_NANOS = MINUTES.toNanos(1);
   private static final int MAX_IN_FLIGHT_THRESHOLD = 10;
   private static final long RESPONSE_COUNT_RESET_INTERVAL_NANOS = MILLISECONDS.toNanos(200);
 
   protected final Map<Node, AtomicLongArray> responseTimes = new ConcurrentHashMap<>();
   protected final Map<Node, Long> upTimes = new ConcurrentHashMap<>();
+  protected final Map<Node, NodeLatencyStats> latencies = new ConcurrentHashMap<>();
   private final boolean avoidSlowReplicas;
+  private final boolean latencyAware;
+  private final long latencyHalfLifeNanos;
+  private final long latencyRetryPeriodNanos;
 
   public DefaultLoadBalancingPolicy(@NonNull DriverContext context, @NonNull String profileName) {
     super(context, profileName);
     this.avoidSlowReplicas =
         profile.getBoolean(DefaultDriverOption.LOAD_BALANCING_POLICY_SLOW_AVOIDANCE, true);
+    this.latencyAware =
+        profile.getBoolean(DefaultDriverOption.LOAD_BALANCING_LATENCY_AWARENESS_ENABLED, false);
+    if (latencyAware) {
+      this.latencyHalfLifeNanos =
+          profile
+              .getDuration(DefaultDriverOption.LOAD_BALANCING_LATENCY_AWARENESS_HALF_LIFE)
+              .toNanos();
+      this.latencyRetryPeriodNanos =
+          profile
+              .getDuration(DefaultDriverOption.LOAD_BALANCING_LATENCY_AWARENESS_RETRY_PERIOD)
+              .toNanos();
+    } else {
+      this.latencyHalfLifeNanos = 0;
+      this.latencyRetryPeriodNanos = 0;
+    }
   }
 
   @Override
   public void init(@NonNull Map<UUID, Node> nodes, @NonNull DistanceReporter distanceReporter) {
     super.init(nodes, distanceReporter);
-    if (avoidSlowReplicas) {
+    if (avoidSlowReplicas || latencyAware) {
       ((MultiplexingRequestTracker) context.getRequestTracker()).register(this);
     }
   }
@@ -118,114 +138,91 @@ public class DefaultLoadBalancingPolicy extends BasicLoadBalancingPolicy impleme
     return new MandatoryLocalDcHelper(context, profile, logPrefix).discoverLocalDc(nodes);
   }
 
-  @NonNull
   @Override
-  public Queue<Node> newQueryPlan(@Nullable Request request, @Nullable Session session) {
-    if (!avoidSlowReplicas) {
-      return super.newQueryPlan(request, session);
+  protected void prioritizeReplicas(
+      @NonNull Object[] currentNodes, @Nullable Request request, @Nullable Session session) {
+    if (!avoidSlowReplicas && !latencyAware) {
+      super.prioritizeReplicas(currentNodes, request, session);
+      return;
     }
 
-    // Take a snapshot since the set is concurrent:
-    Object[] currentNodes = liveNodes.toArray();
+    int replicaCount = currentNodes.length;
+    if (replicaCount > 1) {
 
-    Set<Node> allReplicas = getReplicas(request, session);
-    int replicaCount = 0; // in currentNodes
+      shuffleHead(currentNodes, replicaCount);
 
-    if (!allReplicas.isEmpty()) {
+      if (latencyAware) {
 
-      // Move replicas to the beginning of the plan
-      for (int i = 0; i < currentNodes.length; i++) {
-        Node node = (Node) currentNodes[i];
-        if (allReplicas.contains(node)) {
-          ArrayUtils.bubbleUp(currentNodes, i, replicaCount);
-          replicaCount++;
-        }
-      }
-
-      if (replicaCount > 1) {
+        rankReplicas(currentNodes, replicaCount, session);
 
-        shuffleHead(currentNodes, replicaCount);
+      } else if (replicaCount > 2) {
 
-        if (replicaCount > 2) {
+        assert session != null;
 
-          assert session != null;
-
-          // Test replicas health
-          Node newestUpReplica = null;
-          BitSet unhealthyReplicas = null; // bit mask storing indices of unhealthy replicas
-          long mostRecentUpTimeNanos = -1;
-          long now = nanoTime();
-          for (int i = 0; i < replicaCount; i++) {
-            Node node = (Node) currentNodes[i];
-            Long upTimeNanos = upTimes.get(node);
-            if (upTimeNanos != null
-                && now - upTimeNanos - NEWLY_UP_INTERVAL_NANOS < 0
-                && upTimeNanos - mostRecentUpTimeNanos > 0) {
-              newestUpReplica = node;
-              mostRecentUpTimeNanos = upTimeNanos;
-            }
-            if (newestUpReplica == null && isUnhealthy(node, session, now)) {
-              if (unhealthyReplicas == null) {
-                unhealthyReplicas = new BitSet(replicaCount);
-              }
-              unhealthyReplicas.set(i);
+        // Test replicas health
+        Node newestUpReplica = null;
+        BitSet unhealthyReplicas = null; // bit mask storing indices of unhealthy replicas
+        long mostRecentUpTimeNanos = -1;
+        long now = nanoTime();
+        for (int i = 0; i < replicaCount; i++) {
+          Node node = (Node) currentNodes[i];
+          Long upTimeNanos = upTimes.get(node);
+          if (upTimeNanos != null
+              && now - upTimeNanos - NEWLY_UP_INTERVAL_NANOS < 0
+              && upTimeNanos - mostRecentUpTimeNanos > 0) {
+            newestUpReplica = node;
+            mostRecentUpTimeNanos = upTimeNanos;
+          }
+          if (newestUpReplica == null && isUnhealthy(node, session, now)) {
+            if (unhealthyReplicas == null) {
+              unhealthyReplicas = new BitSet(replicaCount);
             }
+            unhealthyReplicas.set(i);
           }
+        }
 
-          // When:
-          // - there isn't any newly UP replica and
-          // - there is one or more unhealthy replicas and
-          // - there is a majority of healthy replicas
-          int unhealthyReplicasCount =
-              unhealthyReplicas == null ? 0 : unhealthyReplicas.cardinality();
-          if (newestUpReplica == null
-              && unhealthyReplicasCount > 0
-              && unhealthyReplicasCount < (replicaCount / 2.0)) {
-
-            // Reorder the unhealthy replicas to the back of the list
-            // Start from the back of the replicas, then move backwards;
-            // stop once all unhealthy replicas are moved to the back.
-            int counter = 0;
-            for (int i = replicaCount - 1; i >= 0 && counter < unhealthyReplicasCount; i--) {
-              if (unhealthyReplicas.get(i)) {
-                ArrayUtils.bubbleDown(currentNodes, i, replicaCount - 1 - counter);
-                counter++;
-              }
+        // When:
+        // - there isn't any newly UP replica and
+        // - there is one or more unhealthy replicas and
+        // - there is a majority of healthy replicas
+        int unhealthyReplicasCount =
+            unhealthyReplicas == null ? 0 : unhealthyReplicas.cardinality();
+        if (newestUpReplica == null
+            && unhealthyReplicasCount > 0
+            && unhealthyReplicasCount < (replicaCount / 2.0)) {
+
+          // Reorder the unhealthy replicas to the back of the list
+          // Start from the back of the replicas, then move backwards;
+          // stop once all unhealthy replicas are moved to the back.
+          int counter = 0;
+          for (int i = replicaCount - 1; i >= 0 && counter < unhealthyReplicasCount; i--) {
+            if (unhealthyReplicas.get(i)) {
+              ArrayUtils.bubbleDown(currentNodes, i, replicaCount - 1 - counter);
+              counter++;
             }
           }
+        }
 
-          // When:
-          // - there is a newly UP replica and
-          // - the replica in first or second position is the most recent replica marked as UP and
-          // - dice roll 1d4 != 1
-          else if ((newestUpReplica == currentNodes[0] || newestUpReplica == currentNodes[1])
-              && diceRoll1d4() != 1) {
+        // When:
+        // - there is a newly UP replica and
+        // - the replica in first or second position is the most recent replica marked as UP and
+        // - dice roll 1d4 != 1
+        else if ((newestUpReplica == currentNodes[0] || newestUpReplica == currentNodes[1])
+            && diceRoll1d4() != 1) {
 
-            // Send it to the back of the replicas
-            ArrayUtils.bubbleDown(
-                currentNodes, newestUpReplica == currentNodes[0] ? 0 : 1, replicaCount - 1);
-          }
+          // Send it to the back of the replicas
+          ArrayUtils.bubbleDown(
+              currentNodes, newestUpReplica == currentNodes[0] ? 0 : 1, replicaCount - 1);
+        }
 
-          // Reorder the first two replicas in the shuffled list based on the number of
-          // in-flight requests
-          if (getInFlight((Node) currentNodes[0], session)
-              > getInFlight((Node) currentNodes[1], session)) {
-            ArrayUtils.swap(currentNodes, 0, 1);
-          }
+        // Reorder the first two replicas in the shuffled list based on the number of
+        // in-flight requests
+        if (getInFlight((Node) currentNodes[0], session)
+            > getInFlight((Node) currentNodes[1], session)) {
+          ArrayUtils.swap(currentNodes, 0, 1);
         }
       }
     }
-
-    LOG.trace("[{}] Prioritizing {} local replicas", logPrefix, replicaCount);
-
-    // Round-robin the remaining nodes
-    ArrayUtils.rotate(
-        currentNodes,
-        replicaCount,
-        currentNodes.length - replicaCount,
-        roundRobinAmount.getAndUpdate(INCREMENT));
-
-    return new QueryPlan(currentNodes);
   }
 
   @Override
@@ -235,7 +232,11 @@ public class DefaultLoadBalancingPolicy extends BasicLoadBalancingPolicy impleme
       @NonNull DriverExecutionProfile executionProfile,
       @NonNull Node node,
       @NonNull String logPrefix) {
-    updateResponseTimes(node);
+    if (latencyAware) {
+      updateLatency(node, latencyNanos, false);
+    } else {
+      updateResponseTimes(node);
+    }
   }
 
   @Override
@@ -246,7 +247,24 @@ public class DefaultLoadBalancingPolicy extends BasicLoadBalancingPolicy impleme
       @NonNull DriverExecutionProfile executionProfile,
       @NonNull Node node,
       @NonNull String logPrefix) {
-    updateResponseTimes(node);
+    if (latencyAware) {
+      updateLatency(node, latencyNanos, true);
+    } else {
+      updateResponseTimes(node);
+    }
+  }
+
+  @Override
+  public void onUp(@NonNull Node node) {
+    super.onUp(node);
+    // The node was unavailable, whatever we measured before is irrelevant
+    latencies.remove(node);
+  }
+
+  @Override
+  public void onRemove(@NonNull Node node) {
+    super.onRemove(node);
+    latencies.remove(node);
   }
 
   /** Exposed as a protected method so that it can be accessed by tests */
@@ -310,6 +328,54 @@ public class DefaultLoadBalancingPolicy extends BasicLoadBalancingPolicy impleme
         });
   }
 
+  protected void updateLatency(@NonNull Node node, long latencyNanos, boolean error) {
+    latencies
+        .computeIfAbsent(node, n -> new NodeLatencyStats(latencyHalfLifeNanos))
+        .record(latencyNanos, error, nanoTime());
+  }
+
+  /**
+   * Sorts the first {@code replicaCount} nodes of the array by ascending score, where the score is
+   * the average latency of the node multiplied by its number of in-flight requests (plus one). The
+   * sort is stable, so replicas with equal scores keep their shuffled order.
+   */
+  protected void rankReplicas(
+      @NonNull Object[] currentNodes, int replicaCount, @Nullable Session session) {
+    long now = nanoTime();
+    double[] scores = new double[replicaCount];
+    double knownSum = 0;
+    int knownCount = 0;
+    for (int i = 0; i < replicaCount; i++) {
+      NodeLatencyStats stats = latencies.get((Node) currentNodes[i]);
+      double average = (stats == null) ? -1 : stats.getAverageNanos(now, latencyRetryPeriodNanos);
+      scores[i] = average;
+      if (average >= 0) {
+        knownSum += average;
+        knownCount += 1;
+      }
+    }
+    double defaultAverage = (knownCount == 0) ? 0 : knownSum / knownCount;
+    for (int i = 0; i < replicaCount; i++) {
+      double average = scores[i] < 0 ? defaultAverage : scores[i];
+      int inFlight = (session == null) ? 0 : getInFlight((Node) currentNodes[i], session);
+      // + 1 so that the in-flight count still matters if there are no measurements at all
+      scores[i] = (average + 1) * (inFlight + 1);
+    }
+    // Insertion sort: there are only a handful of replicas
+    for (int i = 1; i < replicaCount; i++) {
+      double score = scores[i];
+      Object node = currentNodes[i];
+      int j = i - 1;
+      while (j >= 0 && scores[j] > score) {
+        scores[j + 1] = scores[j];
+        currentNodes[j + 1] = currentNodes[j];
+        j -= 1;
+      }
+      scores[j + 1] = score;
+      currentNodes[j + 1] = node;
+    }
+  }
+
   protected int getInFlight(@NonNull Node node, @NonNull Session session) {
     // The cast will always succeed because there's no way to replace the internal session impl
     ChannelPool pool = ((DefaultSession) session).getPools().get(node);
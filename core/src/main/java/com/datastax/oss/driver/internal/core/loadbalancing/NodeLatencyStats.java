@@ -0,0 +1,82 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.loadbalancing;
+
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * An exponentially decaying average of the response latencies of a node, used by {@link
+ * DefaultLoadBalancingPolicy} when latency awareness is enabled.
+ *
+ * <p>The weight of a measurement halves every {@code halfLifeNanos}, regardless of how many
+ * measurements are recorded in the meantime; this makes the average independent of the request
+ * rate. In addition, the average is "peak-sensitive": a measurement that is higher than the current
+ * average replaces it immediately, so that a node that starts to stall (for example because of a
+ * garbage collection pause) is penalized right away, and then recovers progressively.
+ */
+@ThreadSafe
+public class NodeLatencyStats {
+
+  private static final double LN_2 = Math.log(2);
+
+  private final double decayNanos;
+
+  // Written under the lock, but read without it (a slightly inconsistent pair of values is
+  // acceptable for the policy's purpose).
+  private volatile double averageNanos;
+  private volatile long lastUpdateNanos;
+  private volatile boolean hasMeasurements;
+
+  public NodeLatencyStats(long halfLifeNanos) {
+    this.decayNanos = halfLifeNanos / LN_2;
+  }
+
+  /**
+   * Records a new measurement.
+   *
+   * @param latencyNanos the latency of the response.
+   * @param error whether the response was an error. An error can never lower the average: an error
+   *     that comes back fast (for example because the node is overloaded) does not make the node
+   *     more attractive.
+   * @param now the current {@link System#nanoTime() nano time}.
+   */
+  public synchronized void record(long latencyNanos, boolean error, long now) {
+    if (!hasMeasurements) {
+      averageNanos = latencyNanos;
+      hasMeasurements = true;
+    } else if (latencyNanos >= averageNanos) {
+      averageNanos = latencyNanos;
+    } else if (!error) {
+      long elapsed = Math.max(0, now - lastUpdateNanos);
+      double weight = Math.exp(-elapsed / decayNanos);
+      averageNanos = averageNanos * weight + latencyNanos * (1 - weight);
+    }
+    lastUpdateNanos = now;
+  }
+
+  /**
+   * Returns the current average, or a negative value if it is unknown: either there were no
+   * measurements yet, or the last one is older than {@code retryPeriodNanos} (the average is
+   * considered obsolete, which gives nodes that were previously avoided a chance to be tried
+   * again).
+   */
+  public double getAverageNanos(long now, long retryPeriodNanos) {
+    if (!hasMeasurements || now - lastUpdateNanos > retryPeriodNanos) {
+      return -1;
+    }
+    return averageNanos;
+  }
+}
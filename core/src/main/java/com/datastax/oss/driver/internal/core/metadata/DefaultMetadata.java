@@ -16,10 +16,12 @@
 package com.datastax.oss.driver.internal.core.metadata;
 
 import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
 import com.datastax.oss.driver.api.core.metadata.Metadata;
 import com.datastax.oss.driver.api.core.metadata.Node;
 import com.datastax.oss.driver.api.core.metadata.TokenMap;
 import com.datastax.oss.driver.api.core.metadata.schema.KeyspaceMetadata;
+import com.datastax.oss.driver.api.core.metrics.DefaultSessionMetric;
 import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
 import com.datastax.oss.driver.internal.core.metadata.token.DefaultTokenMap;
 import com.datastax.oss.driver.internal.core.metadata.token.ReplicationStrategyFactory;
@@ -33,6 +35,9 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import net.jcip.annotations.Immutable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -94,7 +99,8 @@ public class DefaultMetadata implements Metadata {
    * @param tokenMapEnabled whether to rebuild the token map or not; if this is {@code false} the
    *     current token map will be copied into the new metadata without being recomputed.
    * @param tokensChanged whether we observed a change of tokens for at least one node. This will
-   *     require a full rebuild of the token map.
+   *     require a rebuild of the token map (which is incremental if possible, see {@link
+   *     DefaultTokenMap#rebuild}).
    * @param tokenFactory only needed for the initial refresh, afterwards the existing one in the
    *     token map is used.
    * @return the new metadata.
@@ -144,6 +150,13 @@ public class DefaultMetadata implements Metadata {
       LOG.debug("[{}] Token map is disabled, skipping", logPrefix);
       return this.tokenMap;
     }
+    Executor executor =
+        context
+                .getConfig()
+                .getDefaultProfile()
+                .getBoolean(DefaultDriverOption.METADATA_TOKEN_MAP_PARALLEL_REBUILD, false)
+            ? ForkJoinPool.commonPool()
+            : null;
     long start = System.nanoTime();
     try {
       DefaultTokenMap oldTokenMap = (DefaultTokenMap) this.tokenMap;
@@ -161,21 +174,17 @@ public class DefaultMetadata implements Metadata {
               newKeyspaces.values(),
               tokenFactory,
               replicationStrategyFactory,
+              executor,
               logPrefix);
         }
       } else if (forceFullRebuild) {
-        LOG.debug(
-            "[{}] Updating token map but some nodes/tokens have changed, full rebuild", logPrefix);
-        return DefaultTokenMap.build(
-            newNodes.values(),
-            newKeyspaces.values(),
-            oldTokenMap.getTokenFactory(),
-            replicationStrategyFactory,
-            logPrefix);
+        LOG.debug("[{}] Updating token map but some nodes/tokens have changed, rebuild", logPrefix);
+        return oldTokenMap.rebuild(
+            newNodes.values(), newKeyspaces.values(), replicationStrategyFactory, executor);
       } else {
         LOG.debug("[{}] Refreshing token map (only schema has changed)", logPrefix);
         return oldTokenMap.refresh(
-            newNodes.values(), newKeyspaces.values(), replicationStrategyFactory);
+            newNodes.values(), newKeyspaces.values(), replicationStrategyFactory, executor);
       }
     } catch (Throwable t) {
       Loggers.warnWithException(
@@ -185,7 +194,12 @@ public class DefaultMetadata implements Metadata {
           t);
       return this.tokenMap;
     } finally {
-      LOG.debug("[{}] Rebuilding token map took {}", logPrefix, NanoTime.formatTimeSince(start));
+      long elapsed = System.nanoTime() - start;
+      LOG.debug("[{}] Rebuilding token map took {}", logPrefix, NanoTime.format(elapsed));
+      context
+          .getMetricsFactory()
+          .getSessionUpdater()
+          .updateTimer(DefaultSessionMetric.TOKEN_MAP_REBUILD, null, elapsed, TimeUnit.NANOSECONDS);
     }
   }
 }
@@ -16,11 +16,13 @@
 package com.datastax.oss.driver.internal.core.metadata;
 
 import com.datastax.oss.driver.api.core.AsyncAutoCloseable;
+import com.datastax.oss.driver.api.core.CqlIdentifier;
 import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
 import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
 import com.datastax.oss.driver.api.core.metadata.EndPoint;
 import com.datastax.oss.driver.api.core.metadata.Metadata;
 import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.metrics.DefaultSessionMetric;
 import com.datastax.oss.driver.internal.core.config.ConfigChangeEvent;
 import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
 import com.datastax.oss.driver.internal.core.control.ControlConnection;
@@ -28,6 +30,7 @@ import com.datastax.oss.driver.internal.core.metadata.schema.parsing.SchemaParse
 import com.datastax.oss.driver.internal.core.metadata.schema.queries.SchemaQueriesFactory;
 import com.datastax.oss.driver.internal.core.metadata.schema.queries.SchemaRows;
 import com.datastax.oss.driver.internal.core.metadata.schema.refresh.SchemaRefresh;
+import com.datastax.oss.driver.internal.core.metadata.schema.refresh.SchemaRefreshTarget;
 import com.datastax.oss.driver.internal.core.util.Loggers;
 import com.datastax.oss.driver.internal.core.util.NanoTime;
 import com.datastax.oss.driver.internal.core.util.concurrent.CompletableFutures;
@@ -38,11 +41,17 @@ import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableSet;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import io.netty.util.concurrent.EventExecutor;
 import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import net.jcip.annotations.ThreadSafe;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -61,6 +70,7 @@ public class MetadataManager implements AsyncAutoCloseable {
   private final DriverExecutionProfile config;
   private final SingleThreaded singleThreaded;
   private final ControlConnection controlConnection;
+  private final Path snapshotFile;
 
   private volatile DefaultMetadata metadata; // only updated from adminExecutor
   private volatile boolean schemaEnabledInConfig;
@@ -87,6 +97,10 @@ public class MetadataManager implements AsyncAutoCloseable {
         config.getStringList(
             DefaultDriverOption.METADATA_SCHEMA_REFRESHED_KEYSPACES, Collections.emptyList());
     this.tokenMapEnabled = config.getBoolean(DefaultDriverOption.METADATA_TOKEN_MAP_ENABLED);
+    this.snapshotFile =
+        config.isDefined(DefaultDriverOption.METADATA_SNAPSHOT_FILE)
+            ? Paths.get(config.getString(DefaultDriverOption.METADATA_SNAPSHOT_FILE))
+            : null;
 
     context.getEventBus().register(ConfigChangeEvent.class, this::onConfigChanged);
   }
@@ -106,7 +120,7 @@ public class MetadataManager implements AsyncAutoCloseable {
             || !keyspacesBefore.equals(refreshedKeyspaces)
             || (!tokenMapEnabledBefore && tokenMapEnabled))
         && isSchemaEnabled()) {
-      refreshSchema(null, false, true)
+      refreshSchema(SchemaRefreshTarget.FULL, false, true)
           .whenComplete(
               (metadata, error) -> {
                 if (error != null) {
@@ -166,6 +180,67 @@ public class MetadataManager implements AsyncAutoCloseable {
         .thenApplyAsync(singleThreaded::refreshNodes, adminExecutor);
   }
 
+  /**
+   * Initializes the node list (and the schema, if it is enabled) from the snapshot file, if one is
+   * configured (see {@code advanced.metadata.snapshot} in the configuration).
+   *
+   * <p>This is only called during initialization, as an alternative to the first {@link
+   * #refreshNodes()}. The snapshot is ignored if it is missing, unreadable, too old, if it does not
+   * contain any of the contact points, or if it was created with a different protocol version than
+   * the one that was negotiated with the first contact point.
+   *
+   * @return whether the snapshot was used.
+   */
+  public CompletionStage<Boolean> loadSnapshot() {
+    if (snapshotFile == null) {
+      return CompletableFuture.completedFuture(false);
+    }
+    // Do the I/O outside of the admin thread
+    return CompletableFuture.supplyAsync(this::readSnapshot, ForkJoinPool.commonPool())
+        .thenApplyAsync(singleThreaded::applySnapshot, adminExecutor);
+  }
+
+  private MetadataSnapshot readSnapshot() {
+    try {
+      if (!Files.exists(snapshotFile)) {
+        LOG.debug("[{}] Metadata snapshot {} does not exist", logPrefix, snapshotFile);
+        return null;
+      }
+      MetadataSnapshot snapshot =
+          MetadataSnapshot.load(snapshotFile, context.getProtocolVersionRegistry());
+      long ageMillis = System.currentTimeMillis() - snapshot.getCreationTimeMillis();
+      Duration maxAge = config.getDuration(DefaultDriverOption.METADATA_SNAPSHOT_MAX_AGE);
+      if (ageMillis > maxAge.toMillis()) {
+        LOG.debug(
+            "[{}] Ignoring metadata snapshot {} because it is older than {}",
+            logPrefix,
+            snapshotFile,
+            maxAge);
+        return null;
+      }
+      if (!snapshot.containsAny(contactPoints)) {
+        LOG.debug(
+            "[{}] Ignoring metadata snapshot {} because it does not contain any contact point",
+            logPrefix,
+            snapshotFile);
+        return null;
+      }
+      if (!snapshot.getProtocolVersion().equals(context.getProtocolVersion())) {
+        LOG.debug(
+            "[{}] Ignoring metadata snapshot {} because it was created with protocol {}",
+            logPrefix,
+            snapshotFile,
+            snapshot.getProtocolVersion());
+        return null;
+      }
+      return snapshot;
+    } catch (Throwable t) {
+      Loggers.warnWithException(
+          LOG, "[{}] Error loading metadata snapshot {}, ignoring it", logPrefix, snapshotFile, t);
+      return null;
+    }
+  }
+
   public CompletionStage<Void> refreshNode(Node node) {
     return context
         .getTopologyMonitor()
@@ -214,19 +289,21 @@ public class MetadataManager implements AsyncAutoCloseable {
   }
 
   /**
-   * @param keyspace if this refresh was triggered by an event, that event's keyspace, otherwise
-   *     null (this is only used to discard the event if it targets a keyspace that we're ignoring)
+   * @param target the part of the schema to refresh. If this refresh was triggered by an event, it
+   *     is the element targeted by that event (see {@link
+   *     SchemaRefreshTarget#forSchemaChange(String, String, String)}); it is also used to discard
+   *     the event if it targets a keyspace that we're ignoring.
    * @param evenIfDisabled force the refresh even if schema is currently disabled (used for user
    *     request)
    * @param flushNow bypass the debouncer and force an immediate refresh (used to avoid a delay at
    *     startup)
    */
   public CompletionStage<RefreshSchemaResult> refreshSchema(
-      String keyspace, boolean evenIfDisabled, boolean flushNow) {
+      SchemaRefreshTarget target, boolean evenIfDisabled, boolean flushNow) {
     CompletableFuture<RefreshSchemaResult> future = new CompletableFuture<>();
     RunOrSchedule.on(
         adminExecutor,
-        () -> singleThreaded.refreshSchema(keyspace, evenIfDisabled, flushNow, future));
+        () -> singleThreaded.refreshSchema(target, evenIfDisabled, flushNow, future));
     return future;
   }
 
@@ -265,7 +342,8 @@ public class MetadataManager implements AsyncAutoCloseable {
     boolean wasEnabledBefore = isSchemaEnabled();
     schemaEnabledProgrammatically = newValue;
     if (!wasEnabledBefore && isSchemaEnabled()) {
-      return refreshSchema(null, false, true).thenApply(RefreshSchemaResult::getMetadata);
+      return refreshSchema(SchemaRefreshTarget.FULL, false, true)
+          .thenApply(RefreshSchemaResult::getMetadata);
     } else {
       return CompletableFuture.completedFuture(metadata);
     }
@@ -294,18 +372,22 @@ public class MetadataManager implements AsyncAutoCloseable {
     private final CompletableFuture<Void> closeFuture = new CompletableFuture<>();
     private boolean closeWasCalled;
     private final CompletableFuture<Void> firstSchemaRefreshFuture = new CompletableFuture<>();
-    private final Debouncer<
-            CompletableFuture<RefreshSchemaResult>, CompletableFuture<RefreshSchemaResult>>
-        schemaRefreshDebouncer;
+    private final Debouncer<SchemaRefreshRequest, SchemaRefreshRequest> schemaRefreshDebouncer;
     private final SchemaQueriesFactory schemaQueriesFactory;
     private final SchemaParserFactory schemaParserFactory;
 
     // We don't allow concurrent schema refreshes. If one is already running, the next one is queued
     // (and the ones after that are merged with the queued one).
     private CompletableFuture<RefreshSchemaResult> currentSchemaRefresh;
-    private CompletableFuture<RefreshSchemaResult> queuedSchemaRefresh;
+    private SchemaRefreshRequest queuedSchemaRefresh;
 
     private boolean didFirstNodeListRefresh;
+    // Whether a schema was applied already (from a refresh or a snapshot): the events of the first
+    // one are not fired. This is not the same as firstSchemaRefreshFuture, which only tracks live
+    // refreshes.
+    private boolean didFirstSchemaApply;
+    // Targeted refreshes are merged into the existing metadata, so they require a complete schema
+    private boolean didFullSchemaRefresh;
 
     private SingleThreaded(InternalDriverContext context, DriverExecutionProfile config) {
       this.schemaRefreshDebouncer =
@@ -319,6 +401,24 @@ public class MetadataManager implements AsyncAutoCloseable {
       this.schemaParserFactory = context.getSchemaParserFactory();
     }
 
+    private boolean applySnapshot(MetadataSnapshot snapshot) {
+      assert adminExecutor.inEventLoop();
+      if (snapshot == null || didFirstNodeListRefresh || closeWasCalled) {
+        return false;
+      }
+      LOG.debug("[{}] Initializing metadata from snapshot {}", logPrefix, snapshotFile);
+      refreshNodes(snapshot.getNodeInfos());
+      if (isSchemaEnabled()) {
+        SchemaRows schemaRows = snapshot.getSchemaRows(metadata.getNodes(), logPrefix);
+        if (schemaRows != null) {
+          // Don't set didFullSchemaRefresh: the next refresh will be full, and replace the data
+          // from the snapshot.
+          apply(schemaParserFactory.newInstance(schemaRows).parse());
+        }
+      }
+      return true;
+    }
+
     private Void refreshNodes(Iterable<NodeInfo> nodeInfos) {
       MetadataRefresh refresh =
           didFirstNodeListRefresh
@@ -359,7 +459,7 @@ public class MetadataManager implements AsyncAutoCloseable {
     }
 
     private void refreshSchema(
-        String keyspace,
+        SchemaRefreshTarget target,
         boolean evenIfDisabled,
         boolean flushNow,
         CompletableFuture<RefreshSchemaResult> future) {
@@ -372,11 +472,10 @@ public class MetadataManager implements AsyncAutoCloseable {
       }
 
       // If this is an event, make sure it's not targeting a keyspace that we're ignoring.
-      boolean isRefreshedKeyspace =
-          keyspace == null || refreshedKeyspaces.isEmpty() || refreshedKeyspaces.contains(keyspace);
+      SchemaRefreshTarget restrictedTarget = target.restrictTo(refreshedKeyspaces);
 
-      if (isRefreshedKeyspace && (evenIfDisabled || isSchemaEnabled())) {
-        acceptSchemaRequest(future, flushNow);
+      if (restrictedTarget != null && (evenIfDisabled || isSchemaEnabled())) {
+        acceptSchemaRequest(new SchemaRefreshRequest(restrictedTarget, future), flushNow);
       } else {
         future.complete(new RefreshSchemaResult(metadata));
         singleThreaded.firstSchemaRefreshFuture.complete(null);
@@ -384,13 +483,12 @@ public class MetadataManager implements AsyncAutoCloseable {
     }
 
     // An external component has requested a schema refresh, feed it to the debouncer.
-    private void acceptSchemaRequest(
-        CompletableFuture<RefreshSchemaResult> future, boolean flushNow) {
+    private void acceptSchemaRequest(SchemaRefreshRequest request, boolean flushNow) {
       assert adminExecutor.inEventLoop();
       if (closeWasCalled) {
-        future.complete(new RefreshSchemaResult(metadata));
+        request.future.complete(new RefreshSchemaResult(metadata));
       } else {
-        schemaRefreshDebouncer.receive(future);
+        schemaRefreshDebouncer.receive(request);
         if (flushNow) {
           schemaRefreshDebouncer.flushNow();
         }
@@ -398,32 +496,39 @@ public class MetadataManager implements AsyncAutoCloseable {
     }
 
     // Multiple requests have arrived within the debouncer window, coalesce them.
-    private CompletableFuture<RefreshSchemaResult> coalesceSchemaRequests(
-        List<CompletableFuture<RefreshSchemaResult>> futures) {
+    private SchemaRefreshRequest coalesceSchemaRequests(List<SchemaRefreshRequest> requests) {
       assert adminExecutor.inEventLoop();
-      assert !futures.isEmpty();
+      assert !requests.isEmpty();
       // Keep only one, but ensure that the discarded ones will still be completed when we're done
-      CompletableFuture<RefreshSchemaResult> result = null;
-      for (CompletableFuture<RefreshSchemaResult> future : futures) {
-        if (result == null) {
-          result = future;
-        } else {
-          CompletableFutures.completeFrom(result, future);
-        }
+      SchemaRefreshRequest result = null;
+      for (SchemaRefreshRequest request : requests) {
+        result = (result == null) ? request : result.merge(request);
       }
       return result;
     }
 
     // The debouncer has flushed, start the actual work.
-    private void startSchemaRequest(CompletableFuture<RefreshSchemaResult> refreshFuture) {
+    private void startSchemaRequest(SchemaRefreshRequest request) {
       assert adminExecutor.inEventLoop();
+      CompletableFuture<RefreshSchemaResult> refreshFuture = request.future;
       if (closeWasCalled) {
         refreshFuture.complete(new RefreshSchemaResult(metadata));
         return;
       }
       if (currentSchemaRefresh == null) {
         currentSchemaRefresh = refreshFuture;
-        LOG.debug("[{}] Starting schema refresh", logPrefix);
+        SchemaRefreshTarget target = request.target;
+        if (!didFullSchemaRefresh) {
+          target = SchemaRefreshTarget.FULL;
+        } else if (target.isTableLevel()
+            && !metadata
+                .getKeyspace(CqlIdentifier.fromInternal(firstKeyspace(target)))
+                .isPresent()) {
+          // We need the rest of the keyspace to merge the tables into
+          target = target.withoutTables();
+        }
+        SchemaRefreshTarget finalTarget = target;
+        LOG.debug("[{}] Starting schema refresh ({})", logPrefix, target);
         initControlConnectionForSchema()
             .thenCompose(v -> context.getTopologyMonitor().checkSchemaAgreement())
             .whenComplete(
@@ -431,8 +536,9 @@ public class MetadataManager implements AsyncAutoCloseable {
                   if (agreementError != null) {
                     refreshFuture.completeExceptionally(agreementError);
                   } else {
+                    long start = System.nanoTime();
                     schemaQueriesFactory
-                        .newInstance()
+                        .newInstance(finalTarget)
                         .execute()
                         .thenApplyAsync(this::parseAndApplySchemaRows, adminExecutor)
                         .whenComplete(
@@ -440,6 +546,14 @@ public class MetadataManager implements AsyncAutoCloseable {
                               if (metadataError != null) {
                                 refreshFuture.completeExceptionally(metadataError);
                               } else {
+                                context
+                                    .getMetricsFactory()
+                                    .getSessionUpdater()
+                                    .updateTimer(
+                                        DefaultSessionMetric.SCHEMA_REFRESH,
+                                        null,
+                                        System.nanoTime() - start,
+                                        TimeUnit.NANOSECONDS);
                                 refreshFuture.complete(
                                     new RefreshSchemaResult(newMetadata, schemaInAgreement));
                               }
@@ -449,8 +563,7 @@ public class MetadataManager implements AsyncAutoCloseable {
                               currentSchemaRefresh = null;
                               // If another refresh was enqueued during this one, run it now
                               if (queuedSchemaRefresh != null) {
-                                CompletableFuture<RefreshSchemaResult> tmp =
-                                    this.queuedSchemaRefresh;
+                                SchemaRefreshRequest tmp = this.queuedSchemaRefresh;
                                 this.queuedSchemaRefresh = null;
                                 startSchemaRequest(tmp);
                               }
@@ -458,10 +571,9 @@ public class MetadataManager implements AsyncAutoCloseable {
                   }
                 });
       } else if (queuedSchemaRefresh == null) {
-        queuedSchemaRefresh = refreshFuture; // wait for our turn
+        queuedSchemaRefresh = request; // wait for our turn
       } else {
-        CompletableFutures.completeFrom(
-            queuedSchemaRefresh, refreshFuture); // join the queued request
+        queuedSchemaRefresh = queuedSchemaRefresh.merge(request); // join the queued request
       }
     }
 
@@ -484,10 +596,39 @@ public class MetadataManager implements AsyncAutoCloseable {
       SchemaRefresh schemaRefresh = schemaParserFactory.newInstance(schemaRows).parse();
       long start = System.nanoTime();
       apply(schemaRefresh);
+      if (schemaRows.getTarget().isFull()) {
+        didFullSchemaRefresh = true;
+        if (snapshotFile != null) {
+          saveSnapshot(schemaRows);
+        }
+      }
       LOG.debug("[{}] Applying schema refresh took {}", logPrefix, NanoTime.formatTimeSince(start));
       return metadata;
     }
 
+    private void saveSnapshot(SchemaRows schemaRows) {
+      MetadataSnapshot snapshot =
+          MetadataSnapshot.capture(
+              metadata, schemaRows, context.getProtocolVersion(), System.currentTimeMillis());
+      if (snapshot == null) {
+        LOG.debug(
+            "[{}] Can't save metadata snapshot because some nodes use a custom endpoint type",
+            logPrefix);
+        return;
+      }
+      CompletableFuture.runAsync(
+          () -> {
+            try {
+              snapshot.save(snapshotFile);
+              LOG.debug("[{}] Saved metadata snapshot to {}", logPrefix, snapshotFile);
+            } catch (Throwable t) {
+              Loggers.warnWithException(
+                  LOG, "[{}] Error saving metadata snapshot to {}", logPrefix, snapshotFile, t);
+            }
+          },
+          ForkJoinPool.commonPool());
+    }
+
     private void close() {
       if (closeWasCalled) {
         return;
@@ -496,19 +637,49 @@ public class MetadataManager implements AsyncAutoCloseable {
       LOG.debug("[{}] Closing", logPrefix);
       // The current schema refresh should fail when its channel gets closed.
       if (queuedSchemaRefresh != null) {
-        queuedSchemaRefresh.completeExceptionally(new IllegalStateException("Cluster is closed"));
+        queuedSchemaRefresh.future.completeExceptionally(
+            new IllegalStateException("Cluster is closed"));
       }
       closeFuture.complete(null);
     }
   }
 
+  private static String firstKeyspace(SchemaRefreshTarget target) {
+    return target.getKeyspaces().iterator().next();
+  }
+
+  /** A pending schema refresh: what to refresh, and the future to complete when it's done. */
+  private static class SchemaRefreshRequest {
+    private final SchemaRefreshTarget target;
+    private final CompletableFuture<RefreshSchemaResult> future;
+
+    private SchemaRefreshRequest(
+        SchemaRefreshTarget target, CompletableFuture<RefreshSchemaResult> future) {
+      this.target = target;
+      this.future = future;
+    }
+
+    /**
+     * Merges another request into this one: the result covers both targets, and the other request's
+     * future will be completed at the same time as this one.
+     */
+    private SchemaRefreshRequest merge(SchemaRefreshRequest other) {
+      CompletableFutures.completeFrom(this.future, other.future);
+      return new SchemaRefreshRequest(this.target.merge(other.target), this.future);
+    }
+  }
+
   @VisibleForTesting
   Void apply(MetadataRefresh refresh) {
     assert adminExecutor.inEventLoop();
     MetadataRefresh.Result result = refresh.compute(metadata, tokenMapEnabled, context);
     metadata = result.newMetadata;
-    boolean isFirstSchemaRefresh =
-        refresh instanceof SchemaRefresh && !singleThreaded.firstSchemaRefreshFuture.isDone();
+    boolean isFirstSchemaRefresh = false;
+    if (refresh instanceof SchemaRefresh) {
+      isFirstSchemaRefresh =
+          !singleThreaded.didFirstSchemaApply && !singleThreaded.firstSchemaRefreshFuture.isDone();
+      singleThreaded.didFirstSchemaApply = true;
+    }
     if (!singleThreaded.closeWasCalled && !isFirstSchemaRefresh) {
       for (Object event : result.events) {
         context.getEventBus().fire(event);
@@ -0,0 +1,613 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.metadata;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.ProtocolVersion;
+import com.datastax.oss.driver.api.core.Version;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.internal.core.ProtocolVersionRegistry;
+import com.datastax.oss.driver.internal.core.adminrequest.AdminRow;
+import com.datastax.oss.driver.internal.core.metadata.schema.queries.CassandraSchemaRows;
+import com.datastax.oss.driver.internal.core.metadata.schema.queries.SchemaRows;
+import com.datastax.oss.driver.internal.core.metadata.token.DefaultTokenMap;
+import com.datastax.oss.driver.internal.core.protocol.ByteBufPrimitiveCodec;
+import com.datastax.oss.driver.shaded.guava.common.annotations.VisibleForTesting;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableSet;
+import com.datastax.oss.driver.shaded.guava.common.collect.Multimap;
+import com.datastax.oss.driver.shaded.guava.common.io.ByteStreams;
+import com.datastax.oss.protocol.internal.response.result.ColumnSpec;
+import com.datastax.oss.protocol.internal.response.result.RawType;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import net.jcip.annotations.Immutable;
+
+/**
+ * A copy of the cluster metadata that can be persisted to disk, in order to speed up the
+ * initialization of subsequent sessions (see {@code advanced.metadata.snapshot} in the
+ * configuration).
+ *
+ * <p>It contains the list of nodes (including their tokens), the raw rows of a full schema refresh,
+ * and the negotiated protocol version. We store the schema rows rather than the parsed metadata, so
+ * that loading a snapshot goes through the same parsing code as a live refresh.
+ *
+ * <p>The file is encoded with the primitives of the native protocol, and compressed with GZIP.
+ */
+@Immutable
+public class MetadataSnapshot {
+
+  private static final int MAGIC = 0x4a444d53;
+  private static final int FORMAT_VERSION = 1;
+
+  // Extras are free-form, but in practice the built-in topology monitor only uses a few types.
+  // Values of any other type are not persisted.
+  private static final byte EXTRA_STRING = 0;
+  private static final byte EXTRA_INTEGER = 1;
+  private static final byte EXTRA_BOOLEAN = 2;
+  private static final byte EXTRA_VERSION = 3;
+  private static final byte EXTRA_STRING_SET = 4;
+
+  private static final ByteBufPrimitiveCodec CODEC =
+      new ByteBufPrimitiveCodec(ByteBufAllocator.DEFAULT);
+
+  // The schema rows, in the order in which they are written to the file (changing this requires a
+  // new format version).
+  private static final List<RowCategory> ROW_CATEGORIES =
+      ImmutableList.of(
+          new RowCategory(SchemaRows::keyspaces, CassandraSchemaRows.Builder::withKeyspaces),
+          new RowCategory(
+              SchemaRows::virtualKeyspaces, CassandraSchemaRows.Builder::withVirtualKeyspaces),
+          new RowCategory(rows -> rows.types().values(), CassandraSchemaRows.Builder::withTypes),
+          new RowCategory(rows -> rows.tables().values(), CassandraSchemaRows.Builder::withTables),
+          new RowCategory(
+              rows -> rows.virtualTables().values(),
+              CassandraSchemaRows.Builder::withVirtualTables),
+          new RowCategory(rows -> rows.views().values(), CassandraSchemaRows.Builder::withViews),
+          new RowCategory(
+              rows -> rows.functions().values(), CassandraSchemaRows.Builder::withFunctions),
+          new RowCategory(
+              rows -> rows.aggregates().values(), CassandraSchemaRows.Builder::withAggregates),
+          new RowCategory(
+              rows -> flatten(rows.columns()), CassandraSchemaRows.Builder::withColumns),
+          new RowCategory(
+              rows -> flatten(rows.virtualColumns()),
+              CassandraSchemaRows.Builder::withVirtualColumns),
+          new RowCategory(
+              rows -> flatten(rows.indexes()), CassandraSchemaRows.Builder::withIndexes),
+          new RowCategory(
+              rows -> flatten(rows.vertices()), CassandraSchemaRows.Builder::withVertices),
+          new RowCategory(rows -> flatten(rows.edges()), CassandraSchemaRows.Builder::withEdges));
+
+  /**
+   * Captures the current state of the metadata.
+   *
+   * @param schemaRows the rows of the last full schema refresh.
+   * @return the snapshot, or {@code null} if the metadata can't be persisted (this is only
+   *     supported for nodes with a {@link DefaultEndPoint}).
+   */
+  @Nullable
+  public static MetadataSnapshot capture(
+      @NonNull DefaultMetadata metadata,
+      @NonNull SchemaRows schemaRows,
+      @NonNull ProtocolVersion protocolVersion,
+      long creationTimeMillis) {
+    String partitioner =
+        metadata
+            .getTokenMap()
+            .map(tokenMap -> ((DefaultTokenMap) tokenMap).getTokenFactory().getPartitionerName())
+            .orElse(null);
+    ImmutableList.Builder<NodeInfo> nodeInfos = ImmutableList.builder();
+    for (Node node : metadata.getNodes().values()) {
+      if (!(node.getEndPoint() instanceof DefaultEndPoint)) {
+        return null;
+      }
+      DefaultNode defaultNode = (DefaultNode) node;
+      Version cassandraVersion = defaultNode.cassandraVersion;
+      DefaultNodeInfo.Builder nodeInfo =
+          DefaultNodeInfo.builder()
+              .withEndPoint(defaultNode.getEndPoint())
+              .withBroadcastRpcAddress(defaultNode.broadcastRpcAddress)
+              .withBroadcastAddress(defaultNode.broadcastAddress)
+              .withListenAddress(defaultNode.listenAddress)
+              .withDatacenter(defaultNode.datacenter)
+              .withRack(defaultNode.rack)
+              .withCassandraVersion(cassandraVersion == null ? null : cassandraVersion.toString())
+              .withPartitioner(partitioner)
+              .withTokens(defaultNode.rawTokens)
+              .withHostId(defaultNode.hostId)
+              .withSchemaVersion(defaultNode.schemaVersion);
+      for (Map.Entry<String, Object> entry : defaultNode.extras.entrySet()) {
+        nodeInfo.withExtra(entry.getKey(), entry.getValue());
+      }
+      nodeInfos.add(nodeInfo.build());
+    }
+    ImmutableList.Builder<List<AdminRow>> rows = ImmutableList.builder();
+    for (RowCategory category : ROW_CATEGORIES) {
+      rows.add(ImmutableList.copyOf(category.getter.apply(schemaRows)));
+    }
+    return new MetadataSnapshot(
+        creationTimeMillis,
+        protocolVersion,
+        nodeInfos.build(),
+        schemaRows.getNode().getHostId(),
+        rows.build());
+  }
+
+  /**
+   * Reads a snapshot from a file.
+   *
+   * @throws IOException if the file can't be read, or is not a valid snapshot.
+   */
+  @NonNull
+  public static MetadataSnapshot load(@NonNull Path file, @NonNull ProtocolVersionRegistry registry)
+      throws IOException {
+    byte[] bytes;
+    try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+      bytes = ByteStreams.toByteArray(in);
+    }
+    ByteBuf buffer = Unpooled.wrappedBuffer(bytes);
+    try {
+      return decode(buffer, registry);
+    } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+      throw new IOException("Invalid metadata snapshot " + file, e);
+    }
+  }
+
+  private final long creationTimeMillis;
+  private final ProtocolVersion protocolVersion;
+  private final List<NodeInfo> nodeInfos;
+  private final UUID schemaNodeHostId;
+  // One list per category, in the order of ROW_CATEGORIES
+  private final List<List<AdminRow>> schemaRows;
+
+  private MetadataSnapshot(
+      long creationTimeMillis,
+      ProtocolVersion protocolVersion,
+      List<NodeInfo> nodeInfos,
+      UUID schemaNodeHostId,
+      List<List<AdminRow>> schemaRows) {
+    this.creationTimeMillis = creationTimeMillis;
+    this.protocolVersion = protocolVersion;
+    this.nodeInfos = nodeInfos;
+    this.schemaNodeHostId = schemaNodeHostId;
+    this.schemaRows = schemaRows;
+  }
+
+  public long getCreationTimeMillis() {
+    return creationTimeMillis;
+  }
+
+  @NonNull
+  public ProtocolVersion getProtocolVersion() {
+    return protocolVersion;
+  }
+
+  @NonNull
+  public List<NodeInfo> getNodeInfos() {
+    return nodeInfos;
+  }
+
+  /** Whether at least one of the given nodes has the same endpoint as a node of the snapshot. */
+  public boolean containsAny(@NonNull Collection<? extends Node> nodes) {
+    for (NodeInfo nodeInfo : nodeInfos) {
+      for (Node node : nodes) {
+        if (node.getEndPoint().equals(nodeInfo.getEndPoint())) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Rebuilds the schema rows.
+   *
+   * @param nodes the current nodes, after the snapshot's node list was applied.
+   * @return the rows, or {@code null} if the node that the rows came from is not in the given
+   *     nodes.
+   */
+  @Nullable
+  public SchemaRows getSchemaRows(@NonNull Map<UUID, Node> nodes, @NonNull String logPrefix) {
+    Node node = nodes.get(schemaNodeHostId);
+    if (node == null) {
+      return null;
+    }
+    CassandraSchemaRows.Builder builder = new CassandraSchemaRows.Builder(node, logPrefix);
+    for (int i = 0; i < ROW_CATEGORIES.size(); i++) {
+      ROW_CATEGORIES.get(i).setter.accept(builder, schemaRows.get(i));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Writes the snapshot to a file.
+   *
+   * <p>The data is first written to a temporary file in the same directory, that is then moved to
+   * the target location. So concurrent readers (other sessions starting up) never observe a
+   * partially written snapshot, and concurrent writers don't corrupt each other.
+   */
+  public void save(@NonNull Path file) throws IOException {
+    ByteBuf buffer = Unpooled.buffer();
+    try {
+      encode(buffer);
+      Path directory = file.toAbsolutePath().getParent();
+      Files.createDirectories(directory);
+      Path tmp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+      try {
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp))) {
+          buffer.readBytes(out, buffer.readableBytes());
+        }
+        try {
+          Files.move(
+              tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+          Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+      } finally {
+        Files.deleteIfExists(tmp);
+      }
+    } finally {
+      buffer.release();
+    }
+  }
+
+  @VisibleForTesting
+  void encode(ByteBuf out) {
+    CODEC.writeInt(MAGIC, out);
+    CODEC.writeInt(FORMAT_VERSION, out);
+    CODEC.writeLong(creationTimeMillis, out);
+    CODEC.writeString(protocolVersion.name(), out);
+
+    CODEC.writeInt(nodeInfos.size(), out);
+    for (NodeInfo nodeInfo : nodeInfos) {
+      writeAddress(((DefaultEndPoint) nodeInfo.getEndPoint()).resolve(), out);
+      writeNullableAddress(nodeInfo.getBroadcastRpcAddress().orElse(null), out);
+      writeNullableAddress(nodeInfo.getBroadcastAddress().orElse(null), out);
+      writeNullableAddress(nodeInfo.getListenAddress().orElse(null), out);
+      writeNullableString(nodeInfo.getDatacenter(), out);
+      writeNullableString(nodeInfo.getRack(), out);
+      writeNullableString(nodeInfo.getCassandraVersion(), out);
+      writeNullableString(nodeInfo.getPartitioner(), out);
+      writeStringSet(nodeInfo.getTokens(), out);
+      writeUuid(nodeInfo.getHostId(), out);
+      writeNullableUuid(nodeInfo.getSchemaVersion(), out);
+      writeExtras(nodeInfo.getExtras(), out);
+    }
+
+    writeUuid(schemaNodeHostId, out);
+    CODEC.writeInt(schemaRows.size(), out);
+    for (List<AdminRow> rows : schemaRows) {
+      CODEC.writeInt(rows.size(), out);
+      Map<String, ColumnSpec> previousSpecs = null;
+      for (AdminRow row : rows) {
+        // All the rows of a category come from the same query, so in practice the column specs are
+        // only written once
+        Map<String, ColumnSpec> specs = row.getColumnSpecs();
+        if (specs == previousSpecs || specs.equals(previousSpecs)) {
+          CODEC.writeByte((byte) 0, out);
+        } else {
+          CODEC.writeByte((byte) 1, out);
+          CODEC.writeInt(specs.size(), out);
+          for (ColumnSpec spec : specs.values()) {
+            CODEC.writeString(spec.ksName, out);
+            CODEC.writeString(spec.tableName, out);
+            CODEC.writeString(spec.name, out);
+            CODEC.writeInt(spec.index, out);
+            spec.type.encode(out, CODEC, protocolVersion.getCode());
+          }
+          previousSpecs = specs;
+        }
+        List<ByteBuffer> data = row.getData();
+        CODEC.writeInt(data.size(), out);
+        for (ByteBuffer value : data) {
+          CODEC.writeBytes(value, out);
+        }
+      }
+    }
+  }
+
+  @VisibleForTesting
+  static MetadataSnapshot decode(ByteBuf in, ProtocolVersionRegistry registry) throws IOException {
+    if (CODEC.readInt(in) != MAGIC) {
+      throw new IOException("Not a metadata snapshot");
+    }
+    int formatVersion = CODEC.readInt(in);
+    if (formatVersion != FORMAT_VERSION) {
+      throw new IOException("Unsupported metadata snapshot format version " + formatVersion);
+    }
+    long creationTimeMillis = CODEC.readLong(in);
+    ProtocolVersion protocolVersion = registry.fromName(CODEC.readString(in));
+
+    int nodeCount = CODEC.readInt(in);
+    ImmutableList.Builder<NodeInfo> nodeInfos = ImmutableList.builder();
+    for (int i = 0; i < nodeCount; i++) {
+      DefaultNodeInfo.Builder nodeInfo =
+          DefaultNodeInfo.builder()
+              .withEndPoint(new DefaultEndPoint(readAddress(in)))
+              .withBroadcastRpcAddress(readNullableAddress(in))
+              .withBroadcastAddress(readNullableAddress(in))
+              .withListenAddress(readNullableAddress(in))
+              .withDatacenter(readNullableString(in))
+              .withRack(readNullableString(in))
+              .withCassandraVersion(readNullableString(in))
+              .withPartitioner(readNullableString(in))
+              .withTokens(readStringSet(in))
+              .withHostId(readUuid(in))
+              .withSchemaVersion(readNullableUuid(in));
+      readExtras(in, nodeInfo);
+      nodeInfos.add(nodeInfo.build());
+    }
+
+    UUID schemaNodeHostId = readUuid(in);
+    int categoryCount = CODEC.readInt(in);
+    ImmutableList.Builder<List<AdminRow>> schemaRows = ImmutableList.builder();
+    for (int i = 0; i < categoryCount; i++) {
+      int rowCount = CODEC.readInt(in);
+      List<AdminRow> rows = new ArrayList<>(rowCount);
+      Map<String, ColumnSpec> specs = null;
+      for (int j = 0; j < rowCount; j++) {
+        if (CODEC.readByte(in) == 1) {
+          int specCount = CODEC.readInt(in);
+          ImmutableMap.Builder<String, ColumnSpec> specsBuilder = ImmutableMap.builder();
+          for (int k = 0; k < specCount; k++) {
+            String ksName = CODEC.readString(in);
+            String tableName = CODEC.readString(in);
+            String name = CODEC.readString(in);
+            int index = CODEC.readInt(in);
+            RawType type = RawType.decode(in, CODEC, protocolVersion.getCode());
+            specsBuilder.put(name, new ColumnSpec(ksName, tableName, name, index, type));
+          }
+          specs = specsBuilder.build();
+        } else if (specs == null) {
+          throw new IOException("Missing column specs");
+        }
+        int valueCount = CODEC.readInt(in);
+        // Not an immutable list, values can be null
+        List<ByteBuffer> data = new ArrayList<>(valueCount);
+        for (int k = 0; k < valueCount; k++) {
+          data.add(CODEC.readBytes(in));
+        }
+        rows.add(new AdminRow(specs, data, protocolVersion));
+      }
+      schemaRows.add(rows);
+    }
+    return new MetadataSnapshot(
+        creationTimeMillis,
+        protocolVersion,
+        nodeInfos.build(),
+        schemaNodeHostId,
+        schemaRows.build());
+  }
+
+  private static void writeAddress(InetSocketAddress address, ByteBuf out) {
+    if (address.isUnresolved()) {
+      CODEC.writeByte((byte) 0, out);
+      CODEC.writeString(address.getHostString(), out);
+    } else {
+      CODEC.writeByte((byte) 1, out);
+      CODEC.writeInetAddr(address.getAddress(), out);
+    }
+    CODEC.writeInt(address.getPort(), out);
+  }
+
+  private static InetSocketAddress readAddress(ByteBuf in) {
+    if (CODEC.readByte(in) == 0) {
+      String host = CODEC.readString(in);
+      return InetSocketAddress.createUnresolved(host, CODEC.readInt(in));
+    } else {
+      return new InetSocketAddress(CODEC.readInetAddr(in), CODEC.readInt(in));
+    }
+  }
+
+  private static void writeNullableAddress(InetSocketAddress address, ByteBuf out) {
+    CODEC.writeByte((byte) (address == null ? 0 : 1), out);
+    if (address != null) {
+      writeAddress(address, out);
+    }
+  }
+
+  private static InetSocketAddress readNullableAddress(ByteBuf in) {
+    return (CODEC.readByte(in) == 0) ? null : readAddress(in);
+  }
+
+  private static void writeNullableString(String s, ByteBuf out) {
+    CODEC.writeByte((byte) (s == null ? 0 : 1), out);
+    if (s != null) {
+      CODEC.writeString(s, out);
+    }
+  }
+
+  private static String readNullableString(ByteBuf in) {
+    return (CODEC.readByte(in) == 0) ? null : CODEC.readString(in);
+  }
+
+  private static void writeNullableUuid(UUID uuid, ByteBuf out) {
+    CODEC.writeByte((byte) (uuid == null ? 0 : 1), out);
+    if (uuid != null) {
+      writeUuid(uuid, out);
+    }
+  }
+
+  private static UUID readNullableUuid(ByteBuf in) {
+    return (CODEC.readByte(in) == 0) ? null : readUuid(in);
+  }
+
+  private static void writeUuid(UUID uuid, ByteBuf out) {
+    CODEC.writeLong(uuid.getMostSignificantBits(), out);
+    CODEC.writeLong(uuid.getLeastSignificantBits(), out);
+  }
+
+  private static UUID readUuid(ByteBuf in) {
+    return new UUID(CODEC.readLong(in), CODEC.readLong(in));
+  }
+
+  private static void writeStringSet(Set<String> strings, ByteBuf out) {
+    if (strings == null) {
+      CODEC.writeInt(-1, out);
+    } else {
+      CODEC.writeInt(strings.size(), out);
+      for (String s : strings) {
+        CODEC.writeString(s, out);
+      }
+    }
+  }
+
+  private static Set<String> readStringSet(ByteBuf in) {
+    int size = CODEC.readInt(in);
+    if (size < 0) {
+      return null;
+    }
+    ImmutableSet.Builder<String> result = ImmutableSet.builder();
+    for (int i = 0; i < size; i++) {
+      result.add(CODEC.readString(in));
+    }
+    return result.build();
+  }
+
+  private static void writeExtras(Map<String, Object> extras, ByteBuf out) {
+    Map<String, Object> supported = new LinkedHashMap<>();
+    if (extras != null) {
+      for (Map.Entry<String, Object> entry : extras.entrySet()) {
+        if (extraType(entry.getValue()) >= 0) {
+          supported.put(entry.getKey(), entry.getValue());
+        }
+      }
+    }
+    CODEC.writeInt(supported.size(), out);
+    for (Map.Entry<String, Object> entry : supported.entrySet()) {
+      Object value = entry.getValue();
+      byte type = extraType(value);
+      CODEC.writeString(entry.getKey(), out);
+      CODEC.writeByte(type, out);
+      switch (type) {
+        case EXTRA_STRING:
+          CODEC.writeLongString((String) value, out);
+          break;
+        case EXTRA_INTEGER:
+          CODEC.writeInt((Integer) value, out);
+          break;
+        case EXTRA_BOOLEAN:
+          CODEC.writeByte((byte) (((Boolean) value) ? 1 : 0), out);
+          break;
+        case EXTRA_VERSION:
+          CODEC.writeString(value.toString(), out);
+          break;
+        default:
+          @SuppressWarnings("unchecked")
+          Set<String> strings = (Set<String>) value;
+          writeStringSet(strings, out);
+      }
+    }
+  }
+
+  private static byte extraType(Object value) {
+    if (value instanceof String) {
+      return EXTRA_STRING;
+    } else if (value instanceof Integer) {
+      return EXTRA_INTEGER;
+    } else if (value instanceof Boolean) {
+      return EXTRA_BOOLEAN;
+    } else if (value instanceof Version) {
+      return EXTRA_VERSION;
+    } else if (value instanceof Set && allStrings((Set<?>) value)) {
+      return EXTRA_STRING_SET;
+    } else {
+      return -1;
+    }
+  }
+
+  private static boolean allStrings(Set<?> values) {
+    for (Object value : values) {
+      if (!(value instanceof String)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static void readExtras(ByteBuf in, DefaultNodeInfo.Builder nodeInfo) throws IOException {
+    int size = CODEC.readInt(in);
+    for (int i = 0; i < size; i++) {
+      String key = CODEC.readString(in);
+      byte type = CODEC.readByte(in);
+      switch (type) {
+        case EXTRA_STRING:
+          nodeInfo.withExtra(key, CODEC.readLongString(in));
+          break;
+        case EXTRA_INTEGER:
+          nodeInfo.withExtra(key, CODEC.readInt(in));
+          break;
+        case EXTRA_BOOLEAN:
+          nodeInfo.withExtra(key, CODEC.readByte(in) == 1);
+          break;
+        case EXTRA_VERSION:
+          nodeInfo.withExtra(key, Version.parse(CODEC.readString(in)));
+          break;
+        case EXTRA_STRING_SET:
+          nodeInfo.withExtra(key, readStringSet(in));
+          break;
+        default:
+          throw new IOException("Unknown extra type " + type);
+      }
+    }
+  }
+
+  private static Iterable<AdminRow> flatten(
+      Map<CqlIdentifier, Multimap<CqlIdentifier, AdminRow>> rowsByKeyspace) {
+    ImmutableList.Builder<AdminRow> result = ImmutableList.builder();
+    for (Multimap<CqlIdentifier, AdminRow> rows : rowsByKeyspace.values()) {
+      result.addAll(rows.values());
+    }
+    return result.build();
+  }
+
+  private static class RowCategory {
+    private final Function<SchemaRows, Iterable<AdminRow>> getter;
+    private final BiConsumer<CassandraSchemaRows.Builder, Iterable<AdminRow>> setter;
+
+    private RowCategory(
+        Function<SchemaRows, Iterable<AdminRow>> getter,
+        BiConsumer<CassandraSchemaRows.Builder, Iterable<AdminRow>> setter) {
+      this.getter = getter;
+      this.setter = setter;
+    }
+  }
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.metadata.schema;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+import com.datastax.oss.driver.internal.core.adminrequest.AdminRow;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
+import com.datastax.oss.protocol.internal.util.Bytes;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * The tables of a keyspace, when schema metadata is built lazily (see {@code
+ * advanced.metadata.schema.lazy-tables} in the configuration).
+ *
+ * <p>Each table is stored as its raw system rows, and only parsed the first time it is accessed;
+ * the result is cached. Operations that only need the names ({@link #keySet()}, {@link
+ * #containsKey(Object)}, {@link #size()}) never parse anything, but iterating the entries or the
+ * values materializes all the tables.
+ *
+ * <p>The caller must only pass raw tables that the parser accepts (the parser must not return
+ * {@code null}), so that every key maps to a table. If parsing fails anyway, the error is thrown by
+ * whichever method triggered it.
+ *
+ * <p>Equality is based on the raw definitions: a lazy map is only equal to another lazy map, and
+ * its hash code only depends on the table names. This differs from the general {@link Map}
+ * contract, but allows comparing and hashing keyspaces without parsing their tables.
+ */
+@ThreadSafe
+public class LazyTableMap extends AbstractMap<CqlIdentifier, TableMetadata> {
+
+  private final Map<CqlIdentifier, LazyTable> tables;
+  private final Set<Entry<CqlIdentifier, TableMetadata>> entrySet = new EntrySet();
+
+  public LazyTableMap(
+      @NonNull Map<CqlIdentifier, RawTable> rawTables,
+      @NonNull Function<RawTable, TableMetadata> parser) {
+    ImmutableMap.Builder<CqlIdentifier, LazyTable> builder = ImmutableMap.builder();
+    for (Map.Entry<CqlIdentifier, RawTable> entry : rawTables.entrySet()) {
+      builder.put(entry.getKey(), new LazyTable(entry.getKey(), entry.getValue(), parser));
+    }
+    this.tables = builder.build();
+  }
+
+  private LazyTableMap(Map<CqlIdentifier, LazyTable> tables) {
+    this.tables = tables;
+  }
+
+  /**
+   * Merges the tables that were fetched by a table-level refresh into this map. The tables that
+   * were not refreshed are carried over with their cached metadata (if they were already parsed).
+   *
+   * @param refreshedNames the names of the tables that were targeted by the refresh: they are
+   *     replaced by the contents of {@code refreshed}, or removed if they are not in it.
+   */
+  @NonNull
+  public LazyTableMap merge(@NonNull Set<String> refreshedNames, @NonNull LazyTableMap refreshed) {
+    ImmutableMap.Builder<CqlIdentifier, LazyTable> builder = ImmutableMap.builder();
+    for (Map.Entry<CqlIdentifier, LazyTable> entry : tables.entrySet()) {
+      if (!refreshedNames.contains(entry.getKey().asInternal())) {
+        builder.put(entry);
+      }
+    }
+    builder.putAll(refreshed.tables);
+    return new LazyTableMap(builder.build());
+  }
+
+  /**
+   * Whether the given maps are both lazy, and have the same raw definition for the given table.
+   * This allows callers to detect that a table has not changed without parsing it.
+   */
+  public static boolean haveSameDefinition(
+      @NonNull Map<?, ?> map1, @NonNull Map<?, ?> map2, @NonNull Object key) {
+    if (map1 instanceof LazyTableMap && map2 instanceof LazyTableMap) {
+      LazyTable table1 = ((LazyTableMap) map1).tables.get(key);
+      LazyTable table2 = ((LazyTableMap) map2).tables.get(key);
+      return table1 != null && table2 != null && table1.raw.sameDefinition(table2.raw);
+    }
+    return false;
+  }
+
+  /**
+   * Whether the given map is lazy, and the raw column types of the given table mention one of the
+   * given user types. This is conservative: a type whose name contains another one's will also
+   * match.
+   */
+  public static boolean mayReferenceTypes(
+      @NonNull Map<?, ?> map, @NonNull Object key, @NonNull Set<CqlIdentifier> typeNames) {
+    if (map instanceof LazyTableMap && !typeNames.isEmpty()) {
+      LazyTable table = ((LazyTableMap) map).tables.get(key);
+      return table != null && table.raw.mayReferenceTypes(typeNames);
+    }
+    return false;
+  }
+
+  @Override
+  public int size() {
+    return tables.size();
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return tables.containsKey(key);
+  }
+
+  @Nullable
+  @Override
+  public TableMetadata get(Object key) {
+    LazyTable table = tables.get(key);
+    return (table == null) ? null : table.get();
+  }
+
+  @NonNull
+  @Override
+  public Set<CqlIdentifier> keySet() {
+    return tables.keySet();
+  }
+
+  @NonNull
+  @Override
+  public Set<Entry<CqlIdentifier, TableMetadata>> entrySet() {
+    return entrySet;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (other == this) {
+      return true;
+    } else if (other instanceof LazyTableMap) {
+      LazyTableMap that = (LazyTableMap) other;
+      if (!this.tables.keySet().equals(that.tables.keySet())) {
+        return false;
+      }
+      for (CqlIdentifier key : tables.keySet()) {
+        if (!haveSameDefinition(this, that, key)) {
+          return false;
+        }
+      }
+      return true;
+    } else {
+      return false;
+    }
+  }
+
+  @Override
+  public int hashCode() {
+    return tables.keySet().hashCode();
+  }
+
+  /** The system rows that define a table. */
+  public static class RawTable {
+    private final AdminRow table;
+    private final List<AdminRow> columns;
+    private final List<AdminRow> indexes;
+
+    public RawTable(
+        @NonNull AdminRow table,
+        @NonNull Iterable<AdminRow> columns,
+        @NonNull Iterable<AdminRow> indexes) {
+      this.table = table;
+      this.columns = ImmutableList.copyOf(columns);
+      this.indexes = ImmutableList.copyOf(indexes);
+    }
+
+    @NonNull
+    public AdminRow getTable() {
+      return table;
+    }
+
+    @NonNull
+    public List<AdminRow> getColumns() {
+      return columns;
+    }
+
+    @NonNull
+    public List<AdminRow> getIndexes() {
+      return indexes;
+    }
+
+    private boolean mayReferenceTypes(Set<CqlIdentifier> typeNames) {
+      for (AdminRow column : columns) {
+        // Cassandra 3+ stores the CQL type, older versions the marshal class, where user types
+        // appear as their hex-encoded name.
+        String type =
+            column.contains("type")
+                ? column.getString("type")
+                : column.contains("validator") ? column.getString("validator") : null;
+        if (type == null) {
+          continue;
+        }
+        for (CqlIdentifier typeName : typeNames) {
+          if (type.contains(typeName.asInternal())
+              || type.contains(typeName.asCql(false))
+              || type.contains(
+                  Bytes.toHexString(typeName.asInternal().getBytes(UTF_8)).substring(2))) {
+            return true;
+          }
+        }
+      }
+      return false;
+    }
+
+    private boolean sameDefinition(RawTable that) {
+      return sameData(this.table, that.table)
+          && sameData(this.columns, that.columns)
+          && sameData(this.indexes, that.indexes);
+    }
+
+    private static boolean sameData(List<AdminRow> rows1, List<AdminRow> rows2) {
+      if (rows1.size() != rows2.size()) {
+        return false;
+      }
+      for (int i = 0; i < rows1.size(); i++) {
+        if (!sameData(rows1.get(i), rows2.get(i))) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static boolean sameData(AdminRow row1, AdminRow row2) {
+      return row1.getColumnSpecs().keySet().equals(row2.getColumnSpecs().keySet())
+          && row1.getData().equals(row2.getData());
+    }
+  }
+
+  private static class LazyTable {
+    private final CqlIdentifier name;
+    private final RawTable raw;
+    private final Function<RawTable, TableMetadata> parser;
+    private volatile TableMetadata metadata;
+
+    private LazyTable(CqlIdentifier name, RawTable raw, Function<RawTable, TableMetadata> parser) {
+      this.name = name;
+      this.raw = raw;
+      this.parser = parser;
+    }
+
+    private TableMetadata get() {
+      TableMetadata result = metadata;
+      if (result == null) {
+        synchronized (this) {
+          result = metadata;
+          if (result == null) {
+            result = parser.apply(raw);
+            if (result == null) {
+              throw new IllegalStateException(
+                  String.format("Could not build the metadata of table %s", name));
+            }
+            metadata = result;
+          }
+        }
+      }
+      return result;
+    }
+  }
+
+  private class EntrySet extends AbstractSet<Entry<CqlIdentifier, TableMetadata>> {
+
+    @Override
+    public int size() {
+      return tables.size();
+    }
+
+    @NonNull
+    @Override
+    public Iterator<Entry<CqlIdentifier, TableMetadata>> iterator() {
+      Iterator<Entry<CqlIdentifier, LazyTable>> delegate = tables.entrySet().iterator();
+      return new Iterator<Entry<CqlIdentifier, TableMetadata>>() {
+        @Override
+        public boolean hasNext() {
+          return delegate.hasNext();
+        }
+
+        @Override
+        public Entry<CqlIdentifier, TableMetadata> next() {
+          Entry<CqlIdentifier, LazyTable> entry = delegate.next();
+          return new SimpleImmutableEntry<>(entry.getKey(), entry.getValue().get());
+        }
+      };
+    }
+  }
+}
@@ -16,6 +16,7 @@
 package com.datastax.oss.driver.internal.core.metadata.schema.parsing;
 
 import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.metadata.Node;
 import com.datastax.oss.driver.api.core.metadata.schema.AggregateMetadata;
 import com.datastax.oss.driver.api.core.metadata.schema.FunctionMetadata;
 import com.datastax.oss.driver.api.core.metadata.schema.FunctionSignature;
@@ -26,13 +27,27 @@ import com.datastax.oss.driver.api.core.type.UserDefinedType;
 import com.datastax.oss.driver.internal.core.adminrequest.AdminRow;
 import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
 import com.datastax.oss.driver.internal.core.metadata.schema.DefaultKeyspaceMetadata;
+import com.datastax.oss.driver.internal.core.metadata.schema.LazyTableMap;
+import com.datastax.oss.driver.internal.core.metadata.schema.LazyTableMap.RawTable;
+import com.datastax.oss.driver.internal.core.metadata.schema.queries.CassandraSchemaRows;
 import com.datastax.oss.driver.internal.core.metadata.schema.queries.SchemaRows;
 import com.datastax.oss.driver.internal.core.metadata.schema.refresh.SchemaRefresh;
+import com.datastax.oss.driver.internal.core.metadata.schema.refresh.SchemaRefreshTarget;
 import com.datastax.oss.driver.internal.core.util.NanoTime;
+import com.datastax.oss.driver.internal.core.util.concurrent.CompletableFutures;
 import com.datastax.oss.driver.shaded.guava.common.base.MoreObjects;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMultimap;
+import com.datastax.oss.driver.shaded.guava.common.collect.Multimap;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 import net.jcip.annotations.ThreadSafe;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,16 +64,50 @@ public class CassandraSchemaParser implements SchemaParser {
   private static final Logger LOG = LoggerFactory.getLogger(CassandraSchemaParser.class);
 
   private final SchemaRows rows;
+  private final SchemaRefreshTarget target;
+  private final Map<CqlIdentifier, KeyspaceMetadata> previousKeyspaces;
   private final UserDefinedTypeParser userDefinedTypeParser;
   private final TableParser tableParser;
   private final ViewParser viewParser;
   private final FunctionParser functionParser;
   private final AggregateParser aggregateParser;
+  private final Executor executor;
+  private final boolean lazyTables;
+  private final InternalDriverContext context;
   private final String logPrefix;
   private final long startTimeNs = System.nanoTime();
 
   public CassandraSchemaParser(SchemaRows rows, InternalDriverContext context) {
+    this(rows, context, null, false);
+  }
+
+  public CassandraSchemaParser(
+      SchemaRows rows, InternalDriverContext context, @Nullable Executor executor) {
+    this(rows, context, executor, false);
+  }
+
+  /**
+   * @param executor if not null, the keyspaces are parsed in parallel on this executor (they are
+   *     independent of each other). Otherwise they are parsed sequentially on the calling thread.
+   * @param lazyTables whether to keep the raw rows of the tables, and only parse them when they are
+   *     accessed (see {@link LazyTableMap}).
+   */
+  public CassandraSchemaParser(
+      SchemaRows rows,
+      InternalDriverContext context,
+      @Nullable Executor executor,
+      boolean lazyTables) {
     this.rows = rows;
+    this.executor = executor;
+    this.lazyTables = lazyTables;
+    this.context = context;
+    this.target = rows.getTarget();
+    // A table-level refresh only fetches some tables, the rest of their keyspace is copied from the
+    // current metadata. This is only called on the admin executor, so it can't change concurrently.
+    this.previousKeyspaces =
+        target.isTableLevel()
+            ? context.getMetadataManager().getMetadata().getKeyspaces()
+            : Collections.emptyMap();
     this.logPrefix = context.getSessionName();
 
     this.userDefinedTypeParser = new UserDefinedTypeParser(rows.dataTypeParser(), context);
@@ -71,19 +120,37 @@ public class CassandraSchemaParser implements SchemaParser {
   @Override
   public SchemaRefresh parse() {
     ImmutableMap.Builder<CqlIdentifier, KeyspaceMetadata> keyspacesBuilder = ImmutableMap.builder();
-    for (AdminRow row : rows.keyspaces()) {
-      KeyspaceMetadata keyspace = parseKeyspace(row);
+    for (KeyspaceMetadata keyspace : parseKeyspaces(rows.keyspaces(), this::parseKeyspace)) {
       keyspacesBuilder.put(keyspace.getName(), keyspace);
     }
-    for (AdminRow row : rows.virtualKeyspaces()) {
-      KeyspaceMetadata keyspace = parseVirtualKeyspace(row);
+    for (KeyspaceMetadata keyspace :
+        parseKeyspaces(rows.virtualKeyspaces(), this::parseVirtualKeyspace)) {
       keyspacesBuilder.put(keyspace.getName(), keyspace);
     }
-    SchemaRefresh refresh = new SchemaRefresh(keyspacesBuilder.build());
+    SchemaRefresh refresh = new SchemaRefresh(keyspacesBuilder.build(), target);
     LOG.debug("[{}] Schema parsing took {}", logPrefix, NanoTime.formatTimeSince(startTimeNs));
     return refresh;
   }
 
+  private List<KeyspaceMetadata> parseKeyspaces(
+      List<AdminRow> keyspaceRows, Function<AdminRow, KeyspaceMetadata> parser) {
+    List<KeyspaceMetadata> result = new ArrayList<>(keyspaceRows.size());
+    if (executor == null || keyspaceRows.size() < 2) {
+      for (AdminRow keyspaceRow : keyspaceRows) {
+        result.add(parser.apply(keyspaceRow));
+      }
+    } else {
+      List<CompletableFuture<KeyspaceMetadata>> futures = new ArrayList<>(keyspaceRows.size());
+      for (AdminRow keyspaceRow : keyspaceRows) {
+        futures.add(CompletableFuture.supplyAsync(() -> parser.apply(keyspaceRow), executor));
+      }
+      for (CompletableFuture<KeyspaceMetadata> future : futures) {
+        result.add(CompletableFutures.getUninterruptibly(future));
+      }
+    }
+    return result;
+  }
+
   private KeyspaceMetadata parseKeyspace(AdminRow keyspaceRow) {
 
     // Cassandra <= 2.2
@@ -120,16 +187,19 @@ public class CassandraSchemaParser implements SchemaParser {
 
     Map<CqlIdentifier, UserDefinedType> types = parseTypes(keyspaceId);
 
+    KeyspaceMetadata previous = previousKeyspaces.get(keyspaceId);
     return new DefaultKeyspaceMetadata(
         keyspaceId,
         durableWrites,
         false,
         replicationOptions,
         types,
-        parseTables(keyspaceId, types),
-        parseViews(keyspaceId, types),
-        parseFunctions(keyspaceId, types),
-        parseAggregates(keyspaceId, types));
+        target.mergeChildren(
+            (previous == null) ? null : previous.getTables(), parseTables(keyspaceId, types)),
+        target.mergeChildren(
+            (previous == null) ? null : previous.getViews(), parseViews(keyspaceId, types)),
+        (previous == null) ? parseFunctions(keyspaceId, types) : previous.getFunctions(),
+        (previous == null) ? parseAggregates(keyspaceId, types) : previous.getAggregates());
   }
 
   private KeyspaceMetadata parseVirtualKeyspace(AdminRow keyspaceRow) {
@@ -173,6 +243,9 @@ public class CassandraSchemaParser implements SchemaParser {
 
   private Map<CqlIdentifier, TableMetadata> parseTables(
       CqlIdentifier keyspaceId, Map<CqlIdentifier, UserDefinedType> types) {
+    if (lazyTables) {
+      return lazyTables(keyspaceId, types);
+    }
     ImmutableMap.Builder<CqlIdentifier, TableMetadata> tablesBuilder = ImmutableMap.builder();
     for (AdminRow tableRow : rows.tables().get(keyspaceId)) {
       TableMetadata table = tableParser.parseTable(tableRow, keyspaceId, types);
@@ -183,6 +256,50 @@ public class CassandraSchemaParser implements SchemaParser {
     return tablesBuilder.build();
   }
 
+  private Map<CqlIdentifier, TableMetadata> lazyTables(
+      CqlIdentifier keyspaceId, Map<CqlIdentifier, UserDefinedType> types) {
+    Multimap<CqlIdentifier, AdminRow> columns =
+        rows.columns().getOrDefault(keyspaceId, ImmutableMultimap.of());
+    Multimap<CqlIdentifier, AdminRow> indexes =
+        rows.indexes().getOrDefault(keyspaceId, ImmutableMultimap.of());
+    ImmutableMap.Builder<CqlIdentifier, RawTable> rawTablesBuilder = ImmutableMap.builder();
+    for (AdminRow tableRow : rows.tables().get(keyspaceId)) {
+      CqlIdentifier tableId =
+          CqlIdentifier.fromInternal(
+              tableRow.getString(
+                  tableRow.contains("table_name") ? "table_name" : "columnfamily_name"));
+      // Same check as TableParser: this is the only case where it returns null, and LazyTableMap
+      // requires that every table it contains can be parsed
+      if (columns.get(tableId).isEmpty()) {
+        LOG.warn(
+            "[{}] Processing TABLE refresh for {}.{} but found no matching rows, skipping",
+            logPrefix,
+            keyspaceId,
+            tableId);
+      } else {
+        rawTablesBuilder.put(
+            tableId, new RawTable(tableRow, columns.get(tableId), indexes.get(tableId)));
+      }
+    }
+    // Don't capture the parser's fields: the map outlives this refresh, it must only reference the
+    // rows of its own tables.
+    Node node = rows.getNode();
+    InternalDriverContext context = this.context;
+    String logPrefix = this.logPrefix;
+    return new LazyTableMap(
+        rawTablesBuilder.build(),
+        rawTable -> {
+          SchemaRows tableRows =
+              new CassandraSchemaRows.Builder(node, logPrefix)
+                  .withTables(ImmutableList.of(rawTable.getTable()))
+                  .withColumns(rawTable.getColumns())
+                  .withIndexes(rawTable.getIndexes())
+                  .build();
+          return new TableParser(tableRows, context)
+              .parseTable(rawTable.getTable(), keyspaceId, types);
+        });
+  }
+
   private Map<CqlIdentifier, ViewMetadata> parseViews(
       CqlIdentifier keyspaceId, Map<CqlIdentifier, UserDefinedType> types) {
     ImmutableMap.Builder<CqlIdentifier, ViewMetadata> viewsBuilder = ImmutableMap.builder();
@@ -17,8 +17,12 @@ package com.datastax.oss.driver.internal.core.metadata.schema.parsing;
 
 import com.datastax.dse.driver.api.core.metadata.DseNodeProperties;
 import com.datastax.dse.driver.internal.core.metadata.schema.parsing.DseSchemaParser;
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
 import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
 import com.datastax.oss.driver.internal.core.metadata.schema.queries.SchemaRows;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import net.jcip.annotations.ThreadSafe;
 
 @ThreadSafe
@@ -33,6 +37,17 @@ public class DefaultSchemaParserFactory implements SchemaParserFactory {
   @Override
   public SchemaParser newInstance(SchemaRows rows) {
     boolean isDse = rows.getNode().getExtras().containsKey(DseNodeProperties.DSE_VERSION);
-    return isDse ? new DseSchemaParser(rows, context) : new CassandraSchemaParser(rows, context);
+    DriverExecutionProfile config = context.getConfig().getDefaultProfile();
+    Executor executor =
+        config.getBoolean(DefaultDriverOption.METADATA_SCHEMA_PARALLEL_PARSING, false)
+            ? ForkJoinPool.commonPool()
+            : null;
+    return isDse
+        ? new DseSchemaParser(rows, context, executor)
+        : new CassandraSchemaParser(
+            rows,
+            context,
+            executor,
+            config.getBoolean(DefaultDriverOption.METADATA_SCHEMA_LAZY_TABLES, false));
   }
 }
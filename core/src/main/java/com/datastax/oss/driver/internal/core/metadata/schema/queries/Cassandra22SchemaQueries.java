@@ -18,6 +18,7 @@ package com.datastax.oss.driver.internal.core.metadata.schema.queries;
 import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
 import com.datastax.oss.driver.api.core.metadata.Node;
 import com.datastax.oss.driver.internal.core.channel.DriverChannel;
+import com.datastax.oss.driver.internal.core.metadata.schema.refresh.SchemaRefreshTarget;
 import java.util.Optional;
 import net.jcip.annotations.ThreadSafe;
 
@@ -28,6 +29,15 @@ public class Cassandra22SchemaQueries extends CassandraSchemaQueries {
     super(channel, node, config, logPrefix);
   }
 
+  public Cassandra22SchemaQueries(
+      DriverChannel channel,
+      Node node,
+      DriverExecutionProfile config,
+      String logPrefix,
+      SchemaRefreshTarget target) {
+    super(channel, node, config, logPrefix, target);
+  }
+
   @Override
   protected String selectKeyspacesQuery() {
     return "SELECT * FROM system.schema_keyspaces";
@@ -92,4 +102,9 @@ public class Cassandra22SchemaQueries extends CassandraSchemaQueries {
   protected Optional<String> selectVerticiesQuery() {
     return Optional.empty();
   }
+
+  @Override
+  protected String tableNameColumn() {
+    return "columnfamily_name";
+  }
 }
@@ -18,6 +18,7 @@ package com.datastax.oss.driver.internal.core.metadata.schema.queries;
 import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
 import com.datastax.oss.driver.api.core.metadata.Node;
 import com.datastax.oss.driver.internal.core.channel.DriverChannel;
+import com.datastax.oss.driver.internal.core.metadata.schema.refresh.SchemaRefreshTarget;
 import java.util.Optional;
 import net.jcip.annotations.ThreadSafe;
 
@@ -28,6 +29,15 @@ public class Cassandra4SchemaQueries extends Cassandra3SchemaQueries {
     super(channel, node, config, logPrefix);
   }
 
+  public Cassandra4SchemaQueries(
+      DriverChannel channel,
+      Node node,
+      DriverExecutionProfile config,
+      String logPrefix,
+      SchemaRefreshTarget target) {
+    super(channel, node, config, logPrefix, target);
+  }
+
   @Override
   protected Optional<String> selectVirtualKeyspacesQuery() {
     return Optional.of("SELECT * FROM system_virtual_schema.keyspaces");
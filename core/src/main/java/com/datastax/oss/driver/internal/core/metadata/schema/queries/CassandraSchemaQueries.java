@@ -22,11 +22,13 @@ import com.datastax.oss.driver.internal.core.adminrequest.AdminRequestHandler;
 import com.datastax.oss.driver.internal.core.adminrequest.AdminResult;
 import com.datastax.oss.driver.internal.core.adminrequest.AdminRow;
 import com.datastax.oss.driver.internal.core.channel.DriverChannel;
+import com.datastax.oss.driver.internal.core.metadata.schema.refresh.SchemaRefreshTarget;
 import com.datastax.oss.driver.internal.core.util.NanoTime;
 import com.datastax.oss.driver.internal.core.util.concurrent.RunOrSchedule;
 import com.datastax.oss.driver.shaded.guava.common.annotations.VisibleForTesting;
 import io.netty.util.concurrent.EventExecutor;
 import java.time.Duration;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -48,6 +50,7 @@ public abstract class CassandraSchemaQueries implements SchemaQueries {
   private final String logPrefix;
   private final Duration timeout;
   private final int pageSize;
+  private final SchemaRefreshTarget target;
   private final String whereClause;
   // The future we return from execute, completes when all the queries are done.
   private final CompletableFuture<SchemaRows> schemaRowsFuture = new CompletableFuture<>();
@@ -59,35 +62,49 @@ public abstract class CassandraSchemaQueries implements SchemaQueries {
 
   protected CassandraSchemaQueries(
       DriverChannel channel, Node node, DriverExecutionProfile config, String logPrefix) {
+    this(channel, node, config, logPrefix, SchemaRefreshTarget.FULL);
+  }
+
+  /**
+   * @param target the part of the schema to query. If it is not a full refresh, the keyspaces must
+   *     already be restricted to the ones allowed by the configuration (see {@link
+   *     SchemaRefreshTarget#restrictTo(List)}).
+   */
+  protected CassandraSchemaQueries(
+      DriverChannel channel,
+      Node node,
+      DriverExecutionProfile config,
+      String logPrefix,
+      SchemaRefreshTarget target) {
     this.channel = channel;
     this.adminExecutor = channel.eventLoop();
     this.node = node;
     this.logPrefix = logPrefix;
     this.timeout = config.getDuration(DefaultDriverOption.METADATA_SCHEMA_REQUEST_TIMEOUT);
     this.pageSize = config.getInt(DefaultDriverOption.METADATA_SCHEMA_REQUEST_PAGE_SIZE);
+    this.target = target;
 
-    List<String> refreshedKeyspaces =
-        config.getStringList(
-            DefaultDriverOption.METADATA_SCHEMA_REFRESHED_KEYSPACES, Collections.emptyList());
-    this.whereClause = buildWhereClause(refreshedKeyspaces);
+    Collection<String> keyspaces =
+        target.isFull()
+            ? config.getStringList(
+                DefaultDriverOption.METADATA_SCHEMA_REFRESHED_KEYSPACES, Collections.emptyList())
+            : target.getKeyspaces();
+    this.whereClause =
+        keyspaces.isEmpty() ? "" : " WHERE " + buildInClause("keyspace_name", keyspaces);
   }
 
-  private static String buildWhereClause(List<String> refreshedKeyspaces) {
-    if (refreshedKeyspaces.isEmpty()) {
-      return "";
-    } else {
-      StringBuilder builder = new StringBuilder(" WHERE keyspace_name in (");
-      boolean first = true;
-      for (String keyspace : refreshedKeyspaces) {
-        if (first) {
-          first = false;
-        } else {
-          builder.append(",");
-        }
-        builder.append('\'').append(keyspace).append('\'');
+  private static String buildInClause(String column, Collection<String> values) {
+    StringBuilder builder = new StringBuilder(column).append(" in (");
+    boolean first = true;
+    for (String value : values) {
+      if (first) {
+        first = false;
+      } else {
+        builder.append(",");
       }
-      return builder.append(")").toString();
+      builder.append('\'').append(value.replace("'", "''")).append('\'');
     }
+    return builder.append(")").toString();
   }
 
   protected abstract String selectKeyspacesQuery();
@@ -116,6 +133,13 @@ public abstract class CassandraSchemaQueries implements SchemaQueries {
 
   protected abstract Optional<String> selectVerticiesQuery();
 
+  /**
+   * The name of the column that holds the table name, in the tables, columns and indexes tables.
+   */
+  protected String tableNameColumn() {
+    return "table_name";
+  }
+
   @Override
   public CompletionStage<SchemaRows> execute() {
     RunOrSchedule.on(adminExecutor, this::executeOnAdminExecutor);
@@ -125,7 +149,12 @@ public abstract class CassandraSchemaQueries implements SchemaQueries {
   private void executeOnAdminExecutor() {
     assert adminExecutor.inEventLoop();
 
-    schemaRowsBuilder = new CassandraSchemaRows.Builder(node, logPrefix);
+    schemaRowsBuilder = new CassandraSchemaRows.Builder(node, logPrefix).withTarget(target);
+
+    if (target.isTableLevel()) {
+      executeTableLevel();
+      return;
+    }
 
     query(selectKeyspacesQuery() + whereClause, schemaRowsBuilder::withKeyspaces);
     query(selectTypesQuery() + whereClause, schemaRowsBuilder::withTypes);
@@ -139,12 +168,42 @@ public abstract class CassandraSchemaQueries implements SchemaQueries {
         .ifPresent(select -> query(select + whereClause, schemaRowsBuilder::withFunctions));
     selectAggregatesQuery()
         .ifPresent(select -> query(select + whereClause, schemaRowsBuilder::withAggregates));
-    selectVirtualKeyspacesQuery()
-        .ifPresent(select -> query(select + whereClause, schemaRowsBuilder::withVirtualKeyspaces));
-    selectVirtualTablesQuery()
-        .ifPresent(select -> query(select + whereClause, schemaRowsBuilder::withVirtualTables));
-    selectVirtualColumnsQuery()
-        .ifPresent(select -> query(select + whereClause, schemaRowsBuilder::withVirtualColumns));
+    if (target.isFull()) {
+      // Virtual keyspaces never change, so they are only fetched by full refreshes
+      selectVirtualKeyspacesQuery()
+          .ifPresent(
+              select -> query(select + whereClause, schemaRowsBuilder::withVirtualKeyspaces));
+      selectVirtualTablesQuery()
+          .ifPresent(select -> query(select + whereClause, schemaRowsBuilder::withVirtualTables));
+      selectVirtualColumnsQuery()
+          .ifPresent(select -> query(select + whereClause, schemaRowsBuilder::withVirtualColumns));
+    }
+    selectEdgesQuery()
+        .ifPresent(select -> query(select + whereClause, schemaRowsBuilder::withEdges));
+    selectVerticiesQuery()
+        .ifPresent(select -> query(select + whereClause, schemaRowsBuilder::withVertices));
+  }
+
+  // Only fetch the targeted tables and views, plus the elements they depend on (the keyspace row,
+  // and the user types that columns can reference). The parser merges them with the existing
+  // metadata.
+  private void executeTableLevel() {
+    String tablesWhereClause =
+        whereClause + " AND " + buildInClause(tableNameColumn(), target.getTables());
+    query(selectKeyspacesQuery() + whereClause, schemaRowsBuilder::withKeyspaces);
+    query(selectTypesQuery() + whereClause, schemaRowsBuilder::withTypes);
+    query(selectTablesQuery() + tablesWhereClause, schemaRowsBuilder::withTables);
+    query(selectColumnsQuery() + tablesWhereClause, schemaRowsBuilder::withColumns);
+    selectIndexesQuery()
+        .ifPresent(select -> query(select + tablesWhereClause, schemaRowsBuilder::withIndexes));
+    selectViewsQuery()
+        .ifPresent(
+            select ->
+                query(
+                    select + whereClause + " AND " + buildInClause("view_name", target.getTables()),
+                    schemaRowsBuilder::withViews));
+    // The graph metadata tables are small, and the parser only looks up the targeted tables in
+    // them, so don't bother filtering.
     selectEdgesQuery()
         .ifPresent(select -> query(select + whereClause, schemaRowsBuilder::withEdges));
     selectVerticiesQuery()
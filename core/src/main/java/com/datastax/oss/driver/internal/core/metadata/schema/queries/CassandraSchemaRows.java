@@ -23,6 +23,7 @@ import com.datastax.oss.driver.internal.core.adminrequest.AdminRow;
 import com.datastax.oss.driver.internal.core.metadata.schema.parsing.DataTypeClassNameParser;
 import com.datastax.oss.driver.internal.core.metadata.schema.parsing.DataTypeCqlNameParser;
 import com.datastax.oss.driver.internal.core.metadata.schema.parsing.DataTypeParser;
+import com.datastax.oss.driver.internal.core.metadata.schema.refresh.SchemaRefreshTarget;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableListMultimap;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
@@ -40,6 +41,7 @@ import org.slf4j.LoggerFactory;
 public class CassandraSchemaRows implements SchemaRows {
 
   private final Node node;
+  private final SchemaRefreshTarget target;
   private final DataTypeParser dataTypeParser;
   private final List<AdminRow> keyspaces;
   private final List<AdminRow> virtualKeyspaces;
@@ -57,6 +59,7 @@ public class CassandraSchemaRows implements SchemaRows {
 
   private CassandraSchemaRows(
       Node node,
+      SchemaRefreshTarget target,
       DataTypeParser dataTypeParser,
       List<AdminRow> keyspaces,
       List<AdminRow> virtualKeyspaces,
@@ -72,6 +75,7 @@ public class CassandraSchemaRows implements SchemaRows {
       Map<CqlIdentifier, Multimap<CqlIdentifier, AdminRow>> vertices,
       Map<CqlIdentifier, Multimap<CqlIdentifier, AdminRow>> edges) {
     this.node = node;
+    this.target = target;
     this.dataTypeParser = dataTypeParser;
     this.keyspaces = keyspaces;
     this.virtualKeyspaces = virtualKeyspaces;
@@ -99,6 +103,12 @@ public class CassandraSchemaRows implements SchemaRows {
     return dataTypeParser;
   }
 
+  @NonNull
+  @Override
+  public SchemaRefreshTarget getTarget() {
+    return target;
+  }
+
   @Override
   public List<AdminRow> keyspaces() {
     return keyspaces;
@@ -171,6 +181,7 @@ public class CassandraSchemaRows implements SchemaRows {
     private final DataTypeParser dataTypeParser;
     private final String tableNameColumn;
     private final String logPrefix;
+    private SchemaRefreshTarget target = SchemaRefreshTarget.FULL;
     private final ImmutableList.Builder<AdminRow> keyspacesBuilder = ImmutableList.builder();
     private final ImmutableList.Builder<AdminRow> virtualKeyspacesBuilder = ImmutableList.builder();
     private final ImmutableMultimap.Builder<CqlIdentifier, AdminRow> tablesBuilder =
@@ -228,6 +239,11 @@ public class CassandraSchemaRows implements SchemaRows {
       }
     }
 
+    public Builder withTarget(SchemaRefreshTarget target) {
+      this.target = target;
+      return this;
+    }
+
     public Builder withKeyspaces(Iterable<AdminRow> rows) {
       keyspacesBuilder.addAll(rows);
       return this;
@@ -345,6 +361,7 @@ public class CassandraSchemaRows implements SchemaRows {
     public CassandraSchemaRows build() {
       return new CassandraSchemaRows(
           node,
+          target,
           dataTypeParser,
           keyspacesBuilder.build(),
           virtualKeyspacesBuilder.build(),
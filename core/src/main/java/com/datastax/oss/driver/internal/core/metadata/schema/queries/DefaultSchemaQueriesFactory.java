@@ -21,6 +21,7 @@ import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
 import com.datastax.oss.driver.api.core.metadata.Node;
 import com.datastax.oss.driver.internal.core.channel.DriverChannel;
 import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
+import com.datastax.oss.driver.internal.core.metadata.schema.refresh.SchemaRefreshTarget;
 import net.jcip.annotations.ThreadSafe;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,6 +41,11 @@ public class DefaultSchemaQueriesFactory implements SchemaQueriesFactory {
 
   @Override
   public SchemaQueries newInstance() {
+    return newInstance(SchemaRefreshTarget.FULL);
+  }
+
+  @Override
+  public SchemaQueries newInstance(SchemaRefreshTarget target) {
     DriverChannel channel = context.getControlConnection().channel();
     if (channel == null || channel.closeFuture().isDone()) {
       throw new IllegalStateException("Control channel not available, aborting schema refresh");
@@ -55,10 +61,15 @@ public class DefaultSchemaQueriesFactory implements SchemaQueriesFactory {
                         "Could not find control node metadata "
                             + channel.getEndPoint()
                             + ", aborting schema refresh"));
-    return newInstance(node, channel);
+    return newInstance(node, channel, target);
   }
 
   protected SchemaQueries newInstance(Node node, DriverChannel channel) {
+    return newInstance(node, channel, SchemaRefreshTarget.FULL);
+  }
+
+  protected SchemaQueries newInstance(
+      Node node, DriverChannel channel, SchemaRefreshTarget target) {
 
     DriverExecutionProfile config = context.getConfig().getDefaultProfile();
 
@@ -70,16 +81,16 @@ public class DefaultSchemaQueriesFactory implements SchemaQueriesFactory {
           "[{}] Sending schema queries to {} with DSE version {}", logPrefix, node, dseVersion);
       // 4.8 is the oldest version supported, which uses C* 2.1 schema
       if (dseVersion.compareTo(Version.V5_0_0) < 0) {
-        return new Cassandra21SchemaQueries(channel, node, config, logPrefix);
+        return new Cassandra21SchemaQueries(channel, node, config, logPrefix, target);
       } else if (dseVersion.compareTo(Version.V6_7_0) < 0) {
         // 5.0 - 6.7 uses C* 3.0 schema
-        return new Cassandra3SchemaQueries(channel, node, config, logPrefix);
+        return new Cassandra3SchemaQueries(channel, node, config, logPrefix, target);
       } else if (dseVersion.compareTo(Version.V6_8_0) < 0) {
         // 6.7 uses C* 4.0 schema
-        return new Cassandra4SchemaQueries(channel, node, config, logPrefix);
+        return new Cassandra4SchemaQueries(channel, node, config, logPrefix, target);
       } else {
         // 6.8+ uses DSE 6.8 schema (C* 4.0 schema with graph metadata) (JAVA-1898)
-        return new Dse68SchemaQueries(channel, node, config, logPrefix);
+        return new Dse68SchemaQueries(channel, node, config, logPrefix, target);
       }
     } else {
       Version cassandraVersion = node.getCassandraVersion();
@@ -96,13 +107,13 @@ public class DefaultSchemaQueriesFactory implements SchemaQueriesFactory {
       LOG.debug(
           "[{}] Sending schema queries to {} with version {}", logPrefix, node, cassandraVersion);
       if (cassandraVersion.compareTo(Version.V2_2_0) < 0) {
-        return new Cassandra21SchemaQueries(channel, node, config, logPrefix);
+        return new Cassandra21SchemaQueries(channel, node, config, logPrefix, target);
       } else if (cassandraVersion.compareTo(Version.V3_0_0) < 0) {
-        return new Cassandra22SchemaQueries(channel, node, config, logPrefix);
+        return new Cassandra22SchemaQueries(channel, node, config, logPrefix, target);
       } else if (cassandraVersion.compareTo(Version.V4_0_0) < 0) {
-        return new Cassandra3SchemaQueries(channel, node, config, logPrefix);
+        return new Cassandra3SchemaQueries(channel, node, config, logPrefix, target);
       } else {
-        return new Cassandra4SchemaQueries(channel, node, config, logPrefix);
+        return new Cassandra4SchemaQueries(channel, node, config, logPrefix, target);
       }
     }
   }
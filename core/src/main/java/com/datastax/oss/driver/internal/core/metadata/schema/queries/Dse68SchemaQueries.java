@@ -18,6 +18,7 @@ package com.datastax.oss.driver.internal.core.metadata.schema.queries;
 import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
 import com.datastax.oss.driver.api.core.metadata.Node;
 import com.datastax.oss.driver.internal.core.channel.DriverChannel;
+import com.datastax.oss.driver.internal.core.metadata.schema.refresh.SchemaRefreshTarget;
 import java.util.Optional;
 
 /**
@@ -32,6 +33,15 @@ public class Dse68SchemaQueries extends Cassandra4SchemaQueries {
     super(channel, node, config, logPrefix);
   }
 
+  public Dse68SchemaQueries(
+      DriverChannel channel,
+      Node node,
+      DriverExecutionProfile config,
+      String logPrefix,
+      SchemaRefreshTarget target) {
+    super(channel, node, config, logPrefix, target);
+  }
+
   @Override
   protected Optional<String> selectEdgesQuery() {
     return Optional.of("SELECT * FROM system_schema.edges");
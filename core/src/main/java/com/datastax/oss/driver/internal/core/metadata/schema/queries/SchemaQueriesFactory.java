@@ -15,6 +15,19 @@
  */
 package com.datastax.oss.driver.internal.core.metadata.schema.queries;
 
+import com.datastax.oss.driver.internal.core.metadata.schema.refresh.SchemaRefreshTarget;
+
 public interface SchemaQueriesFactory {
   SchemaQueries newInstance();
+
+  /**
+   * Creates queries that only fetch the given part of the schema.
+   *
+   * <p>Implementations are not required to honor the target: the default implementation fetches the
+   * full schema. The target of the resulting rows must reflect what was actually fetched (see
+   * {@link SchemaRows#getTarget()}).
+   */
+  default SchemaQueries newInstance(SchemaRefreshTarget target) {
+    return newInstance();
+  }
 }
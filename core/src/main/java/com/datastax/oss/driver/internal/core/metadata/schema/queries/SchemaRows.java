@@ -19,6 +19,7 @@ import com.datastax.oss.driver.api.core.CqlIdentifier;
 import com.datastax.oss.driver.api.core.metadata.Node;
 import com.datastax.oss.driver.internal.core.adminrequest.AdminRow;
 import com.datastax.oss.driver.internal.core.metadata.schema.parsing.DataTypeParser;
+import com.datastax.oss.driver.internal.core.metadata.schema.refresh.SchemaRefreshTarget;
 import com.datastax.oss.driver.shaded.guava.common.collect.Multimap;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.util.LinkedHashMap;
@@ -61,6 +62,15 @@ public interface SchemaRows {
 
   DataTypeParser dataTypeParser();
 
+  /**
+   * The part of the schema that these rows cover. If this is not a full refresh, the rows only
+   * contain the targeted elements, and must be merged with the existing metadata.
+   */
+  @NonNull
+  default SchemaRefreshTarget getTarget() {
+    return SchemaRefreshTarget.FULL;
+  }
+
   default Map<CqlIdentifier, Multimap<CqlIdentifier, AdminRow>> vertices() {
     return new LinkedHashMap<>();
   }
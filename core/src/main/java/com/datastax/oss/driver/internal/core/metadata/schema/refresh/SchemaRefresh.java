@@ -17,9 +17,11 @@ package com.datastax.oss.driver.internal.core.metadata.schema.refresh;
 
 import com.datastax.oss.driver.api.core.CqlIdentifier;
 import com.datastax.oss.driver.api.core.metadata.schema.KeyspaceMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
 import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
 import com.datastax.oss.driver.internal.core.metadata.DefaultMetadata;
 import com.datastax.oss.driver.internal.core.metadata.MetadataRefresh;
+import com.datastax.oss.driver.internal.core.metadata.schema.LazyTableMap;
 import com.datastax.oss.driver.internal.core.metadata.schema.events.AggregateChangeEvent;
 import com.datastax.oss.driver.internal.core.metadata.schema.events.FunctionChangeEvent;
 import com.datastax.oss.driver.internal.core.metadata.schema.events.KeyspaceChangeEvent;
@@ -29,18 +31,35 @@ import com.datastax.oss.driver.internal.core.metadata.schema.events.ViewChangeEv
 import com.datastax.oss.driver.shaded.guava.common.annotations.VisibleForTesting;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
 import com.datastax.oss.driver.shaded.guava.common.collect.Sets;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import net.jcip.annotations.ThreadSafe;
 
 @ThreadSafe
 public class SchemaRefresh implements MetadataRefresh {
 
   @VisibleForTesting public final Map<CqlIdentifier, KeyspaceMetadata> newKeyspaces;
+  @VisibleForTesting public final SchemaRefreshTarget target;
 
   public SchemaRefresh(Map<CqlIdentifier, KeyspaceMetadata> newKeyspaces) {
+    this(newKeyspaces, SchemaRefreshTarget.FULL);
+  }
+
+  /**
+   * @param newKeyspaces the keyspaces that were fetched.
+   * @param target the part of the schema that was fetched. If this is not a full refresh, the
+   *     keyspaces that are not covered by the target are kept as-is, and the covered ones that were
+   *     not fetched are considered dropped.
+   */
+  public SchemaRefresh(
+      Map<CqlIdentifier, KeyspaceMetadata> newKeyspaces, SchemaRefreshTarget target) {
     this.newKeyspaces = newKeyspaces;
+    this.target = target;
   }
 
   @Override
@@ -49,7 +68,21 @@ public class SchemaRefresh implements MetadataRefresh {
     ImmutableList.Builder<Object> events = ImmutableList.builder();
 
     Map<CqlIdentifier, KeyspaceMetadata> oldKeyspaces = oldMetadata.getKeyspaces();
-    for (CqlIdentifier removedKey : Sets.difference(oldKeyspaces.keySet(), newKeyspaces.keySet())) {
+    Map<CqlIdentifier, KeyspaceMetadata> mergedKeyspaces;
+    if (target.isFull()) {
+      mergedKeyspaces = newKeyspaces;
+    } else {
+      mergedKeyspaces = new LinkedHashMap<>();
+      for (Map.Entry<CqlIdentifier, KeyspaceMetadata> entry : oldKeyspaces.entrySet()) {
+        if (!target.covers(entry.getKey())) {
+          mergedKeyspaces.put(entry.getKey(), entry.getValue());
+        }
+      }
+      mergedKeyspaces.putAll(newKeyspaces);
+    }
+
+    for (CqlIdentifier removedKey :
+        Sets.difference(oldKeyspaces.keySet(), mergedKeyspaces.keySet())) {
       events.add(KeyspaceChangeEvent.dropped(oldKeyspaces.get(removedKey)));
     }
     for (Map.Entry<CqlIdentifier, KeyspaceMetadata> entry : newKeyspaces.entrySet()) {
@@ -58,7 +91,7 @@ public class SchemaRefresh implements MetadataRefresh {
     }
 
     return new Result(
-        oldMetadata.withSchema(this.newKeyspaces, tokenMapEnabled, context), events.build());
+        oldMetadata.withSchema(mergedKeyspaces, tokenMapEnabled, context), events.build());
   }
 
   /**
@@ -87,12 +120,21 @@ public class SchemaRefresh implements MetadataRefresh {
       KeyspaceMetadata oldKeyspace,
       KeyspaceMetadata newKeyspace,
       ImmutableList.Builder<Object> events) {
+    // Lazy tables that kept the same raw definition can be skipped, unless they reference a type
+    // that changed: the parsed columns embed the types they reference.
+    Map<CqlIdentifier, TableMetadata> oldTables = oldKeyspace.getTables();
+    Map<CqlIdentifier, TableMetadata> newTables = newKeyspace.getTables();
+    Set<CqlIdentifier> changedTypes =
+        changedKeys(oldKeyspace.getUserDefinedTypes(), newKeyspace.getUserDefinedTypes());
     computeChildEvents(
-        oldKeyspace.getTables(),
-        newKeyspace.getTables(),
+        oldTables,
+        newTables,
         TableChangeEvent::dropped,
         TableChangeEvent::created,
         TableChangeEvent::updated,
+        key ->
+            LazyTableMap.haveSameDefinition(oldTables, newTables, key)
+                && !LazyTableMap.mayReferenceTypes(newTables, key, changedTypes),
         events);
     computeChildEvents(
         oldKeyspace.getViews(),
@@ -100,6 +142,7 @@ public class SchemaRefresh implements MetadataRefresh {
         ViewChangeEvent::dropped,
         ViewChangeEvent::created,
         ViewChangeEvent::updated,
+        key -> false,
         events);
     computeChildEvents(
         oldKeyspace.getUserDefinedTypes(),
@@ -107,6 +150,7 @@ public class SchemaRefresh implements MetadataRefresh {
         TypeChangeEvent::dropped,
         TypeChangeEvent::created,
         TypeChangeEvent::updated,
+        key -> false,
         events);
     computeChildEvents(
         oldKeyspace.getFunctions(),
@@ -114,6 +158,7 @@ public class SchemaRefresh implements MetadataRefresh {
         FunctionChangeEvent::dropped,
         FunctionChangeEvent::created,
         FunctionChangeEvent::updated,
+        key -> false,
         events);
     computeChildEvents(
         oldKeyspace.getAggregates(),
@@ -121,6 +166,7 @@ public class SchemaRefresh implements MetadataRefresh {
         AggregateChangeEvent::dropped,
         AggregateChangeEvent::created,
         AggregateChangeEvent::updated,
+        key -> false,
         events);
   }
 
@@ -130,13 +176,17 @@ public class SchemaRefresh implements MetadataRefresh {
       Function<V, Object> newDroppedEvent,
       Function<V, Object> newCreatedEvent,
       BiFunction<V, V, Object> newUpdatedEvent,
+      Predicate<K> knownUnchanged,
       ImmutableList.Builder<Object> events) {
     for (K removedKey : Sets.difference(oldChildren.keySet(), newChildren.keySet())) {
       events.add(newDroppedEvent.apply(oldChildren.get(removedKey)));
     }
-    for (Map.Entry<K, V> entry : newChildren.entrySet()) {
-      K key = entry.getKey();
-      V newChild = entry.getValue();
+    // Iterate on the keys: with lazy tables, we only want to materialize the ones that changed
+    for (K key : newChildren.keySet()) {
+      if (knownUnchanged.test(key)) {
+        continue;
+      }
+      V newChild = newChildren.get(key);
       V oldChild = oldChildren.get(key);
       if (oldChild == null) {
         events.add(newCreatedEvent.apply(newChild));
@@ -145,4 +195,15 @@ public class SchemaRefresh implements MetadataRefresh {
       }
     }
   }
+
+  private static <K, V> Set<K> changedKeys(Map<K, V> oldChildren, Map<K, V> newChildren) {
+    Set<K> changed = new HashSet<>();
+    for (Map.Entry<K, V> entry : oldChildren.entrySet()) {
+      if (!entry.getValue().equals(newChildren.get(entry.getKey()))) {
+        changed.add(entry.getKey());
+      }
+    }
+    changed.addAll(Sets.difference(newChildren.keySet(), oldChildren.keySet()));
+    return changed;
+  }
 }
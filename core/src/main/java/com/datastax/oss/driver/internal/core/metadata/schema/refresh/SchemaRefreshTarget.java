@@ -0,0 +1,237 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.metadata.schema.refresh;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.internal.core.metadata.schema.LazyTableMap;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableSet;
+import com.datastax.oss.driver.shaded.guava.common.collect.Sets;
+import com.datastax.oss.protocol.internal.ProtocolConstants;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import net.jcip.annotations.Immutable;
+
+/**
+ * The scope of a schema refresh: the whole schema, some keyspaces, or some tables (and views) of a
+ * single keyspace.
+ *
+ * <p>Schema change events target a single element, so the refresh that they trigger only needs to
+ * query the system rows of that element, and merge the result into the existing metadata. When
+ * multiple refreshes are coalesced, their targets are {@linkplain #merge(SchemaRefreshTarget)
+ * merged}, becoming less precise if necessary.
+ *
+ * <p>All names are in their internal form.
+ */
+@Immutable
+public class SchemaRefreshTarget {
+
+  public static final SchemaRefreshTarget FULL =
+      new SchemaRefreshTarget(ImmutableSet.of(), ImmutableSet.of());
+
+  @NonNull
+  public static SchemaRefreshTarget forKeyspaces(@NonNull Collection<String> keyspaces) {
+    if (keyspaces.isEmpty()) {
+      throw new IllegalArgumentException("Must target at least one keyspace");
+    }
+    return new SchemaRefreshTarget(ImmutableSet.copyOf(keyspaces), ImmutableSet.of());
+  }
+
+  @NonNull
+  public static SchemaRefreshTarget forKeyspace(@NonNull String keyspace) {
+    return new SchemaRefreshTarget(ImmutableSet.of(keyspace), ImmutableSet.of());
+  }
+
+  /** Note that views are handled like tables: a view name can be passed here. */
+  @NonNull
+  public static SchemaRefreshTarget forTables(
+      @NonNull String keyspace, @NonNull Collection<String> tables) {
+    if (tables.isEmpty()) {
+      throw new IllegalArgumentException("Must target at least one table");
+    }
+    return new SchemaRefreshTarget(ImmutableSet.of(keyspace), ImmutableSet.copyOf(tables));
+  }
+
+  /**
+   * Computes the target of a refresh triggered by a schema change (either a server event, or the
+   * response to a DDL query).
+   *
+   * @param target the kind of element that changed (see {@link
+   *     ProtocolConstants.SchemaChangeTarget}).
+   * @param keyspace the keyspace of the element.
+   * @param object the name of the element, if it is not a keyspace.
+   */
+  @NonNull
+  public static SchemaRefreshTarget forSchemaChange(
+      @Nullable String target, @Nullable String keyspace, @Nullable String object) {
+    if (keyspace == null || keyspace.isEmpty()) {
+      return FULL;
+    } else if (ProtocolConstants.SchemaChangeTarget.TABLE.equals(target)
+        && object != null
+        && !object.isEmpty()) {
+      return forTables(keyspace, ImmutableSet.of(object));
+    } else {
+      // Types are referenced by tables, functions and aggregates: refresh the whole keyspace, it is
+      // simpler than tracking the dependencies.
+      return forKeyspace(keyspace);
+    }
+  }
+
+  private final Set<String> keyspaces;
+  private final Set<String> tables;
+
+  private SchemaRefreshTarget(Set<String> keyspaces, Set<String> tables) {
+    this.keyspaces = keyspaces;
+    this.tables = tables;
+  }
+
+  public boolean isFull() {
+    return keyspaces.isEmpty();
+  }
+
+  /** Whether this targets some tables of a single keyspace (as opposed to whole keyspaces). */
+  public boolean isTableLevel() {
+    return !tables.isEmpty();
+  }
+
+  /** The targeted keyspaces, or an empty set if this is a full refresh. */
+  @NonNull
+  public Set<String> getKeyspaces() {
+    return keyspaces;
+  }
+
+  /** The targeted tables and views, or an empty set if this is not a table-level refresh. */
+  @NonNull
+  public Set<String> getTables() {
+    return tables;
+  }
+
+  /** Returns a target that covers both this target and the other one. */
+  @NonNull
+  public SchemaRefreshTarget merge(@NonNull SchemaRefreshTarget other) {
+    if (this.isFull() || other.isFull()) {
+      return FULL;
+    } else if (this.isTableLevel()
+        && other.isTableLevel()
+        && this.keyspaces.equals(other.keyspaces)) {
+      return new SchemaRefreshTarget(
+          keyspaces, ImmutableSet.copyOf(Sets.union(this.tables, other.tables)));
+    } else {
+      return new SchemaRefreshTarget(
+          ImmutableSet.copyOf(Sets.union(this.keyspaces, other.keyspaces)), ImmutableSet.of());
+    }
+  }
+
+  /** Returns the same target, but refreshing whole keyspaces instead of individual tables. */
+  @NonNull
+  public SchemaRefreshTarget withoutTables() {
+    return isTableLevel() ? new SchemaRefreshTarget(keyspaces, ImmutableSet.of()) : this;
+  }
+
+  /**
+   * Restricts this target to the keyspaces that the driver is configured to refresh.
+   *
+   * @param refreshedKeyspaces the value of {@code advanced.metadata.schema.refreshed-keyspaces}
+   *     (empty if all keyspaces are refreshed).
+   * @return the restricted target, or {@code null} if none of the keyspaces are refreshed.
+   */
+  @Nullable
+  public SchemaRefreshTarget restrictTo(@NonNull List<String> refreshedKeyspaces) {
+    if (isFull() || refreshedKeyspaces.isEmpty()) {
+      return this;
+    }
+    Set<String> retained =
+        ImmutableSet.copyOf(Sets.filter(keyspaces, refreshedKeyspaces::contains));
+    if (retained.isEmpty()) {
+      return null;
+    } else if (retained.size() == keyspaces.size()) {
+      return this;
+    } else {
+      return new SchemaRefreshTarget(retained, tables);
+    }
+  }
+
+  /** Whether the given keyspace is covered by this target. */
+  public boolean covers(@NonNull CqlIdentifier keyspace) {
+    return isFull() || keyspaces.contains(keyspace.asInternal());
+  }
+
+  /**
+   * Merges the tables (or views) that were fetched by a table-level refresh with the existing ones
+   * of their keyspace: the targeted elements are replaced, or removed if they were not fetched.
+   *
+   * @param previous the existing elements, or {@code null} if the whole keyspace was fetched (in
+   *     which case {@code refreshed} is returned as-is).
+   */
+  @NonNull
+  public <ElementT> Map<CqlIdentifier, ElementT> mergeChildren(
+      @Nullable Map<CqlIdentifier, ElementT> previous,
+      @NonNull Map<CqlIdentifier, ElementT> refreshed) {
+    if (previous == null || !isTableLevel()) {
+      return refreshed;
+    }
+    if (previous instanceof LazyTableMap && refreshed instanceof LazyTableMap) {
+      // Don't iterate the entries, that would parse all the tables
+      @SuppressWarnings("unchecked")
+      Map<CqlIdentifier, ElementT> result =
+          (Map<CqlIdentifier, ElementT>)
+              ((LazyTableMap) previous).merge(tables, (LazyTableMap) refreshed);
+      return result;
+    }
+    ImmutableMap.Builder<CqlIdentifier, ElementT> result = ImmutableMap.builder();
+    for (Map.Entry<CqlIdentifier, ElementT> entry : previous.entrySet()) {
+      CqlIdentifier name = entry.getKey();
+      if (!tables.contains(name.asInternal())) {
+        result.put(name, entry.getValue());
+      }
+    }
+    result.putAll(refreshed);
+    return result.build();
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (other == this) {
+      return true;
+    } else if (other instanceof SchemaRefreshTarget) {
+      SchemaRefreshTarget that = (SchemaRefreshTarget) other;
+      return this.keyspaces.equals(that.keyspaces) && this.tables.equals(that.tables);
+    } else {
+      return false;
+    }
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(keyspaces, tables);
+  }
+
+  @Override
+  public String toString() {
+    if (isFull()) {
+      return "full schema";
+    } else if (isTableLevel()) {
+      return "tables " + tables + " of keyspace " + keyspaces.iterator().next();
+    } else {
+      return "keyspaces " + keyspaces;
+    }
+  }
+}
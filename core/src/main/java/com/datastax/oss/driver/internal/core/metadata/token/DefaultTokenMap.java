@@ -23,6 +23,7 @@ import com.datastax.oss.driver.api.core.metadata.token.Token;
 import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
 import com.datastax.oss.driver.internal.core.metadata.DefaultNode;
 import com.datastax.oss.driver.internal.core.util.RoutingKey;
+import com.datastax.oss.driver.internal.core.util.concurrent.CompletableFutures;
 import com.datastax.oss.driver.shaded.guava.common.annotations.VisibleForTesting;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
@@ -30,14 +31,20 @@ import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableSet;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableSetMultimap;
 import com.datastax.oss.driver.shaded.guava.common.collect.SetMultimap;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 import net.jcip.annotations.Immutable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -53,10 +60,37 @@ public class DefaultTokenMap implements TokenMap {
       @NonNull TokenFactory tokenFactory,
       @NonNull ReplicationStrategyFactory replicationStrategyFactory,
       @NonNull String logPrefix) {
+    return build(nodes, keyspaces, tokenFactory, replicationStrategyFactory, null, logPrefix);
+  }
+
+  /**
+   * @param executor if not null, the keyspace-level data of each replication configuration is
+   *     computed in parallel on this executor.
+   */
+  public static DefaultTokenMap build(
+      @NonNull Collection<Node> nodes,
+      @NonNull Collection<KeyspaceMetadata> keyspaces,
+      @NonNull TokenFactory tokenFactory,
+      @NonNull ReplicationStrategyFactory replicationStrategyFactory,
+      @Nullable Executor executor,
+      @NonNull String logPrefix) {
+    return build(
+        nodes, keyspaces, tokenFactory, replicationStrategyFactory, executor, null, logPrefix);
+  }
+
+  private static DefaultTokenMap build(
+      Collection<Node> nodes,
+      Collection<KeyspaceMetadata> keyspaces,
+      TokenFactory tokenFactory,
+      ReplicationStrategyFactory replicationStrategyFactory,
+      Executor executor,
+      DefaultTokenMap previous,
+      String logPrefix) {
 
     TokenToPrimaryAndRing tmp = buildTokenToPrimaryAndRing(nodes, tokenFactory);
     Map<Token, Node> tokenToPrimary = tmp.tokenToPrimary;
     List<Token> ring = tmp.ring;
+    long[] murmur3Ring = tmp.murmur3Ring;
     LOG.debug("[{}] Rebuilt ring ({} tokens)", logPrefix, ring.size());
 
     Set<TokenRange> tokenRanges = buildTokenRanges(ring, tokenFactory);
@@ -76,31 +110,69 @@ public class DefaultTokenMap implements TokenMap {
     Map<CqlIdentifier, Map<String, String>> replicationConfigs =
         buildReplicationConfigs(keyspaces, logPrefix);
 
-    ImmutableMap.Builder<Map<String, String>, KeyspaceTokenMap> keyspaceMapsBuilder =
-        ImmutableMap.builder();
+    Map<Map<String, String>, Supplier<KeyspaceTokenMap>> tasks = new LinkedHashMap<>();
     for (Map<String, String> config : ImmutableSet.copyOf(replicationConfigs.values())) {
-      LOG.debug("[{}] Computing keyspace-level data for {}", logPrefix, config);
-      keyspaceMapsBuilder.put(
+      KeyspaceTokenMap previousKeyspaceMap =
+          (previous == null) ? null : previous.keyspaceMaps.get(config);
+      if (previousKeyspaceMap == null) {
+        LOG.debug("[{}] Computing keyspace-level data for {}", logPrefix, config);
+      } else {
+        LOG.debug("[{}] Updating keyspace-level data for {}", logPrefix, config);
+      }
+      tasks.put(
           config,
-          KeyspaceTokenMap.build(
-              config,
-              tokenToPrimary,
-              ring,
-              tokenRanges,
-              tokenFactory,
-              replicationStrategyFactory,
-              logPrefix));
+          () ->
+              KeyspaceTokenMap.build(
+                  config,
+                  tokenToPrimary,
+                  ring,
+                  murmur3Ring,
+                  tokenRanges,
+                  tokenFactory,
+                  replicationStrategyFactory,
+                  previousKeyspaceMap,
+                  (previous == null) ? null : previous.tokenToPrimary,
+                  logPrefix));
     }
     return new DefaultTokenMap(
         tokenFactory,
+        tokenToPrimary,
+        tmp.locations,
         tokenRanges,
         tokenRangesByPrimary.build(),
         replicationConfigs,
-        keyspaceMapsBuilder.build(),
+        computeKeyspaceMaps(tasks, executor),
         logPrefix);
   }
 
+  /**
+   * Computes the keyspace-level data of each replication configuration, either sequentially, or in
+   * parallel if an executor is provided.
+   */
+  private static Map<Map<String, String>, KeyspaceTokenMap> computeKeyspaceMaps(
+      Map<Map<String, String>, Supplier<KeyspaceTokenMap>> tasks, Executor executor) {
+    ImmutableMap.Builder<Map<String, String>, KeyspaceTokenMap> result = ImmutableMap.builder();
+    if (executor == null || tasks.size() < 2) {
+      for (Map.Entry<Map<String, String>, Supplier<KeyspaceTokenMap>> entry : tasks.entrySet()) {
+        result.put(entry.getKey(), entry.getValue().get());
+      }
+    } else {
+      Map<Map<String, String>, CompletableFuture<KeyspaceTokenMap>> futures = new LinkedHashMap<>();
+      for (Map.Entry<Map<String, String>, Supplier<KeyspaceTokenMap>> entry : tasks.entrySet()) {
+        futures.put(entry.getKey(), CompletableFuture.supplyAsync(entry.getValue(), executor));
+      }
+      for (Map.Entry<Map<String, String>, CompletableFuture<KeyspaceTokenMap>> entry :
+          futures.entrySet()) {
+        result.put(entry.getKey(), CompletableFutures.getUninterruptibly(entry.getValue()));
+      }
+    }
+    return result.build();
+  }
+
   private final TokenFactory tokenFactory;
+  private final Map<Token, Node> tokenToPrimary;
+  // The datacenter and rack of each node at the time the map was built
+  private final Map<Node, List<String>> locations;
   @VisibleForTesting final Set<TokenRange> tokenRanges;
   @VisibleForTesting final SetMultimap<Node, TokenRange> tokenRangesByPrimary;
   @VisibleForTesting final Map<CqlIdentifier, Map<String, String>> replicationConfigs;
@@ -109,12 +181,16 @@ public class DefaultTokenMap implements TokenMap {
 
   private DefaultTokenMap(
       TokenFactory tokenFactory,
+      Map<Token, Node> tokenToPrimary,
+      Map<Node, List<String>> locations,
       Set<TokenRange> tokenRanges,
       SetMultimap<Node, TokenRange> tokenRangesByPrimary,
       Map<CqlIdentifier, Map<String, String>> replicationConfigs,
       Map<Map<String, String>, KeyspaceTokenMap> keyspaceMaps,
       String logPrefix) {
     this.tokenFactory = tokenFactory;
+    this.tokenToPrimary = tokenToPrimary;
+    this.locations = locations;
     this.tokenRanges = tokenRanges;
     this.tokenRangesByPrimary = tokenRangesByPrimary;
     this.replicationConfigs = replicationConfigs;
@@ -194,11 +270,65 @@ public class DefaultTokenMap implements TokenMap {
     return (config == null) ? null : keyspaceMaps.get(config);
   }
 
+  /**
+   * Called when the nodes or their tokens have changed.
+   *
+   * <p>If no node has moved to another datacenter or rack, the keyspace-level data is updated
+   * incrementally: only the tokens whose replicas are affected by the change are recomputed. This
+   * is much faster than a full build for large clusters, where a topology change typically affects
+   * a small section of the ring around each token of the nodes that were added or removed.
+   *
+   * @param executor if not null, the keyspace-level data of each replication configuration is
+   *     computed in parallel on this executor.
+   */
+  public DefaultTokenMap rebuild(
+      @NonNull Collection<Node> nodes,
+      @NonNull Collection<KeyspaceMetadata> keyspaces,
+      @NonNull ReplicationStrategyFactory replicationStrategyFactory,
+      @Nullable Executor executor) {
+    boolean incremental = true;
+    for (Node node : nodes) {
+      List<String> previousLocation = locations.get(node);
+      if (previousLocation != null && !previousLocation.equals(locationOf(node))) {
+        LOG.debug(
+            "[{}] {} has moved from {} to {}, doing a full rebuild",
+            logPrefix,
+            node,
+            previousLocation,
+            locationOf(node));
+        incremental = false;
+        break;
+      }
+    }
+    return build(
+        nodes,
+        keyspaces,
+        tokenFactory,
+        replicationStrategyFactory,
+        executor,
+        incremental ? this : null,
+        logPrefix);
+  }
+
   /** Called when only the schema has changed. */
   public DefaultTokenMap refresh(
       @NonNull Collection<Node> nodes,
       @NonNull Collection<KeyspaceMetadata> keyspaces,
       @NonNull ReplicationStrategyFactory replicationStrategyFactory) {
+    return refresh(nodes, keyspaces, replicationStrategyFactory, null);
+  }
+
+  /**
+   * Called when only the schema has changed.
+   *
+   * @param executor if not null, the keyspace-level data of each new replication configuration is
+   *     computed in parallel on this executor.
+   */
+  public DefaultTokenMap refresh(
+      @NonNull Collection<Node> nodes,
+      @NonNull Collection<KeyspaceMetadata> keyspaces,
+      @NonNull ReplicationStrategyFactory replicationStrategyFactory,
+      @Nullable Executor executor) {
 
     Map<CqlIdentifier, Map<String, String>> newReplicationConfigs =
         buildReplicationConfigs(keyspaces, logPrefix);
@@ -206,68 +336,90 @@ public class DefaultTokenMap implements TokenMap {
       LOG.debug("[{}] Schema changes do not impact the token map, no refresh needed", logPrefix);
       return this;
     }
-    ImmutableMap.Builder<Map<String, String>, KeyspaceTokenMap> newKeyspaceMapsBuilder =
-        ImmutableMap.builder();
+    Map<Map<String, String>, Supplier<KeyspaceTokenMap>> tasks = new LinkedHashMap<>();
 
     // Will only be built if needed:
-    Map<Token, Node> tokenToPrimary = null;
-    List<Token> ring = null;
+    TokenToPrimaryAndRing tmp = null;
 
     for (Map<String, String> config : ImmutableSet.copyOf(newReplicationConfigs.values())) {
       KeyspaceTokenMap oldKeyspaceMap = keyspaceMaps.get(config);
       if (oldKeyspaceMap != null) {
         LOG.debug("[{}] Reusing existing keyspace-level data for {}", logPrefix, config);
-        newKeyspaceMapsBuilder.put(config, oldKeyspaceMap);
+        tasks.put(config, () -> oldKeyspaceMap);
       } else {
         LOG.debug("[{}] Computing new keyspace-level data for {}", logPrefix, config);
-        if (tokenToPrimary == null) {
-          TokenToPrimaryAndRing tmp = buildTokenToPrimaryAndRing(nodes, tokenFactory);
-          tokenToPrimary = tmp.tokenToPrimary;
-          ring = tmp.ring;
+        if (tmp == null) {
+          tmp = buildTokenToPrimaryAndRing(nodes, tokenFactory);
         }
-        newKeyspaceMapsBuilder.put(
+        TokenToPrimaryAndRing ringData = tmp;
+        tasks.put(
             config,
-            KeyspaceTokenMap.build(
-                config,
-                tokenToPrimary,
-                ring,
-                tokenRanges,
-                tokenFactory,
-                replicationStrategyFactory,
-                logPrefix));
+            () ->
+                KeyspaceTokenMap.build(
+                    config,
+                    ringData.tokenToPrimary,
+                    ringData.ring,
+                    ringData.murmur3Ring,
+                    tokenRanges,
+                    tokenFactory,
+                    replicationStrategyFactory,
+                    null,
+                    null,
+                    logPrefix));
       }
     }
     return new DefaultTokenMap(
         tokenFactory,
+        tokenToPrimary,
+        locations,
         tokenRanges,
         tokenRangesByPrimary,
         newReplicationConfigs,
-        newKeyspaceMapsBuilder.build(),
+        computeKeyspaceMaps(tasks, executor),
         logPrefix);
   }
 
   private static TokenToPrimaryAndRing buildTokenToPrimaryAndRing(
       Collection<Node> nodes, TokenFactory tokenFactory) {
     ImmutableMap.Builder<Token, Node> tokenToPrimaryBuilder = ImmutableMap.builder();
+    ImmutableMap.Builder<Node, List<String>> locationsBuilder = ImmutableMap.builder();
     SortedSet<Token> sortedTokens = new TreeSet<>();
     for (Node node : nodes) {
+      locationsBuilder.put(node, locationOf(node));
       for (String tokenString : ((DefaultNode) node).getRawTokens()) {
         Token token = tokenFactory.parse(tokenString);
         sortedTokens.add(token);
         tokenToPrimaryBuilder.put(token, node);
       }
     }
+    List<Token> ring = ImmutableList.copyOf(sortedTokens);
     return new TokenToPrimaryAndRing(
-        tokenToPrimaryBuilder.build(), ImmutableList.copyOf(sortedTokens));
+        tokenToPrimaryBuilder.build(),
+        ring,
+        KeyspaceTokenMap.toMurmur3Ring(ring, tokenFactory),
+        locationsBuilder.build());
+  }
+
+  private static List<String> locationOf(Node node) {
+    // Not an immutable list because the values can be null
+    return Arrays.asList(node.getDatacenter(), node.getRack());
   }
 
   static class TokenToPrimaryAndRing {
     final Map<Token, Node> tokenToPrimary;
     final List<Token> ring;
-
-    private TokenToPrimaryAndRing(Map<Token, Node> tokenToPrimary, List<Token> ring) {
+    final long[] murmur3Ring;
+    final Map<Node, List<String>> locations;
+
+    private TokenToPrimaryAndRing(
+        Map<Token, Node> tokenToPrimary,
+        List<Token> ring,
+        long[] murmur3Ring,
+        Map<Node, List<String>> locations) {
       this.tokenToPrimary = tokenToPrimary;
       this.ring = ring;
+      this.murmur3Ring = murmur3Ring;
+      this.locations = locations;
     }
   }
 
@@ -21,7 +21,9 @@ import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
 import com.datastax.oss.driver.internal.core.util.NanoTime;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableSetMultimap;
 import com.datastax.oss.driver.shaded.guava.common.collect.SetMultimap;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -43,31 +45,27 @@ class KeyspaceTokenMap {
       Map<String, String> replicationConfig,
       Map<Token, Node> tokenToPrimary,
       List<Token> ring,
+      @Nullable long[] murmur3Ring,
       Set<TokenRange> tokenRanges,
       TokenFactory tokenFactory,
       ReplicationStrategyFactory replicationStrategyFactory,
+      @Nullable KeyspaceTokenMap previous,
+      @Nullable Map<Token, Node> previousTokenToPrimary,
       String logPrefix) {
 
     long start = System.nanoTime();
     try {
       ReplicationStrategy strategy = replicationStrategyFactory.newInstance(replicationConfig);
 
-      SetMultimap<Token, Node> replicasByToken =
-          strategy.computeReplicasByToken(tokenToPrimary, ring);
-      SetMultimap<Node, TokenRange> tokenRangesByNode;
-      if (ring.size() == 1) {
-        // We forced the single range to ]minToken,minToken], make sure to use that instead of
-        // relying
-        // on the node's token
-        ImmutableSetMultimap.Builder<Node, TokenRange> builder = ImmutableSetMultimap.builder();
-        for (Node node : tokenToPrimary.values()) {
-          builder.putAll(node, tokenRanges);
-        }
-        tokenRangesByNode = builder.build();
-      } else {
-        tokenRangesByNode = buildTokenRangesByNode(tokenRanges, replicasByToken);
-      }
-      return new KeyspaceTokenMap(ring, tokenRangesByNode, replicasByToken, tokenFactory);
+      List<Set<Node>> replicas =
+          (previous == null)
+              ? strategy.computeReplicasByRingIndex(tokenToPrimary, ring, null, null)
+              : strategy.computeReplicasByRingIndex(
+                  tokenToPrimary, ring, previousTokenToPrimary, previous::getReplicasOfRingToken);
+      @SuppressWarnings("unchecked")
+      Set<Node>[] replicasByRingIndex = replicas.toArray((Set<Node>[]) new Set<?>[0]);
+      return new KeyspaceTokenMap(
+          ring, murmur3Ring, replicasByRingIndex, tokenRanges, tokenToPrimary, tokenFactory);
     } finally {
       LOG.debug(
           "[{}] Computing keyspace-level data for {} took {}",
@@ -77,53 +75,122 @@ class KeyspaceTokenMap {
     }
   }
 
+  /**
+   * Converts a ring of {@link Murmur3Token}s to the equivalent array of primitive values, which is
+   * faster to search. Returns null if the tokens are of another type.
+   *
+   * <p>The result can be shared by all the keyspace maps built from the same ring.
+   */
+  @Nullable
+  static long[] toMurmur3Ring(List<Token> ring, TokenFactory tokenFactory) {
+    if (!(tokenFactory instanceof Murmur3TokenFactory)) {
+      return null;
+    }
+    long[] result = new long[ring.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = ((Murmur3Token) ring.get(i)).getValue();
+    }
+    return result;
+  }
+
   private final List<Token> ring;
-  private final SetMultimap<Node, TokenRange> tokenRangesByNode;
-  private final SetMultimap<Token, Node> replicasByToken;
+  // If not null, the values of the tokens in the ring (only with the Murmur3 partitioner)
+  @Nullable private final long[] murmur3Ring;
+  // The replicas of each token in the ring (replicasByRingIndex[i] for ring.get(i))
+  private final Set<Node>[] replicasByRingIndex;
+  private final Set<TokenRange> tokenRanges;
+  private final Map<Token, Node> tokenToPrimary;
   private final TokenFactory tokenFactory;
 
+  // Only used by getTokenRanges(Node), which is not on the hot path. Computed lazily because it
+  // would account for a large part of the build time with many tokens.
+  private volatile SetMultimap<Node, TokenRange> tokenRangesByNode;
+
   private KeyspaceTokenMap(
       List<Token> ring,
-      SetMultimap<Node, TokenRange> tokenRangesByNode,
-      SetMultimap<Token, Node> replicasByToken,
+      @Nullable long[] murmur3Ring,
+      Set<Node>[] replicasByRingIndex,
+      Set<TokenRange> tokenRanges,
+      Map<Token, Node> tokenToPrimary,
       TokenFactory tokenFactory) {
     this.ring = ring;
-    this.tokenRangesByNode = tokenRangesByNode;
-    this.replicasByToken = replicasByToken;
+    this.murmur3Ring = murmur3Ring;
+    this.replicasByRingIndex = replicasByRingIndex;
+    this.tokenRanges = tokenRanges;
+    this.tokenToPrimary = tokenToPrimary;
     this.tokenFactory = tokenFactory;
   }
 
   Set<TokenRange> getTokenRanges(Node replica) {
-    return tokenRangesByNode.get(replica);
+    SetMultimap<Node, TokenRange> result = tokenRangesByNode;
+    if (result == null) {
+      // Benign race: concurrent callers might compute it more than once, but they all get the
+      // same result.
+      result = tokenRangesByNode = buildTokenRangesByNode();
+    }
+    return result.get(replica);
   }
 
   Set<Node> getReplicas(ByteBuffer partitionKey) {
+    if (murmur3Ring != null) {
+      // Avoid allocating a token
+      long value = ((Murmur3TokenFactory) tokenFactory).hashToLong(partitionKey);
+      return getReplicasAt(Arrays.binarySearch(murmur3Ring, value));
+    }
     return getReplicas(tokenFactory.hash(partitionKey));
   }
 
   Set<Node> getReplicas(Token token) {
-    // If the token happens to be one of the "primary" tokens, get result directly
-    Set<Node> nodes = replicasByToken.get(token);
-    if (!nodes.isEmpty()) {
-      return nodes;
+    if (murmur3Ring != null && token instanceof Murmur3Token) {
+      return getReplicasAt(Arrays.binarySearch(murmur3Ring, ((Murmur3Token) token).getValue()));
     }
-    // Otherwise, find the closest "primary" token on the ring
+    return getReplicasAt(Collections.binarySearch(ring, token));
+  }
+
+  /**
+   * Returns the replicas of a token that is in the ring (as opposed to {@link #getReplicas(Token)},
+   * which accepts any token).
+   */
+  private Set<Node> getReplicasOfRingToken(Token token) {
     int i = Collections.binarySearch(ring, token);
     if (i < 0) {
+      throw new IllegalArgumentException(String.format("%s is not in the ring", token));
+    }
+    return replicasByRingIndex[i];
+  }
+
+  /**
+   * @param searchResult the result of a binary search in the ring: either the index of the token,
+   *     or (-(insertion point) - 1) if it is not a "primary" token.
+   */
+  private Set<Node> getReplicasAt(int searchResult) {
+    if (replicasByRingIndex.length == 0) {
+      return Collections.emptySet();
+    }
+    int i = searchResult;
+    if (i < 0) {
+      // Use the closest "primary" token on the ring
       i = -i - 1;
-      if (i >= ring.size()) {
+      if (i >= replicasByRingIndex.length) {
         i = 0;
       }
     }
-    return replicasByToken.get(ring.get(i));
+    return replicasByRingIndex[i];
   }
 
-  private static SetMultimap<Node, TokenRange> buildTokenRangesByNode(
-      Set<TokenRange> tokenRanges, SetMultimap<Token, Node> replicasByToken) {
+  private SetMultimap<Node, TokenRange> buildTokenRangesByNode() {
     ImmutableSetMultimap.Builder<Node, TokenRange> result = ImmutableSetMultimap.builder();
-    for (TokenRange range : tokenRanges) {
-      for (Node node : replicasByToken.get(range.getEnd())) {
-        result.put(node, range);
+    if (ring.size() == 1) {
+      // We forced the single range to ]minToken,minToken], make sure to use that instead of
+      // relying on the node's token
+      for (Node node : tokenToPrimary.values()) {
+        result.putAll(node, tokenRanges);
+      }
+    } else {
+      for (TokenRange range : tokenRanges) {
+        for (Node node : getReplicasOfRingToken(range.getEnd())) {
+          result.put(node, range);
+        }
       }
     }
     return result.build();
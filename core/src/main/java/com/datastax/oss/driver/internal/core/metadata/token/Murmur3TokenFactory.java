@@ -36,8 +36,16 @@ public class Murmur3TokenFactory implements TokenFactory {
 
   @Override
   public Token hash(ByteBuffer partitionKey) {
+    return new Murmur3Token(hashToLong(partitionKey));
+  }
+
+  /**
+   * Same as {@link #hash(ByteBuffer)}, but returns the value of the token instead of allocating a
+   * new instance.
+   */
+  public long hashToLong(ByteBuffer partitionKey) {
     long v = murmur(partitionKey);
-    return new Murmur3Token(v == Long.MIN_VALUE ? Long.MAX_VALUE : v);
+    return v == Long.MIN_VALUE ? Long.MAX_VALUE : v;
   }
 
   @Override
@@ -18,9 +18,7 @@ package com.datastax.oss.driver.internal.core.metadata.token;
 import com.datastax.oss.driver.api.core.metadata.Node;
 import com.datastax.oss.driver.api.core.metadata.token.Token;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
-import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableSetMultimap;
 import com.datastax.oss.driver.shaded.guava.common.collect.Maps;
-import com.datastax.oss.driver.shaded.guava.common.collect.SetMultimap;
 import com.datastax.oss.driver.shaded.guava.common.collect.Sets;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -28,13 +26,16 @@ import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import net.jcip.annotations.ThreadSafe;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @ThreadSafe
-class NetworkTopologyReplicationStrategy implements ReplicationStrategy {
+class NetworkTopologyReplicationStrategy
+    extends RingWalkingReplicationStrategy<NetworkTopologyReplicationStrategy.Parameters> {
 
   private static final Logger LOG =
       LoggerFactory.getLogger(NetworkTopologyReplicationStrategy.class);
@@ -56,99 +57,109 @@ class NetworkTopologyReplicationStrategy implements ReplicationStrategy {
   }
 
   @Override
-  public SetMultimap<Token, Node> computeReplicasByToken(
-      Map<Token, Node> tokenToPrimary, List<Token> ring) {
-
-    // This is essentially a copy of org.apache.cassandra.locator.NetworkTopologyStrategy
-    ImmutableSetMultimap.Builder<Token, Node> result = ImmutableSetMultimap.builder();
+  protected Parameters computeParameters(Map<Token, Node> tokenToPrimary) {
     Map<String, Set<String>> racks = getRacksInDcs(tokenToPrimary.values());
     Map<String, Integer> dcNodeCount = Maps.newHashMapWithExpectedSize(replicationFactors.size());
-    Set<String> warnedDcs = Sets.newHashSetWithExpectedSize(replicationFactors.size());
     // find maximum number of nodes in each DC
     for (Node node : Sets.newHashSet(tokenToPrimary.values())) {
       String dc = node.getDatacenter();
       dcNodeCount.putIfAbsent(dc, 0);
       dcNodeCount.put(dc, dcNodeCount.get(dc) + 1);
     }
-    for (int i = 0; i < ring.size(); i++) {
-      Map<String, Set<Node>> allDcReplicas = new HashMap<>();
-      Map<String, Set<String>> seenRacks = new HashMap<>();
-      Map<String, Set<Node>> skippedDcEndpoints = new HashMap<>();
-      for (String dc : replicationFactors.keySet()) {
-        allDcReplicas.put(dc, new HashSet<>());
-        seenRacks.put(dc, new HashSet<>());
-        skippedDcEndpoints.put(dc, new LinkedHashSet<>()); // preserve order
-      }
+    Map<String, Integer> targetReplicas =
+        Maps.newHashMapWithExpectedSize(replicationFactors.size());
+    Map<String, Integer> rackCounts = Maps.newHashMapWithExpectedSize(replicationFactors.size());
+    for (Map.Entry<String, ReplicationFactor> entry : replicationFactors.entrySet()) {
+      String dc = entry.getKey();
+      int dcCount = (dcNodeCount.get(dc) == null) ? 0 : dcNodeCount.get(dc);
+      targetReplicas.put(dc, Math.min(entry.getValue().fullReplicas(), dcCount));
+      Set<String> dcRacks = racks.get(dc);
+      rackCounts.put(dc, (dcRacks == null) ? 0 : dcRacks.size());
+    }
+    return new Parameters(targetReplicas, rackCounts);
+  }
 
-      // Preserve order - primary replica will be first
-      Set<Node> replicas = new LinkedHashSet<>();
-      for (int j = 0; j < ring.size() && !allDone(allDcReplicas, dcNodeCount); j++) {
-        Node h = tokenToPrimary.get(getTokenWrapping(i + j, ring));
-        String dc = h.getDatacenter();
-        if (dc == null || !allDcReplicas.containsKey(dc)) {
-          continue;
-        }
-        Integer rf = replicationFactors.get(dc).fullReplicas();
-        Set<Node> dcReplicas = allDcReplicas.get(dc);
-        if (rf == null || dcReplicas.size() >= rf) {
-          continue;
-        }
-        String rack = h.getRack();
-        // Check if we already visited all racks in dc
-        if (rack == null || seenRacks.get(dc).size() == racks.get(dc).size()) {
+  @Override
+  protected int walk(
+      int index,
+      Map<Token, Node> tokenToPrimary,
+      List<Token> ring,
+      Parameters parameters,
+      Set<Node> replicas) {
+
+    // This is essentially a copy of org.apache.cassandra.locator.NetworkTopologyStrategy
+    Map<String, Set<Node>> allDcReplicas = new HashMap<>();
+    Map<String, Set<String>> seenRacks = new HashMap<>();
+    Map<String, Set<Node>> skippedDcEndpoints = new HashMap<>();
+    for (String dc : replicationFactors.keySet()) {
+      allDcReplicas.put(dc, new HashSet<>());
+      seenRacks.put(dc, new HashSet<>());
+      skippedDcEndpoints.put(dc, new LinkedHashSet<>()); // preserve order
+    }
+
+    // Preserve order - primary replica will be first
+    int j = 0;
+    for (; j < ring.size() && !allDone(allDcReplicas, parameters); j++) {
+      Node h = tokenToPrimary.get(getTokenWrapping(index + j, ring));
+      String dc = h.getDatacenter();
+      if (dc == null || !allDcReplicas.containsKey(dc)) {
+        continue;
+      }
+      Integer rf = replicationFactors.get(dc).fullReplicas();
+      Set<Node> dcReplicas = allDcReplicas.get(dc);
+      if (rf == null || dcReplicas.size() >= rf) {
+        continue;
+      }
+      String rack = h.getRack();
+      // Check if we already visited all racks in dc
+      if (rack == null || seenRacks.get(dc).size() == parameters.rackCounts.get(dc)) {
+        replicas.add(h);
+        dcReplicas.add(h);
+      } else {
+        // Is this a new rack?
+        if (seenRacks.get(dc).contains(rack)) {
+          skippedDcEndpoints.get(dc).add(h);
+        } else {
           replicas.add(h);
           dcReplicas.add(h);
-        } else {
-          // Is this a new rack?
-          if (seenRacks.get(dc).contains(rack)) {
-            skippedDcEndpoints.get(dc).add(h);
-          } else {
-            replicas.add(h);
-            dcReplicas.add(h);
-            seenRacks.get(dc).add(rack);
-            // If we've run out of distinct racks, add the nodes skipped so far
-            if (seenRacks.get(dc).size() == racks.get(dc).size()) {
-              Iterator<Node> skippedIt = skippedDcEndpoints.get(dc).iterator();
-              while (skippedIt.hasNext() && dcReplicas.size() < rf) {
-                Node nextSkipped = skippedIt.next();
-                replicas.add(nextSkipped);
-                dcReplicas.add(nextSkipped);
-              }
+          seenRacks.get(dc).add(rack);
+          // If we've run out of distinct racks, add the nodes skipped so far
+          if (seenRacks.get(dc).size() == parameters.rackCounts.get(dc)) {
+            Iterator<Node> skippedIt = skippedDcEndpoints.get(dc).iterator();
+            while (skippedIt.hasNext() && dcReplicas.size() < rf) {
+              Node nextSkipped = skippedIt.next();
+              replicas.add(nextSkipped);
+              dcReplicas.add(nextSkipped);
             }
           }
         }
       }
-      // If we haven't found enough replicas after a whole trip around the ring, this probably
-      // means that the replication factors are broken.
-      // Warn the user because that leads to quadratic performance of this method (JAVA-702).
-      for (Map.Entry<String, Set<Node>> entry : allDcReplicas.entrySet()) {
-        String dcName = entry.getKey();
-        int expectedFactor = replicationFactors.get(dcName).fullReplicas();
-        int achievedFactor = entry.getValue().size();
-        if (achievedFactor < expectedFactor && !warnedDcs.contains(dcName)) {
-          LOG.warn(
-              "[{}] Error while computing token map for replication settings {}: "
-                  + "could not achieve replication factor {} for datacenter {} (found only {} replicas).",
-              logPrefix,
-              replicationConfig,
-              expectedFactor,
-              dcName,
-              achievedFactor);
-          // only warn once per DC
-          warnedDcs.add(dcName);
-        }
+    }
+    // If we haven't found enough replicas after a whole trip around the ring, this probably
+    // means that the replication factors are broken.
+    // Warn the user because that leads to quadratic performance of this method (JAVA-702).
+    for (Map.Entry<String, Set<Node>> entry : allDcReplicas.entrySet()) {
+      String dcName = entry.getKey();
+      int expectedFactor = replicationFactors.get(dcName).fullReplicas();
+      int achievedFactor = entry.getValue().size();
+      if (achievedFactor < expectedFactor && parameters.warnedDcs.add(dcName)) {
+        // only warn once per DC
+        LOG.warn(
+            "[{}] Error while computing token map for replication settings {}: "
+                + "could not achieve replication factor {} for datacenter {} (found only {} replicas).",
+            logPrefix,
+            replicationConfig,
+            expectedFactor,
+            dcName,
+            achievedFactor);
       }
-
-      result.putAll(ring.get(i), replicas);
     }
-    return result.build();
+    return j;
   }
 
-  private boolean allDone(Map<String, Set<Node>> map, Map<String, Integer> dcNodeCount) {
+  private boolean allDone(Map<String, Set<Node>> map, Parameters parameters) {
     for (Map.Entry<String, Set<Node>> entry : map.entrySet()) {
-      String dc = entry.getKey();
-      int dcCount = (dcNodeCount.get(dc) == null) ? 0 : dcNodeCount.get(dc);
-      if (entry.getValue().size() < Math.min(replicationFactors.get(dc).fullReplicas(), dcCount)) {
+      if (entry.getValue().size() < parameters.targetReplicas.get(entry.getKey())) {
         return false;
       }
     }
@@ -167,4 +178,37 @@ class NetworkTopologyReplicationStrategy implements ReplicationStrategy {
   private static Token getTokenWrapping(int i, List<Token> ring) {
     return ring.get(i % ring.size());
   }
+
+  static class Parameters {
+    // For each DC in the replication config: the number of replicas that we can find
+    private final Map<String, Integer> targetReplicas;
+    // For each DC in the replication config: the number of distinct racks
+    private final Map<String, Integer> rackCounts;
+    // The DCs for which we've already warned about an unachievable replication factor. This is
+    // not a parameter of the walks, so it's excluded from equals.
+    private final Set<String> warnedDcs = ConcurrentHashMap.newKeySet();
+
+    private Parameters(Map<String, Integer> targetReplicas, Map<String, Integer> rackCounts) {
+      this.targetReplicas = targetReplicas;
+      this.rackCounts = rackCounts;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (other == this) {
+        return true;
+      } else if (other instanceof Parameters) {
+        Parameters that = (Parameters) other;
+        return this.targetReplicas.equals(that.targetReplicas)
+            && this.rackCounts.equals(that.rackCounts);
+      } else {
+        return false;
+      }
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(targetReplicas, rackCounts);
+    }
+  }
 }
@@ -18,10 +18,42 @@ package com.datastax.oss.driver.internal.core.metadata.token;
 import com.datastax.oss.driver.api.core.metadata.Node;
 import com.datastax.oss.driver.api.core.metadata.token.Token;
 import com.datastax.oss.driver.shaded.guava.common.collect.SetMultimap;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
 public interface ReplicationStrategy {
   SetMultimap<Token, Node> computeReplicasByToken(
       Map<Token, Node> tokenToPrimary, List<Token> ring);
+
+  /**
+   * Computes the replicas of each token of the ring, possibly knowing the result for the previous
+   * topology.
+   *
+   * <p>If a previous result is provided, implementations can use it to only recompute the tokens
+   * that are affected by the topology change. The default implementation ignores it, and converts
+   * the result of {@link #computeReplicasByToken(Map, List)}.
+   *
+   * @param previousTokenToPrimary the primary of each token in the previous topology, or {@code
+   *     null} if there is no previous result.
+   * @param previousReplicas the replicas of each token in the previous topology, or {@code null} if
+   *     there is no previous result. It is only invoked with keys of {@code
+   *     previousTokenToPrimary}.
+   * @return the (immutable) replicas of each token, in the same order as {@code ring}.
+   */
+  default List<Set<Node>> computeReplicasByRingIndex(
+      Map<Token, Node> tokenToPrimary,
+      List<Token> ring,
+      @Nullable Map<Token, Node> previousTokenToPrimary,
+      @Nullable Function<Token, Set<Node>> previousReplicas) {
+    SetMultimap<Token, Node> replicasByToken = computeReplicasByToken(tokenToPrimary, ring);
+    List<Set<Node>> result = new ArrayList<>(ring.size());
+    for (Token token : ring) {
+      result.add(replicasByToken.get(token));
+    }
+    return result;
+  }
 }
@@ -0,0 +1,171 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.metadata.token;
+
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableSet;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableSetMultimap;
+import com.datastax.oss.driver.shaded.guava.common.collect.SetMultimap;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Base class for the strategies that compute the replicas of a token by walking the ring clockwise
+ * from that token, until enough replicas are found.
+ *
+ * <p>The result of a walk only depends on the primaries encountered along the way, and on a few
+ * topology-wide parameters (for example the number of nodes in each datacenter). If those
+ * parameters have not changed, a topology change only affects the tokens whose walk goes through a
+ * modified section of the ring. Those tokens are the ones immediately preceding the modification
+ * (walks are short in practice, they stop as soon as enough replicas are found), so they can be
+ * found by walking backwards from each modification.
+ *
+ * @param <ParametersT> the topology-wide parameters. They must implement {@code equals}.
+ */
+@ThreadSafe
+abstract class RingWalkingReplicationStrategy<ParametersT> implements ReplicationStrategy {
+
+  /** Computes the topology-wide parameters that the walks depend on. */
+  protected abstract ParametersT computeParameters(Map<Token, Node> tokenToPrimary);
+
+  /**
+   * Computes the replicas of the token at the given index.
+   *
+   * @param replicas the set to add the replicas to, in order (the primary replica first).
+   * @return the number of ring positions that were examined, starting at {@code index} (this
+   *     includes the positions that were skipped because they didn't yield a new replica).
+   */
+  protected abstract int walk(
+      int index,
+      Map<Token, Node> tokenToPrimary,
+      List<Token> ring,
+      ParametersT parameters,
+      Set<Node> replicas);
+
+  @Override
+  public SetMultimap<Token, Node> computeReplicasByToken(
+      Map<Token, Node> tokenToPrimary, List<Token> ring) {
+    List<Set<Node>> replicas = computeReplicasByRingIndex(tokenToPrimary, ring, null, null);
+    ImmutableSetMultimap.Builder<Token, Node> result = ImmutableSetMultimap.builder();
+    for (int i = 0; i < ring.size(); i++) {
+      result.putAll(ring.get(i), replicas.get(i));
+    }
+    return result.build();
+  }
+
+  @Override
+  public List<Set<Node>> computeReplicasByRingIndex(
+      Map<Token, Node> tokenToPrimary,
+      List<Token> ring,
+      @Nullable Map<Token, Node> previousTokenToPrimary,
+      @Nullable Function<Token, Set<Node>> previousReplicas) {
+
+    ParametersT parameters = computeParameters(tokenToPrimary);
+    int size = ring.size();
+    if (size == 0
+        || previousTokenToPrimary == null
+        || previousReplicas == null
+        || previousTokenToPrimary.isEmpty()
+        || !parameters.equals(computeParameters(previousTokenToPrimary))) {
+      return computeAll(tokenToPrimary, ring, parameters);
+    }
+
+    // A change at index i means that walking through i does not encounter the same primaries as
+    // in the previous ring: either the token at i is new (or has a new primary), or some tokens
+    // were removed between i-1 and i.
+    boolean[] changes = new boolean[size];
+    int changeCount = 0;
+    for (int i = 0; i < size; i++) {
+      Token token = ring.get(i);
+      if (previousTokenToPrimary.get(token) != tokenToPrimary.get(token)) {
+        changes[i] = true;
+        changeCount += 1;
+      }
+    }
+    for (Token token : previousTokenToPrimary.keySet()) {
+      if (!tokenToPrimary.containsKey(token)) {
+        int i = (-Collections.binarySearch(ring, token) - 1) % size;
+        if (!changes[i]) {
+          changes[i] = true;
+          changeCount += 1;
+        }
+      }
+    }
+
+    if (changeCount > size / 2) {
+      // Not worth it, most walks will go through a change
+      return computeAll(tokenToPrimary, ring, parameters);
+    }
+
+    @SuppressWarnings("unchecked")
+    Set<Node>[] result = (Set<Node>[]) new Set<?>[size];
+    int[] walkLengths = new int[size];
+    for (int change = 0; change < size; change++) {
+      if (!changes[change]) {
+        continue;
+      }
+      for (int distance = 0; distance < size; distance++) {
+        int i = (change - distance + size) % size;
+        if (result[i] == null) {
+          result[i] = computeReplicas(i, tokenToPrimary, ring, parameters, walkLengths);
+        }
+        if (walkLengths[i] <= distance) {
+          // This walk stops before the change. A walk that starts earlier stops at the same
+          // position or before (it encounters a superset of the primaries), so we're done.
+          break;
+        }
+      }
+    }
+    for (int i = 0; i < size; i++) {
+      if (result[i] == null) {
+        result[i] = previousReplicas.apply(ring.get(i));
+      }
+    }
+    return Arrays.asList(result);
+  }
+
+  private List<Set<Node>> computeAll(
+      Map<Token, Node> tokenToPrimary, List<Token> ring, ParametersT parameters) {
+    List<Set<Node>> result = new ArrayList<>(ring.size());
+    for (int i = 0; i < ring.size(); i++) {
+      result.add(computeReplicas(i, tokenToPrimary, ring, parameters, null));
+    }
+    return result;
+  }
+
+  private Set<Node> computeReplicas(
+      int index,
+      Map<Token, Node> tokenToPrimary,
+      List<Token> ring,
+      ParametersT parameters,
+      @Nullable int[] walkLengths) {
+    Set<Node> replicas = new LinkedHashSet<>();
+    int walkLength = walk(index, tokenToPrimary, ring, parameters, replicas);
+    if (walkLengths != null) {
+      walkLengths[index] = walkLength;
+    }
+    return ImmutableSet.copyOf(replicas);
+  }
+}
@@ -19,16 +19,13 @@ import com.datastax.oss.driver.api.core.metadata.Node;
 import com.datastax.oss.driver.api.core.metadata.token.Token;
 import com.datastax.oss.driver.shaded.guava.common.annotations.VisibleForTesting;
 import com.datastax.oss.driver.shaded.guava.common.base.Preconditions;
-import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableSetMultimap;
-import com.datastax.oss.driver.shaded.guava.common.collect.SetMultimap;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import net.jcip.annotations.ThreadSafe;
 
 @ThreadSafe
-class SimpleReplicationStrategy implements ReplicationStrategy {
+class SimpleReplicationStrategy extends RingWalkingReplicationStrategy<Integer> {
 
   private final ReplicationFactor replicationFactor;
 
@@ -41,22 +38,25 @@ class SimpleReplicationStrategy implements ReplicationStrategy {
     this.replicationFactor = replicationFactor;
   }
 
+  /** The only parameter is the effective replication factor. */
   @Override
-  public SetMultimap<Token, Node> computeReplicasByToken(
-      Map<Token, Node> tokenToPrimary, List<Token> ring) {
-
-    int rf = Math.min(replicationFactor.fullReplicas(), ring.size());
+  protected Integer computeParameters(Map<Token, Node> tokenToPrimary) {
+    return Math.min(replicationFactor.fullReplicas(), tokenToPrimary.size());
+  }
 
-    ImmutableSetMultimap.Builder<Token, Node> result = ImmutableSetMultimap.builder();
-    for (int i = 0; i < ring.size(); i++) {
-      // Consecutive sections of the ring can be assigned to the same node
-      Set<Node> replicas = new LinkedHashSet<>();
-      for (int j = 0; j < ring.size() && replicas.size() < rf; j++) {
-        replicas.add(tokenToPrimary.get(getTokenWrapping(i + j, ring)));
-      }
-      result.putAll(ring.get(i), replicas);
+  @Override
+  protected int walk(
+      int index,
+      Map<Token, Node> tokenToPrimary,
+      List<Token> ring,
+      Integer rf,
+      Set<Node> replicas) {
+    // Consecutive sections of the ring can be assigned to the same node
+    int j = 0;
+    for (; j < ring.size() && replicas.size() < rf; j++) {
+      replicas.add(tokenToPrimary.get(getTokenWrapping(index + j, ring)));
     }
-    return result.build();
+    return j;
   }
 
   private static Token getTokenWrapping(int i, List<Token> ring) {
@@ -28,6 +28,7 @@ import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
 import com.datastax.oss.driver.internal.core.cql.CqlPrepareAsyncProcessor;
 import com.datastax.oss.driver.internal.core.cql.CqlPrepareSyncProcessor;
 import com.datastax.oss.driver.internal.core.session.RequestProcessor;
+import com.datastax.oss.driver.internal.core.session.throttling.AdaptiveConcurrencyLimitingRequestThrottler;
 import com.datastax.oss.driver.internal.core.session.throttling.ConcurrencyLimitingRequestThrottler;
 import com.datastax.oss.driver.internal.core.session.throttling.RateLimitingRequestThrottler;
 import com.datastax.oss.driver.shaded.guava.common.cache.Cache;
@@ -69,6 +70,11 @@ public class DropwizardSessionMetricUpdater extends DropwizardMetricUpdater<Sess
           buildFullName(DefaultSessionMetric.THROTTLING_QUEUE_SIZE, null),
           () -> buildQueueGauge(context.getRequestThrottler(), context.getSessionName()));
     }
+    if (enabledMetrics.contains(DefaultSessionMetric.THROTTLING_LIMIT)) {
+      this.registry.gauge(
+          buildFullName(DefaultSessionMetric.THROTTLING_LIMIT, null),
+          () -> buildLimitGauge(context.getRequestThrottler(), context.getSessionName()));
+    }
     if (enabledMetrics.contains(DefaultSessionMetric.CQL_PREPARED_CACHE_SIZE)) {
       this.registry.gauge(
           buildFullName(DefaultSessionMetric.CQL_PREPARED_CACHE_SIZE, null),
@@ -103,6 +109,21 @@ public class DropwizardSessionMetricUpdater extends DropwizardMetricUpdater<Sess
         DefaultDriverOption.METRICS_SESSION_THROTTLING_DIGITS,
         DefaultDriverOption.METRICS_SESSION_THROTTLING_INTERVAL);
     initializeDefaultCounter(DefaultSessionMetric.THROTTLING_ERRORS, null);
+    initializeHdrTimer(
+        DefaultSessionMetric.TOKEN_MAP_REBUILD,
+        context.getConfig().getDefaultProfile(),
+        DefaultDriverOption.METRICS_SESSION_TOKEN_MAP_REBUILD_HIGHEST,
+        DefaultDriverOption.METRICS_SESSION_TOKEN_MAP_REBUILD_DIGITS,
+        DefaultDriverOption.METRICS_SESSION_TOKEN_MAP_REBUILD_INTERVAL);
+    initializeDefaultCounter(DefaultSessionMetric.CQL_PREPARED_CACHE_HITS, null);
+    initializeDefaultCounter(DefaultSessionMetric.CQL_PREPARED_CACHE_MISSES, null);
+    initializeDefaultCounter(DefaultSessionMetric.CQL_PREPARED_CACHE_EVICTIONS, null);
+    initializeHdrTimer(
+        DefaultSessionMetric.SCHEMA_REFRESH,
+        context.getConfig().getDefaultProfile(),
+        DefaultDriverOption.METRICS_SESSION_SCHEMA_REFRESH_HIGHEST,
+        DefaultDriverOption.METRICS_SESSION_SCHEMA_REFRESH_DIGITS,
+        DefaultDriverOption.METRICS_SESSION_SCHEMA_REFRESH_INTERVAL);
     initializeHdrTimer(
         DseSessionMetric.CONTINUOUS_CQL_REQUESTS,
         context.getConfig().getDefaultProfile(),
@@ -128,6 +149,8 @@ public class DropwizardSessionMetricUpdater extends DropwizardMetricUpdater<Sess
       return ((ConcurrencyLimitingRequestThrottler) requestThrottler)::getQueueSize;
     } else if (requestThrottler instanceof RateLimitingRequestThrottler) {
       return ((RateLimitingRequestThrottler) requestThrottler)::getQueueSize;
+    } else if (requestThrottler instanceof AdaptiveConcurrencyLimitingRequestThrottler) {
+      return ((AdaptiveConcurrencyLimitingRequestThrottler) requestThrottler)::getQueueSize;
     } else {
       LOG.warn(
           "[{}] Metric {} does not support {}, it will always return 0",
@@ -138,6 +161,21 @@ public class DropwizardSessionMetricUpdater extends DropwizardMetricUpdater<Sess
     }
   }
 
+  private Gauge<Integer> buildLimitGauge(RequestThrottler requestThrottler, String logPrefix) {
+    if (requestThrottler instanceof AdaptiveConcurrencyLimitingRequestThrottler) {
+      return ((AdaptiveConcurrencyLimitingRequestThrottler) requestThrottler)::getLimit;
+    } else if (requestThrottler instanceof ConcurrencyLimitingRequestThrottler) {
+      return ((ConcurrencyLimitingRequestThrottler) requestThrottler)::getMaxConcurrentRequests;
+    } else {
+      LOG.warn(
+          "[{}] Metric {} does not support {}, it will always return 0",
+          logPrefix,
+          DefaultSessionMetric.THROTTLING_LIMIT.getPath(),
+          requestThrottler.getClass().getName());
+      return () -> 0;
+    }
+  }
+
   @Nullable
   private static Cache<?, ?> getPreparedStatementCache(InternalDriverContext context) {
     // By default, both the sync processor and the async one are registered and they share the same
@@ -22,6 +22,7 @@ import com.datastax.oss.driver.api.core.UnsupportedProtocolVersionException;
 import com.datastax.oss.driver.api.core.auth.AuthenticationException;
 import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
 import com.datastax.oss.driver.api.core.config.DriverConfig;
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
 import com.datastax.oss.driver.api.core.connection.ReconnectionPolicy;
 import com.datastax.oss.driver.api.core.loadbalancing.NodeDistance;
 import com.datastax.oss.driver.api.core.metadata.Node;
@@ -89,7 +90,7 @@ public class ChannelPool implements AsyncAutoCloseable {
   }
 
   // This is read concurrently, but only mutated on adminExecutor (by methods in SingleThreaded)
-  @VisibleForTesting final ChannelSet channels = new ChannelSet();
+  @VisibleForTesting final ChannelSet channels;
 
   private final Node node;
   private final CqlIdentifier initialKeyspaceName;
@@ -111,6 +112,13 @@ public class ChannelPool implements AsyncAutoCloseable {
     this.sessionLogPrefix = sessionLogPrefix;
     this.logPrefix = sessionLogPrefix + "|" + node.getEndPoint();
     this.singleThreaded = new SingleThreaded(keyspaceName, distance, context);
+    DriverExecutionProfile config = context.getConfig().getDefaultProfile();
+    this.channels =
+        new ChannelSet(
+            config.isDefined(DefaultDriverOption.CONNECTION_POOL_CHANNEL_SELECTION)
+                ? ChannelSelectionStrategy.fromName(
+                    config.getString(DefaultDriverOption.CONNECTION_POOL_CHANNEL_SELECTION))
+                : LeastBusyChannelSelectionStrategy.INSTANCE);
   }
 
   private CompletionStage<ChannelPool> connect() {
@@ -139,10 +147,11 @@ public class ChannelPool implements AsyncAutoCloseable {
   }
 
   /**
-   * @return the channel that has the most available stream ids. This is called on the direct
-   *     request path, and we want to avoid complex check-then-act semantics; therefore this might
-   *     race and return a channel that is already closed, or {@code null}. In those cases, it is up
-   *     to the caller to fail fast and move to the next node.
+   * @return the channel selected by the configured {@link ChannelSelectionStrategy} (by default,
+   *     the one that has the most available stream ids). This is called on the direct request path,
+   *     and we want to avoid complex check-then-act semantics; therefore this might race and return
+   *     a channel that is already closed, or {@code null}. In those cases, it is up to the caller
+   *     to fail fast and move to the next node.
    *     <p>There is no need to return the channel.
    */
   public DriverChannel next() {
@@ -0,0 +1,65 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.pool;
+
+import com.datastax.oss.driver.internal.core.channel.DriverChannel;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.Locale;
+
+/**
+ * Decides which channel of a pool a request will be written to.
+ *
+ * <p>Implementations are invoked on the request path, by any application thread, so they must be
+ * thread-safe and avoid blocking.
+ */
+interface ChannelSelectionStrategy {
+
+  /**
+   * Selects a channel and {@linkplain DriverChannel#preAcquireId() pre-acquires} a stream id on it.
+   *
+   * @param channels a snapshot of the pool's channels. It always contains at least 2 elements
+   *     ({@link ChannelSet} handles the trivial cases), and must not be modified.
+   * @return the selected channel, or null if all channels are full (or if the implementation gave
+   *     up after racing with other threads).
+   */
+  @Nullable
+  DriverChannel select(@NonNull DriverChannel[] channels);
+
+  /**
+   * Returns the built-in strategy that matches a value of {@code
+   * advanced.connection.pool.channel-selection}.
+   *
+   * @throws IllegalArgumentException if the value does not match any strategy.
+   */
+  @NonNull
+  static ChannelSelectionStrategy fromName(@NonNull String name) {
+    switch (name.toLowerCase(Locale.ROOT)) {
+      case "least-busy":
+        return LeastBusyChannelSelectionStrategy.INSTANCE;
+      case "power-of-two-choices":
+        return PowerOfTwoChoicesChannelSelectionStrategy.INSTANCE;
+      case "sticky":
+        return StickyChannelSelectionStrategy.INSTANCE;
+      default:
+        throw new IllegalArgumentException(
+            String.format(
+                "Unknown channel selection strategy '%s', "
+                    + "expected one of least-busy, power-of-two-choices, sticky",
+                name));
+    }
+  }
+}
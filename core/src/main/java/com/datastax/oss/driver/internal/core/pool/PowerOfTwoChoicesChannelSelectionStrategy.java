@@ -0,0 +1,79 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.pool;
+
+import com.datastax.oss.driver.internal.core.channel.DriverChannel;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.concurrent.ThreadLocalRandom;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Picks two distinct channels at random, and selects the one that has the most available stream
+ * ids.
+ *
+ * <p>The cost does not depend on the size of the pool, and concurrent threads rarely inspect the
+ * same channels; yet the load stays close to the {@linkplain LeastBusyChannelSelectionStrategy
+ * least busy} distribution. If the random picks keep failing (which generally means that the pool
+ * is nearly saturated), this falls back to a full scan, so that a channel with available ids is
+ * never missed.
+ *
+ * @see <a href="https://www.eecs.harvard.edu/~michaelm/postscripts/mythesis.pdf">The Power of Two
+ *     Choices in Randomized Load Balancing</a>
+ */
+@ThreadSafe
+class PowerOfTwoChoicesChannelSelectionStrategy implements ChannelSelectionStrategy {
+
+  static final PowerOfTwoChoicesChannelSelectionStrategy INSTANCE =
+      new PowerOfTwoChoicesChannelSelectionStrategy();
+
+  private static final int MAX_RANDOM_ATTEMPTS = 2;
+
+  @Override
+  public DriverChannel select(@NonNull DriverChannel[] channels) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int count = channels.length;
+    for (int i = 0; i < MAX_RANDOM_ATTEMPTS; i++) {
+      // Draw both indices from a single random int: each half is mapped to its range with a
+      // multiplication and a shift, which is cheaper than two bounded nextInt() calls. The bias is
+      // negligible for the pool sizes we deal with.
+      int bits = random.nextInt();
+      int firstIndex = ((bits & 0xFFFF) * count) >>> 16;
+      int secondIndex = ((bits >>> 16) * (count - 1)) >>> 16;
+      if (secondIndex >= firstIndex) {
+        secondIndex += 1;
+      }
+      DriverChannel first = channels[firstIndex];
+      DriverChannel second = channels[secondIndex];
+      int firstScore = first.getAvailableIds();
+      int secondScore = second.getAvailableIds();
+      if (firstScore < secondScore) {
+        DriverChannel tmpChannel = first;
+        first = second;
+        second = tmpChannel;
+        int tmpScore = firstScore;
+        firstScore = secondScore;
+        secondScore = tmpScore;
+      }
+      if (firstScore > 0 && first.preAcquireId()) {
+        return first;
+      }
+      if (secondScore > 0 && second.preAcquireId()) {
+        return second;
+      }
+    }
+    return LeastBusyChannelSelectionStrategy.INSTANCE.select(channels);
+  }
+}
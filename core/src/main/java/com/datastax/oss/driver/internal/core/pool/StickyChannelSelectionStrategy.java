@@ -0,0 +1,52 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.pool;
+
+import com.datastax.oss.driver.internal.core.channel.DriverChannel;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Selects a preferred channel for each application thread, and uses it as long as it has available
+ * stream ids; when it is full, falls back to {@linkplain PowerOfTwoChoicesChannelSelectionStrategy
+ * two random choices}.
+ *
+ * <p>The preferred channel is derived from the thread's id, so there is no per-thread state to
+ * maintain. Threads that share a channel keep hitting the same I/O event loop, which limits
+ * contention between application threads; on the other hand, the load is only as balanced as the
+ * mapping of threads to channels, so this works best when there are many more application threads
+ * than channels.
+ */
+@ThreadSafe
+class StickyChannelSelectionStrategy implements ChannelSelectionStrategy {
+
+  static final StickyChannelSelectionStrategy INSTANCE = new StickyChannelSelectionStrategy();
+
+  @Override
+  public DriverChannel select(@NonNull DriverChannel[] channels) {
+    DriverChannel preferred = channels[preferredIndex(Thread.currentThread(), channels.length)];
+    if (preferred.preAcquireId()) {
+      return preferred;
+    }
+    return PowerOfTwoChoicesChannelSelectionStrategy.INSTANCE.select(channels);
+  }
+
+  static int preferredIndex(Thread thread, int count) {
+    // Thread ids are usually sequential, mix the bits to avoid patterns with the pool size
+    long hash = thread.getId() * 0x9E3779B97F4A7C15L;
+    return (int) ((hash >>> 33) % count);
+  }
+}
@@ -41,6 +41,29 @@ public abstract class ByteBufCompressor implements Compressor<ByteBuf> {
 
   protected abstract ByteBuf decompressHeap(ByteBuf input);
 
+  /**
+   * Compresses a buffer without prepending the uncompressed length (this is used by the segment
+   * format of protocol v5+, where the length is part of the segment header instead).
+   *
+   * <p>Only LZ4 supports this; the default implementation throws {@link
+   * UnsupportedOperationException}.
+   */
+  public ByteBuf compressWithoutLength(ByteBuf uncompressed) {
+    throw new UnsupportedOperationException(
+        String.format("%s compression is not supported with protocol v5+ framing", algorithm()));
+  }
+
+  /**
+   * Decompresses a buffer that was produced by {@link #compressWithoutLength(ByteBuf)}.
+   *
+   * <p>Only LZ4 supports this; the default implementation throws {@link
+   * UnsupportedOperationException}.
+   */
+  public ByteBuf decompressWithoutLength(ByteBuf compressed, int uncompressedLength) {
+    throw new UnsupportedOperationException(
+        String.format("%s compression is not supported with protocol v5+ framing", algorithm()));
+  }
+
   protected static ByteBuffer inputNioBuffer(ByteBuf buf) {
     // Using internalNioBuffer(...) as we only hold the reference in this method and so can
     // reduce Object allocations.
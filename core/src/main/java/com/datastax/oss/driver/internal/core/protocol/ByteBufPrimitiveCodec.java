@@ -19,6 +19,7 @@ import com.datastax.oss.protocol.internal.PrimitiveCodec;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.util.CharsetUtil;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
@@ -29,15 +30,41 @@ import net.jcip.annotations.ThreadSafe;
 @ThreadSafe
 public class ByteBufPrimitiveCodec implements PrimitiveCodec<ByteBuf> {
 
+  // The size of a frame header, and the position of the body length in it
+  private static final int FRAME_HEADER_LENGTH = 9;
+  private static final int BODY_LENGTH_OFFSET = 5;
+  // How much memory we allocate at once when writing a frame that contains large values
+  private static final int CHUNK_SIZE = 64 * 1024;
+
   private final ByteBufAllocator allocator;
+  private final int zeroCopyThreshold;
 
   public ByteBufPrimitiveCodec(ByteBufAllocator allocator) {
+    this(allocator, 0);
+  }
+
+  /**
+   * @param zeroCopyThreshold the size above which {@code [bytes]} values are added to outgoing
+   *     frames without copying them, or 0 to always copy. If this is enabled, this codec must only
+   *     be used to encode whole uncompressed frames (the allocated buffers are assumed to start
+   *     with a frame header).
+   */
+  public ByteBufPrimitiveCodec(ByteBufAllocator allocator, int zeroCopyThreshold) {
     this.allocator = allocator;
+    this.zeroCopyThreshold = zeroCopyThreshold;
   }
 
   @Override
   public ByteBuf allocate(int size) {
-    return allocator.ioBuffer(size, size);
+    if (zeroCopyThreshold <= 0 || size < zeroCopyThreshold) {
+      return allocator.ioBuffer(size, size);
+    }
+    // The frame might contain large values: use a composite buffer, so that writeBytes() can add
+    // them as new components instead of copying them. The rest of the frame is allocated in
+    // chunks, as we write it (see reserve()).
+    CompositeByteBuf buffer = allocator.compositeBuffer(Integer.MAX_VALUE);
+    buffer.capacity(Math.min(size, CHUNK_SIZE));
+    return buffer;
   }
 
   @Override
@@ -129,11 +156,13 @@ public class ByteBufPrimitiveCodec implements PrimitiveCodec<ByteBuf> {
 
   @Override
   public void writeByte(byte b, ByteBuf dest) {
+    reserve(dest, 1);
     dest.writeByte(b);
   }
 
   @Override
   public void writeInt(int i, ByteBuf dest) {
+    reserve(dest, 4);
     dest.writeInt(i);
   }
 
@@ -141,16 +170,19 @@ public class ByteBufPrimitiveCodec implements PrimitiveCodec<ByteBuf> {
   public void writeInetAddr(InetAddress inetAddr, ByteBuf dest) {
     byte[] bytes = inetAddr.getAddress();
     writeByte((byte) bytes.length, dest);
+    reserve(dest, bytes.length);
     dest.writeBytes(bytes);
   }
 
   @Override
   public void writeLong(long l, ByteBuf dest) {
+    reserve(dest, 8);
     dest.writeLong(l);
   }
 
   @Override
   public void writeUnsignedShort(int i, ByteBuf dest) {
+    reserve(dest, 2);
     dest.writeShort(i);
   }
 
@@ -158,6 +190,7 @@ public class ByteBufPrimitiveCodec implements PrimitiveCodec<ByteBuf> {
   public void writeString(String s, ByteBuf dest) {
     byte[] bytes = s.getBytes(CharsetUtil.UTF_8);
     writeUnsignedShort(bytes.length, dest);
+    reserve(dest, bytes.length);
     dest.writeBytes(bytes);
   }
 
@@ -165,6 +198,7 @@ public class ByteBufPrimitiveCodec implements PrimitiveCodec<ByteBuf> {
   public void writeLongString(String s, ByteBuf dest) {
     byte[] bytes = s.getBytes(CharsetUtil.UTF_8);
     writeInt(bytes.length, dest);
+    reserve(dest, bytes.length);
     dest.writeBytes(bytes);
   }
 
@@ -173,8 +207,20 @@ public class ByteBufPrimitiveCodec implements PrimitiveCodec<ByteBuf> {
     if (bytes == null) {
       writeInt(-1, dest);
     } else {
-      writeInt(bytes.remaining(), dest);
-      dest.writeBytes(bytes.duplicate());
+      int length = bytes.remaining();
+      writeInt(length, dest);
+      if (zeroCopyThreshold > 0
+          && length >= zeroCopyThreshold
+          && dest instanceof CompositeByteBuf) {
+        CompositeByteBuf composite = (CompositeByteBuf) dest;
+        // Drop the unused part of the current chunk, so that the value directly follows the bytes
+        // written so far
+        composite.capacity(composite.writerIndex());
+        composite.addComponent(true, Unpooled.wrappedBuffer(bytes.duplicate()));
+      } else {
+        reserve(dest, length);
+        dest.writeBytes(bytes.duplicate());
+      }
     }
   }
 
@@ -184,6 +230,7 @@ public class ByteBufPrimitiveCodec implements PrimitiveCodec<ByteBuf> {
       writeInt(-1, dest);
     } else {
       writeInt(bytes.length, dest);
+      reserve(dest, bytes.length);
       dest.writeBytes(bytes);
     }
   }
@@ -191,9 +238,27 @@ public class ByteBufPrimitiveCodec implements PrimitiveCodec<ByteBuf> {
   @Override
   public void writeShortBytes(byte[] bytes, ByteBuf dest) {
     writeUnsignedShort(bytes.length, dest);
+    reserve(dest, bytes.length);
     dest.writeBytes(bytes);
   }
 
+  /**
+   * Makes room for the next write, if the destination was allocated for zero-copy (otherwise the
+   * buffer already has the exact size of the frame).
+   *
+   * <p>We don't let Netty grow composite buffers, because it doubles their capacity, which would
+   * waste a lot of memory once a large value has been added. Instead, we add chunks that are no
+   * larger than what remains to be written, as indicated by the frame header.
+   */
+  private void reserve(ByteBuf dest, int length) {
+    if (zeroCopyThreshold > 0
+        && dest.writableBytes() < length
+        && dest instanceof CompositeByteBuf) {
+      int remaining = FRAME_HEADER_LENGTH + dest.getInt(BODY_LENGTH_OFFSET) - dest.writerIndex();
+      dest.capacity(dest.writerIndex() + Math.max(length, Math.min(remaining, CHUNK_SIZE)));
+    }
+  }
+
   // Reads *all* readable bytes from a buffer and return them.
   // If the buffer is backed by an array, this will return the underlying array directly, without
   // copy.
@@ -0,0 +1,60 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.protocol;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import java.util.List;
+import net.jcip.annotations.NotThreadSafe;
+
+/**
+ * Decodes incoming bytes into {@link Segment}s (protocol v5+).
+ *
+ * <p>This replaces {@link FrameDecoder} in the pipeline once the connection has switched to the v5
+ * framing format; {@link SegmentToFrameDecoder} then extracts the frames.
+ */
+@NotThreadSafe
+public class BytesToSegmentDecoder extends ByteToMessageDecoder {
+
+  private final SegmentCodec segmentCodec;
+  private SegmentCodec.Header pendingHeader;
+
+  public BytesToSegmentDecoder(SegmentCodec segmentCodec) {
+    this.segmentCodec = segmentCodec;
+  }
+
+  @Override
+  protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+    while (true) {
+      if (pendingHeader == null) {
+        if (in.readableBytes() < segmentCodec.headerLength()) {
+          return;
+        }
+        pendingHeader = segmentCodec.decodeHeader(in);
+      }
+      if (in.readableBytes() < pendingHeader.payloadLength + SegmentCodec.TRAILER_LENGTH) {
+        // Wait for the rest of the segment
+        return;
+      }
+      ByteBuf payload = in.readRetainedSlice(pendingHeader.payloadLength);
+      int expectedCrc = in.readIntLE();
+      SegmentCodec.Header header = pendingHeader;
+      pendingHeader = null;
+      out.add(segmentCodec.decodePayload(header, payload, expectedCrc));
+    }
+  }
+}
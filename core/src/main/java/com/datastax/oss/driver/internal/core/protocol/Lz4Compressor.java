@@ -55,16 +55,55 @@ public class Lz4Compressor extends ByteBufCompressor {
 
   @Override
   protected ByteBuf compressDirect(ByteBuf input) {
+    return compressDirect(input, true);
+  }
+
+  @Override
+  protected ByteBuf compressHeap(ByteBuf input) {
+    return compressHeap(input, true);
+  }
+
+  @Override
+  protected ByteBuf decompressDirect(ByteBuf input) {
+    int uncompressedLength = input.readInt();
+    return decompressDirect(input, uncompressedLength);
+  }
+
+  @Override
+  protected ByteBuf decompressHeap(ByteBuf input) {
+    int uncompressedLength = input.readInt();
+    return decompressHeap(input, uncompressedLength);
+  }
+
+  @Override
+  public ByteBuf compressWithoutLength(ByteBuf uncompressed) {
+    // Segment payloads are often composite buffers (several frames), that have no backing array:
+    // go through NIO buffers in that case.
+    return uncompressed.hasArray()
+        ? compressHeap(uncompressed, false)
+        : compressDirect(uncompressed, false);
+  }
+
+  @Override
+  public ByteBuf decompressWithoutLength(ByteBuf compressed, int uncompressedLength) {
+    return compressed.hasArray()
+        ? decompressHeap(compressed, uncompressedLength)
+        : decompressDirect(compressed, uncompressedLength);
+  }
+
+  private ByteBuf compressDirect(ByteBuf input, boolean prependLength) {
     int maxCompressedLength = compressor.maxCompressedLength(input.readableBytes());
     // If the input is direct we will allocate a direct output buffer as well as this will allow us
     // to use LZ4Compressor.compress and so eliminate memory copies.
-    ByteBuf output = input.alloc().directBuffer(4 + maxCompressedLength);
+    ByteBuf output = input.alloc().directBuffer((prependLength ? 4 : 0) + maxCompressedLength);
     try {
       ByteBuffer in = inputNioBuffer(input);
       // Increase reader index.
       input.readerIndex(input.writerIndex());
 
-      output.writeInt(in.remaining());
+      if (prependLength) {
+        output.writeInt(in.remaining());
+      }
 
       ByteBuffer out = outputNioBuffer(output);
       int written =
@@ -80,8 +119,7 @@ public class Lz4Compressor extends ByteBufCompressor {
     return output;
   }
 
-  @Override
-  protected ByteBuf compressHeap(ByteBuf input) {
+  private ByteBuf compressHeap(ByteBuf input, boolean prependLength) {
     int maxCompressedLength = compressor.maxCompressedLength(input.readableBytes());
 
     // Not a direct buffer so use byte arrays...
@@ -93,9 +131,11 @@ public class Lz4Compressor extends ByteBufCompressor {
 
     // Allocate a heap buffer from the ByteBufAllocator as we may use a PooledByteBufAllocator and
     // so can eliminate the overhead of allocate a new byte[].
-    ByteBuf output = input.alloc().heapBuffer(4 + maxCompressedLength);
+    ByteBuf output = input.alloc().heapBuffer((prependLength ? 4 : 0) + maxCompressedLength);
     try {
-      output.writeInt(len);
+      if (prependLength) {
+        output.writeInt(len);
+      }
       // calculate the correct offset.
       int offset = output.arrayOffset() + output.writerIndex();
       byte[] out = output.array();
@@ -111,12 +151,10 @@ public class Lz4Compressor extends ByteBufCompressor {
     return output;
   }
 
-  @Override
-  protected ByteBuf decompressDirect(ByteBuf input) {
+  private ByteBuf decompressDirect(ByteBuf input, int uncompressedLength) {
     // If the input is direct we will allocate a direct output buffer as well as this will allow us
     // to use LZ4Compressor.decompress and so eliminate memory copies.
     int readable = input.readableBytes();
-    int uncompressedLength = input.readInt();
     ByteBuffer in = inputNioBuffer(input);
     // Increase reader index.
     input.readerIndex(input.writerIndex());
@@ -124,7 +162,7 @@ public class Lz4Compressor extends ByteBufCompressor {
     try {
       ByteBuffer out = outputNioBuffer(output);
       int read = decompressor.decompress(in, in.position(), out, out.position(), out.remaining());
-      if (read != readable - 4) {
+      if (read != readable) {
         throw new IllegalArgumentException("Compressed lengths mismatch");
       }
 
@@ -138,12 +176,10 @@ public class Lz4Compressor extends ByteBufCompressor {
     return output;
   }
 
-  @Override
-  protected ByteBuf decompressHeap(ByteBuf input) {
+  private ByteBuf decompressHeap(ByteBuf input, int uncompressedLength) {
     // Not a direct buffer so use byte arrays...
     byte[] in = input.array();
     int len = input.readableBytes();
-    int uncompressedLength = input.readInt();
     int inOffset = input.arrayOffset() + input.readerIndex();
     // Increase reader index.
     input.readerIndex(input.writerIndex());
@@ -155,7 +191,7 @@ public class Lz4Compressor extends ByteBufCompressor {
       int offset = output.arrayOffset() + output.writerIndex();
       byte out[] = output.array();
       int read = decompressor.decompress(in, inOffset, out, offset, uncompressedLength);
-      if (read != len - 4) {
+      if (read != len) {
         throw new IllegalArgumentException("Compressed lengths mismatch");
       }
 
@@ -0,0 +1,37 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.protocol;
+
+import io.netty.buffer.ByteBuf;
+import net.jcip.annotations.Immutable;
+
+/**
+ * A segment of the outer framing format introduced in protocol v5.
+ *
+ * <p>The payload is either a sequence of complete frames ({@link #isSelfContained} is true), or a
+ * part of a single large frame that was split across several segments.
+ */
+@Immutable
+public class Segment {
+
+  public final ByteBuf payload;
+  public final boolean isSelfContained;
+
+  public Segment(ByteBuf payload, boolean isSelfContained) {
+    this.payload = payload;
+    this.isSelfContained = isSelfContained;
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.protocol;
+
+import com.datastax.oss.driver.internal.core.util.concurrent.PromiseCombiner;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.concurrent.PromiseNotifier;
+import java.util.ArrayList;
+import java.util.List;
+import net.jcip.annotations.NotThreadSafe;
+
+/**
+ * Groups outgoing frames into {@link Segment}s (protocol v5+).
+ *
+ * <p>Encoded frames are accumulated until the channel is flushed, or until the next frame would not
+ * fit in the current segment; they are then sent as a single self-contained segment, which
+ * amortizes the segment overhead (and compression, if enabled) over several small requests.
+ *
+ * <p>Frames that are too large to fit in a single segment are split into several non-self-contained
+ * segments.
+ */
+@NotThreadSafe
+public class SegmentBuilder extends ChannelOutboundHandlerAdapter {
+
+  // Netty consolidates composite buffers beyond that number of components. Frames are small when
+  // we get that many of them, so the copy is not a concern.
+  private static final int MAX_COMPONENTS = 128;
+
+  private final SegmentCodec segmentCodec;
+  private final int maxPayloadLength;
+
+  private CompositeByteBuf pendingPayload;
+  private final List<ChannelPromise> pendingPromises = new ArrayList<>();
+
+  public SegmentBuilder(SegmentCodec segmentCodec) {
+    this(segmentCodec, SegmentCodec.MAX_PAYLOAD_LENGTH);
+  }
+
+  /** Allows tests to use smaller segments. */
+  SegmentBuilder(SegmentCodec segmentCodec, int maxPayloadLength) {
+    this.segmentCodec = segmentCodec;
+    this.maxPayloadLength = maxPayloadLength;
+  }
+
+  @Override
+  public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+    if (!(msg instanceof ByteBuf)) {
+      ctx.write(msg, promise);
+      return;
+    }
+    ByteBuf frame = (ByteBuf) msg;
+    int frameLength = frame.readableBytes();
+    if (frameLength > maxPayloadLength) {
+      // Preserve ordering: anything that was written before must go out first
+      writePendingSegment(ctx);
+      writeSlices(ctx, frame, promise);
+      return;
+    }
+    if (pendingPayload != null && pendingPayload.readableBytes() + frameLength > maxPayloadLength) {
+      writePendingSegment(ctx);
+    }
+    if (pendingPayload == null) {
+      pendingPayload = ctx.alloc().compositeBuffer(MAX_COMPONENTS);
+    }
+    pendingPayload.addComponent(true, frame);
+    pendingPromises.add(promise);
+  }
+
+  @Override
+  public void flush(ChannelHandlerContext ctx) {
+    writePendingSegment(ctx);
+    ctx.flush();
+  }
+
+  @Override
+  public void handlerRemoved(ChannelHandlerContext ctx) {
+    if (pendingPayload != null) {
+      pendingPayload.release();
+      pendingPayload = null;
+      IllegalStateException error =
+          new IllegalStateException("Segment builder was removed before the frames were flushed");
+      for (ChannelPromise promise : pendingPromises) {
+        promise.tryFailure(error);
+      }
+      pendingPromises.clear();
+    }
+  }
+
+  private void writePendingSegment(ChannelHandlerContext ctx) {
+    if (pendingPayload == null) {
+      return;
+    }
+    ChannelPromise[] framePromises = pendingPromises.toArray(new ChannelPromise[0]);
+    ByteBuf payload = pendingPayload;
+    pendingPayload = null;
+    pendingPromises.clear();
+
+    ChannelPromise segmentPromise = ctx.newPromise();
+    segmentPromise.addListener(new PromiseNotifier<>(false, framePromises));
+    try {
+      ctx.write(segmentCodec.encode(new Segment(payload, true)), segmentPromise);
+    } catch (Throwable t) {
+      segmentPromise.tryFailure(t);
+    }
+  }
+
+  private void writeSlices(ChannelHandlerContext ctx, ByteBuf frame, ChannelPromise promise) {
+    int sliceCount = (frame.readableBytes() + maxPayloadLength - 1) / maxPayloadLength;
+    ChannelPromise[] slicePromises = new ChannelPromise[sliceCount];
+    try {
+      for (int i = 0; i < sliceCount; i++) {
+        ByteBuf slice = frame.readRetainedSlice(Math.min(maxPayloadLength, frame.readableBytes()));
+        slicePromises[i] = ctx.newPromise();
+        ctx.write(segmentCodec.encode(new Segment(slice, false)), slicePromises[i]);
+      }
+    } catch (Throwable t) {
+      promise.tryFailure(t);
+      return;
+    } finally {
+      frame.release();
+    }
+    PromiseCombiner.combine(promise, slicePromises);
+  }
+}
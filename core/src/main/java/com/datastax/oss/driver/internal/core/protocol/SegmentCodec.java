@@ -0,0 +1,294 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.protocol;
+
+import com.datastax.oss.protocol.internal.Compressor;
+import com.datastax.oss.protocol.internal.FrameCodec;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.handler.codec.CorruptedFrameException;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Encodes and decodes the outer segment format of protocol v5+.
+ *
+ * <p>Each segment is laid out as:
+ *
+ * <ul>
+ *   <li>a header: the length of the payload, a "self-contained" flag and, if compression is
+ *       enabled, the uncompressed length of the payload, followed by a CRC24 of those fields. All
+ *       fields are little-endian;
+ *   <li>the payload, at most {@value #MAX_PAYLOAD_LENGTH} bytes (possibly compressed with LZ4);
+ *   <li>a CRC32 of the payload.
+ * </ul>
+ *
+ * The frames that go inside the segments are encoded with {@link #getFrameCodec()}, which never
+ * compresses: with this format, compression is applied to whole segments instead of individual
+ * frames.
+ *
+ * @see <a
+ *     href="https://github.com/apache/cassandra/blob/trunk/doc/native_protocol_v5.spec">native_protocol_v5.spec</a>,
+ *     section 2
+ */
+@ThreadSafe
+public class SegmentCodec {
+
+  /** The maximum length of a segment's payload (uncompressed), 128KiB - 1. */
+  public static final int MAX_PAYLOAD_LENGTH = (1 << 17) - 1;
+
+  static final int UNCOMPRESSED_HEADER_LENGTH = 6;
+  static final int COMPRESSED_HEADER_LENGTH = 8;
+  static final int TRAILER_LENGTH = 4;
+
+  private static final int CRC24_INIT = 0x875060;
+  private static final int CRC24_POLY = 0x1974F0B;
+  private static final byte[] CRC32_INITIAL_BYTES =
+      new byte[] {(byte) 0xFA, (byte) 0x2D, (byte) 0x55, (byte) 0xCA};
+
+  private final ByteBufAllocator allocator;
+  private final ByteBufCompressor compressor;
+  private final FrameCodec<ByteBuf> frameCodec;
+
+  /**
+   * @param compressor the compressor configured for the driver. It must be either {@link
+   *     Compressor#none()}, or an instance of {@link ByteBufCompressor} that supports {@link
+   *     ByteBufCompressor#compressWithoutLength(ByteBuf)} (in practice, LZ4).
+   * @param frameCodec the codec used for the frames inside the segments. It must not compress.
+   * @throws IllegalArgumentException if the compressor is not supported.
+   */
+  public SegmentCodec(
+      @NonNull ByteBufAllocator allocator,
+      @NonNull Compressor<ByteBuf> compressor,
+      @NonNull FrameCodec<ByteBuf> frameCodec) {
+    this.allocator = allocator;
+    this.frameCodec = frameCodec;
+    String algorithm = compressor.algorithm();
+    if (algorithm == null) {
+      this.compressor = null;
+    } else if ("lz4".equalsIgnoreCase(algorithm) && compressor instanceof ByteBufCompressor) {
+      this.compressor = (ByteBufCompressor) compressor;
+    } else {
+      throw new IllegalArgumentException(
+          String.format(
+              "%s compression is not supported with protocol v5+, use LZ4 or no compression",
+              algorithm));
+    }
+  }
+
+  /** The codec to use for the frames contained in segments. */
+  @NonNull
+  public FrameCodec<ByteBuf> getFrameCodec() {
+    return frameCodec;
+  }
+
+  public boolean isCompressed() {
+    return compressor != null;
+  }
+
+  public int headerLength() {
+    return compressor == null ? UNCOMPRESSED_HEADER_LENGTH : COMPRESSED_HEADER_LENGTH;
+  }
+
+  /**
+   * Encodes a segment.
+   *
+   * <p>This takes ownership of the segment's payload (it will be released once the returned buffer
+   * is released).
+   */
+  @NonNull
+  public ByteBuf encode(@NonNull Segment segment) {
+    ByteBuf uncompressed = segment.payload;
+    int uncompressedLength = uncompressed.readableBytes();
+    if (uncompressedLength > MAX_PAYLOAD_LENGTH) {
+      uncompressed.release();
+      throw new IllegalArgumentException(
+          String.format(
+              "Segment payload can't exceed %d bytes (got %d)",
+              MAX_PAYLOAD_LENGTH, uncompressedLength));
+    }
+
+    ByteBuf payload;
+    ByteBuf header;
+    if (compressor == null) {
+      payload = uncompressed;
+      header = allocator.ioBuffer(UNCOMPRESSED_HEADER_LENGTH);
+      long headerData = uncompressedLength;
+      if (segment.isSelfContained) {
+        headerData |= 1L << 17;
+      }
+      writeLittleEndian(header, headerData, 3);
+      writeLittleEndian(header, crc24(headerData, 3), 3);
+    } else {
+      ByteBuf compressed = compressor.compressWithoutLength(uncompressed.duplicate());
+      if (compressed.readableBytes() >= uncompressedLength) {
+        // Compression didn't help, send as is (signaled by an uncompressed length of 0)
+        compressed.release();
+        payload = uncompressed;
+        uncompressedLength = 0;
+      } else {
+        uncompressed.release();
+        payload = compressed;
+      }
+      header = allocator.ioBuffer(COMPRESSED_HEADER_LENGTH);
+      long headerData = payload.readableBytes() | ((long) uncompressedLength << 17);
+      if (segment.isSelfContained) {
+        headerData |= 1L << 34;
+      }
+      writeLittleEndian(header, headerData, 5);
+      writeLittleEndian(header, crc24(headerData, 5), 3);
+    }
+
+    ByteBuf trailer = allocator.ioBuffer(TRAILER_LENGTH);
+    trailer.writeIntLE(crc32(payload));
+
+    CompositeByteBuf result = allocator.compositeBuffer(3);
+    result.addComponents(true, header, payload, trailer);
+    return result;
+  }
+
+  /**
+   * Decodes a segment header, and advances the buffer's reader index accordingly.
+   *
+   * @param in a buffer that contains at least {@link #headerLength()} readable bytes.
+   * @throws CorruptedFrameException if the header's CRC does not match its contents.
+   */
+  @NonNull
+  public Header decodeHeader(@NonNull ByteBuf in) {
+    long headerData;
+    int expectedCrc;
+    Header header;
+    if (compressor == null) {
+      headerData = readLittleEndian(in, 3);
+      expectedCrc = (int) readLittleEndian(in, 3);
+      header =
+          new Header((int) (headerData & MAX_PAYLOAD_LENGTH), 0, (headerData & (1L << 17)) != 0);
+      checkCrc24(headerData, 3, expectedCrc);
+    } else {
+      headerData = readLittleEndian(in, 5);
+      expectedCrc = (int) readLittleEndian(in, 3);
+      header =
+          new Header(
+              (int) (headerData & MAX_PAYLOAD_LENGTH),
+              (int) ((headerData >> 17) & MAX_PAYLOAD_LENGTH),
+              (headerData & (1L << 34)) != 0);
+      checkCrc24(headerData, 5, expectedCrc);
+    }
+    return header;
+  }
+
+  /**
+   * Decodes the payload of a segment, once its header is known.
+   *
+   * <p>This takes ownership of the payload (it is either reused for the returned segment, or
+   * released).
+   *
+   * @param payload the payload, exactly as it was received ({@link Header#payloadLength} bytes).
+   * @param expectedCrc the CRC32 read from the trailer.
+   * @throws CorruptedFrameException if the CRC does not match the payload.
+   */
+  @NonNull
+  public Segment decodePayload(@NonNull Header header, @NonNull ByteBuf payload, int expectedCrc) {
+    int actualCrc = crc32(payload);
+    if (actualCrc != expectedCrc) {
+      payload.release();
+      throw new CorruptedFrameException(
+          String.format(
+              "Payload CRC32 mismatch (expected %08x, computed %08x)", expectedCrc, actualCrc));
+    }
+    if (header.uncompressedLength == 0) {
+      return new Segment(payload, header.isSelfContained);
+    }
+    assert compressor != null; // uncompressedLength is always 0 otherwise
+    try {
+      return new Segment(
+          compressor.decompressWithoutLength(payload, header.uncompressedLength),
+          header.isSelfContained);
+    } finally {
+      payload.release();
+    }
+  }
+
+  private static void checkCrc24(long headerData, int length, int expectedCrc) {
+    int actualCrc = crc24(headerData, length);
+    if (actualCrc != expectedCrc) {
+      throw new CorruptedFrameException(
+          String.format(
+              "Segment header CRC24 mismatch (expected %06x, computed %06x)",
+              expectedCrc, actualCrc));
+    }
+  }
+
+  static int crc24(long bytes, int length) {
+    int crc = CRC24_INIT;
+    for (int i = 0; i < length; i++) {
+      crc ^= (int) (bytes & 0xff) << 16;
+      bytes >>= 8;
+      for (int j = 0; j < 8; j++) {
+        crc <<= 1;
+        if ((crc & 0x1000000) != 0) {
+          crc ^= CRC24_POLY;
+        }
+      }
+    }
+    return crc;
+  }
+
+  static int crc32(ByteBuf buffer) {
+    CRC32 crc = new CRC32();
+    crc.update(CRC32_INITIAL_BYTES);
+    if (buffer.readableBytes() > 0) {
+      // nioBuffers() returns views, so the reader index is left untouched
+      for (ByteBuffer nioBuffer : buffer.nioBuffers()) {
+        crc.update(nioBuffer);
+      }
+    }
+    return (int) crc.getValue();
+  }
+
+  private static void writeLittleEndian(ByteBuf out, long value, int length) {
+    for (int i = 0; i < length; i++) {
+      out.writeByte((int) (value >> (8 * i)));
+    }
+  }
+
+  private static long readLittleEndian(ByteBuf in, int length) {
+    long value = 0;
+    for (int i = 0; i < length; i++) {
+      value |= (long) in.readUnsignedByte() << (8 * i);
+    }
+    return value;
+  }
+
+  /** The decoded contents of a segment header. */
+  public static class Header {
+    /** The length of the payload on the wire (compressed length if compression is enabled). */
+    public final int payloadLength;
+    /** The uncompressed length, or 0 if the payload was sent uncompressed. */
+    public final int uncompressedLength;
+
+    public final boolean isSelfContained;
+
+    Header(int payloadLength, int uncompressedLength, boolean isSelfContained) {
+      this.payloadLength = payloadLength;
+      this.uncompressedLength = uncompressedLength;
+      this.isSelfContained = isSelfContained;
+    }
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.protocol;
+
+import com.datastax.oss.driver.api.core.connection.FrameTooLongException;
+import com.datastax.oss.protocol.internal.Frame;
+import com.datastax.oss.protocol.internal.FrameCodec;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToMessageDecoder;
+import java.util.List;
+import net.jcip.annotations.NotThreadSafe;
+
+/**
+ * Extracts the frames contained in incoming {@link Segment}s (protocol v5+).
+ *
+ * <p>Self-contained segments hold one or more complete frames, that are decoded directly from the
+ * segment's payload. Otherwise the segment holds a slice of a large frame: the slices are
+ * accumulated (without copying them into a single contiguous buffer) until the frame is complete.
+ */
+@NotThreadSafe
+public class SegmentToFrameDecoder extends MessageToMessageDecoder<Segment> {
+
+  private static final int HEADER_LENGTH = 9;
+  // Where the length of the frame is located in its header
+  private static final int LENGTH_FIELD_OFFSET = 5;
+
+  private final FrameCodec<ByteBuf> frameCodec;
+  private final int maxFrameLength;
+
+  // The state of the large frame that we are currently reassembling, if any
+  private CompositeByteBuf pendingSlices;
+  private int targetLength;
+  private boolean discarding;
+  private int discardedLength;
+
+  public SegmentToFrameDecoder(FrameCodec<ByteBuf> frameCodec, int maxFrameLength) {
+    super(Segment.class);
+    this.frameCodec = frameCodec;
+    this.maxFrameLength = maxFrameLength;
+  }
+
+  @Override
+  protected void decode(ChannelHandlerContext ctx, Segment segment, List<Object> out) {
+    if (segment.isSelfContained) {
+      decodeSelfContained(ctx, segment.payload, out);
+    } else {
+      decodeSlice(ctx, segment.payload, out);
+    }
+  }
+
+  private void decodeSelfContained(ChannelHandlerContext ctx, ByteBuf payload, List<Object> out) {
+    try {
+      while (payload.isReadable()) {
+        int frameLength =
+            HEADER_LENGTH + payload.getInt(payload.readerIndex() + LENGTH_FIELD_OFFSET);
+        Frame frame = decodeFrame(ctx, payload.readSlice(frameLength));
+        if (frame != null) {
+          out.add(frame);
+        }
+      }
+    } finally {
+      payload.release();
+    }
+  }
+
+  private void decodeSlice(ChannelHandlerContext ctx, ByteBuf slice, List<Object> out) {
+    if (discarding) {
+      discardedLength += slice.readableBytes();
+      slice.release();
+      if (discardedLength >= targetLength) {
+        discarding = false;
+      }
+      return;
+    }
+    if (pendingSlices == null) {
+      targetLength = HEADER_LENGTH + slice.getInt(slice.readerIndex() + LENGTH_FIELD_OFFSET);
+      if (targetLength > maxFrameLength) {
+        // Skip the remaining slices of this frame, but keep the connection usable
+        int streamId = slice.getShort(slice.readerIndex() + 2);
+        discardedLength = slice.readableBytes();
+        discarding = discardedLength < targetLength;
+        slice.release();
+        ctx.fireExceptionCaught(
+            new FrameDecodingException(
+                streamId,
+                new FrameTooLongException(
+                    ctx.channel().remoteAddress(),
+                    String.format(
+                        "Adjusted frame length exceeds %d: %d - discarded",
+                        maxFrameLength, targetLength))));
+        return;
+      }
+      pendingSlices =
+          ctx.alloc().compositeBuffer(targetLength / SegmentCodec.MAX_PAYLOAD_LENGTH + 1);
+    }
+    pendingSlices.addComponent(true, slice);
+    if (pendingSlices.readableBytes() >= targetLength) {
+      try {
+        Frame frame = decodeFrame(ctx, pendingSlices);
+        if (frame != null) {
+          out.add(frame);
+        }
+      } finally {
+        pendingSlices.release();
+        pendingSlices = null;
+      }
+    }
+  }
+
+  private Frame decodeFrame(ChannelHandlerContext ctx, ByteBuf buffer) {
+    // Read before decoding, the codec might have moved the reader index when it fails
+    int streamId = buffer.getShort(buffer.readerIndex() + 2);
+    try {
+      return frameCodec.decode(buffer);
+    } catch (Exception e) {
+      // Same as FrameDecoder: propagate the error to the request matching the stream id, and move
+      // on to the next frame.
+      ctx.fireExceptionCaught(new FrameDecodingException(streamId, e));
+      return null;
+    }
+  }
+}
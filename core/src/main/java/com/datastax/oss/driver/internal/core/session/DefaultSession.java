@@ -36,6 +36,7 @@ import com.datastax.oss.driver.internal.core.metadata.MetadataManager;
 import com.datastax.oss.driver.internal.core.metadata.MetadataManager.RefreshSchemaResult;
 import com.datastax.oss.driver.internal.core.metadata.NodeStateEvent;
 import com.datastax.oss.driver.internal.core.metadata.NodeStateManager;
+import com.datastax.oss.driver.internal.core.metadata.schema.refresh.SchemaRefreshTarget;
 import com.datastax.oss.driver.internal.core.metrics.SessionMetricUpdater;
 import com.datastax.oss.driver.internal.core.pool.ChannelPool;
 import com.datastax.oss.driver.internal.core.util.Loggers;
@@ -174,7 +175,7 @@ public class DefaultSession implements CqlSession {
   @Override
   public CompletionStage<Metadata> refreshSchemaAsync() {
     return metadataManager
-        .refreshSchema(null, true, true)
+        .refreshSchema(SchemaRefreshTarget.FULL, true, true)
         .thenApply(RefreshSchemaResult::getMetadata);
   }
 
@@ -383,8 +384,13 @@ public class DefaultSession implements CqlSession {
       context
           .getTopologyMonitor()
           .init()
-          .thenCompose(v -> metadataManager.refreshNodes())
-          .thenAccept(v -> afterInitialNodeListRefresh(keyspace))
+          .thenCompose(v -> metadataManager.loadSnapshot())
+          .thenCompose(
+              fromSnapshot ->
+                  fromSnapshot
+                      ? CompletableFuture.completedFuture(true)
+                      : metadataManager.refreshNodes().thenApply(v -> false))
+          .thenAccept(fromSnapshot -> afterInitialNodeListRefresh(keyspace, fromSnapshot))
           .exceptionally(
               error -> {
                 initFuture.completeExceptionally(error);
@@ -393,7 +399,7 @@ public class DefaultSession implements CqlSession {
               });
     }
 
-    private void afterInitialNodeListRefresh(CqlIdentifier keyspace) {
+    private void afterInitialNodeListRefresh(CqlIdentifier keyspace, boolean fromSnapshot) {
       try {
         boolean protocolWasForced =
             context.getConfig().getDefaultProfile().isDefined(DefaultDriverOption.PROTOCOL_VERSION);
@@ -419,20 +425,40 @@ public class DefaultSession implements CqlSession {
             // if it reconnects to another node.
           }
         }
-        metadataManager
-            .refreshSchema(null, false, true)
-            .whenComplete(
-                (metadata, error) -> {
-                  if (error != null) {
-                    Loggers.warnWithException(
-                        LOG,
-                        "[{}] Unexpected error while refreshing schema during initialization, "
-                            + "keeping previous version",
-                        logPrefix,
-                        error);
-                  }
-                  afterInitialSchemaRefresh(keyspace);
-                });
+        if (fromSnapshot) {
+          // The metadata was loaded from the snapshot, don't wait for the actual queries.
+          afterInitialSchemaRefresh(keyspace);
+          metadataManager
+              .refreshNodes()
+              .thenCompose(
+                  v -> metadataManager.refreshSchema(SchemaRefreshTarget.FULL, false, true))
+              .whenComplete(
+                  (metadata, error) -> {
+                    if (error != null) {
+                      Loggers.warnWithException(
+                          LOG,
+                          "[{}] Unexpected error while refreshing the metadata loaded from the "
+                              + "snapshot, keeping previous version",
+                          logPrefix,
+                          error);
+                    }
+                  });
+        } else {
+          metadataManager
+              .refreshSchema(SchemaRefreshTarget.FULL, false, true)
+              .whenComplete(
+                  (metadata, error) -> {
+                    if (error != null) {
+                      Loggers.warnWithException(
+                          LOG,
+                          "[{}] Unexpected error while refreshing schema during initialization, "
+                              + "keeping previous version",
+                          logPrefix,
+                          error);
+                    }
+                    afterInitialSchemaRefresh(keyspace);
+                  });
+        }
       } catch (Throwable throwable) {
         initFuture.completeExceptionally(throwable);
       }
@@ -0,0 +1,332 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.session.throttling;
+
+import com.datastax.oss.driver.api.core.RequestThrottlingException;
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.context.DriverContext;
+import com.datastax.oss.driver.api.core.servererrors.OverloadedException;
+import com.datastax.oss.driver.api.core.session.throttling.RequestThrottler;
+import com.datastax.oss.driver.api.core.session.throttling.Throttled;
+import com.datastax.oss.driver.shaded.guava.common.annotations.VisibleForTesting;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.jcip.annotations.ThreadSafe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A request throttler that limits the number of concurrent requests, and adjusts that limit based
+ * on how the cluster responds.
+ *
+ * <p>The limit follows an AIMD (additive increase, multiplicative decrease) algorithm:
+ *
+ * <ul>
+ *   <li>when a request completes in less than the latency threshold, and at least half of the
+ *       current limit was in use, the limit is increased by one;
+ *   <li>when a request times out, fails with an {@link OverloadedException}, or takes longer than
+ *       the latency threshold, the limit is multiplied by the backoff ratio. Only requests that
+ *       started after the previous decrease are taken into account, so that a burst of failures
+ *       caused by the same event only decreases the limit once;
+ *   <li>other errors don't change the limit.
+ * </ul>
+ *
+ * The limit always stays between the configured minimum and maximum. Requests that are over the
+ * limit are enqueued, like with {@link ConcurrencyLimitingRequestThrottler}.
+ *
+ * <p>To activate this throttler, modify the {@code advanced.throttler} section in the driver
+ * configuration, for example:
+ *
+ * <pre>
+ * datastax-java-driver {
+ *   advanced.throttler {
+ *     class = AdaptiveConcurrencyLimitingRequestThrottler
+ *     min-concurrent-requests = 10
+ *     initial-concurrent-requests = 100
+ *     max-concurrent-requests = 10000
+ *     max-queue-size = 10000
+ *     backoff-ratio = 0.9
+ *     latency-threshold = 1 second
+ *   }
+ * }
+ * </pre>
+ *
+ * See {@code reference.conf} (in the manual or core driver JAR) for more details.
+ */
+@ThreadSafe
+public class AdaptiveConcurrencyLimitingRequestThrottler implements RequestThrottler {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(AdaptiveConcurrencyLimitingRequestThrottler.class);
+
+  // Placeholder start time for a request that timed out after it was dequeued, but before start()
+  // recorded it. Whichever of signalTimeout() and start() comes second releases the permit.
+  private static final long TIMED_OUT = Long.MIN_VALUE;
+
+  private final String logPrefix;
+  private final NanoClock clock;
+  private final int minLimit;
+  private final int maxLimit;
+  private final int maxQueueSize;
+  private final double backoffRatio;
+  private final long latencyThresholdNanos;
+
+  private final AtomicInteger limit;
+  private final AtomicInteger concurrentRequests = new AtomicInteger();
+  // The start time of each active request. This also guarantees that a request releases its
+  // permit only once.
+  private final ConcurrentMap<Throttled, Long> startTimes = new ConcurrentHashMap<>();
+  private final Deque<Throttled> queue = new ConcurrentLinkedDeque<>();
+  private final AtomicInteger queueSize = new AtomicInteger();
+  private volatile long lastBackoffNanos;
+  private volatile boolean closed;
+
+  @SuppressWarnings("unused")
+  public AdaptiveConcurrencyLimitingRequestThrottler(DriverContext context) {
+    this(context, System::nanoTime);
+  }
+
+  @VisibleForTesting
+  AdaptiveConcurrencyLimitingRequestThrottler(DriverContext context, NanoClock clock) {
+    this.logPrefix = context.getSessionName();
+    this.clock = clock;
+    DriverExecutionProfile config = context.getConfig().getDefaultProfile();
+    this.minLimit = config.getInt(DefaultDriverOption.REQUEST_THROTTLER_MIN_CONCURRENT_REQUESTS);
+    this.maxLimit = config.getInt(DefaultDriverOption.REQUEST_THROTTLER_MAX_CONCURRENT_REQUESTS);
+    int initialLimit =
+        config.getInt(DefaultDriverOption.REQUEST_THROTTLER_INITIAL_CONCURRENT_REQUESTS);
+    this.maxQueueSize = config.getInt(DefaultDriverOption.REQUEST_THROTTLER_MAX_QUEUE_SIZE);
+    this.backoffRatio = config.getDouble(DefaultDriverOption.REQUEST_THROTTLER_BACKOFF_RATIO);
+    this.latencyThresholdNanos =
+        config.getDuration(DefaultDriverOption.REQUEST_THROTTLER_LATENCY_THRESHOLD).toNanos();
+    if (minLimit < 1 || minLimit > maxLimit) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Invalid throttler limits: expected 1 <= min-concurrent-requests (%d) "
+                  + "<= max-concurrent-requests (%d)",
+              minLimit, maxLimit));
+    }
+    if (backoffRatio <= 0 || backoffRatio >= 1) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Invalid throttler backoff-ratio %s, expected a value between 0 and 1 (exclusive)",
+              backoffRatio));
+    }
+    this.limit = new AtomicInteger(Math.max(minLimit, Math.min(maxLimit, initialLimit)));
+    this.lastBackoffNanos = clock.nanoTime();
+    LOG.debug(
+        "[{}] Initializing with limit = {} (min {}, max {}), maxQueueSize = {}, "
+            + "backoffRatio = {}, latencyThreshold = {} ns",
+        logPrefix,
+        limit.get(),
+        minLimit,
+        maxLimit,
+        maxQueueSize,
+        backoffRatio,
+        latencyThresholdNanos);
+  }
+
+  @Override
+  public void register(@NonNull Throttled request) {
+    if (closed) {
+      LOG.trace("[{}] Rejecting request after shutdown", logPrefix);
+      fail(request, "The session is shutting down");
+    } else if (queueSize.get() == 0 && tryAcquire()) {
+      LOG.trace("[{}] Starting newly registered request", logPrefix);
+      start(request, false);
+    } else if (tryReserveQueueSlot()) {
+      LOG.trace("[{}] Enqueuing request", logPrefix);
+      queue.add(request);
+      // See ConcurrencyLimitingRequestThrottler for an explanation of those two checks
+      drain();
+      if (closed && queue.remove(request)) {
+        queueSize.decrementAndGet();
+        fail(request, "The session is shutting down");
+      }
+    } else {
+      LOG.trace("[{}] Rejecting request because of full queue", logPrefix);
+      fail(
+          request,
+          String.format(
+              "The session has reached its maximum capacity "
+                  + "(concurrent requests: %d, queue size: %d)",
+              limit.get(), maxQueueSize));
+    }
+  }
+
+  @Override
+  public void signalSuccess(@NonNull Throttled request) {
+    onRequestDone(request, Outcome.SUCCESS);
+  }
+
+  @Override
+  public void signalError(@NonNull Throttled request, @NonNull Throwable error) {
+    // Other errors (syntax errors, unavailable replicas, etc.) say nothing about the load of the
+    // cluster
+    onRequestDone(
+        request, error instanceof OverloadedException ? Outcome.DROPPED : Outcome.IGNORED);
+  }
+
+  @Override
+  public void signalTimeout(@NonNull Throttled request) {
+    if (!closed) {
+      if (queue.remove(request)) { // The request timed out before it was active
+        LOG.trace("[{}] Removing timed out request from the queue", logPrefix);
+        queueSize.decrementAndGet();
+      } else if (startTimes.putIfAbsent(request, TIMED_OUT) != null) {
+        onRequestDone(request, Outcome.DROPPED);
+      }
+      // else drain() has polled the request but not started it yet, start() will see the marker
+    }
+  }
+
+  private void start(Throttled request, boolean wasDelayed) {
+    if (startTimes.putIfAbsent(request, clock.nanoTime()) != null) {
+      LOG.trace("[{}] Not starting request that timed out while being dequeued", logPrefix);
+      startTimes.remove(request);
+      concurrentRequests.decrementAndGet();
+    } else {
+      request.onThrottleReady(wasDelayed);
+    }
+  }
+
+  private void onRequestDone(Throttled request, Outcome outcome) {
+    Long startNanos = startTimes.remove(request);
+    if (startNanos != null && startNanos != TIMED_OUT && !closed) {
+      int inFlight = concurrentRequests.getAndDecrement();
+      if (outcome != Outcome.IGNORED) {
+        long now = clock.nanoTime();
+        if (outcome == Outcome.DROPPED || now - startNanos > latencyThresholdNanos) {
+          maybeBackOff(startNanos, now);
+        } else if (inFlight * 2 >= limit.get()) {
+          increase();
+        }
+      }
+      drain();
+    }
+  }
+
+  private void increase() {
+    int current;
+    do {
+      current = limit.get();
+      if (current >= maxLimit) {
+        return;
+      }
+    } while (!limit.compareAndSet(current, current + 1));
+  }
+
+  private void maybeBackOff(long startNanos, long now) {
+    int current;
+    int next;
+    do {
+      if (startNanos - lastBackoffNanos < 0) {
+        // The request started before the previous decrease, it is not a reaction to the new limit
+        return;
+      }
+      current = limit.get();
+      next = Math.max(minLimit, (int) (current * backoffRatio));
+      if (next == current) {
+        return;
+      }
+    } while (!limit.compareAndSet(current, next));
+    lastBackoffNanos = now;
+    LOG.debug("[{}] Decreasing concurrency limit from {} to {}", logPrefix, current, next);
+  }
+
+  private void drain() {
+    while (!closed && !queue.isEmpty() && tryAcquire()) {
+      Throttled request = queue.poll();
+      if (request == null) {
+        concurrentRequests.decrementAndGet();
+      } else {
+        queueSize.decrementAndGet();
+        LOG.trace("[{}] Starting dequeued request", logPrefix);
+        start(request, true);
+      }
+    }
+  }
+
+  private boolean tryAcquire() {
+    while (true) {
+      int current = concurrentRequests.get();
+      if (current >= limit.get()) {
+        return false;
+      } else if (concurrentRequests.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  private boolean tryReserveQueueSlot() {
+    while (true) {
+      int current = queueSize.get();
+      if (current >= maxQueueSize) {
+        return false;
+      } else if (queueSize.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    int count = 0;
+    Throttled request;
+    while ((request = queue.poll()) != null) {
+      queueSize.decrementAndGet();
+      fail(request, "The session is shutting down");
+      count += 1;
+    }
+    startTimes.clear();
+    LOG.debug("[{}] Rejected {} queued requests after shutdown", logPrefix, count);
+  }
+
+  /** The current concurrency limit. */
+  public int getLimit() {
+    return limit.get();
+  }
+
+  public int getQueueSize() {
+    return queueSize.get();
+  }
+
+  @VisibleForTesting
+  int getConcurrentRequests() {
+    return concurrentRequests.get();
+  }
+
+  @VisibleForTesting
+  Deque<Throttled> getQueue() {
+    return queue;
+  }
+
+  private static void fail(Throttled request, String message) {
+    request.onThrottleFailure(new RequestThrottlingException(message));
+  }
+
+  private enum Outcome {
+    SUCCESS,
+    DROPPED,
+    IGNORED,
+  }
+}
@@ -23,10 +23,9 @@ import com.datastax.oss.driver.api.core.session.throttling.RequestThrottler;
 import com.datastax.oss.driver.api.core.session.throttling.Throttled;
 import com.datastax.oss.driver.shaded.guava.common.annotations.VisibleForTesting;
 import edu.umd.cs.findbugs.annotations.NonNull;
-import java.util.ArrayDeque;
 import java.util.Deque;
-import java.util.concurrent.locks.ReentrantLock;
-import net.jcip.annotations.GuardedBy;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
 import net.jcip.annotations.ThreadSafe;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,6 +47,11 @@ import org.slf4j.LoggerFactory;
  * </pre>
  *
  * See {@code reference.conf} (in the manual or core driver JAR) for more details.
+ *
+ * <p>This implementation is lock-free: the number of active requests is an atomic counter, and
+ * requests that can't start right away wait in a concurrent queue. Whenever a request is enqueued
+ * or a permit is released, the thread that did it tries to start queued requests; this guarantees
+ * that a request is never left waiting while a permit is available.
  */
 @ThreadSafe
 public class ConcurrencyLimitingRequestThrottler implements RequestThrottler {
@@ -59,16 +63,12 @@ public class ConcurrencyLimitingRequestThrottler implements RequestThrottler {
   private final int maxConcurrentRequests;
   private final int maxQueueSize;
 
-  private final ReentrantLock lock = new ReentrantLock();
-
-  @GuardedBy("lock")
-  private int concurrentRequests;
-
-  @GuardedBy("lock")
-  private Deque<Throttled> queue = new ArrayDeque<>();
-
-  @GuardedBy("lock")
-  private boolean closed;
+  private final AtomicInteger concurrentRequests = new AtomicInteger();
+  private final Deque<Throttled> queue = new ConcurrentLinkedDeque<>();
+  // Tracked separately because ConcurrentLinkedDeque.size() is linear. A slot is reserved before
+  // the request is added to the queue, and freed after it is removed.
+  private final AtomicInteger queueSize = new AtomicInteger();
+  private volatile boolean closed;
 
   public ConcurrencyLimitingRequestThrottler(DriverContext context) {
     this.logPrefix = context.getSessionName();
@@ -85,41 +85,39 @@ public class ConcurrencyLimitingRequestThrottler implements RequestThrottler {
 
   @Override
   public void register(@NonNull Throttled request) {
-    lock.lock();
-    try {
-      if (closed) {
-        LOG.trace("[{}] Rejecting request after shutdown", logPrefix);
+    if (closed) {
+      LOG.trace("[{}] Rejecting request after shutdown", logPrefix);
+      fail(request, "The session is shutting down");
+    } else if (queueSize.get() == 0 && tryAcquire()) {
+      // We have capacity for one more concurrent request
+      LOG.trace("[{}] Starting newly registered request", logPrefix);
+      request.onThrottleReady(false);
+    } else if (tryReserveQueueSlot()) {
+      LOG.trace("[{}] Enqueuing request", logPrefix);
+      queue.add(request);
+      // A permit might have been released after our attempt to acquire it, but before the request
+      // was visible in the queue
+      drain();
+      // The session might have been closed after our initial check, but before the request was
+      // visible in the queue
+      if (closed && queue.remove(request)) {
+        queueSize.decrementAndGet();
         fail(request, "The session is shutting down");
-      } else if (queue.isEmpty() && concurrentRequests < maxConcurrentRequests) {
-        // We have capacity for one more concurrent request
-        LOG.trace("[{}] Starting newly registered request", logPrefix);
-        concurrentRequests += 1;
-        request.onThrottleReady(false);
-      } else if (queue.size() < maxQueueSize) {
-        LOG.trace("[{}] Enqueuing request", logPrefix);
-        queue.add(request);
-      } else {
-        LOG.trace("[{}] Rejecting request because of full queue", logPrefix);
-        fail(
-            request,
-            String.format(
-                "The session has reached its maximum capacity "
-                    + "(concurrent requests: %d, queue size: %d)",
-                maxConcurrentRequests, maxQueueSize));
       }
-    } finally {
-      lock.unlock();
+    } else {
+      LOG.trace("[{}] Rejecting request because of full queue", logPrefix);
+      fail(
+          request,
+          String.format(
+              "The session has reached its maximum capacity "
+                  + "(concurrent requests: %d, queue size: %d)",
+              maxConcurrentRequests, maxQueueSize));
     }
   }
 
   @Override
   public void signalSuccess(@NonNull Throttled request) {
-    lock.lock();
-    try {
-      onRequestDone();
-    } finally {
-      lock.unlock();
-    }
+    onRequestDone();
   }
 
   @Override
@@ -129,75 +127,90 @@ public class ConcurrencyLimitingRequestThrottler implements RequestThrottler {
 
   @Override
   public void signalTimeout(@NonNull Throttled request) {
-    lock.lock();
-    try {
-      if (!closed) {
-        if (queue.remove(request)) { // The request timed out before it was active
-          LOG.trace("[{}] Removing timed out request from the queue", logPrefix);
-        } else {
-          onRequestDone();
-        }
+    if (!closed) {
+      if (queue.remove(request)) { // The request timed out before it was active
+        LOG.trace("[{}] Removing timed out request from the queue", logPrefix);
+        queueSize.decrementAndGet();
+      } else {
+        onRequestDone();
       }
-    } finally {
-      lock.unlock();
     }
   }
 
-  @SuppressWarnings("GuardedBy") // this method is only called with the lock held
   private void onRequestDone() {
-    assert lock.isHeldByCurrentThread();
     if (!closed) {
-      if (queue.isEmpty()) {
-        concurrentRequests -= 1;
+      concurrentRequests.decrementAndGet();
+      drain();
+    }
+  }
+
+  /** Starts queued requests, as long as there are permits available. */
+  private void drain() {
+    while (!closed && !queue.isEmpty() && tryAcquire()) {
+      Throttled request = queue.poll();
+      if (request == null) {
+        // Another thread emptied the queue since we checked, give the permit back. We'll loop to
+        // check if something was enqueued in the meantime.
+        concurrentRequests.decrementAndGet();
       } else {
+        queueSize.decrementAndGet();
         LOG.trace("[{}] Starting dequeued request", logPrefix);
-        queue.poll().onThrottleReady(true);
-        // don't touch concurrentRequests since we finished one but started another
+        request.onThrottleReady(true);
+      }
+    }
+  }
+
+  private boolean tryAcquire() {
+    while (true) {
+      int current = concurrentRequests.get();
+      if (current >= maxConcurrentRequests) {
+        return false;
+      } else if (concurrentRequests.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  private boolean tryReserveQueueSlot() {
+    while (true) {
+      int current = queueSize.get();
+      if (current >= maxQueueSize) {
+        return false;
+      } else if (queueSize.compareAndSet(current, current + 1)) {
+        return true;
       }
     }
   }
 
   @Override
   public void close() {
-    lock.lock();
-    try {
-      closed = true;
-      LOG.debug("[{}] Rejecting {} queued requests after shutdown", logPrefix, queue.size());
-      for (Throttled request : queue) {
-        fail(request, "The session is shutting down");
-      }
-    } finally {
-      lock.unlock();
+    closed = true;
+    int count = 0;
+    Throttled request;
+    while ((request = queue.poll()) != null) {
+      queueSize.decrementAndGet();
+      fail(request, "The session is shutting down");
+      count += 1;
     }
+    LOG.debug("[{}] Rejected {} queued requests after shutdown", logPrefix, count);
   }
 
   public int getQueueSize() {
-    lock.lock();
-    try {
-      return queue.size();
-    } finally {
-      lock.unlock();
-    }
+    return queueSize.get();
+  }
+
+  public int getMaxConcurrentRequests() {
+    return maxConcurrentRequests;
   }
 
   @VisibleForTesting
   int getConcurrentRequests() {
-    lock.lock();
-    try {
-      return concurrentRequests;
-    } finally {
-      lock.unlock();
-    }
+    return concurrentRequests.get();
   }
 
   @VisibleForTesting
   Deque<Throttled> getQueue() {
-    lock.lock();
-    try {
-      return queue;
-    } finally {
-      lock.unlock();
-    }
+    return queue;
   }
 
   private static void fail(Throttled request, String message) {
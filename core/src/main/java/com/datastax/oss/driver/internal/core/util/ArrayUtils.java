@@ -94,11 +94,23 @@ public class ArrayUtils {
       @NonNull ElementT[] elements, int startIndex, int length, int amount) {
     if (length >= 2) {
       amount = amount % length;
-      // Repeatedly shift by 1. This is not the most time-efficient but the array will typically be
-      // small so we don't care, and this avoids allocating a temporary buffer.
-      for (int i = 0; i < amount; i++) {
-        bubbleDown(elements, startIndex, startIndex + length - 1);
+      if (amount > 0) {
+        // Rotate by reversing the two sub-ranges, then the whole range: this is linear in the
+        // length of the range, and does not allocate a temporary buffer.
+        int endIndex = startIndex + length - 1;
+        reverse(elements, startIndex, startIndex + amount - 1);
+        reverse(elements, startIndex + amount, endIndex);
+        reverse(elements, startIndex, endIndex);
       }
     }
   }
+
+  /** Reverses the order of the elements between two indices (both inclusive). */
+  private static <ElementT> void reverse(@NonNull ElementT[] elements, int i, int j) {
+    while (i < j) {
+      swap(elements, i, j);
+      i += 1;
+      j -= 1;
+    }
+  }
 }
@@ -0,0 +1,51 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.util.collection;
+
+import com.datastax.oss.driver.api.core.loadbalancing.LoadBalancingPolicy;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.session.Request;
+import com.datastax.oss.driver.api.core.session.Session;
+import java.util.AbstractCollection;
+import java.util.Queue;
+
+/**
+ * Base class for the queues returned by {@link LoadBalancingPolicy#newQueryPlan(Request, Session)}.
+ *
+ * <p>The only mutation operation supported by query plans is {@link #poll()}, the other ones throw.
+ */
+public abstract class AbstractQueryPlan extends AbstractCollection<Node> implements Queue<Node> {
+
+  @Override
+  public boolean offer(Node node) {
+    throw new UnsupportedOperationException("Not implemented");
+  }
+
+  @Override
+  public Node remove() {
+    throw new UnsupportedOperationException("Not implemented");
+  }
+
+  @Override
+  public Node element() {
+    throw new UnsupportedOperationException("Not implemented");
+  }
+
+  @Override
+  public Node peek() {
+    throw new UnsupportedOperationException("Not implemented");
+  }
+}
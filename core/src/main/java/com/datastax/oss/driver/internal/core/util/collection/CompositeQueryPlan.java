@@ -0,0 +1,79 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.util.collection;
+
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.shaded.guava.common.collect.Iterators;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.Iterator;
+import java.util.Queue;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * A query plan that returns the nodes of other query plans, in order: the nodes of the second plan
+ * are only polled once the first one is exhausted, and so on.
+ *
+ * <p>The plans must be thread-safe, and should not contain duplicates across each other.
+ */
+@ThreadSafe
+public class CompositeQueryPlan extends AbstractQueryPlan {
+
+  private final Queue<Node>[] plans;
+
+  @SafeVarargs
+  public CompositeQueryPlan(@NonNull Queue<Node>... plans) {
+    this.plans = plans;
+  }
+
+  @Nullable
+  @Override
+  public Node poll() {
+    for (Queue<Node> plan : plans) {
+      Node node = plan.poll();
+      if (node != null) {
+        return node;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The returned iterator reflects the state of the queue at the time of the call, and is not
+   * affected by further modifications.
+   */
+  @NonNull
+  @Override
+  public Iterator<Node> iterator() {
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    Iterator<Node>[] iterators = new Iterator[plans.length];
+    for (int i = 0; i < plans.length; i++) {
+      iterators[i] = plans[i].iterator();
+    }
+    return Iterators.concat(iterators);
+  }
+
+  @Override
+  public int size() {
+    int size = 0;
+    for (Queue<Node> plan : plans) {
+      size += plan.size();
+    }
+    return size;
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.util.collection;
+
+import com.datastax.oss.driver.api.core.metadata.Node;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.Iterator;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * A query plan whose nodes are only computed the first time they are needed.
+ *
+ * <p>This is intended for the tail of a {@link CompositeQueryPlan}: if the nodes before it are
+ * enough to complete the request (which is the common case), the computation never happens.
+ */
+@ThreadSafe
+public abstract class LazyQueryPlan extends AbstractQueryPlan {
+
+  private volatile QueryPlan delegate;
+
+  /**
+   * Computes the nodes of this plan. This is invoked at most once.
+   *
+   * @return the nodes, with the same constraints as {@link QueryPlan#QueryPlan(Object...)}.
+   */
+  @NonNull
+  protected abstract Object[] computeNodes();
+
+  @Nullable
+  @Override
+  public Node poll() {
+    return getDelegate().poll();
+  }
+
+  @NonNull
+  @Override
+  public Iterator<Node> iterator() {
+    return getDelegate().iterator();
+  }
+
+  @Override
+  public int size() {
+    return getDelegate().size();
+  }
+
+  private QueryPlan getDelegate() {
+    QueryPlan result = delegate;
+    if (result == null) {
+      synchronized (this) {
+        result = delegate;
+        if (result == null) {
+          delegate = result = new QueryPlan(computeNodes());
+        }
+      }
+    }
+    return result;
+  }
+}
@@ -23,11 +23,9 @@ import com.datastax.oss.driver.internal.core.loadbalancing.DefaultLoadBalancingP
 import com.datastax.oss.driver.shaded.guava.common.collect.Iterators;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
-import java.util.AbstractCollection;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
-import java.util.Queue;
 import java.util.concurrent.atomic.AtomicInteger;
 import net.jcip.annotations.ThreadSafe;
 
@@ -44,7 +42,7 @@ import net.jcip.annotations.ThreadSafe;
  * so, study the source code of {@link DefaultLoadBalancingPolicy}.
  */
 @ThreadSafe
-public class QueryPlan extends AbstractCollection<Node> implements Queue<Node> {
+public class QueryPlan extends AbstractQueryPlan {
 
   private final Object[] nodes;
   private final AtomicInteger nextIndex = new AtomicInteger();
@@ -89,24 +87,4 @@ public class QueryPlan extends AbstractCollection<Node> implements Queue<Node> {
   public int size() {
     return Math.max(nodes.length - nextIndex.get(), 0);
   }
-
-  @Override
-  public boolean offer(Node node) {
-    throw new UnsupportedOperationException("Not implemented");
-  }
-
-  @Override
-  public Node remove() {
-    throw new UnsupportedOperationException("Not implemented");
-  }
-
-  @Override
-  public Node element() {
-    throw new UnsupportedOperationException("Not implemented");
-  }
-
-  @Override
-  public Node peek() {
-    throw new UnsupportedOperationException("Not implemented");
-  }
 }
@@ -29,10 +29,12 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Supplier;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
@@ -244,6 +246,64 @@ public class UuidsTest {
     }
   }
 
+  @Test
+  public void should_generate_batch_of_unique_and_increasing_uuids() {
+    int count = 25_000; // more than the number of timestamps in a millisecond
+    long previous = Uuids.timeBased().timestamp();
+
+    List<UUID> uuids = Uuids.timeBased(count);
+
+    assertThat(uuids).hasSize(count);
+    assertThat(new HashSet<>(uuids)).hasSize(count);
+    for (UUID uuid : uuids) {
+      assertThat(uuid.version()).isEqualTo(1);
+      assertThat(uuid.timestamp()).isGreaterThan(previous);
+      previous = uuid.timestamp();
+    }
+    assertThat(Uuids.timeBased().timestamp()).isGreaterThan(previous);
+  }
+
+  @Test
+  public void should_generate_empty_batch() {
+    assertThat(Uuids.timeBased(0)).isEmpty();
+  }
+
+  @Test
+  public void should_generate_unique_striped_uuids_across_threads() throws Exception {
+    int threadCount = 10;
+    int uuidsPerThread = 10_000;
+    Set<UUID> generated = new ConcurrentSkipListSet<>();
+
+    UUIDGenerator[] generators = new UUIDGenerator[threadCount];
+    for (int i = 0; i < threadCount; i++) {
+      // mix both generators, to check that they don't overlap either
+      generators[i] =
+          new UUIDGenerator(
+              uuidsPerThread, generated, (i % 2 == 0) ? Uuids::stripedTimeBased : Uuids::timeBased);
+    }
+    for (int i = 0; i < threadCount; i++) {
+      generators[i].start();
+    }
+    for (int i = 0; i < threadCount; i++) {
+      generators[i].join();
+    }
+
+    assertThat(generated).hasSize(threadCount * uuidsPerThread);
+  }
+
+  @Test
+  public void should_generate_ever_increasing_striped_timestamps_within_a_thread() {
+    int count = 1_000_000;
+    long previous = 0;
+    for (int i = 0; i < count; i++) {
+      UUID uuid = Uuids.stripedTimeBased();
+      assertThat(uuid.version()).isEqualTo(1);
+      assertThat(uuid.variant()).isEqualTo(2);
+      assertThat(uuid.timestamp()).isGreaterThan(previous);
+      previous = uuid.timestamp();
+    }
+  }
+
   @Test
   public void should_generate_within_bounds_for_given_timestamp() {
 
@@ -366,16 +426,22 @@ public class UuidsTest {
 
     private final int toGenerate;
     private final Set<UUID> generated;
+    private final Supplier<UUID> generator;
 
     UUIDGenerator(int toGenerate, Set<UUID> generated) {
+      this(toGenerate, generated, Uuids::timeBased);
+    }
+
+    UUIDGenerator(int toGenerate, Set<UUID> generated, Supplier<UUID> generator) {
       this.toGenerate = toGenerate;
       this.generated = generated;
+      this.generator = generator;
     }
 
     @Override
     public void run() {
       for (int i = 0; i < toGenerate; ++i) {
-        generated.add(Uuids.timeBased());
+        generated.add(generator.get());
       }
     }
   }
@@ -34,8 +34,14 @@ import com.datastax.oss.driver.internal.core.ProtocolVersionRegistry;
 import com.datastax.oss.driver.internal.core.TestResponses;
 import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
 import com.datastax.oss.driver.internal.core.metadata.TestNodeFactory;
+import com.datastax.oss.driver.internal.core.protocol.ByteBufPrimitiveCodec;
+import com.datastax.oss.driver.internal.core.protocol.BytesToSegmentDecoder;
+import com.datastax.oss.driver.internal.core.protocol.SegmentCodec;
+import com.datastax.oss.driver.internal.core.protocol.SegmentToFrameDecoder;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
+import com.datastax.oss.protocol.internal.Compressor;
 import com.datastax.oss.protocol.internal.Frame;
+import com.datastax.oss.protocol.internal.FrameCodec;
 import com.datastax.oss.protocol.internal.ProtocolConstants;
 import com.datastax.oss.protocol.internal.request.AuthResponse;
 import com.datastax.oss.protocol.internal.request.Options;
@@ -49,7 +55,11 @@ import com.datastax.oss.protocol.internal.response.Error;
 import com.datastax.oss.protocol.internal.response.Ready;
 import com.datastax.oss.protocol.internal.response.result.SetKeyspace;
 import com.datastax.oss.protocol.internal.util.Bytes;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
 import java.net.InetSocketAddress;
 import java.time.Duration;
 import java.util.List;
@@ -317,6 +327,83 @@ public class ProtocolInitHandlerTest extends ChannelHandlerTestBase {
     assertThat(connectFuture).isSuccess();
   }
 
+  @Test
+  public void should_switch_to_modern_framing_before_authenticating_with_v5() {
+    // Stand-ins for the legacy codecs, so that the handler has something to replace
+    channel.pipeline().addFirst("decoder", new ChannelInboundHandlerAdapter());
+    channel.pipeline().addFirst("encoder", new ChannelOutboundHandlerAdapter());
+    FrameCodec<ByteBuf> clientFrameCodec =
+        FrameCodec.defaultClient(new ByteBufPrimitiveCodec(channel.alloc()), Compressor.none());
+    SegmentCodec segmentCodec =
+        new SegmentCodec(channel.alloc(), Compressor.none(), clientFrameCodec);
+    when(internalDriverContext.getSegmentCodec()).thenReturn(segmentCodec);
+    when(defaultProfile.getBytes(DefaultDriverOption.PROTOCOL_MAX_FRAME_LENGTH))
+        .thenReturn(256L * 1024 * 1024);
+    channel
+        .pipeline()
+        .addLast(
+            "init",
+            new ProtocolInitHandler(
+                internalDriverContext,
+                DefaultProtocolVersion.V5,
+                null,
+                END_POINT,
+                DriverChannelOptions.DEFAULT,
+                heartbeatHandler,
+                false));
+
+    String serverAuthenticator = "mockServerAuthenticator";
+    AuthProvider authProvider = mock(AuthProvider.class);
+    MockAuthenticator authenticator = new MockAuthenticator();
+    when(authProvider.newAuthenticator(END_POINT, serverAuthenticator)).thenReturn(authenticator);
+    when(internalDriverContext.getAuthProvider()).thenReturn(Optional.of(authProvider));
+
+    ChannelFuture connectFuture = channel.connect(new InetSocketAddress("localhost", 9042));
+
+    // STARTUP still uses the legacy framing
+    Frame requestFrame = readOutboundFrame();
+    assertThat(requestFrame.message).isInstanceOf(Startup.class);
+    assertThat(channel.pipeline().get("segmentBuilder")).isNull();
+
+    // The server switches right after AUTHENTICATE, so the auth exchange must use segments
+    writeInboundFrame(requestFrame, new Authenticate(serverAuthenticator));
+    assertThat(channel.pipeline().get("segmentBuilder")).isNotNull();
+    assertThat(channel.pipeline().get("bytesToSegmentDecoder")).isNotNull();
+
+    requestFrame = readOutboundSegmentFrame(segmentCodec);
+    assertThat(requestFrame.message).isInstanceOf(AuthResponse.class);
+    assertThat(connectFuture).isNotDone();
+
+    writeInboundFrame(requestFrame, new AuthSuccess(Bytes.fromHexString("0xabcd")));
+    assertThat(authenticator.successToken).isEqualTo("0xabcd");
+
+    requestFrame = readOutboundSegmentFrame(segmentCodec);
+    assertThat(requestFrame.message).isInstanceOf(Query.class);
+    writeInboundFrame(requestFrame, TestResponses.clusterNameResponse("someClusterName"));
+
+    assertThat(connectFuture).isSuccess();
+  }
+
+  /** Reads an outbound segment, and decodes the frame that it contains. */
+  private Frame readOutboundSegmentFrame(SegmentCodec segmentCodec) {
+    channel.runPendingTasks();
+    Object o = channel.readOutbound();
+    assertThat(o).isInstanceOf(ByteBuf.class);
+    EmbeddedChannel serverChannel = new EmbeddedChannel();
+    FrameCodec<ByteBuf> serverFrameCodec =
+        FrameCodec.defaultServer(
+            new ByteBufPrimitiveCodec(serverChannel.alloc()), Compressor.none());
+    serverChannel
+        .pipeline()
+        .addLast(
+            new BytesToSegmentDecoder(segmentCodec),
+            new SegmentToFrameDecoder(serverFrameCodec, Integer.MAX_VALUE));
+    serverChannel.writeInbound(o);
+    Object frame = serverChannel.readInbound();
+    assertThat(frame).isInstanceOf(Frame.class);
+    return (Frame) frame;
+  }
+
   @Test
   public void should_invoke_auth_provider_when_server_does_not_send_challenge() {
     channel
@@ -16,6 +16,7 @@
 package com.datastax.oss.driver.internal.core.channel;
 
 import static com.datastax.oss.driver.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import org.junit.Test;
 
@@ -64,4 +65,56 @@ public class StreamIdGeneratorTest {
     assertThat(generator.acquire()).isEqualTo(7);
     assertThat(generator.preAcquire()).isFalse();
   }
+
+  @Test
+  public void should_handle_sizes_that_are_not_a_multiple_of_the_word_size() {
+    StreamIdGenerator generator = new StreamIdGenerator(130);
+    for (int i = 0; i < 130; i++) {
+      assertThat(generator.preAcquire()).isTrue();
+      assertThat(generator.acquire()).isEqualTo(i);
+    }
+    assertThat(generator.preAcquire()).isFalse();
+    generator.release(129);
+    generator.release(64);
+    generator.release(63);
+    assertThat(generator.preAcquire()).isTrue();
+    assertThat(generator.acquire()).isEqualTo(63);
+    assertThat(generator.preAcquire()).isTrue();
+    assertThat(generator.acquire()).isEqualTo(64);
+    assertThat(generator.preAcquire()).isTrue();
+    assertThat(generator.acquire()).isEqualTo(129);
+    assertThat(generator.preAcquire()).isFalse();
+  }
+
+  @Test
+  public void should_return_lowest_released_id_when_using_protocol_limit() {
+    StreamIdGenerator generator = new StreamIdGenerator(StreamIdGenerator.MAX_STREAM_IDS);
+    for (int i = 0; i < StreamIdGenerator.MAX_STREAM_IDS; i++) {
+      assertThat(generator.preAcquire()).isTrue();
+      assertThat(generator.acquire()).isEqualTo(i);
+    }
+    assertThat(generator.getAvailableIds()).isEqualTo(0);
+    generator.release(32767);
+    generator.release(20000);
+    generator.release(4097);
+    assertThat(generator.getAvailableIds()).isEqualTo(3);
+    assertThat(generator.preAcquire()).isTrue();
+    assertThat(generator.acquire()).isEqualTo(4097);
+    assertThat(generator.preAcquire()).isTrue();
+    assertThat(generator.acquire()).isEqualTo(20000);
+    assertThat(generator.preAcquire()).isTrue();
+    assertThat(generator.acquire()).isEqualTo(32767);
+    assertThat(generator.getAvailableIds()).isEqualTo(0);
+  }
+
+  @Test
+  public void should_fail_to_release_id_that_was_not_borrowed() {
+    StreamIdGenerator generator = new StreamIdGenerator(8);
+    assertThat(generator.preAcquire()).isTrue();
+    assertThat(generator.acquire()).isEqualTo(0);
+    assertThatThrownBy(() -> generator.release(1)).isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(() -> generator.release(8)).isInstanceOf(IllegalStateException.class);
+    generator.release(0);
+    assertThatThrownBy(() -> generator.release(0)).isInstanceOf(IllegalStateException.class);
+  }
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.context;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+// Note: the native transports are not on the test classpath, so we can only test the fallbacks.
+public class NettyTransportTest {
+
+  @Test
+  public void should_always_have_nio_available() {
+    assertThat(NettyTransport.NIO.isAvailable()).isTrue();
+    assertThat(NettyTransport.NIO.channelClass()).isEqualTo(NioSocketChannel.class);
+    assertThat(NettyTransport.NIO.<Boolean>channelOption("TCP_QUICKACK")).isNull();
+  }
+
+  @Test
+  public void should_create_nio_event_loop_group() {
+    EventLoopGroup group =
+        NettyTransport.NIO.newEventLoopGroup(1, Executors.defaultThreadFactory());
+    try {
+      assertThat(group).isInstanceOf(NioEventLoopGroup.class);
+    } finally {
+      group.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+    }
+  }
+
+  @Test
+  public void should_report_native_transports_unavailable_when_not_on_classpath() {
+    assertThat(NettyTransport.EPOLL.isAvailable()).isFalse();
+    assertThat(NettyTransport.IO_URING.isAvailable()).isFalse();
+    assertThat(NettyTransport.EPOLL.<Boolean>channelOption("TCP_QUICKACK")).isNull();
+  }
+
+  @Test
+  public void should_resolve_auto_to_nio_when_no_native_transport() {
+    assertThat(NettyTransport.resolve("auto", "test")).isEqualTo(NettyTransport.NIO);
+    assertThat(NettyTransport.resolve("AUTO", "test")).isEqualTo(NettyTransport.NIO);
+  }
+
+  @Test
+  public void should_resolve_explicit_transport_case_insensitively() {
+    assertThat(NettyTransport.resolve("nio", "test")).isEqualTo(NettyTransport.NIO);
+    assertThat(NettyTransport.resolve("NIO", "test")).isEqualTo(NettyTransport.NIO);
+  }
+
+  @Test
+  public void should_fall_back_to_nio_when_requested_transport_not_available() {
+    assertThat(NettyTransport.resolve("epoll", "test")).isEqualTo(NettyTransport.NIO);
+    assertThat(NettyTransport.resolve("io_uring", "test")).isEqualTo(NettyTransport.NIO);
+  }
+
+  @Test
+  public void should_fail_if_transport_unknown() {
+    assertThatThrownBy(() -> NettyTransport.resolve("kqueue", "test"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("Unknown Netty transport 'kqueue'");
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.cql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.datastax.oss.driver.shaded.guava.common.collect.Lists;
+import com.datastax.oss.protocol.internal.util.Bytes;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import org.junit.Test;
+
+public class CompactPageTest {
+
+  @Test
+  public void should_copy_cells() {
+    Queue<List<ByteBuffer>> rows = new ArrayDeque<>();
+    rows.add(Lists.newArrayList(Bytes.fromHexString("0x01"), null, Bytes.fromHexString("0x0203")));
+    rows.add(Lists.newArrayList(null, ByteBuffer.allocate(0), Bytes.fromHexString("0x04")));
+    rows.add(Lists.newArrayList(Bytes.fromHexString("0x0506"), Bytes.fromHexString("0x07"), null));
+
+    CompactPage page = CompactPage.copyOf(rows, 3);
+
+    assertThat(rows).isEmpty();
+    assertThat(page).hasSize(3);
+
+    List<ByteBuffer> row = page.poll();
+    assertThat(row).hasSize(3);
+    assertThat(Bytes.toHexString(row.get(0))).isEqualTo("0x01");
+    assertThat(row.get(1)).isNull();
+    assertThat(Bytes.toHexString(row.get(2))).isEqualTo("0x0203");
+
+    row = page.poll();
+    assertThat(row.get(0)).isNull();
+    assertThat(row.get(1)).isNotNull();
+    assertThat(row.get(1).remaining()).isEqualTo(0);
+    assertThat(Bytes.toHexString(row.get(2))).isEqualTo("0x04");
+
+    row = page.poll();
+    assertThat(Bytes.toHexString(row.get(0))).isEqualTo("0x0506");
+    assertThat(Bytes.toHexString(row.get(1))).isEqualTo("0x07");
+    assertThat(row.get(2)).isNull();
+
+    assertThat(page).isEmpty();
+    assertThat(page.poll()).isNull();
+  }
+
+  @Test
+  public void should_hand_out_independent_cell_buffers() {
+    Queue<List<ByteBuffer>> rows = new ArrayDeque<>();
+    rows.add(Lists.newArrayList(Bytes.fromHexString("0x0102")));
+    CompactPage page = CompactPage.copyOf(rows, 1);
+
+    List<ByteBuffer> row = page.peek();
+    // Consuming a cell must not affect the next reads
+    row.get(0).getShort();
+    assertThat(Bytes.toHexString(row.get(0))).isEqualTo("0x0102");
+    assertThat(row.get(0).position()).isEqualTo(0);
+  }
+
+  @Test
+  public void should_hand_out_read_only_cell_buffers() {
+    Queue<List<ByteBuffer>> rows = new ArrayDeque<>();
+    rows.add(Lists.newArrayList(Bytes.fromHexString("0x01"), Bytes.fromHexString("0x02")));
+    CompactPage page = CompactPage.copyOf(rows, 2);
+
+    ByteBuffer cell = page.peek().get(0);
+    // The cell must not give access to the rest of the page
+    assertThat(cell.isReadOnly()).isTrue();
+    assertThat(cell.hasArray()).isFalse();
+    assertThatThrownBy(() -> cell.put(0, (byte) 3)).isInstanceOf(ReadOnlyBufferException.class);
+    assertThat(Bytes.getArray(cell)).containsExactly(1);
+  }
+
+  @Test
+  public void should_return_same_row_view_from_peek_and_poll() {
+    Queue<List<ByteBuffer>> rows = new ArrayDeque<>();
+    rows.add(Lists.newArrayList(Bytes.fromHexString("0x01")));
+    rows.add(Lists.newArrayList(Bytes.fromHexString("0x0203")));
+    CompactPage page = CompactPage.copyOf(rows, 1);
+
+    List<ByteBuffer> row = page.peek();
+    assertThat(page.peek()).isSameAs(row);
+    assertThat(page.poll()).isSameAs(row);
+
+    row = page.poll();
+    // Cells are views of the page buffer, positioned on their bytes
+    ByteBuffer cell = row.get(0);
+    assertThat(cell.position()).isEqualTo(1);
+    assertThat(cell.remaining()).isEqualTo(2);
+    assertThat(Bytes.toHexString(cell)).isEqualTo("0x0203");
+    assertThat(page.peek()).isNull();
+  }
+
+  @Test
+  public void should_iterate_without_consuming() {
+    Queue<List<ByteBuffer>> rows = new ArrayDeque<>();
+    rows.add(Lists.newArrayList(Bytes.fromHexString("0x01")));
+    rows.add(Lists.newArrayList(Bytes.fromHexString("0x02")));
+    CompactPage page = CompactPage.copyOf(rows, 1);
+
+    page.poll();
+    Iterator<List<ByteBuffer>> iterator = page.iterator();
+    assertThat(Bytes.toHexString(iterator.next().get(0))).isEqualTo("0x02");
+    assertThat(iterator.hasNext()).isFalse();
+    assertThat(page).hasSize(1);
+  }
+
+  @Test
+  public void should_fail_if_row_has_wrong_size() {
+    Queue<List<ByteBuffer>> rows = new ArrayDeque<>();
+    rows.add(Lists.newArrayList(Bytes.fromHexString("0x01")));
+    assertThatThrownBy(() -> CompactPage.copyOf(rows, 2))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Expected 2 cells per row, got 1");
+  }
+
+  @Test
+  public void should_be_read_only() {
+    CompactPage page = CompactPage.copyOf(new ArrayDeque<>(), 1);
+    assertThatThrownBy(() -> page.offer(Lists.newArrayList(ByteBuffer.allocate(0))))
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.cql;
+
+import static com.datastax.oss.driver.Assertions.assertThat;
+import static com.datastax.oss.driver.Assertions.assertThatStage;
+import static com.datastax.oss.driver.internal.core.cql.CqlRequestHandlerTestBase.defaultFrameOf;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.DriverConfig;
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.metrics.DefaultSessionMetric;
+import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
+import com.datastax.oss.driver.internal.core.metrics.MetricsFactory;
+import com.datastax.oss.driver.internal.core.metrics.SessionMetricUpdater;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
+import com.datastax.oss.protocol.internal.Message;
+import com.datastax.oss.protocol.internal.ProtocolConstants;
+import com.datastax.oss.protocol.internal.response.result.ColumnSpec;
+import com.datastax.oss.protocol.internal.response.result.Prepared;
+import com.datastax.oss.protocol.internal.response.result.RawType;
+import com.datastax.oss.protocol.internal.response.result.RowsMetadata;
+import com.datastax.oss.protocol.internal.util.Bytes;
+import java.util.concurrent.CompletionStage;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+public class CqlPrepareAsyncProcessorTest {
+
+  @Mock private Node node;
+  @Mock private InternalDriverContext context;
+  @Mock private DriverConfig config;
+  @Mock private DriverExecutionProfile defaultProfile;
+  @Mock private MetricsFactory metricsFactory;
+  @Mock private SessionMetricUpdater sessionMetricUpdater;
+
+  @Before
+  public void setup() {
+    MockitoAnnotations.initMocks(this);
+
+    when(context.getConfig()).thenReturn(config);
+    when(config.getDefaultProfile()).thenReturn(defaultProfile);
+    when(context.getMetricsFactory()).thenReturn(metricsFactory);
+    when(metricsFactory.getSessionUpdater()).thenReturn(sessionMetricUpdater);
+
+    when(defaultProfile.getBoolean(DefaultDriverOption.PREPARED_CACHE_WEAK_VALUES, true))
+        .thenReturn(false);
+  }
+
+  @Test
+  public void should_serve_repeated_prepare_from_cache() {
+    CqlPrepareAsyncProcessor processor = new CqlPrepareAsyncProcessor(context);
+
+    CompletionStage<PreparedStatement> first = prepare(processor, "query", 1);
+    CompletionStage<PreparedStatement> second = prepare(processor, "query", 1);
+
+    assertThat(second).isSameAs(first);
+    assertThatStage(second).isSuccess(statement -> assertThat(statement.getId()).isNotNull());
+    verify(sessionMetricUpdater)
+        .incrementCounter(DefaultSessionMetric.CQL_PREPARED_CACHE_MISSES, null);
+    verify(sessionMetricUpdater)
+        .incrementCounter(DefaultSessionMetric.CQL_PREPARED_CACHE_HITS, null);
+  }
+
+  @Test
+  public void should_evict_least_recently_used_entry_when_max_size_reached() {
+    when(defaultProfile.getLong(DefaultDriverOption.PREPARED_CACHE_MAX_SIZE, 0)).thenReturn(2L);
+    CqlPrepareAsyncProcessor processor = new CqlPrepareAsyncProcessor(context);
+
+    prepare(processor, "query1", 1);
+    prepare(processor, "query2", 1);
+    // Access query1 again, so that query2 becomes the least recently used
+    prepare(processor, "query1", 1);
+    prepare(processor, "query3", 1);
+
+    assertThat(processor.getCache().asMap().keySet())
+        .extracting(request -> request.getQuery())
+        .containsOnly("query1", "query3");
+    verify(sessionMetricUpdater)
+        .incrementCounter(DefaultSessionMetric.CQL_PREPARED_CACHE_EVICTIONS, null);
+  }
+
+  @Test
+  public void should_weigh_entries_by_metadata_size() {
+    when(defaultProfile.getLong(DefaultDriverOption.PREPARED_CACHE_MAX_WEIGHT, 0)).thenReturn(5L);
+    CqlPrepareAsyncProcessor processor = new CqlPrepareAsyncProcessor(context);
+
+    // weight 4 (3 variables + 1), then 1 each: the third entry exceeds the limit, which evicts the
+    // first one. That only works if the first entry was reweighed after it completed.
+    prepare(processor, "query1", 3);
+    prepare(processor, "query2", 0);
+    assertThat(processor.getCache().size()).isEqualTo(2);
+    prepare(processor, "query3", 0);
+
+    assertThat(processor.getCache().asMap().keySet())
+        .extracting(request -> request.getQuery())
+        .containsOnly("query2", "query3");
+    verify(sessionMetricUpdater)
+        .incrementCounter(DefaultSessionMetric.CQL_PREPARED_CACHE_EVICTIONS, null);
+  }
+
+  @Test
+  public void should_keep_recently_used_entries_when_using_weak_values() {
+    when(defaultProfile.getBoolean(DefaultDriverOption.PREPARED_CACHE_WEAK_VALUES, true))
+        .thenReturn(true);
+    when(defaultProfile.getInt(DefaultDriverOption.PREPARED_CACHE_STRONG_REFERENCES, 0))
+        .thenReturn(1);
+    CqlPrepareAsyncProcessor processor = new CqlPrepareAsyncProcessor(context);
+
+    prepare(processor, "query1", 1);
+    prepare(processor, "query2", 1);
+    // The client code doesn't hold a reference to the statements anymore
+    System.gc();
+
+    assertThat(processor.getCache().asMap().keySet())
+        .extracting(request -> request.getQuery())
+        .contains("query2");
+    prepare(processor, "query2", 1);
+    verify(sessionMetricUpdater)
+        .incrementCounter(DefaultSessionMetric.CQL_PREPARED_CACHE_HITS, null);
+    verify(sessionMetricUpdater, times(2))
+        .incrementCounter(DefaultSessionMetric.CQL_PREPARED_CACHE_MISSES, null);
+  }
+
+  @Test
+  public void should_fail_if_both_max_size_and_max_weight_are_set() {
+    when(defaultProfile.getLong(DefaultDriverOption.PREPARED_CACHE_MAX_SIZE, 0)).thenReturn(10L);
+    when(defaultProfile.getLong(DefaultDriverOption.PREPARED_CACHE_MAX_WEIGHT, 0)).thenReturn(10L);
+
+    assertThatThrownBy(() -> new CqlPrepareAsyncProcessor(context))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("can't be used together");
+  }
+
+  private CompletionStage<PreparedStatement> prepare(
+      CqlPrepareAsyncProcessor processor, String query, int variableCount) {
+    // A new harness for each call, since the query plan can only be used once. If the query is in
+    // the cache, the node is simply never contacted.
+    try (RequestHandlerTestHarness harness =
+        RequestHandlerTestHarness.builder()
+            .withResponse(node, defaultFrameOf(prepared(variableCount)))
+            .build()) {
+      when(harness.getContext().getMetricsFactory()).thenReturn(metricsFactory);
+      return processor.process(
+          new DefaultPrepareRequest(query), harness.getSession(), harness.getContext(), "test");
+    }
+  }
+
+  private static Message prepared(int variableCount) {
+    ImmutableList.Builder<ColumnSpec> variables = ImmutableList.builder();
+    int[] pkIndices = new int[variableCount];
+    for (int i = 0; i < variableCount; i++) {
+      variables.add(
+          new ColumnSpec(
+              "ks",
+              "table",
+              "c" + i,
+              i,
+              RawType.PRIMITIVES.get(ProtocolConstants.DataType.VARCHAR)));
+      pkIndices[i] = i;
+    }
+    RowsMetadata variablesMetadata = new RowsMetadata(variables.build(), null, pkIndices, null);
+    RowsMetadata resultMetadata = new RowsMetadata(ImmutableList.of(), null, new int[] {}, null);
+    return new Prepared(
+        Bytes.fromHexString("0xffff").array(), null, variablesMetadata, resultMetadata);
+  }
+}
@@ -19,6 +19,8 @@ import static com.datastax.oss.driver.Assertions.assertThat;
 import static com.datastax.oss.driver.Assertions.assertThatStage;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -28,6 +30,7 @@ import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
 import com.datastax.oss.driver.api.core.cql.ColumnDefinition;
 import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
 import com.datastax.oss.driver.api.core.cql.ExecutionInfo;
+import com.datastax.oss.driver.api.core.cql.Row;
 import com.datastax.oss.driver.api.core.cql.Statement;
 import com.datastax.oss.driver.api.core.type.DataTypes;
 import com.datastax.oss.driver.api.core.type.codec.TypeCodecs;
@@ -37,6 +40,7 @@ import com.datastax.oss.driver.shaded.guava.common.collect.Lists;
 import com.datastax.oss.protocol.internal.util.Bytes;
 import java.nio.ByteBuffer;
 import java.util.ArrayDeque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
@@ -103,6 +107,130 @@ public class DefaultAsyncResultSetTest {
     assertThatStage(nextPageFuture).isEqualTo(mockResultFuture);
   }
 
+  @Test
+  public void should_prefetch_next_page_when_threshold_is_reached() {
+    // Given
+    ByteBuffer mockPagingState = ByteBuffer.allocate(0);
+    when(executionInfo.getPagingState()).thenReturn(mockPagingState);
+    Statement<?> mockNextStatement = mock(Statement.class);
+    when(((Statement) statement).copy(mockPagingState)).thenReturn(mockNextStatement);
+    CompletableFuture<AsyncResultSet> mockResultFuture = new CompletableFuture<>();
+    when(session.executeAsync(any(Statement.class))).thenAnswer(invocation -> mockResultFuture);
+    when(columnDefinitions.size()).thenReturn(1);
+
+    DefaultAsyncResultSet resultSet =
+        new DefaultAsyncResultSet(
+            columnDefinitions, executionInfo, rows(4), session, context, 1, 0.5);
+    Iterator<Row> iterator = resultSet.currentPage().iterator();
+
+    // When
+    iterator.next();
+
+    // Then
+    verify(session, never()).executeAsync(any(Statement.class));
+
+    // When
+    iterator.next();
+
+    // Then
+    verify(session).executeAsync(mockNextStatement);
+
+    // When
+    CompletionStage<AsyncResultSet> nextPageFuture = resultSet.fetchNextPage();
+
+    // Then
+    assertThatStage(nextPageFuture).isEqualTo(mockResultFuture);
+    verify(session, times(1)).executeAsync(any(Statement.class));
+  }
+
+  @Test
+  public void should_prefetch_multiple_pages_ahead() {
+    // Given
+    ByteBuffer mockPagingState = ByteBuffer.allocate(0);
+    when(executionInfo.getPagingState()).thenReturn(mockPagingState);
+    Statement<?> mockNextStatement = mock(Statement.class);
+    when(((Statement) statement).copy(mockPagingState)).thenReturn(mockNextStatement);
+    CompletableFuture<AsyncResultSet> page2Future = new CompletableFuture<>();
+    CompletableFuture<AsyncResultSet> page3Future = new CompletableFuture<>();
+    CompletableFuture<AsyncResultSet> page4Future = new CompletableFuture<>();
+    when(session.executeAsync(any(Statement.class)))
+        .thenAnswer(invocation -> page2Future)
+        .thenAnswer(invocation -> page3Future)
+        .thenAnswer(invocation -> page4Future);
+    when(columnDefinitions.size()).thenReturn(1);
+
+    DefaultAsyncResultSet page1 =
+        new DefaultAsyncResultSet(
+            columnDefinitions, executionInfo, rows(4), session, context, 2, 0);
+
+    // Then
+    verify(session, never()).executeAsync(any(Statement.class));
+
+    // When
+    page1.currentPage().iterator().next();
+
+    // Then
+    verify(session, times(1)).executeAsync(any(Statement.class));
+
+    // When
+    DefaultAsyncResultSet page2 =
+        new DefaultAsyncResultSet(
+            columnDefinitions, executionInfo, rows(4), session, context, 2, 0);
+    page2Future.complete(page2);
+
+    // Then
+    verify(session, times(2)).executeAsync(any(Statement.class));
+
+    // When
+    DefaultAsyncResultSet page3 =
+        new DefaultAsyncResultSet(
+            columnDefinitions, executionInfo, rows(4), session, context, 2, 0);
+    page3Future.complete(page3);
+
+    // Then
+    // The prefetched pages don't fetch further until the client iterates them
+    verify(session, times(2)).executeAsync(any(Statement.class));
+    assertThatStage(page1.fetchNextPage()).isSuccess(next -> assertThat(next).isSameAs(page2));
+    assertThatStage(page2.fetchNextPage()).isSuccess(next -> assertThat(next).isSameAs(page3));
+    verify(session, times(2)).executeAsync(any(Statement.class));
+
+    // When
+    page2.currentPage().iterator().next();
+
+    // Then
+    verify(session, times(3)).executeAsync(any(Statement.class));
+    assertThatStage(page3.fetchNextPage()).isEqualTo(page4Future);
+  }
+
+  @Test
+  public void should_fetch_again_if_prefetch_failed() {
+    // Given
+    ByteBuffer mockPagingState = ByteBuffer.allocate(0);
+    when(executionInfo.getPagingState()).thenReturn(mockPagingState);
+    Statement<?> mockNextStatement = mock(Statement.class);
+    when(((Statement) statement).copy(mockPagingState)).thenReturn(mockNextStatement);
+    CompletableFuture<AsyncResultSet> failedFuture = new CompletableFuture<>();
+    failedFuture.completeExceptionally(new RuntimeException("mock error"));
+    CompletableFuture<AsyncResultSet> mockResultFuture = new CompletableFuture<>();
+    when(session.executeAsync(any(Statement.class)))
+        .thenAnswer(invocation -> failedFuture)
+        .thenAnswer(invocation -> mockResultFuture);
+    when(columnDefinitions.size()).thenReturn(1);
+
+    DefaultAsyncResultSet resultSet =
+        new DefaultAsyncResultSet(
+            columnDefinitions, executionInfo, rows(1), session, context, 1, 0);
+    resultSet.currentPage().iterator().next();
+    verify(session, times(1)).executeAsync(any(Statement.class));
+
+    // When
+    CompletionStage<AsyncResultSet> nextPageFuture = resultSet.fetchNextPage();
+
+    // Then
+    verify(session, times(2)).executeAsync(any(Statement.class));
+    assertThatStage(nextPageFuture).isEqualTo(mockResultFuture);
+  }
+
   @Test
   public void should_report_applied_if_column_not_present_and_empty() {
     // Given
@@ -190,4 +318,12 @@ public class DefaultAsyncResultSetTest {
     // Then
     resultSet.wasApplied();
   }
+
+  private static Queue<List<ByteBuffer>> rows(int count) {
+    Queue<List<ByteBuffer>> data = new ArrayDeque<>();
+    for (int i = 0; i < count; i++) {
+      data.add(Lists.newArrayList(TypeCodecs.INT.encode(i, DefaultProtocolVersion.DEFAULT)));
+    }
+    return data;
+  }
 }
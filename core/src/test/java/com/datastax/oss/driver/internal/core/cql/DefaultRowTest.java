@@ -0,0 +1,154 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.cql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.DefaultProtocolVersion;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.RowAccessor;
+import com.datastax.oss.driver.api.core.detach.AttachmentPoint;
+import com.datastax.oss.driver.api.core.type.DataType;
+import com.datastax.oss.driver.api.core.type.codec.TypeCodecs;
+import com.datastax.oss.driver.api.core.type.codec.registry.CodecRegistry;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
+import com.datastax.oss.driver.shaded.guava.common.collect.Lists;
+import com.datastax.oss.protocol.internal.ProtocolConstants;
+import com.datastax.oss.protocol.internal.response.result.ColumnSpec;
+import com.datastax.oss.protocol.internal.response.result.RawType;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+public class DefaultRowTest {
+
+  @Mock private AttachmentPoint attachmentPoint;
+
+  private CodecRegistry codecRegistry;
+  private ColumnDefinitions definitions;
+
+  @Before
+  public void setup() {
+    MockitoAnnotations.initMocks(this);
+    codecRegistry = spy(CodecRegistry.DEFAULT);
+    when(attachmentPoint.getCodecRegistry()).thenReturn(codecRegistry);
+    when(attachmentPoint.getProtocolVersion()).thenReturn(DefaultProtocolVersion.DEFAULT);
+
+    definitions =
+        DefaultColumnDefinitions.valueOf(
+            ImmutableList.of(
+                new DefaultColumnDefinition(
+                    new ColumnSpec(
+                        "ks", "t", "i", 0, RawType.PRIMITIVES.get(ProtocolConstants.DataType.INT)),
+                    attachmentPoint),
+                new DefaultColumnDefinition(
+                    new ColumnSpec(
+                        "ks",
+                        "t",
+                        "l",
+                        1,
+                        RawType.PRIMITIVES.get(ProtocolConstants.DataType.BIGINT)),
+                    attachmentPoint),
+                new DefaultColumnDefinition(
+                    new ColumnSpec(
+                        "ks",
+                        "t",
+                        "s",
+                        2,
+                        RawType.PRIMITIVES.get(ProtocolConstants.DataType.VARCHAR)),
+                    attachmentPoint)));
+  }
+
+  @Test
+  public void should_cache_codecs_across_rows() {
+    Row row1 = newRow(1, 10L, "a");
+    Row row2 = newRow(2, 20L, "b");
+
+    assertThat(row1.getInt(0)).isEqualTo(1);
+    assertThat(row1.getLong("l")).isEqualTo(10L);
+    assertThat(row1.getString(2)).isEqualTo("a");
+    assertThat(row2.getInt(0)).isEqualTo(2);
+    assertThat(row2.getLong("l")).isEqualTo(20L);
+    assertThat(row2.getString(2)).isEqualTo("b");
+
+    verify(codecRegistry, times(1)).codecFor(any(DataType.class), eq(Integer.class));
+    verify(codecRegistry, times(1)).codecFor(any(DataType.class), eq(Long.class));
+    verify(codecRegistry, times(1)).codecFor(any(DataType.class), eq(String.class));
+  }
+
+  @Test
+  public void should_not_reuse_cached_codec_for_other_target_type() {
+    Row row = newRow(1, 10L, "a");
+
+    assertThat(row.getInt(0)).isEqualTo(1);
+    assertThat(row.get(0, Integer.class)).isEqualTo(1);
+    assertThatThrownBy(() -> row.getLong(0))
+        .hasMessageContaining("Codec not found for requested operation: [INT <-> java.lang.Long]");
+  }
+
+  @Test
+  public void should_return_default_value_for_null_primitive() {
+    Row row = new DefaultRow(definitions, Lists.newArrayList(null, null, null), attachmentPoint);
+
+    assertThat(row.getInt(0)).isEqualTo(0);
+    assertThat(row.getLong(1)).isEqualTo(0L);
+    assertThat(row.getString(2)).isNull();
+  }
+
+  @Test
+  public void should_read_through_accessor() {
+    RowAccessor i = definitions.accessor("i");
+    RowAccessor l = definitions.accessor(CqlIdentifier.fromCql("l"));
+    RowAccessor s = definitions.accessor("s");
+
+    assertThat(i.getIndex()).isEqualTo(0);
+    assertThat(l.getIndex()).isEqualTo(1);
+    assertThat(s.getIndex()).isEqualTo(2);
+
+    Row row = newRow(1, 10L, "a");
+    assertThat(i.getInt(row)).isEqualTo(1);
+    assertThat(l.getLong(row)).isEqualTo(10L);
+    assertThat(s.getString(row)).isEqualTo("a");
+    assertThat(s.isNull(row)).isFalse();
+  }
+
+  @Test
+  public void should_fail_to_create_accessor_for_unknown_column() {
+    assertThatThrownBy(() -> definitions.accessor("unknown"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("No definition named unknown");
+  }
+
+  private Row newRow(int i, long l, String s) {
+    return new DefaultRow(
+        definitions,
+        Lists.newArrayList(
+            TypeCodecs.INT.encode(i, DefaultProtocolVersion.DEFAULT),
+            TypeCodecs.BIGINT.encode(l, DefaultProtocolVersion.DEFAULT),
+            TypeCodecs.TEXT.encode(s, DefaultProtocolVersion.DEFAULT)),
+        attachmentPoint);
+  }
+}
@@ -0,0 +1,324 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.cql;
+
+import static com.datastax.oss.driver.Assertions.assertThat;
+import static com.datastax.oss.driver.Assertions.assertThatStage;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.cql.TableScan;
+import com.datastax.oss.driver.api.core.cql.TableScanCheckpoint;
+import com.datastax.oss.driver.api.core.metadata.Metadata;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.KeyspaceMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
+import com.datastax.oss.driver.internal.core.metadata.token.Murmur3Token;
+import com.datastax.oss.driver.internal.core.metadata.token.Murmur3TokenRange;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class TableScannerTest extends ResultSetTestBase {
+
+  private static final CqlIdentifier KEYSPACE_ID = CqlIdentifier.fromInternal("ks");
+  private static final CqlIdentifier TABLE_ID = CqlIdentifier.fromInternal("foo");
+
+  private static final Murmur3Token MIN = new Murmur3Token(Long.MIN_VALUE);
+  private static final Murmur3Token TOKEN1 = new Murmur3Token(-100);
+  private static final Murmur3Token TOKEN2 = new Murmur3Token(100);
+
+  // ]-100, 100]
+  private static final TokenRange RANGE1 = new Murmur3TokenRange(TOKEN1, TOKEN2);
+  // ]100, min] and ]min, -100], the unwrapped parts of ]100, -100]
+  private static final TokenRange RANGE2 = new Murmur3TokenRange(TOKEN2, MIN);
+  private static final TokenRange RANGE3 = new Murmur3TokenRange(MIN, TOKEN1);
+
+  @Mock private CqlSession session;
+  @Mock private Metadata metadata;
+  @Mock private TokenMap tokenMap;
+  @Mock private KeyspaceMetadata keyspace;
+  @Mock private TableMetadata table;
+  @Mock private ColumnMetadata partitionKey;
+  @Mock private PreparedStatement rangeQuery;
+  @Mock private PreparedStatement openRangeQuery;
+  @Mock private Node node1;
+  @Mock private Node node2;
+
+  private final List<String> preparedQueries = new ArrayList<>();
+  // The start, end and routing tokens of each bound statement
+  private final Map<BoundStatement, Token[]> boundTokens = new IdentityHashMap<>();
+  private final Map<TokenRange, CompletableFuture<AsyncResultSet>> executedQueries =
+      new LinkedHashMap<>();
+
+  @Before
+  public void setup() {
+    when(session.getMetadata()).thenReturn(metadata);
+    when(metadata.getTokenMap()).thenReturn(Optional.of(tokenMap));
+    when(metadata.getKeyspace(KEYSPACE_ID)).thenReturn(Optional.of(keyspace));
+    when(keyspace.getTable(any(CqlIdentifier.class))).thenReturn(Optional.empty());
+    when(keyspace.getTable(TABLE_ID)).thenReturn(Optional.of(table));
+    when(keyspace.getViews()).thenReturn(ImmutableMap.of());
+    when(table.getKeyspace()).thenReturn(KEYSPACE_ID);
+    when(table.getName()).thenReturn(TABLE_ID);
+    when(table.getPartitionKey()).thenReturn(ImmutableList.of(partitionKey));
+    when(partitionKey.getName()).thenReturn(CqlIdentifier.fromInternal("k"));
+
+    when(tokenMap.getTokenRanges())
+        .thenReturn(ImmutableSet.of(RANGE1, new Murmur3TokenRange(TOKEN2, TOKEN1)));
+    when(tokenMap.newTokenRange(any(Token.class), any(Token.class)))
+        .thenAnswer(
+            invocation ->
+                new Murmur3TokenRange(
+                    invocation.<Murmur3Token>getArgument(0),
+                    invocation.<Murmur3Token>getArgument(1)));
+    when(tokenMap.getReplicas(eq(KEYSPACE_ID), any(TokenRange.class)))
+        .thenAnswer(
+            invocation -> {
+              TokenRange range = invocation.getArgument(1);
+              return RANGE1.contains(range.getEnd())
+                  ? ImmutableSet.of(node1)
+                  : ImmutableSet.of(node2);
+            });
+
+    when(session.prepareAsync(any(SimpleStatement.class)))
+        .thenAnswer(
+            invocation -> {
+              String query = invocation.<SimpleStatement>getArgument(0).getQuery();
+              preparedQueries.add(query);
+              return CompletableFuture.completedFuture(
+                  query.contains("<=") ? rangeQuery : openRangeQuery);
+            });
+    when(rangeQuery.bind()).thenAnswer(invocation -> mockBoundStatement());
+    when(openRangeQuery.bind()).thenAnswer(invocation -> mockBoundStatement());
+    when(session.executeAsync(any(Statement.class)))
+        .thenAnswer(
+            invocation -> {
+              Token[] tokens = boundTokens.get(invocation.<BoundStatement>getArgument(0));
+              Murmur3Token start = (Murmur3Token) tokens[0];
+              Murmur3Token end = (tokens[1] == null) ? MIN : (Murmur3Token) tokens[1];
+              assertThat(tokens[2]).isEqualTo(end);
+              CompletableFuture<AsyncResultSet> future = new CompletableFuture<>();
+              executedQueries.put(new Murmur3TokenRange(start, end), future);
+              return future;
+            });
+  }
+
+  @Test
+  public void should_split_ring_and_prepare_range_queries() {
+    // When
+    TableScan scan =
+        TableScan.newInstance(KEYSPACE_ID, TABLE_ID)
+            .setColumns(ImmutableList.of(CqlIdentifier.fromInternal("v")))
+            .setSplitsPerRange(2)
+            .setParallelism(10);
+    new TableScanner(session, scan).start();
+
+    // Then
+    assertThat(preparedQueries)
+        .containsExactly(
+            "SELECT v FROM ks.foo WHERE token(k) > ? AND token(k) <= ?",
+            "SELECT v FROM ks.foo WHERE token(k) > ?");
+    // each range is split in 2, and the wrapped part of the second one is unwrapped at the
+    // minimum token
+    assertThat(executedQueries)
+        .hasSize(5)
+        .containsKeys(
+            new Murmur3TokenRange(TOKEN1, new Murmur3Token(0)),
+            new Murmur3TokenRange(new Murmur3Token(0), TOKEN2),
+            RANGE2);
+  }
+
+  @Test
+  public void should_not_read_more_ranges_than_parallelism() {
+    // Given
+    TableScanCheckpoint checkpoint = new TableScanCheckpoint();
+    TableScan scan =
+        TableScan.newInstance(KEYSPACE_ID, TABLE_ID).setParallelism(2).setListener(checkpoint);
+
+    // When
+    CompletionStage<AsyncResultSet> firstPageFuture = new TableScanner(session, scan).start();
+
+    // Then
+    // ranges are interleaved by replica
+    assertThat(checkpoint.getRemainingRanges()).containsExactly(RANGE1, RANGE2, RANGE3);
+    assertThat(executedQueries.keySet()).containsExactly(RANGE1, RANGE2);
+    assertThatStage(firstPageFuture).isNotDone();
+
+    // When
+    executedQueries.get(RANGE2).complete(mockPage(false, 3, 4));
+    AsyncResultSet page1 = assertPage(firstPageFuture, 3, 4);
+    assertThat(page1.hasMorePages()).isTrue();
+    CompletionStage<AsyncResultSet> page2Future = page1.fetchNextPage();
+
+    // Then
+    // moving past the last page of a range completes it, which starts the next one
+    assertThat(checkpoint.getRemainingRanges()).containsExactly(RANGE1, RANGE3);
+    assertThat(executedQueries.keySet()).containsExactly(RANGE1, RANGE2, RANGE3);
+    assertThatStage(page2Future).isNotDone();
+  }
+
+  @Test
+  public void should_read_all_pages_of_all_ranges() {
+    // Given
+    TableScanCheckpoint checkpoint = new TableScanCheckpoint();
+    TableScan scan =
+        TableScan.newInstance(KEYSPACE_ID, TABLE_ID).setParallelism(3).setListener(checkpoint);
+    CompletionStage<AsyncResultSet> firstPageFuture = new TableScanner(session, scan).start();
+    AsyncResultSet range1Page1 = mockPage(true, 0, 1);
+    AsyncResultSet range1Page2 = mockPage(false, 2);
+    AsyncResultSet range2Page = mockPage(false, 3, 4);
+    AsyncResultSet range3Page = mockPage(false);
+    executedQueries.get(RANGE1).complete(range1Page1);
+
+    // When
+    AsyncResultSet page1 = assertPage(firstPageFuture, 0, 1);
+    CompletionStage<AsyncResultSet> page2Future = page1.fetchNextPage();
+    executedQueries.get(RANGE2).complete(range2Page);
+    executedQueries.get(RANGE3).complete(range3Page);
+
+    // Then
+    // the next page of range 1 was requested, but range 2 was received first
+    verify(range1Page1).fetchNextPage();
+    AsyncResultSet page2 = assertPage(page2Future, 3, 4);
+    assertThat(page2.hasMorePages()).isTrue();
+    AsyncResultSet page3 = assertPage(page2.fetchNextPage());
+    assertThat(page3.hasMorePages()).isTrue();
+    CompletionStage<AsyncResultSet> page4Future = page3.fetchNextPage();
+    assertThatStage(page4Future).isNotDone();
+    complete(range1Page1.fetchNextPage(), range1Page2);
+    AsyncResultSet page4 = assertPage(page4Future, 2);
+    assertThat(page4.hasMorePages()).isFalse();
+    // the last range is completed as soon as its last page is delivered
+    assertThat(checkpoint.getRemainingRanges()).isEmpty();
+    assertThat(checkpoint.isComplete()).isTrue();
+    assertThat(checkpoint.getRowCount()).isEqualTo(5);
+  }
+
+  @Test
+  public void should_fail_next_page_if_range_query_fails() {
+    // Given
+    TableScan scan = TableScan.newInstance(KEYSPACE_ID, TABLE_ID).setParallelism(2);
+    CompletionStage<AsyncResultSet> firstPageFuture = new TableScanner(session, scan).start();
+    executedQueries.get(RANGE1).complete(mockPage(false, 0));
+    AsyncResultSet page1 = assertPage(firstPageFuture, 0);
+
+    // When
+    RuntimeException error = new RuntimeException("mock error");
+    executedQueries.get(RANGE2).completeExceptionally(error);
+
+    // Then
+    assertThat(page1.hasMorePages()).isTrue();
+    assertThatStage(page1.fetchNextPage()).isFailed(e -> assertThat(e).isSameAs(error));
+    // no new range is started after a failure
+    assertThat(executedQueries.keySet()).containsExactly(RANGE1, RANGE2);
+  }
+
+  @Test
+  public void should_only_read_explicit_ranges() {
+    // Given
+    TableScan scan =
+        TableScan.newInstance(KEYSPACE_ID, TABLE_ID)
+            .setSplitsPerRange(10)
+            .setRanges(ImmutableList.of(RANGE1));
+
+    // When
+    new TableScanner(session, scan).start();
+
+    // Then
+    assertThat(executedQueries.keySet()).containsExactly(RANGE1);
+    verify(openRangeQuery, never()).bind();
+    assertThat(preparedQueries).hasSize(1);
+  }
+
+  @Test
+  public void should_fail_if_table_does_not_exist() {
+    // Given
+    TableScan scan = TableScan.newInstance(KEYSPACE_ID, CqlIdentifier.fromInternal("bar"));
+
+    // When
+    CompletionStage<AsyncResultSet> future = new TableScanner(session, scan).start();
+
+    // Then
+    assertThatStage(future)
+        .isFailed(
+            e ->
+                assertThat(e)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Unknown table ks.bar"));
+    assertThat(preparedQueries).isEmpty();
+  }
+
+  private AsyncResultSet assertPage(CompletionStage<AsyncResultSet> pageFuture, int... values) {
+    assertThatStage(pageFuture).isDone();
+    AsyncResultSet page = pageFuture.toCompletableFuture().join();
+    List<Integer> actual = new ArrayList<>();
+    page.currentPage().forEach(row -> actual.add(row.getInt(0)));
+    assertThat(actual).containsExactly(Arrays.stream(values).boxed().toArray(Integer[]::new));
+    return page;
+  }
+
+  private BoundStatement mockBoundStatement() {
+    BoundStatement statement = mock(BoundStatement.class);
+    Token[] tokens = new Token[3];
+    boundTokens.put(statement, tokens);
+    when(statement.setToken(anyInt(), any(Token.class)))
+        .thenAnswer(
+            invocation -> {
+              tokens[invocation.<Integer>getArgument(0)] = invocation.getArgument(1);
+              return statement;
+            });
+    when(statement.setRoutingToken(any(Token.class)))
+        .thenAnswer(
+            invocation -> {
+              tokens[2] = invocation.getArgument(0);
+              return statement;
+            });
+    when(statement.setExecutionProfileName(any())).thenReturn(statement);
+    return statement;
+  }
+}
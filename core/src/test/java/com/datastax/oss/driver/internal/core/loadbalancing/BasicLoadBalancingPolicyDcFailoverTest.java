@@ -0,0 +1,235 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.loadbalancing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.ConsistencyLevel;
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.loadbalancing.NodeDistance;
+import com.datastax.oss.driver.api.core.metadata.Metadata;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.metadata.NodeState;
+import com.datastax.oss.driver.internal.core.DefaultConsistencyLevelRegistry;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BasicLoadBalancingPolicyDcFailoverTest extends DefaultLoadBalancingPolicyTestBase {
+
+  @Mock private Metadata metadata;
+
+  private Map<UUID, Node> nodes;
+
+  @Before
+  @Override
+  public void setup() {
+    super.setup();
+    // node1 and node2 in the local DC, node3 to node5 in dc2
+    when(node3.getDatacenter()).thenReturn("dc2");
+    when(node4.getDatacenter()).thenReturn("dc2");
+    when(node5.getDatacenter()).thenReturn("dc2");
+    nodes =
+        ImmutableMap.<UUID, Node>builder()
+            .put(UUID.randomUUID(), node1)
+            .put(UUID.randomUUID(), node2)
+            .put(UUID.randomUUID(), node3)
+            .put(UUID.randomUUID(), node4)
+            .put(UUID.randomUUID(), node5)
+            .build();
+    when(metadataManager.getContactPoints()).thenReturn(ImmutableSet.of(node1));
+    when(metadataManager.getMetadata()).thenReturn(metadata);
+    when(metadata.getNodes()).thenReturn(nodes);
+    when(context.getConsistencyLevelRegistry()).thenReturn(new DefaultConsistencyLevelRegistry());
+    when(defaultProfile.getString(DefaultDriverOption.REQUEST_CONSISTENCY)).thenReturn("LOCAL_ONE");
+    when(defaultProfile.getInt(
+            DefaultDriverOption.LOAD_BALANCING_DC_FAILOVER_USED_HOSTS_PER_REMOTE_DC, 0))
+        .thenReturn(2);
+  }
+
+  @Test
+  public void should_use_remote_nodes_up_to_configured_number_per_dc() {
+    // When
+    BasicLoadBalancingPolicy policy = createAndInitPolicy();
+
+    // Then
+    verify(distanceReporter).setDistance(node1, NodeDistance.LOCAL);
+    verify(distanceReporter).setDistance(node2, NodeDistance.LOCAL);
+    verify(distanceReporter).setDistance(node3, NodeDistance.REMOTE);
+    verify(distanceReporter).setDistance(node4, NodeDistance.REMOTE);
+    verify(distanceReporter).setDistance(node5, NodeDistance.IGNORED);
+    assertThat(policy.liveNodes).containsExactlyInAnyOrder(node1, node2);
+    assertThat(policy.remoteLiveNodes.get("dc2")).containsExactlyInAnyOrder(node3, node4);
+  }
+
+  @Test
+  public void should_not_use_remote_nodes_if_failover_disabled() {
+    // Given
+    when(defaultProfile.getInt(
+            DefaultDriverOption.LOAD_BALANCING_DC_FAILOVER_USED_HOSTS_PER_REMOTE_DC, 0))
+        .thenReturn(0);
+
+    // When
+    BasicLoadBalancingPolicy policy = createAndInitPolicy();
+
+    // Then
+    verify(distanceReporter).setDistance(node3, NodeDistance.IGNORED);
+    verify(distanceReporter).setDistance(node4, NodeDistance.IGNORED);
+    verify(distanceReporter).setDistance(node5, NodeDistance.IGNORED);
+    assertThat(policy.remoteLiveNodes).isEmpty();
+    assertThat(policy.newQueryPlan(null, null)).containsExactlyInAnyOrder(node1, node2);
+  }
+
+  @Test
+  public void should_append_remote_nodes_after_local_nodes() {
+    // Given
+    BasicLoadBalancingPolicy policy = createAndInitPolicy();
+
+    // When
+    Queue<Node> plan =
+        policy.newQueryPlan(
+            SimpleStatement.newInstance("SELECT").setConsistencyLevel(ConsistencyLevel.ONE), null);
+
+    // Then
+    assertThat(plan).hasSize(4);
+    List<Node> polled = new ArrayList<>();
+    Node node;
+    while ((node = plan.poll()) != null) {
+      polled.add(node);
+    }
+    assertThat(polled.subList(0, 2)).containsExactlyInAnyOrder(node1, node2);
+    assertThat(polled.subList(2, 4)).containsExactlyInAnyOrder(node3, node4);
+    assertThat(plan).isEmpty();
+  }
+
+  @Test
+  public void should_not_append_remote_nodes_for_local_consistency_level() {
+    // Given
+    BasicLoadBalancingPolicy policy = createAndInitPolicy();
+
+    // Then
+    assertThat(
+            policy.newQueryPlan(
+                SimpleStatement.newInstance("SELECT")
+                    .setConsistencyLevel(ConsistencyLevel.LOCAL_QUORUM),
+                null))
+        .containsExactlyInAnyOrder(node1, node2);
+    // no explicit CL: the default from the configuration (LOCAL_ONE) applies
+    assertThat(policy.newQueryPlan(SimpleStatement.newInstance("SELECT"), null))
+        .containsExactlyInAnyOrder(node1, node2);
+  }
+
+  @Test
+  public void should_append_remote_nodes_for_local_consistency_level_if_allowed() {
+    // Given
+    when(defaultProfile.getBoolean(
+            DefaultDriverOption.LOAD_BALANCING_DC_FAILOVER_ALLOW_FOR_LOCAL_CONSISTENCY_LEVELS,
+            false))
+        .thenReturn(true);
+    BasicLoadBalancingPolicy policy = createAndInitPolicy();
+
+    // Then
+    assertThat(policy.newQueryPlan(SimpleStatement.newInstance("SELECT"), null))
+        .containsExactlyInAnyOrder(node1, node2, node3, node4);
+  }
+
+  @Test
+  public void should_replace_remote_node_that_goes_down() {
+    // Given
+    BasicLoadBalancingPolicy policy = createAndInitPolicy();
+    when(node5.getState()).thenReturn(NodeState.UP);
+
+    // When
+    policy.onDown(node3);
+
+    // Then
+    verify(distanceReporter).setDistance(node5, NodeDistance.REMOTE);
+    assertThat(policy.remoteLiveNodes.get("dc2")).containsExactlyInAnyOrder(node4, node5);
+    assertThat(policy.liveNodes).containsExactlyInAnyOrder(node1, node2);
+  }
+
+  @Test
+  public void should_not_use_remote_node_that_comes_back_up_if_dc_is_full() {
+    // Given
+    BasicLoadBalancingPolicy policy = createAndInitPolicy();
+    reset(distanceReporter);
+
+    // When
+    policy.onUp(node5);
+
+    // Then
+    verify(distanceReporter).setDistance(node5, NodeDistance.IGNORED);
+    verify(distanceReporter, never()).setDistance(eq(node5), eq(NodeDistance.REMOTE));
+    assertThat(policy.remoteLiveNodes.get("dc2")).containsExactlyInAnyOrder(node3, node4);
+  }
+
+  @Test
+  public void should_use_remote_node_that_comes_back_up_if_dc_has_room() {
+    // Given
+    BasicLoadBalancingPolicy policy = createAndInitPolicy();
+    policy.onDown(node3);
+
+    // When
+    policy.onUp(node3);
+
+    // Then
+    assertThat(policy.remoteLiveNodes.get("dc2")).containsExactlyInAnyOrder(node3, node4);
+  }
+
+  @Test
+  public void should_not_use_more_added_remote_nodes_than_configured_number_per_dc() {
+    // Given
+    BasicLoadBalancingPolicy policy =
+        new BasicLoadBalancingPolicy(context, DriverExecutionProfile.DEFAULT_NAME);
+    policy.init(
+        ImmutableMap.of(UUID.randomUUID(), node1, UUID.randomUUID(), node2), distanceReporter);
+
+    // When
+    policy.onAdd(node3);
+    policy.onAdd(node4);
+    policy.onAdd(node5);
+
+    // Then
+    verify(distanceReporter).setDistance(node3, NodeDistance.REMOTE);
+    verify(distanceReporter).setDistance(node4, NodeDistance.REMOTE);
+    verify(distanceReporter).setDistance(node5, NodeDistance.IGNORED);
+    assertThat(policy.remoteLiveNodes.get("dc2")).containsExactlyInAnyOrder(node3, node4);
+  }
+
+  private BasicLoadBalancingPolicy createAndInitPolicy() {
+    BasicLoadBalancingPolicy policy =
+        new BasicLoadBalancingPolicy(context, DriverExecutionProfile.DEFAULT_NAME);
+    policy.init(nodes, distanceReporter);
+    return policy;
+  }
+}
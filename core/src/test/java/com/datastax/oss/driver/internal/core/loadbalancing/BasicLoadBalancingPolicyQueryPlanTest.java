@@ -250,6 +250,24 @@ public class BasicLoadBalancingPolicyQueryPlanTest extends DefaultLoadBalancingP
     verify(session, never()).getPools();
   }
 
+  @Test
+  public void should_update_replicas_when_live_nodes_change() {
+    when(request.getRoutingKeyspace()).thenReturn(KEYSPACE);
+    when(request.getRoutingKey()).thenReturn(ROUTING_KEY);
+    when(tokenMap.getReplicas(KEYSPACE, ROUTING_KEY)).thenReturn(ImmutableSet.of(node3, node5));
+
+    assertThat(policy.newQueryPlan(request, session))
+        .containsExactly(node3, node5, node1, node2, node4);
+
+    policy.onDown(node3);
+    assertThat(policy.newQueryPlan(request, session)).containsExactly(node5, node2, node4, node1);
+
+    policy.onUp(node3);
+    // node3 was added back at the end of the live nodes
+    assertThat(policy.newQueryPlan(request, session))
+        .containsExactly(node5, node3, node4, node1, node2);
+  }
+
   protected BasicLoadBalancingPolicy createAndInitPolicy() {
     // Use a subclass to disable shuffling, we just spy to make sure that the shuffling method was
     // called (makes tests easier)
@@ -0,0 +1,199 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.loadbalancing;
+
+import static com.datastax.oss.driver.api.core.config.DriverExecutionProfile.DEFAULT_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+import com.datastax.dse.driver.internal.core.tracker.MultiplexingRequestTracker;
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.metadata.Metadata;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.session.Request;
+import com.datastax.oss.driver.internal.core.pool.ChannelPool;
+import com.datastax.oss.driver.internal.core.session.DefaultSession;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableSet;
+import com.datastax.oss.protocol.internal.util.Bytes;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DefaultLoadBalancingPolicyLatencyAwarenessTest
+    extends DefaultLoadBalancingPolicyTestBase {
+
+  private static final CqlIdentifier KEYSPACE = CqlIdentifier.fromInternal("ks");
+  private static final ByteBuffer ROUTING_KEY = Bytes.fromHexString("0xdeadbeef");
+  private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  @Mock private Request request;
+  @Mock private DefaultSession session;
+  @Mock private Metadata metadata;
+  @Mock private TokenMap tokenMap;
+  @Mock private ChannelPool pool1;
+  @Mock private ChannelPool pool2;
+  @Mock private ChannelPool pool3;
+
+  private long nanoTime;
+  private DefaultLoadBalancingPolicy policy;
+
+  @Before
+  @Override
+  public void setup() {
+    super.setup();
+    given(
+            defaultProfile.getBoolean(
+                DefaultDriverOption.LOAD_BALANCING_LATENCY_AWARENESS_ENABLED, false))
+        .willReturn(true);
+    given(
+            defaultProfile.getDuration(
+                DefaultDriverOption.LOAD_BALANCING_LATENCY_AWARENESS_HALF_LIFE))
+        .willReturn(Duration.ofMillis(100));
+    given(
+            defaultProfile.getDuration(
+                DefaultDriverOption.LOAD_BALANCING_LATENCY_AWARENESS_RETRY_PERIOD))
+        .willReturn(Duration.ofSeconds(1));
+    given(context.getRequestTracker()).willReturn(new MultiplexingRequestTracker());
+    given(metadataManager.getContactPoints()).willReturn(ImmutableSet.of(node1));
+    given(metadataManager.getMetadata()).willReturn(metadata);
+    given(metadata.getTokenMap()).willAnswer(invocation -> Optional.of(tokenMap));
+    given(session.getPools()).willReturn(ImmutableMap.of(node1, pool1, node2, pool2, node3, pool3));
+    given(request.getRoutingKeyspace()).willReturn(KEYSPACE);
+    given(request.getRoutingKey()).willReturn(ROUTING_KEY);
+    given(tokenMap.getReplicas(KEYSPACE, ROUTING_KEY))
+        .willReturn(ImmutableSet.of(node1, node2, node3));
+
+    nanoTime = 0;
+    policy =
+        new DefaultLoadBalancingPolicy(context, DEFAULT_NAME) {
+          @Override
+          protected void shuffleHead(Object[] array, int n) {}
+
+          @Override
+          protected long nanoTime() {
+            return nanoTime;
+          }
+        };
+    policy.init(
+        ImmutableMap.of(
+            UUID.randomUUID(), node1,
+            UUID.randomUUID(), node2,
+            UUID.randomUUID(), node3,
+            UUID.randomUUID(), node4,
+            UUID.randomUUID(), node5),
+        distanceReporter);
+  }
+
+  @Test
+  public void should_keep_shuffled_order_when_no_measurements_and_no_load() {
+    assertThat(policy.newQueryPlan(request, session).poll()).isEqualTo(node1);
+  }
+
+  @Test
+  public void should_rank_all_replicas_by_latency() {
+    // Given
+    recordSuccess(node1, 30 * MS);
+    recordSuccess(node2, 20 * MS);
+    recordSuccess(node3, MS);
+
+    // Then
+    assertThat(policy.newQueryPlan(request, session))
+        .startsWith(node3, node2, node1)
+        .containsOnly(node1, node2, node3, node4, node5);
+  }
+
+  @Test
+  public void should_take_in_flight_requests_into_account() {
+    // Given
+    recordSuccess(node1, MS);
+    recordSuccess(node2, 2 * MS);
+    recordSuccess(node3, 3 * MS);
+    given(pool1.getInFlight()).willReturn(10);
+    given(pool2.getInFlight()).willReturn(0);
+    given(pool3.getInFlight()).willReturn(0);
+
+    // Then
+    assertThat(policy.newQueryPlan(request, session)).startsWith(node2, node3, node1);
+  }
+
+  @Test
+  public void should_avoid_replica_after_latency_spike() {
+    // Given
+    recordSuccess(node1, MS);
+    recordSuccess(node2, 2 * MS);
+    recordSuccess(node3, 2 * MS);
+    assertThat(policy.newQueryPlan(request, session).poll()).isEqualTo(node1);
+
+    // When
+    // e.g. a GC pause
+    nanoTime += MS;
+    policy.onNodeError(request, new RuntimeException(), 500 * MS, defaultProfile, node1, "test");
+
+    // Then
+    assertThat(policy.newQueryPlan(request, session)).startsWith(node2, node3, node1);
+  }
+
+  @Test
+  public void should_score_unmeasured_replica_with_average_of_others() {
+    // Given
+    recordSuccess(node1, 10 * MS);
+    recordSuccess(node2, 2 * MS);
+    // node3 has no measurements: it is scored with 6ms
+
+    // Then
+    assertThat(policy.newQueryPlan(request, session)).startsWith(node2, node3, node1);
+  }
+
+  @Test
+  public void should_retry_replica_when_measurements_are_obsolete() {
+    // Given
+    recordSuccess(node1, 10 * MS);
+    nanoTime += TimeUnit.SECONDS.toNanos(2);
+    recordSuccess(node2, 2 * MS);
+    recordSuccess(node3, 4 * MS);
+
+    // Then
+    // node1's measurement is older than the retry period: it is scored with 3ms
+    assertThat(policy.newQueryPlan(request, session)).startsWith(node2, node1, node3);
+  }
+
+  @Test
+  public void should_forget_measurements_when_node_comes_back_up() {
+    // Given
+    recordSuccess(node1, 10 * MS);
+
+    // When
+    policy.onUp(node1);
+
+    // Then
+    assertThat(policy.latencies).doesNotContainKey(node1);
+  }
+
+  private void recordSuccess(Node node, long latencyNanos) {
+    policy.onNodeSuccess(request, latencyNanos, defaultProfile, node, "test");
+  }
+}
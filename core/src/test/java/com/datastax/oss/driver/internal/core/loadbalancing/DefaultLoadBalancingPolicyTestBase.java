@@ -16,6 +16,7 @@
 package com.datastax.oss.driver.internal.core.loadbalancing;
 
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.when;
 
 import ch.qos.logback.classic.Logger;
@@ -73,7 +74,11 @@ public abstract class DefaultLoadBalancingPolicyTestBase {
         .thenReturn(true);
     when(defaultProfile.getString(DefaultDriverOption.LOAD_BALANCING_LOCAL_DATACENTER))
         .thenReturn("dc1");
-    when(defaultProfile.getBoolean(DefaultDriverOption.LOAD_BALANCING_POLICY_SLOW_AVOIDANCE, true))
+    // Only read by DefaultLoadBalancingPolicy, not by the basic policy
+    lenient()
+        .when(
+            defaultProfile.getBoolean(
+                DefaultDriverOption.LOAD_BALANCING_POLICY_SLOW_AVOIDANCE, true))
         .thenReturn(true);
 
     when(context.getMetadataManager()).thenReturn(metadataManager);
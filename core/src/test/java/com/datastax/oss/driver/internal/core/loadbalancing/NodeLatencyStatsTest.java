@@ -0,0 +1,74 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.loadbalancing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class NodeLatencyStatsTest {
+
+  private static final long HALF_LIFE = TimeUnit.MILLISECONDS.toNanos(100);
+  private static final long RETRY_PERIOD = TimeUnit.SECONDS.toNanos(1);
+
+  @Test
+  public void should_report_unknown_average_when_no_measurements() {
+    NodeLatencyStats stats = new NodeLatencyStats(HALF_LIFE);
+    assertThat(stats.getAverageNanos(0, RETRY_PERIOD)).isNegative();
+  }
+
+  @Test
+  public void should_use_first_measurement_as_average() {
+    NodeLatencyStats stats = new NodeLatencyStats(HALF_LIFE);
+    stats.record(1000, false, 0);
+    assertThat(stats.getAverageNanos(0, RETRY_PERIOD)).isEqualTo(1000);
+  }
+
+  @Test
+  public void should_decay_towards_lower_measurements_according_to_half_life() {
+    NodeLatencyStats stats = new NodeLatencyStats(HALF_LIFE);
+    stats.record(2000, false, 0);
+    // after one half-life, the old average and the new measurement have the same weight
+    stats.record(1000, false, HALF_LIFE);
+    assertThat(stats.getAverageNanos(HALF_LIFE, RETRY_PERIOD)).isCloseTo(1500, within(0.001));
+  }
+
+  @Test
+  public void should_jump_to_higher_measurements_immediately() {
+    NodeLatencyStats stats = new NodeLatencyStats(HALF_LIFE);
+    stats.record(1000, false, 0);
+    stats.record(50_000, false, 1);
+    assertThat(stats.getAverageNanos(1, RETRY_PERIOD)).isEqualTo(50_000);
+  }
+
+  @Test
+  public void should_not_lower_average_on_fast_errors() {
+    NodeLatencyStats stats = new NodeLatencyStats(HALF_LIFE);
+    stats.record(2000, false, 0);
+    stats.record(10, true, HALF_LIFE);
+    assertThat(stats.getAverageNanos(HALF_LIFE, RETRY_PERIOD)).isEqualTo(2000);
+  }
+
+  @Test
+  public void should_discard_average_after_retry_period() {
+    NodeLatencyStats stats = new NodeLatencyStats(HALF_LIFE);
+    stats.record(1000, false, 0);
+    assertThat(stats.getAverageNanos(RETRY_PERIOD, RETRY_PERIOD)).isEqualTo(1000);
+    assertThat(stats.getAverageNanos(RETRY_PERIOD + 1, RETRY_PERIOD)).isNegative();
+  }
+}
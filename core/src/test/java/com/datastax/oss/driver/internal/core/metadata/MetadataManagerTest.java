@@ -18,23 +18,31 @@ package com.datastax.oss.driver.internal.core.metadata;
 import static com.datastax.oss.driver.Assertions.assertThat;
 import static com.datastax.oss.driver.Assertions.assertThatStage;
 import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.datastax.oss.driver.api.core.CqlIdentifier;
 import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
 import com.datastax.oss.driver.api.core.config.DriverConfig;
 import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
 import com.datastax.oss.driver.api.core.metadata.EndPoint;
 import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.metadata.schema.KeyspaceMetadata;
+import com.datastax.oss.driver.internal.core.channel.ChannelFactory;
 import com.datastax.oss.driver.internal.core.context.EventBus;
 import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
 import com.datastax.oss.driver.internal.core.context.NettyOptions;
+import com.datastax.oss.driver.internal.core.metadata.schema.events.KeyspaceChangeEvent;
 import com.datastax.oss.driver.internal.core.metadata.schema.parsing.SchemaParserFactory;
 import com.datastax.oss.driver.internal.core.metadata.schema.queries.SchemaQueriesFactory;
+import com.datastax.oss.driver.internal.core.metadata.schema.refresh.SchemaRefresh;
 import com.datastax.oss.driver.internal.core.metrics.MetricsFactory;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableSet;
 import com.datastax.oss.driver.shaded.guava.common.util.concurrent.Uninterruptibles;
 import io.netty.channel.DefaultEventLoopGroup;
@@ -287,6 +295,32 @@ public class MetadataManagerTest {
     assertThat(refresh.broadcastRpcAddressToRemove).isEqualTo(broadcastRpcAddress2);
   }
 
+  @Test
+  public void should_fire_events_of_first_live_refresh_after_snapshot() throws Exception {
+    // Given
+    when(context.getChannelFactory()).thenReturn(mock(ChannelFactory.class));
+    MetadataManager manager = new MetadataManager(context);
+    CqlIdentifier ks1 = CqlIdentifier.fromInternal("ks1");
+    KeyspaceMetadata snapshotKs1 = mock(KeyspaceMetadata.class);
+    KeyspaceMetadata liveKs1 = mock(KeyspaceMetadata.class);
+    // The snapshot is stale: the live refresh finds a different definition
+    when(liveKs1.shallowEquals(snapshotKs1)).thenReturn(false);
+    when(snapshotKs1.shallowEquals(liveKs1)).thenReturn(false);
+
+    // When
+    // The snapshot's schema is applied first, it's the initial state so it fires no events
+    adminEventLoopGroup
+        .submit(() -> manager.apply(new SchemaRefresh(ImmutableMap.of(ks1, snapshotKs1))))
+        .get(1, TimeUnit.SECONDS);
+    verify(eventBus, never()).fire(any());
+    adminEventLoopGroup
+        .submit(() -> manager.apply(new SchemaRefresh(ImmutableMap.of(ks1, liveKs1))))
+        .get(1, TimeUnit.SECONDS);
+
+    // Then
+    verify(eventBus).fire(KeyspaceChangeEvent.updated(snapshotKs1, liveKs1));
+  }
+
   private static class TestMetadataManager extends MetadataManager {
 
     private List<MetadataRefresh> refreshes = new CopyOnWriteArrayList<>();
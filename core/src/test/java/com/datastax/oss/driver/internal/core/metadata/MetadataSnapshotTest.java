@@ -0,0 +1,220 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.metadata;
+
+import static com.datastax.oss.driver.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.when;
+
+import com.datastax.dse.driver.api.core.metadata.DseNodeProperties;
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.DefaultProtocolVersion;
+import com.datastax.oss.driver.api.core.Version;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.type.codec.TypeCodecs;
+import com.datastax.oss.driver.internal.core.DefaultProtocolVersionRegistry;
+import com.datastax.oss.driver.internal.core.ProtocolVersionRegistry;
+import com.datastax.oss.driver.internal.core.adminrequest.AdminRow;
+import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
+import com.datastax.oss.driver.internal.core.metadata.schema.queries.CassandraSchemaRows;
+import com.datastax.oss.driver.internal.core.metadata.schema.queries.SchemaRows;
+import com.datastax.oss.driver.internal.core.metrics.MetricsFactory;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableSet;
+import com.datastax.oss.driver.shaded.guava.common.io.ByteStreams;
+import com.datastax.oss.protocol.internal.ProtocolConstants;
+import com.datastax.oss.protocol.internal.response.result.ColumnSpec;
+import com.datastax.oss.protocol.internal.response.result.RawType;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MetadataSnapshotTest {
+
+  private static final DefaultProtocolVersion PROTOCOL_VERSION = DefaultProtocolVersion.V4;
+
+  @Mock private InternalDriverContext context;
+  @Mock private MetricsFactory metricsFactory;
+
+  private ProtocolVersionRegistry registry;
+  private Path file;
+
+  @Before
+  public void setup() throws IOException {
+    when(context.getMetricsFactory()).thenReturn(metricsFactory);
+    registry = new DefaultProtocolVersionRegistry("test");
+    file = Files.createTempFile("metadata", ".snapshot");
+  }
+
+  @After
+  public void teardown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  @Test
+  public void should_save_and_load_nodes_and_schema_rows() throws IOException {
+    // Given
+    DefaultNode node1 = TestNodeFactory.newNode(1, context);
+    node1.datacenter = "dc1";
+    node1.rack = "rack1";
+    node1.cassandraVersion = Version.parse("4.0.0");
+    node1.rawTokens = ImmutableSet.of("-100", "100");
+    node1.extras = ImmutableMap.of(DseNodeProperties.DSE_VERSION, Version.parse("6.8.0"));
+    DefaultNode node2 = TestNodeFactory.newNode(2, context);
+    node2.datacenter = "dc2";
+    DefaultMetadata metadata =
+        new DefaultMetadata(
+            ImmutableMap.of(node1.getHostId(), node1, node2.getHostId(), node2),
+            Collections.emptyMap(),
+            null,
+            null);
+    SchemaRows schemaRows =
+        new CassandraSchemaRows.Builder(node1, "test")
+            .withKeyspaces(ImmutableList.of(row("keyspace_name", "ks")))
+            .withTables(
+                ImmutableList.of(
+                    row("keyspace_name", "ks", "table_name", "foo"),
+                    row("keyspace_name", "ks", "table_name", "bar")))
+            .build();
+
+    // When
+    MetadataSnapshot.capture(metadata, schemaRows, PROTOCOL_VERSION, 1234).save(file);
+    MetadataSnapshot snapshot = MetadataSnapshot.load(file, registry);
+
+    // Then
+    assertThat(snapshot.getCreationTimeMillis()).isEqualTo(1234);
+    assertThat(snapshot.getProtocolVersion()).isEqualTo(PROTOCOL_VERSION);
+    assertThat(snapshot.containsAny(ImmutableList.of(node2))).isTrue();
+    assertThat(snapshot.containsAny(ImmutableList.of(TestNodeFactory.newNode(3, context))))
+        .isFalse();
+
+    List<NodeInfo> nodeInfos = snapshot.getNodeInfos();
+    assertThat(nodeInfos).hasSize(2);
+    NodeInfo nodeInfo1 = nodeInfos.get(0);
+    assertThat(nodeInfo1.getEndPoint()).isEqualTo(node1.getEndPoint());
+    assertThat(nodeInfo1.getBroadcastRpcAddress()).contains(node1.getBroadcastRpcAddress().get());
+    assertThat(nodeInfo1.getBroadcastAddress()).isEmpty();
+    assertThat(nodeInfo1.getHostId()).isEqualTo(node1.getHostId());
+    assertThat(nodeInfo1.getDatacenter()).isEqualTo("dc1");
+    assertThat(nodeInfo1.getRack()).isEqualTo("rack1");
+    assertThat(nodeInfo1.getCassandraVersion()).isEqualTo("4.0.0");
+    assertThat(nodeInfo1.getTokens()).containsOnly("-100", "100");
+    assertThat(nodeInfo1.getExtras())
+        .containsEntry(DseNodeProperties.DSE_VERSION, Version.parse("6.8.0"));
+    assertThat(nodeInfos.get(1).getDatacenter()).isEqualTo("dc2");
+
+    Map<UUID, Node> nodes = ImmutableMap.of(node1.getHostId(), node1);
+    SchemaRows loadedRows = snapshot.getSchemaRows(nodes, "test");
+    assertThat(loadedRows).isNotNull();
+    assertThat(loadedRows.getNode()).isSameAs(node1);
+    assertThat(loadedRows.keyspaces()).hasSize(1);
+    assertThat(loadedRows.keyspaces().get(0).getString("keyspace_name")).isEqualTo("ks");
+    List<AdminRow> tables =
+        ImmutableList.copyOf(loadedRows.tables().get(CqlIdentifier.fromInternal("ks")));
+    assertThat(tables).hasSize(2);
+    assertThat(tables.get(0).getString("table_name")).isEqualTo("foo");
+    assertThat(tables.get(1).getString("table_name")).isEqualTo("bar");
+    assertThat(loadedRows.views().isEmpty()).isTrue();
+
+    // The node that the rows came from is not there anymore
+    assertThat(snapshot.getSchemaRows(ImmutableMap.of(node2.getHostId(), node2), "test")).isNull();
+  }
+
+  @Test
+  public void should_not_capture_if_custom_endpoint() {
+    DefaultNode node =
+        new DefaultNode(new SniEndPoint(new InetSocketAddress("127.0.0.1", 9042), "test"), context);
+    node.hostId = UUID.randomUUID();
+    DefaultMetadata metadata =
+        new DefaultMetadata(
+            ImmutableMap.of(node.getHostId(), node), Collections.emptyMap(), null, null);
+    SchemaRows schemaRows = new CassandraSchemaRows.Builder(node, "test").build();
+
+    assertThat(MetadataSnapshot.capture(metadata, schemaRows, PROTOCOL_VERSION, 0)).isNull();
+  }
+
+  @Test
+  public void should_fail_to_load_file_that_is_not_a_snapshot() throws IOException {
+    try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+      out.write("not a snapshot".getBytes(StandardCharsets.UTF_8));
+    }
+    Throwable error = catchThrowable(() -> MetadataSnapshot.load(file, registry));
+    assertThat(error).isInstanceOf(IOException.class);
+  }
+
+  @Test
+  public void should_fail_to_load_truncated_snapshot() throws IOException {
+    DefaultNode node = TestNodeFactory.newNode(1, context);
+    DefaultMetadata metadata =
+        new DefaultMetadata(
+            ImmutableMap.of(node.getHostId(), node), Collections.emptyMap(), null, null);
+    SchemaRows schemaRows =
+        new CassandraSchemaRows.Builder(node, "test")
+            .withKeyspaces(ImmutableList.of(row("keyspace_name", "ks")))
+            .build();
+    MetadataSnapshot.capture(metadata, schemaRows, PROTOCOL_VERSION, 0).save(file);
+
+    // Rewrite the file with only the first half of the data
+    byte[] bytes;
+    try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+      bytes = ByteStreams.toByteArray(in);
+    }
+    try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+      out.write(bytes, 0, bytes.length / 2);
+    }
+
+    Throwable error = catchThrowable(() -> MetadataSnapshot.load(file, registry));
+    assertThat(error).isInstanceOf(IOException.class);
+  }
+
+  // Builds a row where all columns are text: name1, value1, name2, value2...
+  private static AdminRow row(String... namesAndValues) {
+    ImmutableMap.Builder<String, ColumnSpec> specs = ImmutableMap.builder();
+    ImmutableList.Builder<ByteBuffer> data = ImmutableList.builder();
+    for (int i = 0; i < namesAndValues.length; i += 2) {
+      String name = namesAndValues[i];
+      specs.put(
+          name,
+          new ColumnSpec(
+              "system_schema",
+              "test",
+              name,
+              i / 2,
+              RawType.PRIMITIVES.get(ProtocolConstants.DataType.VARCHAR)));
+      data.add(TypeCodecs.TEXT.encode(namesAndValues[i + 1], PROTOCOL_VERSION));
+    }
+    return new AdminRow(specs.build(), data.build(), PROTOCOL_VERSION);
+  }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.metadata.schema;
+
+import static com.datastax.oss.driver.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.DefaultProtocolVersion;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+import com.datastax.oss.driver.api.core.type.codec.TypeCodecs;
+import com.datastax.oss.driver.internal.core.adminrequest.AdminRow;
+import com.datastax.oss.driver.internal.core.metadata.schema.LazyTableMap.RawTable;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableSet;
+import com.datastax.oss.protocol.internal.ProtocolConstants;
+import com.datastax.oss.protocol.internal.response.result.ColumnSpec;
+import com.datastax.oss.protocol.internal.response.result.RawType;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LazyTableMapTest {
+
+  private static final CqlIdentifier FOO = CqlIdentifier.fromInternal("foo");
+  private static final CqlIdentifier BAR = CqlIdentifier.fromInternal("bar");
+
+  private Map<String, AtomicInteger> parseCounts;
+  private Function<RawTable, TableMetadata> parser;
+
+  @Before
+  public void setup() {
+    parseCounts = new ConcurrentHashMap<>();
+    parser =
+        rawTable -> {
+          String name = rawTable.getTable().getString("table_name");
+          parseCounts.computeIfAbsent(name, k -> new AtomicInteger()).incrementAndGet();
+          return "broken".equals(name) ? null : mock(TableMetadata.class);
+        };
+  }
+
+  @Test
+  public void should_not_parse_when_accessing_names() {
+    LazyTableMap tables = newMap(rawTable("foo", "v1"), rawTable("bar", "v1"));
+
+    assertThat(tables.size()).isEqualTo(2);
+    assertThat(tables.containsKey(FOO)).isTrue();
+    assertThat(tables.keySet()).containsExactly(FOO, BAR);
+    assertThat(parseCounts).isEmpty();
+  }
+
+  @Test
+  public void should_parse_on_first_access_and_cache() {
+    LazyTableMap tables = newMap(rawTable("foo", "v1"), rawTable("bar", "v1"));
+
+    TableMetadata foo = tables.get(FOO);
+    assertThat(foo).isNotNull();
+    assertThat(tables.get(FOO)).isSameAs(foo);
+    assertThat(parseCounts.get("foo").get()).isEqualTo(1);
+    assertThat(parseCounts).doesNotContainKey("bar");
+    assertThat(tables.get(CqlIdentifier.fromInternal("baz"))).isNull();
+  }
+
+  @Test
+  public void should_not_parse_when_sizing_or_hashing() {
+    LazyTableMap tables = newMap(rawTable("foo", "v1"), rawTable("bar", "v1"));
+
+    assertThat(tables.entrySet()).hasSize(2);
+    assertThat(tables.values()).hasSize(2);
+    assertThat(tables.hashCode())
+        .isEqualTo(newMap(rawTable("foo", "v1"), rawTable("bar", "v1")).hashCode());
+    assertThat(parseCounts).isEmpty();
+
+    assertThat(ImmutableList.copyOf(tables.values())).hasSize(2);
+    assertThat(parseCounts).containsOnlyKeys("foo", "bar");
+  }
+
+  @Test
+  public void should_fail_if_table_cannot_be_parsed() {
+    LazyTableMap tables = newMap(rawTable("foo", "v1"), rawTable("broken", "v1"));
+
+    assertThatThrownBy(() -> tables.get(CqlIdentifier.fromInternal("broken")))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("broken");
+    assertThatThrownBy(() -> ImmutableList.copyOf(tables.values()))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  public void should_detect_references_to_types() {
+    LazyTableMap tables =
+        newMap(
+            rawTable("foo", "v1", "type", "map<int, frozen<address>>"),
+            rawTable("bar", "v1", "type", "frozen<\"Address\">"),
+            rawTable(
+                "baz",
+                "v1",
+                "validator",
+                "org.apache.cassandra.db.marshal.UserType(ks,61646472657373,"
+                    + "737472656574:org.apache.cassandra.db.marshal.UTF8Type)"));
+    Set<CqlIdentifier> address = ImmutableSet.of(CqlIdentifier.fromInternal("address"));
+
+    assertThat(LazyTableMap.mayReferenceTypes(tables, FOO, address)).isTrue();
+    assertThat(LazyTableMap.mayReferenceTypes(tables, BAR, address)).isFalse();
+    assertThat(
+            LazyTableMap.mayReferenceTypes(
+                tables, BAR, ImmutableSet.of(CqlIdentifier.fromInternal("Address"))))
+        .isTrue();
+    assertThat(LazyTableMap.mayReferenceTypes(tables, CqlIdentifier.fromInternal("baz"), address))
+        .isTrue();
+    assertThat(
+            LazyTableMap.mayReferenceTypes(
+                tables, FOO, ImmutableSet.of(CqlIdentifier.fromInternal("phone"))))
+        .isFalse();
+    assertThat(parseCounts).isEmpty();
+  }
+
+  @Test
+  public void should_compare_raw_definitions() {
+    LazyTableMap tables1 = newMap(rawTable("foo", "v1"), rawTable("bar", "v1"));
+    LazyTableMap tables2 = newMap(rawTable("foo", "v1"), rawTable("bar", "v2"));
+
+    assertThat(LazyTableMap.haveSameDefinition(tables1, tables2, FOO)).isTrue();
+    assertThat(LazyTableMap.haveSameDefinition(tables1, tables2, BAR)).isFalse();
+    assertThat(LazyTableMap.haveSameDefinition(tables1, ImmutableMap.of(), FOO)).isFalse();
+    assertThat(tables1).isNotEqualTo(tables2);
+    assertThat(tables1).isEqualTo(newMap(rawTable("foo", "v1"), rawTable("bar", "v1")));
+    assertThat(parseCounts).isEmpty();
+  }
+
+  @Test
+  public void should_keep_cached_tables_when_merging() {
+    LazyTableMap tables = newMap(rawTable("foo", "v1"), rawTable("bar", "v1"));
+    TableMetadata foo = tables.get(FOO);
+
+    LazyTableMap merged = tables.merge(ImmutableSet.of("bar"), newMap(rawTable("bar", "v2")));
+
+    assertThat(merged.keySet()).containsExactly(FOO, BAR);
+    assertThat(merged.get(FOO)).isSameAs(foo);
+    assertThat(LazyTableMap.haveSameDefinition(tables, merged, BAR)).isFalse();
+    assertThat(parseCounts.get("foo").get()).isEqualTo(1);
+  }
+
+  private LazyTableMap newMap(RawTable... rawTables) {
+    ImmutableMap.Builder<CqlIdentifier, RawTable> builder = ImmutableMap.builder();
+    for (RawTable rawTable : rawTables) {
+      builder.put(
+          CqlIdentifier.fromInternal(rawTable.getTable().getString("table_name")), rawTable);
+    }
+    return new LazyTableMap(builder.build(), parser);
+  }
+
+  private static RawTable rawTable(String name, String comment) {
+    return rawTable(name, comment, "type", "int");
+  }
+
+  private static RawTable rawTable(
+      String name, String comment, String typeColumn, String columnType) {
+    return new RawTable(
+        row("table_name", name, "comment", comment),
+        ImmutableList.of(row("table_name", name, "column_name", "k", typeColumn, columnType)),
+        ImmutableList.of());
+  }
+
+  // Builds a row where all columns are text: name1, value1, name2, value2...
+  private static AdminRow row(String... namesAndValues) {
+    ImmutableMap.Builder<String, ColumnSpec> specs = ImmutableMap.builder();
+    ImmutableList.Builder<ByteBuffer> data = ImmutableList.builder();
+    for (int i = 0; i < namesAndValues.length; i += 2) {
+      String name = namesAndValues[i];
+      specs.put(
+          name,
+          new ColumnSpec(
+              "system_schema",
+              "tables",
+              name,
+              i / 2,
+              RawType.PRIMITIVES.get(ProtocolConstants.DataType.VARCHAR)));
+      data.add(TypeCodecs.TEXT.encode(namesAndValues[i + 1], DefaultProtocolVersion.V4));
+    }
+    return new AdminRow(specs.build(), data.build(), DefaultProtocolVersion.V4);
+  }
+}
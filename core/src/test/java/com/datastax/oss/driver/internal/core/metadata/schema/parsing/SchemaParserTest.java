@@ -21,14 +21,20 @@ import static org.mockito.Mockito.when;
 import com.datastax.oss.driver.api.core.CqlIdentifier;
 import com.datastax.oss.driver.api.core.metadata.schema.FunctionSignature;
 import com.datastax.oss.driver.api.core.metadata.schema.KeyspaceMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
 import com.datastax.oss.driver.api.core.type.DataTypes;
 import com.datastax.oss.driver.api.core.type.codec.registry.CodecRegistry;
+import com.datastax.oss.driver.internal.core.adminrequest.AdminRow;
 import com.datastax.oss.driver.internal.core.metadata.MetadataRefresh;
+import com.datastax.oss.driver.internal.core.metadata.schema.LazyTableMap;
 import com.datastax.oss.driver.internal.core.metadata.schema.queries.CassandraSchemaRows;
 import com.datastax.oss.driver.internal.core.metadata.schema.queries.SchemaRows;
 import com.datastax.oss.driver.internal.core.metadata.schema.refresh.SchemaRefresh;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 import org.junit.Test;
 
@@ -136,10 +142,73 @@ public class SchemaParserTest extends SchemaParserTestBase {
     assertThat(ks2.getUserDefinedTypes()).hasSize(1).containsKey(CqlIdentifier.fromInternal("t2"));
   }
 
+  @Test
+  public void should_parse_keyspaces_in_parallel_and_preserve_order() {
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      ImmutableList.Builder<AdminRow> keyspaceRows = ImmutableList.builder();
+      ImmutableList.Builder<AdminRow> typeRows = ImmutableList.builder();
+      for (int i = 0; i < 10; i++) {
+        keyspaceRows.add(mockModernKeyspaceRow("ks" + i));
+        typeRows.add(
+            mockTypeRow("ks" + i, "t" + i, ImmutableList.of("i"), ImmutableList.of("int")));
+      }
+      SchemaRefresh refresh =
+          (SchemaRefresh)
+              parse(
+                  rows -> rows.withKeyspaces(keyspaceRows.build()).withTypes(typeRows.build()),
+                  executor);
+
+      assertThat(refresh.newKeyspaces).hasSize(10);
+      int i = 0;
+      for (KeyspaceMetadata keyspace : refresh.newKeyspaces.values()) {
+        assertThat(keyspace.getName().asInternal()).isEqualTo("ks" + i);
+        assertThat(keyspace.getUserDefinedTypes())
+            .hasSize(1)
+            .containsKey(CqlIdentifier.fromInternal("t" + i));
+        i += 1;
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void should_parse_tables_lazily() {
+    Consumer<CassandraSchemaRows.Builder> builderConfig =
+        rows ->
+            rows.withKeyspaces(ImmutableList.of(mockModernKeyspaceRow("ks")))
+                .withTables(ImmutableList.of(TableParserTest.TABLE_ROW_3_0))
+                .withColumns(TableParserTest.COLUMN_ROWS_3_0)
+                .withIndexes(TableParserTest.INDEX_ROWS_3_0);
+    KeyspaceMetadata eagerKeyspace =
+        ((SchemaRefresh) parse(builderConfig, null, false)).newKeyspaces.values().iterator().next();
+    KeyspaceMetadata lazyKeyspace =
+        ((SchemaRefresh) parse(builderConfig, null, true)).newKeyspaces.values().iterator().next();
+
+    assertThat(lazyKeyspace.getTables()).isInstanceOf(LazyTableMap.class);
+    assertThat(lazyKeyspace.getTables().keySet())
+        .containsExactly(CqlIdentifier.fromInternal("foo"));
+    TableMetadata table = lazyKeyspace.getTable("foo").orElse(null);
+    assertThat(table).isEqualTo(eagerKeyspace.getTable("foo").orElse(null));
+    // Cached after the first access
+    assertThat(lazyKeyspace.getTable("foo").orElse(null)).isSameAs(table);
+  }
+
   private MetadataRefresh parse(Consumer<CassandraSchemaRows.Builder> builderConfig) {
+    return parse(builderConfig, null);
+  }
+
+  private MetadataRefresh parse(
+      Consumer<CassandraSchemaRows.Builder> builderConfig, Executor executor) {
+    return parse(builderConfig, executor, false);
+  }
+
+  private MetadataRefresh parse(
+      Consumer<CassandraSchemaRows.Builder> builderConfig, Executor executor, boolean lazyTables) {
     CassandraSchemaRows.Builder builder = new CassandraSchemaRows.Builder(NODE_3_0, "test");
     builderConfig.accept(builder);
     SchemaRows rows = builder.build();
-    return new CassandraSchemaParser(rows, context).parse();
+    return new CassandraSchemaParser(rows, context, executor, lazyTables).parse();
   }
 }
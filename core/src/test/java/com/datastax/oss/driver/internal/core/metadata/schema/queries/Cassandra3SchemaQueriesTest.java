@@ -25,6 +25,7 @@ import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
 import com.datastax.oss.driver.api.core.metadata.Node;
 import com.datastax.oss.driver.internal.core.adminrequest.AdminResult;
 import com.datastax.oss.driver.internal.core.channel.DriverChannel;
+import com.datastax.oss.driver.internal.core.metadata.schema.refresh.SchemaRefreshTarget;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
 import java.util.Collections;
 import java.util.Queue;
@@ -326,6 +327,65 @@ public class Cassandra3SchemaQueriesTest extends SchemaQueriesTest {
             });
   }
 
+  @Test
+  public void should_query_only_targeted_tables() {
+    SchemaQueriesWithMockedChannel queries =
+        new SchemaQueriesWithMockedChannel(
+            driverChannel,
+            node,
+            config,
+            "test",
+            SchemaRefreshTarget.forTables("ks1", ImmutableList.of("foo", "bar")));
+    CompletionStage<SchemaRows> result = queries.execute();
+
+    String keyspaceFilter = " WHERE keyspace_name in ('ks1')";
+    String tableFilter = keyspaceFilter + " AND table_name in ('foo','bar')";
+
+    Call call = queries.calls.poll();
+    assertThat(call.query).isEqualTo("SELECT * FROM system_schema.keyspaces" + keyspaceFilter);
+    call.result.complete(mockResult(mockRow("keyspace_name", "ks1")));
+
+    call = queries.calls.poll();
+    assertThat(call.query).isEqualTo("SELECT * FROM system_schema.types" + keyspaceFilter);
+    call.result.complete(mockResult(/*empty*/ ));
+
+    call = queries.calls.poll();
+    assertThat(call.query).isEqualTo("SELECT * FROM system_schema.tables" + tableFilter);
+    call.result.complete(mockResult(mockRow("keyspace_name", "ks1", "table_name", "foo")));
+
+    call = queries.calls.poll();
+    assertThat(call.query).isEqualTo("SELECT * FROM system_schema.columns" + tableFilter);
+    call.result.complete(
+        mockResult(mockRow("keyspace_name", "ks1", "table_name", "foo", "column_name", "k")));
+
+    call = queries.calls.poll();
+    assertThat(call.query).isEqualTo("SELECT * FROM system_schema.indexes" + tableFilter);
+    call.result.complete(mockResult(/*empty*/ ));
+
+    call = queries.calls.poll();
+    assertThat(call.query)
+        .isEqualTo(
+            "SELECT * FROM system_schema.views"
+                + keyspaceFilter
+                + " AND view_name in ('foo','bar')");
+    call.result.complete(mockResult(/*empty*/ ));
+
+    // Functions and aggregates are not fetched, they will be kept from the previous metadata
+    assertThat(queries.calls).isEmpty();
+
+    channel.runPendingTasks();
+
+    assertThatStage(result)
+        .isSuccess(
+            rows -> {
+              assertThat(rows.getTarget())
+                  .isEqualTo(SchemaRefreshTarget.forTables("ks1", ImmutableList.of("foo", "bar")));
+              assertThat(rows.tables().get(KS1_ID)).hasSize(1);
+              assertThat(rows.columns().get(KS1_ID).keySet()).containsOnly(FOO_ID);
+              assertThat(rows.functions().isEmpty()).isTrue();
+            });
+  }
+
   @Test
   public void should_abort_if_query_fails() {
     SchemaQueriesWithMockedChannel queries =
@@ -350,7 +410,16 @@ public class Cassandra3SchemaQueriesTest extends SchemaQueriesTest {
 
     SchemaQueriesWithMockedChannel(
         DriverChannel channel, Node node, DriverExecutionProfile config, String logPrefix) {
-      super(channel, node, config, logPrefix);
+      this(channel, node, config, logPrefix, SchemaRefreshTarget.FULL);
+    }
+
+    SchemaQueriesWithMockedChannel(
+        DriverChannel channel,
+        Node node,
+        DriverExecutionProfile config,
+        String logPrefix,
+        SchemaRefreshTarget target) {
+      super(channel, node, config, logPrefix, target);
     }
 
     @Override
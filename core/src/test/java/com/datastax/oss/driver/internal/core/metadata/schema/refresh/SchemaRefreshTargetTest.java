@@ -0,0 +1,113 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.metadata.schema.refresh;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableSet;
+import com.datastax.oss.protocol.internal.ProtocolConstants;
+import java.util.Collections;
+import java.util.Map;
+import org.junit.Test;
+
+public class SchemaRefreshTargetTest {
+
+  private static final CqlIdentifier T1 = CqlIdentifier.fromInternal("t1");
+  private static final CqlIdentifier T2 = CqlIdentifier.fromInternal("t2");
+  private static final CqlIdentifier T3 = CqlIdentifier.fromInternal("t3");
+
+  @Test
+  public void should_compute_target_from_schema_change() {
+    assertThat(
+            SchemaRefreshTarget.forSchemaChange(
+                ProtocolConstants.SchemaChangeTarget.KEYSPACE, "ks", null))
+        .isEqualTo(SchemaRefreshTarget.forKeyspace("ks"));
+    assertThat(
+            SchemaRefreshTarget.forSchemaChange(
+                ProtocolConstants.SchemaChangeTarget.TABLE, "ks", "t1"))
+        .isEqualTo(SchemaRefreshTarget.forTables("ks", ImmutableList.of("t1")));
+    assertThat(
+            SchemaRefreshTarget.forSchemaChange(
+                ProtocolConstants.SchemaChangeTarget.TYPE, "ks", "udt"))
+        .isEqualTo(SchemaRefreshTarget.forKeyspace("ks"));
+    assertThat(
+            SchemaRefreshTarget.forSchemaChange(
+                ProtocolConstants.SchemaChangeTarget.FUNCTION, "ks", "fn"))
+        .isEqualTo(SchemaRefreshTarget.forKeyspace("ks"));
+    assertThat(SchemaRefreshTarget.forSchemaChange(null, null, null))
+        .isSameAs(SchemaRefreshTarget.FULL);
+  }
+
+  @Test
+  public void should_merge_tables_of_same_keyspace() {
+    SchemaRefreshTarget merged =
+        SchemaRefreshTarget.forTables("ks", ImmutableList.of("t1"))
+            .merge(SchemaRefreshTarget.forTables("ks", ImmutableList.of("t2")));
+    assertThat(merged.isTableLevel()).isTrue();
+    assertThat(merged.getKeyspaces()).containsExactly("ks");
+    assertThat(merged.getTables()).containsOnly("t1", "t2");
+  }
+
+  @Test
+  public void should_merge_tables_of_different_keyspaces_into_keyspace_target() {
+    SchemaRefreshTarget merged =
+        SchemaRefreshTarget.forTables("ks1", ImmutableList.of("t1"))
+            .merge(SchemaRefreshTarget.forTables("ks2", ImmutableList.of("t1")));
+    assertThat(merged).isEqualTo(SchemaRefreshTarget.forKeyspaces(ImmutableList.of("ks1", "ks2")));
+
+    merged =
+        SchemaRefreshTarget.forTables("ks1", ImmutableList.of("t1"))
+            .merge(SchemaRefreshTarget.forKeyspace("ks1"));
+    assertThat(merged).isEqualTo(SchemaRefreshTarget.forKeyspace("ks1"));
+  }
+
+  @Test
+  public void should_merge_into_full_target_if_either_is_full() {
+    assertThat(SchemaRefreshTarget.forKeyspace("ks").merge(SchemaRefreshTarget.FULL))
+        .isSameAs(SchemaRefreshTarget.FULL);
+    assertThat(SchemaRefreshTarget.FULL.merge(SchemaRefreshTarget.forKeyspace("ks")))
+        .isSameAs(SchemaRefreshTarget.FULL);
+  }
+
+  @Test
+  public void should_restrict_to_refreshed_keyspaces() {
+    SchemaRefreshTarget target = SchemaRefreshTarget.forKeyspaces(ImmutableList.of("ks1", "ks2"));
+    assertThat(target.restrictTo(Collections.emptyList())).isSameAs(target);
+    assertThat(target.restrictTo(ImmutableList.of("ks2", "ks3")))
+        .isEqualTo(SchemaRefreshTarget.forKeyspace("ks2"));
+    assertThat(target.restrictTo(ImmutableList.of("ks3"))).isNull();
+    assertThat(SchemaRefreshTarget.FULL.restrictTo(ImmutableList.of("ks3")))
+        .isSameAs(SchemaRefreshTarget.FULL);
+  }
+
+  @Test
+  public void should_replace_targeted_children_and_keep_others() {
+    SchemaRefreshTarget target = SchemaRefreshTarget.forTables("ks", ImmutableSet.of("t1", "t2"));
+    Map<CqlIdentifier, String> previous = ImmutableMap.of(T1, "old1", T2, "old2", T3, "old3");
+    // t1 was updated, t2 was dropped
+    Map<CqlIdentifier, String> refreshed = ImmutableMap.of(T1, "new1");
+
+    assertThat(target.mergeChildren(previous, refreshed))
+        .containsOnly(entry(T1, "new1"), entry(T3, "old3"));
+    assertThat(target.mergeChildren(null, refreshed)).isSameAs(refreshed);
+    assertThat(SchemaRefreshTarget.forKeyspace("ks").mergeChildren(previous, refreshed))
+        .isSameAs(refreshed);
+  }
+}
@@ -16,21 +16,35 @@
 package com.datastax.oss.driver.internal.core.metadata.schema.refresh;
 
 import static com.datastax.oss.driver.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.DefaultProtocolVersion;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
 import com.datastax.oss.driver.api.core.type.DataTypes;
 import com.datastax.oss.driver.api.core.type.UserDefinedType;
+import com.datastax.oss.driver.api.core.type.codec.TypeCodecs;
+import com.datastax.oss.driver.internal.core.adminrequest.AdminRow;
 import com.datastax.oss.driver.internal.core.channel.ChannelFactory;
 import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
 import com.datastax.oss.driver.internal.core.metadata.DefaultMetadata;
 import com.datastax.oss.driver.internal.core.metadata.MetadataRefresh;
 import com.datastax.oss.driver.internal.core.metadata.schema.DefaultKeyspaceMetadata;
+import com.datastax.oss.driver.internal.core.metadata.schema.LazyTableMap;
+import com.datastax.oss.driver.internal.core.metadata.schema.LazyTableMap.RawTable;
 import com.datastax.oss.driver.internal.core.metadata.schema.events.KeyspaceChangeEvent;
+import com.datastax.oss.driver.internal.core.metadata.schema.events.TableChangeEvent;
 import com.datastax.oss.driver.internal.core.metadata.schema.events.TypeChangeEvent;
 import com.datastax.oss.driver.internal.core.type.UserDefinedTypeBuilder;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
+import com.datastax.oss.protocol.internal.ProtocolConstants;
+import com.datastax.oss.protocol.internal.response.result.ColumnSpec;
+import com.datastax.oss.protocol.internal.response.result.RawType;
+import java.nio.ByteBuffer;
 import java.util.Collections;
+import java.util.Map;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -144,6 +158,164 @@ public class SchemaRefreshTest {
             TypeChangeEvent.created(t3));
   }
 
+  @Test
+  public void should_keep_keyspaces_not_covered_by_targeted_refresh() {
+    DefaultKeyspaceMetadata ks2 = newKeyspace("ks2", true);
+    oldMetadata =
+        DefaultMetadata.EMPTY.withSchema(
+            ImmutableMap.of(OLD_KS1.getName(), OLD_KS1, ks2.getName(), ks2), false, context);
+
+    // Refresh ks2 only, and find out that it was dropped
+    SchemaRefresh refresh =
+        new SchemaRefresh(Collections.emptyMap(), SchemaRefreshTarget.forKeyspace("ks2"));
+    MetadataRefresh.Result result = refresh.compute(oldMetadata, false, context);
+    assertThat(result.newMetadata.getKeyspaces()).containsOnlyKeys(OLD_KS1.getName());
+    assertThat(result.events).containsExactly(KeyspaceChangeEvent.dropped(ks2));
+  }
+
+  @Test
+  public void should_detect_updated_keyspace_in_targeted_refresh() {
+    DefaultKeyspaceMetadata ks2 = newKeyspace("ks2", true);
+    DefaultKeyspaceMetadata newKs1 = newKeyspace("ks1", false, OLD_T1, OLD_T2);
+    oldMetadata =
+        DefaultMetadata.EMPTY.withSchema(
+            ImmutableMap.of(OLD_KS1.getName(), OLD_KS1, ks2.getName(), ks2), false, context);
+
+    SchemaRefresh refresh =
+        new SchemaRefresh(
+            ImmutableMap.of(OLD_KS1.getName(), newKs1), SchemaRefreshTarget.forKeyspace("ks1"));
+    MetadataRefresh.Result result = refresh.compute(oldMetadata, false, context);
+    assertThat(result.newMetadata.getKeyspaces()).hasSize(2);
+    assertThat(result.newMetadata.getKeyspaces().get(OLD_KS1.getName())).isEqualTo(newKs1);
+    assertThat(result.newMetadata.getKeyspaces().get(ks2.getName())).isEqualTo(ks2);
+    assertThat(result.events).containsExactly(KeyspaceChangeEvent.updated(OLD_KS1, newKs1));
+  }
+
+  @Test
+  public void should_detect_lazy_table_updated_by_type_change() {
+    // The raw table rows don't change, but one of its columns references a type that changed
+    UserDefinedType newT1 =
+        new UserDefinedTypeBuilder(
+                CqlIdentifier.fromInternal("ks1"), CqlIdentifier.fromInternal("t1"))
+            .withField(CqlIdentifier.fromInternal("i"), DataTypes.TEXT)
+            .build();
+    TableMetadata oldTable = mock(TableMetadata.class);
+    TableMetadata newTable = mock(TableMetadata.class);
+    DefaultKeyspaceMetadata oldKs1 =
+        newKeyspace("ks1", lazyTables("foo", "frozen<t1>", oldTable), OLD_T1);
+    DefaultKeyspaceMetadata newKs1 =
+        newKeyspace("ks1", lazyTables("foo", "frozen<t1>", newTable), newT1);
+    oldMetadata =
+        DefaultMetadata.EMPTY.withSchema(ImmutableMap.of(oldKs1.getName(), oldKs1), false, context);
+
+    SchemaRefresh refresh = new SchemaRefresh(ImmutableMap.of(oldKs1.getName(), newKs1));
+    MetadataRefresh.Result result = refresh.compute(oldMetadata, false, context);
+    assertThat(result.events)
+        .containsExactly(
+            TableChangeEvent.updated(oldTable, newTable), TypeChangeEvent.updated(OLD_T1, newT1));
+  }
+
+  @Test
+  public void should_not_parse_lazy_table_unaffected_by_type_change() {
+    UserDefinedType newT1 =
+        new UserDefinedTypeBuilder(
+                CqlIdentifier.fromInternal("ks1"), CqlIdentifier.fromInternal("t1"))
+            .withField(CqlIdentifier.fromInternal("i"), DataTypes.TEXT)
+            .build();
+    DefaultKeyspaceMetadata oldKs1 = newKeyspace("ks1", lazyTables("foo", "int", null), OLD_T1);
+    DefaultKeyspaceMetadata newKs1 = newKeyspace("ks1", lazyTables("foo", "int", null), newT1);
+    oldMetadata =
+        DefaultMetadata.EMPTY.withSchema(ImmutableMap.of(oldKs1.getName(), oldKs1), false, context);
+
+    SchemaRefresh refresh = new SchemaRefresh(ImmutableMap.of(oldKs1.getName(), newKs1));
+    MetadataRefresh.Result result = refresh.compute(oldMetadata, false, context);
+    assertThat(result.events).containsExactly(TypeChangeEvent.updated(OLD_T1, newT1));
+  }
+
+  @Test
+  public void should_not_compare_unchanged_lazy_tables() {
+    DefaultKeyspaceMetadata oldKs1 =
+        newKeyspace("ks1", lazyTables("foo", "frozen<t1>", null), OLD_T1);
+    DefaultKeyspaceMetadata newKs1 =
+        newKeyspace("ks1", lazyTables("foo", "frozen<t1>", null), OLD_T1);
+    oldMetadata =
+        DefaultMetadata.EMPTY.withSchema(ImmutableMap.of(oldKs1.getName(), oldKs1), false, context);
+
+    SchemaRefresh refresh = new SchemaRefresh(ImmutableMap.of(oldKs1.getName(), newKs1));
+    MetadataRefresh.Result result = refresh.compute(oldMetadata, false, context);
+    assertThat(result.events).isEmpty();
+  }
+
+  @Test
+  public void should_detect_dropped_lazy_table() {
+    TableMetadata oldTable = mock(TableMetadata.class);
+    DefaultKeyspaceMetadata oldKs1 = newKeyspace("ks1", lazyTables("foo", "int", oldTable), OLD_T1);
+    DefaultKeyspaceMetadata newKs1 = newKeyspace("ks1", Collections.emptyMap(), OLD_T1);
+    oldMetadata =
+        DefaultMetadata.EMPTY.withSchema(ImmutableMap.of(oldKs1.getName(), oldKs1), false, context);
+
+    SchemaRefresh refresh = new SchemaRefresh(ImmutableMap.of(oldKs1.getName(), newKs1));
+    MetadataRefresh.Result result = refresh.compute(oldMetadata, false, context);
+    assertThat(result.events).containsExactly(TableChangeEvent.dropped(oldTable));
+  }
+
+  /**
+   * Builds a lazy map with a single table that has one column of the given type. If {@code parsed}
+   * is null, the test fails if the table gets parsed.
+   */
+  private static Map<CqlIdentifier, TableMetadata> lazyTables(
+      String tableName, String columnType, TableMetadata parsed) {
+    AdminRow tableRow = textRow("table_name", tableName);
+    AdminRow columnRow = textRow("table_name", tableName, "column_name", "c", "type", columnType);
+    return new LazyTableMap(
+        ImmutableMap.of(
+            CqlIdentifier.fromInternal(tableName),
+            new RawTable(tableRow, ImmutableList.of(columnRow), ImmutableList.of())),
+        raw -> {
+          if (parsed == null) {
+            throw new AssertionError("Table " + tableName + " should not have been parsed");
+          }
+          return parsed;
+        });
+  }
+
+  // Builds a row where all columns are text: name1, value1, name2, value2...
+  private static AdminRow textRow(String... namesAndValues) {
+    ImmutableMap.Builder<String, ColumnSpec> specs = ImmutableMap.builder();
+    ImmutableList.Builder<ByteBuffer> data = ImmutableList.builder();
+    for (int i = 0; i < namesAndValues.length; i += 2) {
+      String name = namesAndValues[i];
+      specs.put(
+          name,
+          new ColumnSpec(
+              "system_schema",
+              "tables",
+              name,
+              i / 2,
+              RawType.PRIMITIVES.get(ProtocolConstants.DataType.VARCHAR)));
+      data.add(TypeCodecs.TEXT.encode(namesAndValues[i + 1], DefaultProtocolVersion.V4));
+    }
+    return new AdminRow(specs.build(), data.build(), DefaultProtocolVersion.V4);
+  }
+
+  private static DefaultKeyspaceMetadata newKeyspace(
+      String name, Map<CqlIdentifier, TableMetadata> tables, UserDefinedType... userTypes) {
+    ImmutableMap.Builder<CqlIdentifier, UserDefinedType> typesMapBuilder = ImmutableMap.builder();
+    for (UserDefinedType type : userTypes) {
+      typesMapBuilder.put(type.getName(), type);
+    }
+    return new DefaultKeyspaceMetadata(
+        CqlIdentifier.fromInternal(name),
+        true,
+        false,
+        Collections.emptyMap(),
+        typesMapBuilder.build(),
+        tables,
+        Collections.emptyMap(),
+        Collections.emptyMap(),
+        Collections.emptyMap());
+  }
+
   private static DefaultKeyspaceMetadata newKeyspace(
       String name, boolean durableWrites, UserDefinedType... userTypes) {
     ImmutableMap.Builder<CqlIdentifier, UserDefinedType> typesMapBuilder = ImmutableMap.builder();
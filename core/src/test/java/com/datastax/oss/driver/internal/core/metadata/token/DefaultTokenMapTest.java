@@ -35,6 +35,7 @@ import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -169,6 +170,61 @@ public class DefaultTokenMapTest {
     assertThat(tokenMap.getReplicas(KS2, ROUTING_KEY41)).containsOnly(node1);
   }
 
+  @Test
+  public void should_find_replicas_of_tokens_between_and_around_primary_tokens() {
+    // Given
+    Node node1 = mockNode(DC1, RACK1, ImmutableSet.of(TOKEN1));
+    Node node2 = mockNode(DC1, RACK1, ImmutableSet.of(TOKEN2));
+    Node node3 = mockNode(DC1, RACK1, ImmutableSet.of(TOKEN3));
+    Node node4 = mockNode(DC1, RACK1, ImmutableSet.of(TOKEN4));
+    List<Node> nodes = ImmutableList.of(node1, node2, node3, node4);
+    List<KeyspaceMetadata> keyspaces = ImmutableList.of(mockKeyspace(KS2, REPLICATE_ON_DC1));
+
+    // When
+    DefaultTokenMap tokenMap =
+        DefaultTokenMap.build(nodes, keyspaces, TOKEN_FACTORY, replicationStrategyFactory, "test");
+
+    // Then
+    // A range ]start, end] belongs to the owner of its end token
+    assertThat(tokenMap.getReplicas(KS2, TOKEN_FACTORY.parse(TOKEN1))).containsOnly(node1);
+    assertThat(tokenMap.getReplicas(KS2, TOKEN_FACTORY.parse("-8999999999999999999")))
+        .containsOnly(node2);
+    assertThat(tokenMap.getReplicas(KS2, TOKEN_FACTORY.parse(TOKEN2))).containsOnly(node2);
+    assertThat(tokenMap.getReplicas(KS2, TOKEN_FACTORY.parse("0"))).containsOnly(node3);
+    assertThat(tokenMap.getReplicas(KS2, TOKEN_FACTORY.parse(TOKEN4))).containsOnly(node4);
+    // Before the first token or after the last one: wrap around the ring
+    assertThat(tokenMap.getReplicas(KS2, Murmur3TokenFactory.MIN_TOKEN)).containsOnly(node1);
+    assertThat(tokenMap.getReplicas(KS2, Murmur3TokenFactory.MAX_TOKEN)).containsOnly(node1);
+    // Routing keys and their tokens give the same result
+    for (ByteBuffer key :
+        ImmutableList.of(ROUTING_KEY12, ROUTING_KEY23, ROUTING_KEY34, ROUTING_KEY41)) {
+      assertThat(tokenMap.getReplicas(KS2, key))
+          .isSameAs(tokenMap.getReplicas(KS2, TOKEN_FACTORY.hash(key)));
+    }
+  }
+
+  @Test
+  public void should_find_replicas_with_non_murmur3_partitioner() {
+    // Given
+    TokenFactory tokenFactory = new RandomTokenFactory();
+    Node node1 = mockNode(DC1, RACK1, ImmutableSet.of("10"));
+    Node node2 = mockNode(DC1, RACK1, ImmutableSet.of("20"));
+    Node node3 = mockNode(DC1, RACK1, ImmutableSet.of("30"));
+    List<Node> nodes = ImmutableList.of(node1, node2, node3);
+    List<KeyspaceMetadata> keyspaces = ImmutableList.of(mockKeyspace(KS2, REPLICATE_ON_DC1));
+
+    // When
+    DefaultTokenMap tokenMap =
+        DefaultTokenMap.build(nodes, keyspaces, tokenFactory, replicationStrategyFactory, "test");
+
+    // Then
+    assertThat(tokenMap.getReplicas(KS2, tokenFactory.parse("5"))).containsOnly(node1);
+    assertThat(tokenMap.getReplicas(KS2, tokenFactory.parse("10"))).containsOnly(node1);
+    assertThat(tokenMap.getReplicas(KS2, tokenFactory.parse("11"))).containsOnly(node2);
+    assertThat(tokenMap.getReplicas(KS2, tokenFactory.parse("30"))).containsOnly(node3);
+    assertThat(tokenMap.getReplicas(KS2, tokenFactory.parse("31"))).containsOnly(node1);
+  }
+
   @Test
   public void should_refresh_when_keyspace_replication_has_not_changed() {
     // Given
@@ -357,6 +413,72 @@ public class DefaultTokenMapTest {
         .containsEntry(KS2, REPLICATE_ON_BOTH_DCS);
   }
 
+  @Test
+  public void should_rebuild_token_map_when_node_added() {
+    // Given
+    Node node1 = mockNode(DC1, RACK1, ImmutableSet.of(TOKEN1));
+    Node node2 = mockNode(DC2, RACK2, ImmutableSet.of(TOKEN2));
+    Node node3 = mockNode(DC1, RACK1, ImmutableSet.of(TOKEN3));
+    Node node4 = mockNode(DC2, RACK2, ImmutableSet.of(TOKEN4));
+    List<KeyspaceMetadata> keyspaces =
+        ImmutableList.of(
+            mockKeyspace(KS1, REPLICATE_ON_BOTH_DCS), mockKeyspace(KS2, REPLICATE_ON_DC1));
+    DefaultTokenMap oldTokenMap =
+        DefaultTokenMap.build(
+            ImmutableList.of(node1, node2, node3),
+            keyspaces,
+            TOKEN_FACTORY,
+            replicationStrategyFactory,
+            "test");
+
+    // When
+    DefaultTokenMap newTokenMap =
+        oldTokenMap.rebuild(
+            ImmutableList.of(node1, node2, node3, node4),
+            keyspaces,
+            replicationStrategyFactory,
+            ForkJoinPool.commonPool());
+
+    // Then
+    // Same results as a full build (see should_build_token_map)
+    assertThat(newTokenMap.getTokenRanges()).containsExactly(RANGE12, RANGE23, RANGE34, RANGE41);
+    assertThat(newTokenMap.getTokenRanges(node4)).containsOnly(RANGE34);
+
+    assertThat(newTokenMap.getReplicas(KS1, RANGE12)).containsOnly(node2, node3);
+    assertThat(newTokenMap.getReplicas(KS1, RANGE23)).containsOnly(node3, node4);
+    assertThat(newTokenMap.getReplicas(KS1, RANGE34)).containsOnly(node1, node4);
+    assertThat(newTokenMap.getReplicas(KS1, RANGE41)).containsOnly(node1, node2);
+    assertThat(newTokenMap.getTokenRanges(KS1, node4)).containsOnly(RANGE34, RANGE23);
+
+    assertThat(newTokenMap.getReplicas(KS2, RANGE12)).containsOnly(node3);
+    assertThat(newTokenMap.getReplicas(KS2, RANGE23)).containsOnly(node3);
+    assertThat(newTokenMap.getReplicas(KS2, RANGE34)).containsOnly(node1);
+    assertThat(newTokenMap.getReplicas(KS2, RANGE41)).containsOnly(node1);
+    assertThat(newTokenMap.getTokenRanges(KS2, node4)).isEmpty();
+  }
+
+  @Test
+  public void should_rebuild_token_map_when_node_moved_to_other_datacenter() {
+    // Given
+    DefaultNode node1 = mockNode(DC1, RACK1, ImmutableSet.of(TOKEN1));
+    DefaultNode node2 = mockNode(DC1, RACK1, ImmutableSet.of(TOKEN2));
+    List<Node> nodes = ImmutableList.of(node1, node2);
+    List<KeyspaceMetadata> keyspaces = ImmutableList.of(mockKeyspace(KS2, REPLICATE_ON_DC1));
+    DefaultTokenMap oldTokenMap =
+        DefaultTokenMap.build(nodes, keyspaces, TOKEN_FACTORY, replicationStrategyFactory, "test");
+    assertThat(oldTokenMap.getTokenRanges(KS2, node2)).containsOnly(range(TOKEN1, TOKEN2));
+
+    // When
+    when(node2.getDatacenter()).thenReturn(DC2);
+    DefaultTokenMap newTokenMap =
+        oldTokenMap.rebuild(nodes, keyspaces, replicationStrategyFactory, null);
+
+    // Then
+    assertThat(newTokenMap.getTokenRanges(KS2, node1))
+        .containsOnly(range(TOKEN1, TOKEN2), range(TOKEN2, TOKEN1));
+    assertThat(newTokenMap.getTokenRanges(KS2, node2)).isEmpty();
+  }
+
   private DefaultNode mockNode(String dc, String rack, Set<String> tokens) {
     DefaultNode node = mock(DefaultNode.class);
     when(node.getDatacenter()).thenReturn(dc);
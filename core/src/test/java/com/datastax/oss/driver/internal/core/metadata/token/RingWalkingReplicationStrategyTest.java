@@ -0,0 +1,182 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.metadata.token;
+
+import static com.datastax.oss.driver.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
+import com.datastax.oss.driver.shaded.guava.common.collect.SetMultimap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RingWalkingReplicationStrategyTest {
+
+  private static final int TOKENS_PER_NODE = 8;
+
+  private Random random;
+  private List<Node> nodes;
+  private Map<Token, Node> tokenToPrimary;
+
+  @Before
+  public void setup() {
+    random = new Random(42);
+    nodes = new ArrayList<>();
+    tokenToPrimary = new TreeMap<>();
+    for (int i = 0; i < 12; i++) {
+      addNode(newNode(i));
+    }
+  }
+
+  @Test
+  public void should_update_simple_strategy_when_node_added() {
+    Map<Token, Node> previous = ImmutableMap.copyOf(tokenToPrimary);
+    addNode(newNode(12));
+    should_match_full_computation(
+        new SimpleReplicationStrategy(new ReplicationFactor(3)), previous);
+  }
+
+  @Test
+  public void should_update_simple_strategy_when_node_removed() {
+    Map<Token, Node> previous = ImmutableMap.copyOf(tokenToPrimary);
+    removeNode(nodes.get(5));
+    should_match_full_computation(
+        new SimpleReplicationStrategy(new ReplicationFactor(3)), previous);
+  }
+
+  @Test
+  public void should_update_network_topology_strategy_when_node_added() {
+    Map<Token, Node> previous = ImmutableMap.copyOf(tokenToPrimary);
+    // Same DC and rack as an existing node, so that the topology-wide parameters don't change
+    addNode(newNode(12));
+    should_match_full_computation(
+        new NetworkTopologyReplicationStrategy(ImmutableMap.of("dc0", "3", "dc1", "2"), "test"),
+        previous);
+  }
+
+  @Test
+  public void should_update_network_topology_strategy_when_node_removed() {
+    Map<Token, Node> previous = ImmutableMap.copyOf(tokenToPrimary);
+    removeNode(nodes.get(7));
+    should_match_full_computation(
+        new NetworkTopologyReplicationStrategy(ImmutableMap.of("dc0", "3", "dc1", "2"), "test"),
+        previous);
+  }
+
+  @Test
+  public void should_update_network_topology_strategy_when_tokens_moved() {
+    Map<Token, Node> previous = ImmutableMap.copyOf(tokenToPrimary);
+    Node node = nodes.get(3);
+    removeNode(node);
+    addNode(node);
+    should_match_full_computation(
+        new NetworkTopologyReplicationStrategy(ImmutableMap.of("dc0", "3", "dc1", "2"), "test"),
+        previous);
+  }
+
+  @Test
+  public void should_update_network_topology_strategy_when_new_rack() {
+    Map<Token, Node> previous = ImmutableMap.copyOf(tokenToPrimary);
+    Node node = mock(Node.class);
+    when(node.getDatacenter()).thenReturn("dc0");
+    when(node.getRack()).thenReturn("newRack");
+    addNode(node);
+    should_match_full_computation(
+        new NetworkTopologyReplicationStrategy(ImmutableMap.of("dc0", "3", "dc1", "2"), "test"),
+        previous);
+  }
+
+  @Test
+  public void should_only_recompute_tokens_near_the_change() {
+    Map<Token, Node> previous = ImmutableMap.copyOf(tokenToPrimary);
+    List<Token> previousRing = ImmutableList.copyOf(previous.keySet());
+    AtomicInteger walks = new AtomicInteger();
+    SimpleReplicationStrategy strategy =
+        new SimpleReplicationStrategy(new ReplicationFactor(3)) {
+          @Override
+          protected int walk(
+              int index,
+              Map<Token, Node> tokenToPrimary,
+              List<Token> ring,
+              Integer rf,
+              Set<Node> replicas) {
+            walks.incrementAndGet();
+            return super.walk(index, tokenToPrimary, ring, rf, replicas);
+          }
+        };
+    SetMultimap<Token, Node> previousReplicas =
+        strategy.computeReplicasByToken(previous, previousRing);
+    addNode(newNode(12));
+    List<Token> ring = ImmutableList.copyOf(tokenToPrimary.keySet());
+
+    walks.set(0);
+    strategy.computeReplicasByRingIndex(tokenToPrimary, ring, previous, previousReplicas::get);
+
+    assertThat(walks.get()).isGreaterThanOrEqualTo(TOKENS_PER_NODE).isLessThan(ring.size() / 2);
+  }
+
+  private void should_match_full_computation(
+      ReplicationStrategy strategy, Map<Token, Node> previousTokenToPrimary) {
+    SetMultimap<Token, Node> previousReplicas =
+        strategy.computeReplicasByToken(
+            previousTokenToPrimary, ImmutableList.copyOf(previousTokenToPrimary.keySet()));
+    List<Token> ring = ImmutableList.copyOf(tokenToPrimary.keySet());
+
+    SetMultimap<Token, Node> expected = strategy.computeReplicasByToken(tokenToPrimary, ring);
+    List<Set<Node>> actual =
+        strategy.computeReplicasByRingIndex(
+            tokenToPrimary, ring, previousTokenToPrimary, previousReplicas::get);
+
+    assertThat(actual).hasSameSizeAs(ring);
+    for (int i = 0; i < ring.size(); i++) {
+      // Also checks the order of the replicas
+      assertThat(actual.get(i)).containsExactlyElementsOf(expected.get(ring.get(i)));
+    }
+  }
+
+  private Node newNode(int i) {
+    Node node = mock(Node.class);
+    when(node.getDatacenter()).thenReturn("dc" + (i % 2));
+    when(node.getRack()).thenReturn("rack" + (i % 3));
+    return node;
+  }
+
+  private void addNode(Node node) {
+    for (int i = 0; i < TOKENS_PER_NODE; i++) {
+      tokenToPrimary.put(new Murmur3Token(random.nextLong()), node);
+    }
+    nodes.add(node);
+  }
+
+  private void removeNode(Node node) {
+    Map<Token, Node> copy = new HashMap<>(tokenToPrimary);
+    copy.entrySet().removeIf(entry -> entry.getValue() == node);
+    tokenToPrimary = new TreeMap<>(copy);
+    nodes.remove(node);
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.pool;
+
+import static com.datastax.oss.driver.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.internal.core.channel.DriverChannel;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+public class ChannelSelectionStrategyTest {
+
+  @Mock private DriverChannel channel1, channel2, channel3;
+
+  @Before
+  public void setup() {
+    MockitoAnnotations.initMocks(this);
+  }
+
+  @Test
+  public void should_build_strategies_from_name() {
+    assertThat(ChannelSelectionStrategy.fromName("least-busy"))
+        .isSameAs(LeastBusyChannelSelectionStrategy.INSTANCE);
+    assertThat(ChannelSelectionStrategy.fromName("Power-Of-Two-Choices"))
+        .isSameAs(PowerOfTwoChoicesChannelSelectionStrategy.INSTANCE);
+    assertThat(ChannelSelectionStrategy.fromName("sticky"))
+        .isSameAs(StickyChannelSelectionStrategy.INSTANCE);
+    assertThatThrownBy(() -> ChannelSelectionStrategy.fromName("round-robin"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("round-robin");
+  }
+
+  @Test
+  public void should_pick_least_busy_of_two_random_choices() {
+    // Given
+    // with two channels, both are always picked
+    when(channel1.getAvailableIds()).thenReturn(2);
+    when(channel2.getAvailableIds()).thenReturn(12);
+    when(channel2.preAcquireId()).thenReturn(true);
+
+    // When
+    DriverChannel selected =
+        PowerOfTwoChoicesChannelSelectionStrategy.INSTANCE.select(
+            new DriverChannel[] {channel1, channel2});
+
+    // Then
+    assertThat(selected).isEqualTo(channel2);
+    verify(channel1, never()).preAcquireId();
+  }
+
+  @Test
+  public void should_pick_other_choice_if_acquisition_fails() {
+    // Given
+    when(channel1.getAvailableIds()).thenReturn(2);
+    when(channel2.getAvailableIds()).thenReturn(12);
+    // simulate a race with another thread that took the last ids
+    when(channel2.preAcquireId()).thenReturn(false);
+    when(channel1.preAcquireId()).thenReturn(true);
+
+    // When
+    DriverChannel selected =
+        PowerOfTwoChoicesChannelSelectionStrategy.INSTANCE.select(
+            new DriverChannel[] {channel1, channel2});
+
+    // Then
+    assertThat(selected).isEqualTo(channel1);
+  }
+
+  @Test
+  public void should_fall_back_to_full_scan_if_random_choices_are_full() {
+    // Given
+    // only one channel out of 3 has ids, the random choices may miss it but the scan won't
+    when(channel1.getAvailableIds()).thenReturn(0);
+    when(channel2.getAvailableIds()).thenReturn(0);
+    when(channel3.getAvailableIds()).thenReturn(5);
+    when(channel3.preAcquireId()).thenReturn(true);
+
+    // When
+    DriverChannel selected =
+        PowerOfTwoChoicesChannelSelectionStrategy.INSTANCE.select(
+            new DriverChannel[] {channel1, channel2, channel3});
+
+    // Then
+    assertThat(selected).isEqualTo(channel3);
+    verify(channel1, never()).preAcquireId();
+    verify(channel2, never()).preAcquireId();
+  }
+
+  @Test
+  public void should_return_null_if_all_full_with_random_choices() {
+    // Given
+    when(channel1.getAvailableIds()).thenReturn(0);
+    when(channel2.getAvailableIds()).thenReturn(0);
+    when(channel3.getAvailableIds()).thenReturn(0);
+
+    // Then
+    assertThat(
+            PowerOfTwoChoicesChannelSelectionStrategy.INSTANCE.select(
+                new DriverChannel[] {channel1, channel2, channel3}))
+        .isNull();
+  }
+
+  @Test
+  public void should_stick_to_preferred_channel() {
+    // Given
+    DriverChannel[] channels = {channel1, channel2, channel3};
+    for (DriverChannel channel : channels) {
+      when(channel.preAcquireId()).thenReturn(true);
+      when(channel.getAvailableIds()).thenReturn(10);
+    }
+    DriverChannel preferred =
+        channels[StickyChannelSelectionStrategy.preferredIndex(Thread.currentThread(), 3)];
+
+    // Then
+    for (int i = 0; i < 10; i++) {
+      assertThat(StickyChannelSelectionStrategy.INSTANCE.select(channels)).isEqualTo(preferred);
+    }
+  }
+
+  @Test
+  public void should_fall_back_to_random_choices_if_preferred_channel_full() {
+    // Given
+    DriverChannel[] channels = {channel1, channel2};
+    int preferredIndex = StickyChannelSelectionStrategy.preferredIndex(Thread.currentThread(), 2);
+    DriverChannel preferred = channels[preferredIndex];
+    DriverChannel other = channels[1 - preferredIndex];
+    when(preferred.preAcquireId()).thenReturn(false);
+    when(preferred.getAvailableIds()).thenReturn(0);
+    when(other.preAcquireId()).thenReturn(true);
+    when(other.getAvailableIds()).thenReturn(10);
+
+    // Then
+    assertThat(StickyChannelSelectionStrategy.INSTANCE.select(channels)).isEqualTo(other);
+  }
+
+  @Test
+  public void should_spread_threads_across_channels() {
+    boolean[] used = new boolean[4];
+    for (int i = 0; i < 64; i++) {
+      used[StickyChannelSelectionStrategy.preferredIndex(new Thread(), 4)] = true;
+    }
+    assertThat(used).containsOnly(true);
+  }
+}
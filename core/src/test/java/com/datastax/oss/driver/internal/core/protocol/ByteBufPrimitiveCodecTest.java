@@ -18,12 +18,22 @@ package com.datastax.oss.driver.internal.core.protocol;
 import static com.datastax.oss.driver.Assertions.assertThat;
 
 import com.datastax.oss.driver.internal.core.util.ByteBufs;
+import com.datastax.oss.protocol.internal.Compressor;
+import com.datastax.oss.protocol.internal.Frame;
+import com.datastax.oss.protocol.internal.FrameCodec;
+import com.datastax.oss.protocol.internal.ProtocolConstants;
+import com.datastax.oss.protocol.internal.request.Query;
+import com.datastax.oss.protocol.internal.request.query.QueryOptions;
 import com.datastax.oss.protocol.internal.util.Bytes;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -348,6 +358,73 @@ public class ByteBufPrimitiveCodecTest {
     assertThat(dest).containsExactly("0xFFFFFFFF");
   }
 
+  @Test
+  public void should_encode_large_values_without_copy() {
+    // Given
+    ByteBufPrimitiveCodec zeroCopyCodec =
+        new ByteBufPrimitiveCodec(ByteBufAllocator.DEFAULT, 100_000);
+    FrameCodec<ByteBuf> clientCodec = FrameCodec.defaultClient(zeroCopyCodec, Compressor.none());
+    List<ByteBuffer> values = new ArrayList<>();
+    // Enough small values to fill more than one chunk, before and after the large one
+    for (int i = 0; i < 100; i++) {
+      values.add(ByteBuffer.wrap(new byte[1000]));
+    }
+    ByteBuffer largeValue = ByteBuffer.wrap(new byte[200_000]);
+    values.add(largeValue);
+    for (int i = 0; i < 100; i++) {
+      values.add(ByteBuffer.wrap(new byte[1000]));
+    }
+    Frame frame = newQueryFrame(values);
+
+    // When
+    ByteBuf encoded = clientCodec.encode(frame);
+
+    // Then
+    assertThat(encoded).isInstanceOf(CompositeByteBuf.class);
+    // No memory was allocated beyond what was needed
+    assertThat(encoded.capacity()).isEqualTo(encoded.writerIndex());
+    // The large value was not copied: changing it after the fact is visible in the buffer
+    largeValue.put(0, (byte) 42);
+    Frame decoded = FrameCodec.defaultServer(codec, Compressor.none()).decode(encoded.duplicate());
+    List<ByteBuffer> decodedValues = ((Query) decoded.message).options.positionalValues;
+    assertThat(decodedValues).hasSize(201);
+    assertThat(decodedValues.get(100).get(0)).isEqualTo((byte) 42);
+    assertThat(decodedValues.get(100).remaining()).isEqualTo(200_000);
+    assertThat(decodedValues.get(200).remaining()).isEqualTo(1000);
+    encoded.release();
+  }
+
+  @Test
+  public void should_not_use_composite_buffer_for_small_frames() {
+    ByteBufPrimitiveCodec zeroCopyCodec =
+        new ByteBufPrimitiveCodec(ByteBufAllocator.DEFAULT, 100_000);
+    FrameCodec<ByteBuf> clientCodec = FrameCodec.defaultClient(zeroCopyCodec, Compressor.none());
+
+    ByteBuf encoded =
+        clientCodec.encode(
+            newQueryFrame(Collections.singletonList(ByteBuffer.wrap(new byte[1000]))));
+
+    assertThat(encoded).isNotInstanceOf(CompositeByteBuf.class);
+    encoded.release();
+  }
+
+  private static Frame newQueryFrame(List<ByteBuffer> values) {
+    QueryOptions options =
+        new QueryOptions(
+            ProtocolConstants.ConsistencyLevel.ONE,
+            values,
+            Collections.emptyMap(),
+            false,
+            -1,
+            null,
+            ProtocolConstants.ConsistencyLevel.SERIAL,
+            QueryOptions.NO_DEFAULT_TIMESTAMP,
+            null,
+            QueryOptions.NO_NOW_IN_SECONDS);
+    return Frame.forRequest(
+        4, 1, false, Collections.emptyMap(), new Query("INSERT INTO foo", options));
+  }
+
   private static ByteBuf allocate(int length) {
     return ByteBufAllocator.DEFAULT.buffer(length);
   }
@@ -0,0 +1,145 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.protocol;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.context.DriverContext;
+import com.datastax.oss.driver.internal.core.util.ByteBufs;
+import com.datastax.oss.protocol.internal.Compressor;
+import com.datastax.oss.protocol.internal.FrameCodec;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.handler.codec.CorruptedFrameException;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+
+public class SegmentCodecTest {
+
+  private static final ByteBufAllocator ALLOCATOR = UnpooledByteBufAllocator.DEFAULT;
+
+  @Test
+  public void should_encode_and_decode_uncompressed_segment() {
+    SegmentCodec codec = newCodec(Compressor.none());
+    ByteBuf payload = ByteBufs.fromHexString("0xcafebabe");
+
+    ByteBuf encoded = codec.encode(new Segment(payload.duplicate().retain(), true));
+
+    assertThat(encoded.readableBytes())
+        .isEqualTo(
+            SegmentCodec.UNCOMPRESSED_HEADER_LENGTH
+                + payload.readableBytes()
+                + SegmentCodec.TRAILER_LENGTH);
+    Segment decoded = decode(codec, encoded);
+    assertThat(decoded.isSelfContained).isTrue();
+    assertThat(toBytes(decoded.payload)).isEqualTo(toBytes(payload));
+  }
+
+  @Test
+  public void should_encode_and_decode_compressed_segment() {
+    SegmentCodec codec = newCodec(newLz4Compressor());
+    byte[] bytes = new byte[10_000];
+    Arrays.fill(bytes, (byte) 42);
+
+    ByteBuf encoded = codec.encode(new Segment(ALLOCATOR.buffer().writeBytes(bytes), false));
+
+    assertThat(encoded.readableBytes()).isLessThan(bytes.length);
+    Segment decoded = decode(codec, encoded);
+    assertThat(decoded.isSelfContained).isFalse();
+    assertThat(toBytes(decoded.payload)).isEqualTo(bytes);
+  }
+
+  @Test
+  public void should_send_uncompressed_if_compression_does_not_help() {
+    SegmentCodec codec = newCodec(newLz4Compressor());
+    byte[] bytes = new byte[1000];
+    new Random(1).nextBytes(bytes);
+
+    ByteBuf encoded = codec.encode(new Segment(ALLOCATOR.buffer().writeBytes(bytes), true));
+
+    ByteBuf header = encoded.slice(0, SegmentCodec.COMPRESSED_HEADER_LENGTH);
+    assertThat(codec.decodeHeader(header).uncompressedLength).isEqualTo(0);
+    Segment decoded = decode(codec, encoded);
+    assertThat(toBytes(decoded.payload)).isEqualTo(bytes);
+  }
+
+  @Test
+  public void should_fail_if_header_is_corrupted() {
+    SegmentCodec codec = newCodec(Compressor.none());
+    ByteBuf encoded = codec.encode(new Segment(ByteBufs.fromHexString("0xcafebabe"), true));
+    // Flip a bit in the payload length
+    encoded.setByte(0, encoded.getByte(0) ^ 0x01);
+
+    Throwable t = catchThrowable(() -> codec.decodeHeader(encoded));
+
+    assertThat(t).isInstanceOf(CorruptedFrameException.class).hasMessageContaining("CRC24");
+  }
+
+  @Test
+  public void should_fail_if_payload_is_corrupted() {
+    SegmentCodec codec = newCodec(Compressor.none());
+    ByteBuf encoded = codec.encode(new Segment(ByteBufs.fromHexString("0xcafebabe"), true));
+    encoded.setByte(SegmentCodec.UNCOMPRESSED_HEADER_LENGTH, 0);
+
+    Throwable t = catchThrowable(() -> decode(codec, encoded));
+
+    assertThat(t).isInstanceOf(CorruptedFrameException.class).hasMessageContaining("CRC32");
+  }
+
+  @Test
+  public void should_reject_unsupported_compressor() {
+    @SuppressWarnings("unchecked")
+    Compressor<ByteBuf> snappy = mock(Compressor.class);
+    when(snappy.algorithm()).thenReturn("snappy");
+
+    Throwable t = catchThrowable(() -> newCodec(snappy));
+
+    assertThat(t).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static SegmentCodec newCodec(Compressor<ByteBuf> compressor) {
+    return new SegmentCodec(
+        ALLOCATOR,
+        compressor,
+        FrameCodec.defaultClient(new ByteBufPrimitiveCodec(ALLOCATOR), Compressor.none()));
+  }
+
+  private static Lz4Compressor newLz4Compressor() {
+    DriverContext context = mock(DriverContext.class);
+    when(context.getSessionName()).thenReturn("test");
+    return new Lz4Compressor(context);
+  }
+
+  private static Segment decode(SegmentCodec codec, ByteBuf encoded) {
+    SegmentCodec.Header header = codec.decodeHeader(encoded);
+    assertThat(encoded.readableBytes())
+        .isEqualTo(header.payloadLength + SegmentCodec.TRAILER_LENGTH);
+    ByteBuf payload = encoded.readRetainedSlice(header.payloadLength);
+    int crc = encoded.readIntLE();
+    return codec.decodePayload(header, payload, crc);
+  }
+
+  private static byte[] toBytes(ByteBuf buffer) {
+    byte[] bytes = new byte[buffer.readableBytes()];
+    buffer.getBytes(buffer.readerIndex(), bytes);
+    return bytes;
+  }
+}
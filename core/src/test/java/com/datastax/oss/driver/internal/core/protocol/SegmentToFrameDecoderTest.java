@@ -0,0 +1,182 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.protocol;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import com.datastax.oss.driver.api.core.connection.FrameTooLongException;
+import com.datastax.oss.driver.internal.core.channel.ChannelHandlerTestBase;
+import com.datastax.oss.driver.shaded.guava.common.base.Strings;
+import com.datastax.oss.protocol.internal.Compressor;
+import com.datastax.oss.protocol.internal.Frame;
+import com.datastax.oss.protocol.internal.FrameCodec;
+import com.datastax.oss.protocol.internal.request.Query;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Sends frames through {@link SegmentBuilder}, and reads them back with {@link
+ * BytesToSegmentDecoder} and {@link SegmentToFrameDecoder}.
+ */
+public class SegmentToFrameDecoderTest extends ChannelHandlerTestBase {
+
+  // Use very small segments, so that we don't have to generate large frames to exercise splitting
+  private static final int MAX_PAYLOAD_LENGTH = 100;
+
+  private SegmentCodec segmentCodec;
+  private EmbeddedChannel serverChannel;
+
+  @Before
+  @Override
+  public void setup() {
+    super.setup();
+    FrameCodec<ByteBuf> clientFrameCodec =
+        FrameCodec.defaultClient(new ByteBufPrimitiveCodec(channel.alloc()), Compressor.none());
+    segmentCodec = new SegmentCodec(channel.alloc(), Compressor.none(), clientFrameCodec);
+    channel
+        .pipeline()
+        .addLast(
+            new SegmentBuilder(segmentCodec, MAX_PAYLOAD_LENGTH),
+            new FrameEncoder(clientFrameCodec, 1024 * 1024));
+    serverChannel = new EmbeddedChannel();
+  }
+
+  @Test
+  public void should_group_small_frames_and_split_large_ones() {
+    // Given
+    addServerDecoders(1024 * 1024);
+    String largeQuery = "SELECT * FROM foo WHERE k = '" + Strings.repeat("a", 300) + "'";
+
+    // When
+    channel.write(query(1, "SELECT 1"));
+    channel.write(query(2, "SELECT 2"));
+    channel.write(query(3, "SELECT 3"));
+    channel.write(query(4, largeQuery));
+    channel.write(query(5, "SELECT 5"));
+    channel.flush();
+    int segmentCount = transferToServer();
+
+    // Then
+    // 1 segment for the first 3 frames, 4 for the large one, 1 for the last one
+    assertThat(segmentCount).isEqualTo(6);
+    List<Frame> frames = readServerFrames();
+    assertThat(frames).extracting(f -> f.streamId).containsExactly(1, 2, 3, 4, 5);
+    assertThat(((Query) frames.get(3).message).query).isEqualTo(largeQuery);
+  }
+
+  @Test
+  public void should_wait_for_flush_before_sending_segment() {
+    // Given
+    addServerDecoders(1024 * 1024);
+
+    // When
+    channel.write(query(1, "SELECT 1"));
+
+    // Then
+    assertThat(transferToServer()).isEqualTo(0);
+    channel.flush();
+    assertThat(transferToServer()).isEqualTo(1);
+    assertThat(readServerFrames()).extracting(f -> f.streamId).containsExactly(1);
+  }
+
+  @Test
+  public void should_discard_reassembled_frame_if_too_long() {
+    // Given
+    addServerDecoders(200);
+
+    // When
+    channel.write(query(1, Strings.repeat("a", 300)));
+    channel.write(query(2, "SELECT 2"));
+    channel.flush();
+
+    // Then
+    try {
+      transferToServer();
+      fail("expected an exception");
+    } catch (FrameDecodingException e) {
+      assertThat(e.streamId).isEqualTo(1);
+      assertThat(e.getCause()).isInstanceOf(FrameTooLongException.class);
+    }
+    // The next frame can still be decoded
+    assertThat(readServerFrames()).extracting(f -> f.streamId).containsExactly(2);
+  }
+
+  @Test
+  public void should_report_decoding_error_against_stream_id_of_frame() {
+    // Given
+    addServerDecoders(1024 * 1024);
+    FrameCodec<ByteBuf> clientFrameCodec =
+        FrameCodec.defaultClient(new ByteBufPrimitiveCodec(channel.alloc()), Compressor.none());
+    ByteBuf frameBytes = clientFrameCodec.encode(query(7, "SELECT 7"));
+    // Corrupt the opcode, so that the frame can't be decoded
+    frameBytes.setByte(frameBytes.readerIndex() + 4, 0x7F);
+
+    // When
+    try {
+      serverChannel.writeInbound(segmentCodec.encode(new Segment(frameBytes, true)));
+      fail("expected an exception");
+    } catch (FrameDecodingException e) {
+      // Then
+      assertThat(e.streamId).isEqualTo(7);
+    }
+  }
+
+  private void addServerDecoders(int maxFrameLength) {
+    FrameCodec<ByteBuf> serverFrameCodec =
+        FrameCodec.defaultServer(
+            new ByteBufPrimitiveCodec(serverChannel.alloc()), Compressor.none());
+    serverChannel
+        .pipeline()
+        .addLast(
+            new BytesToSegmentDecoder(segmentCodec),
+            new SegmentToFrameDecoder(serverFrameCodec, maxFrameLength));
+  }
+
+  private static Frame query(int streamId, String query) {
+    return Frame.forRequest(4, streamId, false, Collections.emptyMap(), new Query(query));
+  }
+
+  /** Moves the bytes written by the client to the server, returns how many segments were sent. */
+  private int transferToServer() {
+    int count = 0;
+    List<ByteBuf> segments = new ArrayList<>();
+    ByteBuf segment;
+    while ((segment = channel.readOutbound()) != null) {
+      segments.add(segment);
+      count += 1;
+    }
+    if (count > 0) {
+      // Write everything at once: if decoding fails, the exception is only rethrown at the end
+      serverChannel.writeInbound(segments.toArray());
+    }
+    return count;
+  }
+
+  private List<Frame> readServerFrames() {
+    List<Frame> frames = new ArrayList<>();
+    Frame frame;
+    while ((frame = serverChannel.readInbound()) != null) {
+      frames.add(frame);
+    }
+    return frames;
+  }
+}
@@ -0,0 +1,350 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.session.throttling;
+
+import static com.datastax.oss.driver.Assertions.assertThat;
+import static com.datastax.oss.driver.Assertions.assertThatStage;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.RequestThrottlingException;
+import com.datastax.oss.driver.api.core.config.DefaultDriverOption;
+import com.datastax.oss.driver.api.core.config.DriverConfig;
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.context.DriverContext;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.servererrors.OverloadedException;
+import com.datastax.oss.driver.shaded.guava.common.collect.Lists;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AdaptiveConcurrencyLimitingRequestThrottlerTest {
+
+  private static final long LATENCY_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  @Mock private DriverContext context;
+  @Mock private DriverConfig config;
+  @Mock private DriverExecutionProfile defaultProfile;
+  @Mock private Node node;
+
+  private SettableNanoClock clock = new SettableNanoClock();
+  private AdaptiveConcurrencyLimitingRequestThrottler throttler;
+
+  @Before
+  public void setup() {
+    when(context.getConfig()).thenReturn(config);
+    when(config.getDefaultProfile()).thenReturn(defaultProfile);
+
+    when(defaultProfile.getInt(DefaultDriverOption.REQUEST_THROTTLER_MIN_CONCURRENT_REQUESTS))
+        .thenReturn(2);
+    when(defaultProfile.getInt(DefaultDriverOption.REQUEST_THROTTLER_INITIAL_CONCURRENT_REQUESTS))
+        .thenReturn(4);
+    when(defaultProfile.getInt(DefaultDriverOption.REQUEST_THROTTLER_MAX_CONCURRENT_REQUESTS))
+        .thenReturn(6);
+    when(defaultProfile.getInt(DefaultDriverOption.REQUEST_THROTTLER_MAX_QUEUE_SIZE))
+        .thenReturn(10);
+    when(defaultProfile.getDouble(DefaultDriverOption.REQUEST_THROTTLER_BACKOFF_RATIO))
+        .thenReturn(0.5);
+    when(defaultProfile.getDuration(DefaultDriverOption.REQUEST_THROTTLER_LATENCY_THRESHOLD))
+        .thenReturn(Duration.ofNanos(LATENCY_THRESHOLD_NANOS));
+
+    throttler = new AdaptiveConcurrencyLimitingRequestThrottler(context, clock);
+  }
+
+  @Test
+  public void should_enqueue_when_over_initial_limit() {
+    // Given
+    List<MockThrottled> active = register(4);
+
+    // When
+    MockThrottled incoming = new MockThrottled();
+    throttler.register(incoming);
+
+    // Then
+    for (MockThrottled request : active) {
+      assertThatStage(request.started).isSuccess(wasDelayed -> assertThat(wasDelayed).isFalse());
+    }
+    assertThatStage(incoming.started).isNotDone();
+    assertThat(throttler.getLimit()).isEqualTo(4);
+    assertThat(throttler.getConcurrentRequests()).isEqualTo(4);
+    assertThat(throttler.getQueue()).containsExactly(incoming);
+  }
+
+  @Test
+  public void should_increase_limit_when_requests_succeed_quickly() {
+    // Given
+    List<MockThrottled> active = register(4);
+    MockThrottled queued1 = new MockThrottled();
+    MockThrottled queued2 = new MockThrottled();
+    throttler.register(queued1);
+    throttler.register(queued2);
+
+    // When
+    throttler.signalSuccess(active.get(0));
+
+    // Then
+    assertThat(throttler.getLimit()).isEqualTo(5);
+    // One permit was released and one added, both queued requests can start
+    assertThatStage(queued1.started).isSuccess(wasDelayed -> assertThat(wasDelayed).isTrue());
+    assertThatStage(queued2.started).isSuccess(wasDelayed -> assertThat(wasDelayed).isTrue());
+    assertThat(throttler.getConcurrentRequests()).isEqualTo(5);
+    assertThat(throttler.getQueue()).isEmpty();
+  }
+
+  @Test
+  public void should_not_increase_limit_when_it_is_underused() {
+    // Given
+    MockThrottled request = new MockThrottled();
+    throttler.register(request);
+
+    // When
+    throttler.signalSuccess(request);
+
+    // Then
+    assertThat(throttler.getLimit()).isEqualTo(4);
+  }
+
+  @Test
+  public void should_not_increase_limit_above_max() {
+    for (int i = 0; i < 10; i++) {
+      List<MockThrottled> active = register(throttler.getLimit());
+      for (MockThrottled request : active) {
+        throttler.signalSuccess(request);
+      }
+    }
+    assertThat(throttler.getLimit()).isEqualTo(6);
+  }
+
+  @Test
+  public void should_decrease_limit_when_request_times_out() {
+    should_decrease_limit(request -> throttler.signalTimeout(request));
+  }
+
+  @Test
+  public void should_decrease_limit_when_request_is_overloaded() {
+    should_decrease_limit(request -> throttler.signalError(request, new OverloadedException(node)));
+  }
+
+  @Test
+  public void should_decrease_limit_when_request_is_slow() {
+    should_decrease_limit(
+        request -> {
+          clock.add(LATENCY_THRESHOLD_NANOS);
+          throttler.signalSuccess(request);
+        });
+  }
+
+  private void should_decrease_limit(Consumer<MockThrottled> failure) {
+    // Given
+    List<MockThrottled> active = register(4);
+    clock.add(1);
+
+    // When
+    failure.accept(active.get(0));
+
+    // Then
+    assertThat(throttler.getLimit()).isEqualTo(2);
+    assertThat(throttler.getConcurrentRequests()).isEqualTo(3);
+
+    // When
+    // the other requests started before the decrease, they shouldn't decrease the limit further
+    failure.accept(active.get(1));
+
+    // Then
+    assertThat(throttler.getLimit()).isEqualTo(2);
+    assertThat(throttler.getConcurrentRequests()).isEqualTo(2);
+  }
+
+  @Test
+  public void should_not_decrease_limit_below_min() {
+    for (int i = 0; i < 5; i++) {
+      clock.add(1);
+      MockThrottled request = new MockThrottled();
+      throttler.register(request);
+      clock.add(1);
+      throttler.signalTimeout(request);
+    }
+    assertThat(throttler.getLimit()).isEqualTo(2);
+  }
+
+  @Test
+  public void should_not_change_limit_for_other_errors() {
+    // Given
+    List<MockThrottled> active = register(4);
+
+    // When
+    throttler.signalError(active.get(0), new IllegalStateException("mock error"));
+
+    // Then
+    assertThat(throttler.getLimit()).isEqualTo(4);
+    assertThat(throttler.getConcurrentRequests()).isEqualTo(3);
+  }
+
+  @Test
+  public void should_not_start_queued_requests_until_under_decreased_limit() {
+    // Given
+    List<MockThrottled> active = register(4);
+    MockThrottled queued = new MockThrottled();
+    throttler.register(queued);
+    clock.add(1);
+
+    // When
+    throttler.signalTimeout(active.get(0));
+
+    // Then
+    // limit = 2, active = 3
+    assertThatStage(queued.started).isNotDone();
+
+    // When
+    throttler.signalError(active.get(1), new IllegalStateException("mock error"));
+    // limit = 2, active = 2
+    assertThatStage(queued.started).isNotDone();
+    throttler.signalError(active.get(2), new IllegalStateException("mock error"));
+
+    // Then
+    assertThatStage(queued.started).isSuccess(wasDelayed -> assertThat(wasDelayed).isTrue());
+    assertThat(throttler.getConcurrentRequests()).isEqualTo(2);
+  }
+
+  @Test
+  public void should_ignore_signal_for_request_that_is_not_active() {
+    // Given
+    List<MockThrottled> active = register(4);
+    throttler.signalSuccess(active.get(0));
+    assertThat(throttler.getConcurrentRequests()).isEqualTo(3);
+
+    // When
+    throttler.signalSuccess(active.get(0));
+
+    // Then
+    assertThat(throttler.getConcurrentRequests()).isEqualTo(3);
+  }
+
+  @Test
+  public void should_remove_timed_out_request_from_queue() {
+    // Given
+    register(4);
+    MockThrottled queued = new MockThrottled();
+    throttler.register(queued);
+
+    // When
+    throttler.signalTimeout(queued);
+
+    // Then
+    assertThat(throttler.getQueue()).isEmpty();
+    assertThat(throttler.getQueueSize()).isEqualTo(0);
+    assertThat(throttler.getLimit()).isEqualTo(4);
+  }
+
+  @Test
+  public void should_release_permit_when_request_times_out_while_being_dequeued() {
+    // Given
+    // A clock that simulates the timeout firing after drain() has polled the request, but before
+    // it was started:
+    MockThrottled[] timingOut = new MockThrottled[1];
+    throttler =
+        new AdaptiveConcurrencyLimitingRequestThrottler(
+            context,
+            () -> {
+              if (timingOut[0] != null && throttler.getQueue().isEmpty()) {
+                MockThrottled request = timingOut[0];
+                timingOut[0] = null;
+                throttler.signalTimeout(request);
+              }
+              return clock.nanoTime();
+            });
+    List<MockThrottled> active = register(4);
+    MockThrottled queued = new MockThrottled();
+    throttler.register(queued);
+    timingOut[0] = queued;
+
+    // When
+    throttler.signalSuccess(active.get(0));
+
+    // Then
+    assertThat(timingOut[0]).isNull();
+    assertThatStage(queued.started).isNotDone();
+    assertThat(throttler.getQueue()).isEmpty();
+    assertThat(throttler.getConcurrentRequests()).isEqualTo(3);
+
+    // Late signals for the timed out request are ignored
+    throttler.signalTimeout(queued);
+    assertThat(throttler.getConcurrentRequests()).isEqualTo(3);
+
+    // The permit is available to new requests
+    MockThrottled incoming = new MockThrottled();
+    throttler.register(incoming);
+    assertThatStage(incoming.started).isSuccess(wasDelayed -> assertThat(wasDelayed).isFalse());
+    assertThat(throttler.getConcurrentRequests()).isEqualTo(4);
+  }
+
+  @Test
+  public void should_reject_when_queue_is_full() {
+    // Given
+    register(4);
+    for (int i = 0; i < 10; i++) {
+      throttler.register(new MockThrottled());
+    }
+
+    // When
+    MockThrottled incoming = new MockThrottled();
+    throttler.register(incoming);
+
+    // Then
+    assertThatStage(incoming.started)
+        .isFailed(error -> assertThat(error).isInstanceOf(RequestThrottlingException.class));
+  }
+
+  @Test
+  public void should_reject_enqueued_when_closing() {
+    // Given
+    register(4);
+    MockThrottled queued = new MockThrottled();
+    throttler.register(queued);
+
+    // When
+    throttler.close();
+
+    // Then
+    assertThatStage(queued.started)
+        .isFailed(error -> assertThat(error).isInstanceOf(RequestThrottlingException.class));
+
+    // When
+    MockThrottled request = new MockThrottled();
+    throttler.register(request);
+
+    // Then
+    assertThatStage(request.started)
+        .isFailed(error -> assertThat(error).isInstanceOf(RequestThrottlingException.class));
+  }
+
+  private List<MockThrottled> register(int count) {
+    List<MockThrottled> requests = Lists.newArrayList();
+    for (int i = 0; i < count; i++) {
+      MockThrottled request = new MockThrottled();
+      throttler.register(request);
+      requests.add(request);
+    }
+    return requests;
+  }
+}
@@ -26,7 +26,13 @@ import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
 import com.datastax.oss.driver.api.core.context.DriverContext;
 import com.datastax.oss.driver.api.core.session.throttling.Throttled;
 import com.datastax.oss.driver.shaded.guava.common.collect.Lists;
+import edu.umd.cs.findbugs.annotations.NonNull;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import org.junit.Before;
 import org.junit.Test;
@@ -237,4 +243,52 @@ public class ConcurrencyLimitingRequestThrottlerTest {
     assertThatStage(request.started)
         .isFailed(error -> assertThat(error).isInstanceOf(RequestThrottlingException.class));
   }
+
+  @Test
+  public void should_never_exceed_capacity_under_contention() throws Exception {
+    int threadCount = 8;
+    int requestsPerThread = 2000;
+    AtomicInteger active = new AtomicInteger();
+    AtomicInteger maxActive = new AtomicInteger();
+    AtomicInteger rejected = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+    try {
+      List<CompletableFuture<Void>> done = Lists.newArrayList();
+      for (int i = 0; i < threadCount * requestsPerThread; i++) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        done.add(future);
+        Throttled request =
+            new Throttled() {
+              @Override
+              public void onThrottleReady(boolean wasDelayed) {
+                int current = active.incrementAndGet();
+                maxActive.accumulateAndGet(current, Math::max);
+                // Complete asynchronously, like a real request would
+                executor.execute(
+                    () -> {
+                      active.decrementAndGet();
+                      throttler.signalSuccess(this);
+                      future.complete(null);
+                    });
+              }
+
+              @Override
+              public void onThrottleFailure(@NonNull RequestThrottlingException error) {
+                rejected.incrementAndGet();
+                future.complete(null);
+              }
+            };
+        executor.execute(() -> throttler.register(request));
+      }
+      CompletableFuture.allOf(done.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(maxActive.get()).isLessThanOrEqualTo(5);
+    assertThat(rejected.get()).isLessThan(threadCount * requestsPerThread);
+    assertThat(throttler.getConcurrentRequests()).isEqualTo(0);
+    assertThat(throttler.getQueue()).isEmpty();
+    assertThat(throttler.getQueueSize()).isEqualTo(0);
+  }
 }
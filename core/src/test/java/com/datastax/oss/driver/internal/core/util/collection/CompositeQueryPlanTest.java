@@ -0,0 +1,81 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.core.util.collection;
+
+import static com.datastax.oss.driver.Assertions.assertThat;
+
+import com.datastax.oss.driver.api.core.metadata.Node;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CompositeQueryPlanTest {
+
+  @Mock private Node node1;
+  @Mock private Node node2;
+  @Mock private Node node3;
+
+  @Test
+  public void should_poll_elements_in_order_of_plans() {
+    CompositeQueryPlan queryPlan =
+        new CompositeQueryPlan(new QueryPlan(node1, node2), new QueryPlan(), new QueryPlan(node3));
+    assertThat(queryPlan.size()).isEqualTo(3);
+    assertThat(queryPlan.poll()).isSameAs(node1);
+    assertThat(queryPlan.poll()).isSameAs(node2);
+    assertThat(queryPlan.size()).isEqualTo(1);
+    assertThat(queryPlan.poll()).isSameAs(node3);
+    assertThat(queryPlan.poll()).isNull();
+    assertThat(queryPlan.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void should_return_iterator() {
+    CompositeQueryPlan queryPlan =
+        new CompositeQueryPlan(new QueryPlan(node1, node2), new QueryPlan(node3));
+    assertThat(queryPlan.iterator()).toIterable().containsExactly(node1, node2, node3);
+    queryPlan.poll();
+    queryPlan.poll();
+    assertThat(queryPlan.iterator()).toIterable().containsExactly(node3);
+  }
+
+  @Test
+  public void should_compute_lazy_plan_only_when_needed() {
+    AtomicInteger computations = new AtomicInteger();
+    LazyQueryPlan lazyPlan =
+        new LazyQueryPlan() {
+          @NonNull
+          @Override
+          protected Object[] computeNodes() {
+            computations.incrementAndGet();
+            return new Object[] {node3};
+          }
+        };
+    CompositeQueryPlan queryPlan = new CompositeQueryPlan(new QueryPlan(node1, node2), lazyPlan);
+
+    assertThat(queryPlan.poll()).isSameAs(node1);
+    assertThat(queryPlan.poll()).isSameAs(node2);
+    assertThat(computations.get()).isEqualTo(0);
+
+    assertThat(queryPlan.poll()).isSameAs(node3);
+    assertThat(queryPlan.poll()).isNull();
+    assertThat(queryPlan.size()).isEqualTo(0);
+    assertThat(computations.get()).isEqualTo(1);
+  }
+}
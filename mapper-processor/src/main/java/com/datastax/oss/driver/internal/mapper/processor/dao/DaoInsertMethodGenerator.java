@@ -39,17 +39,26 @@ import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableSet;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Name;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import org.reactivestreams.Publisher;
 
 public class DaoInsertMethodGenerator extends DaoMethodGenerator {
 
+  private static final String BULK_BINDER_NAME = "bulkBinder";
+  private static final String BULK_ENTITY_NAME = "bulkEntity";
+
   private final NullSavingStrategyValidation nullSavingStrategyValidation;
 
   public DaoInsertMethodGenerator(
@@ -78,11 +87,15 @@ public class DaoInsertMethodGenerator extends DaoMethodGenerator {
         REACTIVE_RESULT_SET);
   }
 
+  protected Set<DaoReturnTypeKind> getSupportedBulkReturnTypes() {
+    return ImmutableSet.of(VOID, FUTURE_OF_VOID);
+  }
+
   @Override
   public Optional<MethodSpec> generate() {
 
     // Validate the parameters:
-    // - the first one must be the entity.
+    // - the first one must be the entity, or an Iterable or Publisher of entities (bulk insert).
     // - the others are completely free-form (they'll be used as additional bind variables)
     // A Function<BoundStatementBuilder, BoundStatementBuilder> can be added in last position.
     List<? extends VariableElement> parameters = methodElement.getParameters();
@@ -94,6 +107,11 @@ public class DaoInsertMethodGenerator extends DaoMethodGenerator {
         parameters.isEmpty()
             ? null
             : EntityUtils.asEntityElement(parameters.get(0), typeParameters);
+    boolean bulk = false;
+    if (entityElement == null && !parameters.isEmpty()) {
+      entityElement = asBulkEntityElement(parameters.get(0));
+      bulk = (entityElement != null);
+    }
     if (entityElement == null) {
       context
           .getMessager()
@@ -107,10 +125,34 @@ public class DaoInsertMethodGenerator extends DaoMethodGenerator {
 
     // Validate the return type:
     DaoReturnType returnType =
-        parseAndValidateReturnType(getSupportedReturnTypes(), Insert.class.getSimpleName());
+        bulk
+            ? parseAndValidateReturnType(
+                getSupportedBulkReturnTypes(), "Bulk " + Insert.class.getSimpleName())
+            : parseAndValidateReturnType(getSupportedReturnTypes(), Insert.class.getSimpleName());
     if (returnType == null) {
       return Optional.empty();
     }
+    Insert annotation = methodElement.getAnnotation(Insert.class);
+    if (bulk && annotation.ifNotExists()) {
+      context
+          .getMessager()
+          .error(
+              methodElement,
+              processedType,
+              "Bulk %s methods can't use ifNotExists: conditional updates are not batched, "
+                  + "and their results are discarded",
+              Insert.class.getSimpleName());
+      return Optional.empty();
+    }
+    if (bulk && (annotation.bulkConcurrency() < 1 || annotation.bulkBatchSize() < 1)) {
+      context
+          .getMessager()
+          .error(
+              methodElement,
+              processedType,
+              "Invalid bulk settings: bulkConcurrency and bulkBatchSize must be strictly positive");
+      return Optional.empty();
+    }
     if (returnType.getEntityElement() != null
         && !returnType.getEntityElement().equals(entityElement)) {
       context
@@ -133,6 +175,21 @@ public class DaoInsertMethodGenerator extends DaoMethodGenerator {
 
     CodeBlock.Builder methodBodyBuilder = CodeBlock.builder();
 
+    String entityParameterName = parameters.get(0).getSimpleName().toString();
+    if (bulk) {
+      // Each element is bound by a lambda, which the bulk executor invokes lazily
+      methodBodyBuilder
+          .add(
+              "$T $L = $L -> {\n",
+              ParameterizedTypeName.get(
+                  ClassName.get(Function.class),
+                  ClassName.get(entityElement),
+                  ClassName.get(BoundStatement.class)),
+              BULK_BINDER_NAME,
+              BULK_ENTITY_NAME)
+          .indent();
+    }
+
     methodBodyBuilder.addStatement(
         "$T boundStatementBuilder = $L.boundStatementBuilder()",
         BoundStatementBuilder.class,
@@ -143,7 +200,6 @@ public class DaoInsertMethodGenerator extends DaoMethodGenerator {
     populateBuilderWithProfile(methodBodyBuilder);
 
     warnIfCqlNamePresent(parameters.subList(0, 1));
-    String entityParameterName = parameters.get(0).getSimpleName().toString();
 
     NullSavingStrategy nullSavingStrategy =
         nullSavingStrategyValidation.getNullSavingStrategy(
@@ -152,7 +208,7 @@ public class DaoInsertMethodGenerator extends DaoMethodGenerator {
     methodBodyBuilder.addStatement(
         "$1L.set($2L, boundStatementBuilder, $3T.$4L)",
         helperFieldName,
-        entityParameterName,
+        bulk ? BULK_ENTITY_NAME : entityParameterName,
         NullSavingStrategy.class,
         nullSavingStrategy);
 
@@ -167,11 +223,23 @@ public class DaoInsertMethodGenerator extends DaoMethodGenerator {
       }
     }
 
-    methodBodyBuilder
-        .add("\n")
-        .addStatement("$T boundStatement = boundStatementBuilder.build()", BoundStatement.class);
+    if (bulk) {
+      methodBodyBuilder.addStatement("return boundStatementBuilder.build()").unindent().add("};\n");
+      methodBodyBuilder.addStatement(
+          "$L$L($L, $L, $L, $L)",
+          returnType.getKind() == VOID ? "" : "return ",
+          returnType.getKind() == VOID ? "executeBulk" : "executeBulkAsync",
+          entityParameterName,
+          BULK_BINDER_NAME,
+          annotation.bulkConcurrency(),
+          annotation.bulkBatchSize());
+    } else {
+      methodBodyBuilder
+          .add("\n")
+          .addStatement("$T boundStatement = boundStatementBuilder.build()", BoundStatement.class);
 
-    returnType.getKind().addExecuteStatement(methodBodyBuilder, helperFieldName);
+      returnType.getKind().addExecuteStatement(methodBodyBuilder, helperFieldName);
+    }
 
     CodeBlock methodBody = returnType.getKind().wrapWithErrorHandling(methodBodyBuilder.build());
 
@@ -179,6 +247,24 @@ public class DaoInsertMethodGenerator extends DaoMethodGenerator {
         GeneratedCodePatterns.override(methodElement, typeParameters).addCode(methodBody).build());
   }
 
+  /**
+   * If the parameter is an {@link Iterable} or {@link Publisher} of an entity class (e.g. {@code
+   * List<Product>}), return that entity's element, otherwise {@code null}.
+   */
+  private TypeElement asBulkEntityElement(VariableElement parameter) {
+    TypeMirror mirror = parameter.asType();
+    if (mirror.getKind() != TypeKind.DECLARED
+        || ((DeclaredType) mirror).getTypeArguments().size() != 1) {
+      return null;
+    }
+    DeclaredType declaredType = (DeclaredType) mirror;
+    if (!context.getClassUtils().isIterable(declaredType)
+        && !context.getClassUtils().isPublisher(declaredType)) {
+      return null;
+    }
+    return EntityUtils.typeArgumentAsEntityElement(mirror, typeParameters);
+  }
+
   private void generatePrepareRequest(
       MethodSpec.Builder methodBuilder, String requestName, String helperFieldName) {
     methodBuilder.addCode(
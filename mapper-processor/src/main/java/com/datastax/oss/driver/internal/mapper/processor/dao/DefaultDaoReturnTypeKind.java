@@ -124,6 +124,18 @@ public enum DefaultDaoReturnTypeKind implements DaoReturnTypeKind {
       return innerBlock;
     }
   },
+  STREAM {
+    @Override
+    public void addExecuteStatement(CodeBlock.Builder methodBuilder, String helperFieldName) {
+      methodBuilder.addStatement(
+          "return executeAndMapToEntityStream(boundStatement, $L)", helperFieldName);
+    }
+
+    @Override
+    public CodeBlock wrapWithErrorHandling(CodeBlock innerBlock) {
+      return innerBlock;
+    }
+  },
 
   FUTURE_OF_VOID {
     @Override
@@ -30,6 +30,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.stream.Stream;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.Name;
 import javax.lang.model.element.TypeElement;
@@ -72,6 +73,7 @@ public class DefaultDaoReturnTypeParser implements DaoReturnTypeParser {
           .put(CompletionStage.class, DefaultDaoReturnTypeKind.FUTURE_OF_ENTITY)
           .put(CompletableFuture.class, DefaultDaoReturnTypeKind.FUTURE_OF_ENTITY)
           .put(PagingIterable.class, DefaultDaoReturnTypeKind.PAGING_ITERABLE)
+          .put(Stream.class, DefaultDaoReturnTypeKind.STREAM)
           .put(MappedReactiveResultSet.class, DefaultDaoReturnTypeKind.MAPPED_REACTIVE_RESULT_SET)
           .build();
 
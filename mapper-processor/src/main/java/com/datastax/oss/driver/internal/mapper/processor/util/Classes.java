@@ -28,6 +28,7 @@ import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
+import org.reactivestreams.Publisher;
 
 /**
  * Utility methods to work with existing classes in the context of an annotation processing round.
@@ -47,6 +48,8 @@ public class Classes {
   private final TypeElement mapElement;
   private final TypeElement completionStageElement;
   private final TypeElement completableFutureElement;
+  private final TypeMirror iterableType;
+  private final TypeMirror publisherType;
 
   public Classes(Types typeUtils, Elements elementUtils) {
     this.typeUtils = typeUtils;
@@ -63,6 +66,10 @@ public class Classes {
         elementUtils.getTypeElement(CompletionStage.class.getCanonicalName());
     this.completableFutureElement =
         elementUtils.getTypeElement(CompletableFuture.class.getCanonicalName());
+    this.iterableType =
+        typeUtils.erasure(elementUtils.getTypeElement(Iterable.class.getName()).asType());
+    this.publisherType =
+        typeUtils.erasure(elementUtils.getTypeElement(Publisher.class.getName()).asType());
   }
 
   /** Whether an element is the {@link TypeElement} for the given class. */
@@ -111,4 +118,14 @@ public class Classes {
     return declaredType.asElement().equals(completionStageElement)
         || declaredType.asElement().equals(completableFutureElement);
   }
+
+  /** Whether a type mirror is a {@code java.lang.Iterable} or one of its subtypes. */
+  public boolean isIterable(DeclaredType declaredType) {
+    return typeUtils.isAssignable(typeUtils.erasure(declaredType), iterableType);
+  }
+
+  /** Whether a type mirror is a reactive streams {@code Publisher} or one of its subtypes. */
+  public boolean isPublisher(DeclaredType declaredType) {
+    return typeUtils.isAssignable(typeUtils.erasure(declaredType), publisherType);
+  }
 }
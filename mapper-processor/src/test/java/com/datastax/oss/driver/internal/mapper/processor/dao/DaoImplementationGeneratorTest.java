@@ -37,11 +37,15 @@ import com.tngtech.java.junit.dataprovider.DataProvider;
 import com.tngtech.java.junit.dataprovider.DataProviderRunner;
 import com.tngtech.java.junit.dataprovider.UseDataProvider;
 import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Stream;
 import javax.lang.model.element.Modifier;
 import javax.tools.StandardLocation;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.reactivestreams.Publisher;
 
 @RunWith(DataProviderRunner.class)
 public class DaoImplementationGeneratorTest extends DaoMethodGeneratorTest {
@@ -279,6 +283,79 @@ public class DaoImplementationGeneratorTest extends DaoMethodGeneratorTest {
         compilation, "return executeReactiveAndMap(boundStatement, productHelper);");
   }
 
+  @Test
+  public void should_generate_findById_method_returning_Stream() {
+    Compilation compilation =
+        compileWithMapperProcessor(
+            "test",
+            Collections.emptyList(),
+            ENTITY_SPEC,
+            TypeSpec.interfaceBuilder(ClassName.get("test", "ProductDao"))
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Dao.class)
+                .addMethod(
+                    MethodSpec.methodBuilder("findById")
+                        .addAnnotation(Select.class)
+                        .addParameter(ParameterSpec.builder(UUID.class, "pk").build())
+                        .returns(
+                            ParameterizedTypeName.get(
+                                ClassName.get(Stream.class), ENTITY_CLASS_NAME))
+                        .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                        .build())
+                .build());
+    assertThat(compilation).succeededWithoutWarnings();
+    assertGeneratedFileContains(compilation, "public Stream<Product> findById(UUID pk)");
+    assertGeneratedFileContains(
+        compilation, "return executeAndMapToEntityStream(boundStatement, productHelper);");
+  }
+
+  @Test
+  public void should_generate_bulk_insert_methods() {
+    Compilation compilation =
+        compileWithMapperProcessor(
+            "test",
+            Collections.emptyList(),
+            ENTITY_SPEC,
+            TypeSpec.interfaceBuilder(ClassName.get("test", "ProductDao"))
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Dao.class)
+                .addMethod(
+                    MethodSpec.methodBuilder("insertAll")
+                        .addAnnotation(Insert.class)
+                        .addParameter(
+                            ParameterSpec.builder(
+                                    ParameterizedTypeName.get(
+                                        ClassName.get(List.class), ENTITY_CLASS_NAME),
+                                    "products")
+                                .build())
+                        .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                        .build())
+                .addMethod(
+                    MethodSpec.methodBuilder("insertAllAsync")
+                        .addAnnotation(
+                            AnnotationSpec.builder(Insert.class)
+                                .addMember("bulkConcurrency", "$L", 4)
+                                .addMember("bulkBatchSize", "$L", 8)
+                                .build())
+                        .addParameter(
+                            ParameterSpec.builder(
+                                    ParameterizedTypeName.get(
+                                        ClassName.get(Publisher.class), ENTITY_CLASS_NAME),
+                                    "products")
+                                .build())
+                        .returns(ParameterizedTypeName.get(CompletionStage.class, Void.class))
+                        .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                        .build())
+                .build());
+    assertThat(compilation).succeededWithoutWarnings();
+    assertGeneratedFileContains(compilation, "public void insertAll(List<Product> products)");
+    assertGeneratedFileContains(compilation, "executeBulk(products, bulkBinder, 32, 16);");
+    assertGeneratedFileContains(
+        compilation, "public CompletionStage<Void> insertAllAsync(Publisher<Product> products)");
+    assertGeneratedFileContains(
+        compilation, "return executeBulkAsync(products, bulkBinder, 4, 8);");
+  }
+
   protected void assertGeneratedFileDoesNotContain(Compilation compilation, String string) {
     assertThat(compilation)
         .generatedFile(
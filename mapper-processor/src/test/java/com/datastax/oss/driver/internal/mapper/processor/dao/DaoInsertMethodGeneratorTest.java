@@ -15,14 +15,18 @@
  */
 package com.datastax.oss.driver.internal.mapper.processor.dao;
 
+import com.datastax.oss.driver.api.core.cql.ResultSet;
 import com.datastax.oss.driver.api.mapper.annotations.Insert;
 import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.tngtech.java.junit.dataprovider.DataProvider;
 import com.tngtech.java.junit.dataprovider.DataProviderRunner;
 import com.tngtech.java.junit.dataprovider.UseDataProvider;
+import java.util.List;
 import javax.lang.model.element.Modifier;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -66,6 +70,43 @@ public class DaoInsertMethodGeneratorTest extends DaoMethodGeneratorTest {
             .returns(TypeName.INT)
             .build(),
       },
+      {
+        "Insert methods must take the entity to insert as the first parameter",
+        MethodSpec.methodBuilder("insert")
+            .addAnnotation(Insert.class)
+            .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+            .addParameter(
+                ParameterSpec.builder(
+                        ParameterizedTypeName.get(List.class, String.class), "entities")
+                    .build())
+            .build(),
+      },
+      {
+        "Invalid return type: Bulk Insert methods must return one of [VOID, FUTURE_OF_VOID]",
+        MethodSpec.methodBuilder("insert")
+            .addAnnotation(Insert.class)
+            .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+            .addParameter(
+                ParameterSpec.builder(
+                        ParameterizedTypeName.get(ClassName.get(List.class), ENTITY_CLASS_NAME),
+                        "entities")
+                    .build())
+            .returns(ClassName.get(ResultSet.class))
+            .build(),
+      },
+      {
+        "Bulk Insert methods can't use ifNotExists",
+        MethodSpec.methodBuilder("insert")
+            .addAnnotation(
+                AnnotationSpec.builder(Insert.class).addMember("ifNotExists", "true").build())
+            .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+            .addParameter(
+                ParameterSpec.builder(
+                        ParameterizedTypeName.get(ClassName.get(Iterable.class), ENTITY_CLASS_NAME),
+                        "entities")
+                    .build())
+            .build(),
+      },
     };
   }
 
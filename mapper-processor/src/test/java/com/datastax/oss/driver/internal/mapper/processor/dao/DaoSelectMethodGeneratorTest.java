@@ -16,12 +16,14 @@
 package com.datastax.oss.driver.internal.mapper.processor.dao;
 
 import com.datastax.oss.driver.api.mapper.annotations.Select;
+import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.tngtech.java.junit.dataprovider.DataProvider;
 import com.tngtech.java.junit.dataprovider.DataProviderRunner;
 import com.tngtech.java.junit.dataprovider.UseDataProvider;
 import java.util.concurrent.CompletionStage;
+import java.util.stream.Stream;
 import javax.lang.model.element.Modifier;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -41,7 +43,7 @@ public class DaoSelectMethodGeneratorTest extends DaoMethodGeneratorTest {
     return new Object[][] {
       {
         "Invalid return type: Select methods must return one of [ENTITY, OPTIONAL_ENTITY, "
-            + "FUTURE_OF_ENTITY, FUTURE_OF_OPTIONAL_ENTITY, PAGING_ITERABLE, "
+            + "FUTURE_OF_ENTITY, FUTURE_OF_OPTIONAL_ENTITY, PAGING_ITERABLE, STREAM, "
             + "FUTURE_OF_ASYNC_PAGING_ITERABLE, MAPPED_REACTIVE_RESULT_SET]",
         MethodSpec.methodBuilder("select")
             .addAnnotation(Select.class)
@@ -51,7 +53,7 @@ public class DaoSelectMethodGeneratorTest extends DaoMethodGeneratorTest {
       },
       {
         "Invalid return type: Select methods must return one of [ENTITY, OPTIONAL_ENTITY, "
-            + "FUTURE_OF_ENTITY, FUTURE_OF_OPTIONAL_ENTITY, PAGING_ITERABLE, "
+            + "FUTURE_OF_ENTITY, FUTURE_OF_OPTIONAL_ENTITY, PAGING_ITERABLE, STREAM, "
             + "FUTURE_OF_ASYNC_PAGING_ITERABLE, MAPPED_REACTIVE_RESULT_SET]",
         MethodSpec.methodBuilder("select")
             .addAnnotation(Select.class)
@@ -59,6 +61,20 @@ public class DaoSelectMethodGeneratorTest extends DaoMethodGeneratorTest {
             .returns(ParameterizedTypeName.get(CompletionStage.class, Integer.class))
             .build(),
       },
+      {
+        // A future of a stream would block when consuming the next pages
+        "Invalid return type: Select methods must return one of [ENTITY, OPTIONAL_ENTITY, "
+            + "FUTURE_OF_ENTITY, FUTURE_OF_OPTIONAL_ENTITY, PAGING_ITERABLE, STREAM, "
+            + "FUTURE_OF_ASYNC_PAGING_ITERABLE, MAPPED_REACTIVE_RESULT_SET]",
+        MethodSpec.methodBuilder("select")
+            .addAnnotation(Select.class)
+            .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+            .returns(
+                ParameterizedTypeName.get(
+                    ClassName.get(CompletionStage.class),
+                    ParameterizedTypeName.get(ClassName.get(Stream.class), ENTITY_CLASS_NAME)))
+            .build(),
+      },
       {
         "Select methods that don't use a custom clause must match the primary key components "
             + "in the exact order (expected primary key of Product: [java.util.UUID]). Mismatch "
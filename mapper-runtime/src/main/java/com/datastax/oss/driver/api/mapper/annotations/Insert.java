@@ -17,6 +17,7 @@ package com.datastax.oss.driver.api.mapper.annotations;
 
 import com.datastax.oss.driver.api.core.CqlIdentifier;
 import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.DefaultBatchType;
 import com.datastax.oss.driver.api.core.cql.ResultSet;
 import com.datastax.oss.driver.api.core.session.Session;
 import com.datastax.oss.driver.api.core.session.SessionBuilder;
@@ -25,11 +26,13 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
+import org.reactivestreams.Publisher;
 
 /**
  * Annotates a {@link Dao} method that inserts an instance of an {@link Entity}-annotated class.
@@ -48,6 +51,9 @@ import java.util.function.UnaryOperator;
  *
  * The first parameter must be the entity to insert.
  *
+ * <p>Alternatively, it can be an {@link Iterable} or a {@link Publisher} of entities, to insert
+ * many of them in one call (see "Bulk inserts" below).
+ *
  * <p>If the query has a {@linkplain #ttl() TTL} and/or {@linkplain #timestamp() timestamp} with
  * placeholders, the method must have corresponding additional parameters (same name, and a
  * compatible Java type):
@@ -112,6 +118,32 @@ import java.util.function.UnaryOperator;
  *       </pre>
  * </ul>
  *
+ * <h3>Bulk inserts</h3>
+ *
+ * If the first parameter is an {@link Iterable} (or any subtype, e.g. {@link List}) or a {@link
+ * Publisher} of entities, the generated method inserts all of them, and must return {@code void} or
+ * a future of {@link Void}:
+ *
+ * <pre>
+ * &#64;Insert
+ * void insertAll(List&lt;Product&gt; products);
+ *
+ * &#64;Insert(bulkConcurrency = 64)
+ * CompletionStage&lt;Void&gt; insertAll(Publisher&lt;Product&gt; products);
+ * </pre>
+ *
+ * The entities are consumed lazily, and bound one at a time: at most {@link #bulkConcurrency()}
+ * requests are in flight, and the source is only read as fast as they complete (a publisher is
+ * never asked for more than {@code bulkConcurrency * bulkBatchSize} elements in advance). Within
+ * each such window, the entities that belong to the same partition are grouped into {@linkplain
+ * DefaultBatchType#UNLOGGED unlogged} batches of at most {@link #bulkBatchSize()} statements; these
+ * batches only touch a single partition, so they can be routed to a replica like an individual
+ * statement.
+ *
+ * <p>The first error stops the operation: the method throws (or the future fails) without waiting
+ * for the requests that were already in flight, and the remaining entities are not inserted. Bulk
+ * inserts can't be combined with {@link #ifNotExists()}.
+ *
  * <h3>Target keyspace and table</h3>
  *
  * If a keyspace was specified when creating the DAO (see {@link DaoFactory}), then the generated
@@ -161,4 +193,19 @@ public @interface Insert {
    * or {@link NullSavingStrategy#DO_NOT_SET}.
    */
   NullSavingStrategy nullSavingStrategy() default NullSavingStrategy.DO_NOT_SET;
+
+  /**
+   * For bulk inserts, the maximum number of requests that can be in flight at the same time.
+   *
+   * <p>This is ignored if the method inserts a single entity.
+   */
+  int bulkConcurrency() default 32;
+
+  /**
+   * For bulk inserts, the maximum number of statements that get grouped into a single-partition
+   * batch. Set this to 1 to send every entity in its own request.
+   *
+   * <p>This is ignored if the method inserts a single entity.
+   */
+  int bulkBatchSize() default 16;
 }
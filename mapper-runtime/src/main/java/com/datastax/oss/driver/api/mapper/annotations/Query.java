@@ -34,6 +34,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 /**
  * Annotates a {@link Dao} method that executes a user-provided query.
@@ -87,10 +88,13 @@ import java.util.function.UnaryOperator;
  *   <li>a {@link BoundStatement}. This is intended for cases where you intend to execute this
  *       statement later or in a batch:
  *   <li>a {@link PagingIterable}. The method will convert each row into an entity instance.
+ *   <li>a {@link Stream} of an entity class. The method will convert each row into an entity
+ *       instance, and fetch the next pages as the stream gets consumed.
  *   <li>a {@link CompletionStage} or {@link CompletableFuture} of any of the above. The method will
  *       execute the query asynchronously. Note that for result sets and iterables, you need to
  *       switch to the asynchronous equivalent {@link AsyncResultSet} and {@link
- *       MappedAsyncPagingIterable} respectively.
+ *       MappedAsyncPagingIterable} respectively. A future of a stream is not supported, because
+ *       consuming it beyond the first page would block.
  * </ul>
  *
  * <h3>Target keyspace and table</h3>
@@ -29,6 +29,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 /**
  * Annotates a {@link Dao} method that selects one or more rows, and maps them to instances of an
@@ -107,9 +108,18 @@ import java.util.function.UnaryOperator;
  * &#64;Select(customWhereClause = "description LIKE :searchString")
  * PagingIterable&lt;Product&gt; findByDescription(String searchString);
  *       </pre>
+ *   <li>a {@link Stream} of the entity class. Like a paging iterable, it fetches the next pages
+ *       lazily as it gets consumed (in the background if page prefetching is enabled in the driver
+ *       configuration), so it only holds a bounded number of rows in memory. The stream is not
+ *       parallel, and can only be consumed once.
+ *       <pre>
+ * &#64;Select(customWhereClause = "description LIKE :searchString")
+ * Stream&lt;Product&gt; findByDescription(String searchString);
+ *       </pre>
  *   <li>a {@link CompletionStage} or {@link CompletableFuture} of any of the above. The method will
  *       execute the query asynchronously. Note that for iterables, you need to switch to the
- *       asynchronous equivalent {@link MappedAsyncPagingIterable}.
+ *       asynchronous equivalent {@link MappedAsyncPagingIterable}. A future of a stream is not
+ *       supported, because consuming it beyond the first page would block.
  *       <pre>
  * &#64;Select
  * CompletionStage&lt;Product&gt; findByIdAsync(UUID productId);
@@ -0,0 +1,457 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.mapper;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.PagingIterable;
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BatchableStatement;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.DefaultBatchType;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.mapper.annotations.Insert;
+import com.datastax.oss.driver.internal.core.util.concurrent.BlockingOperation;
+import com.datastax.oss.driver.internal.core.util.concurrent.CompletableFutures;
+import com.datastax.oss.driver.shaded.guava.common.base.Preconditions;
+import com.datastax.oss.driver.shaded.guava.common.util.concurrent.Uninterruptibles;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
+import net.jcip.annotations.GuardedBy;
+import net.jcip.annotations.ThreadSafe;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Executes the statements for a bulk {@link Insert} method.
+ *
+ * <p>Elements are consumed in windows of {@code maxConcurrentRequests * maxBatchSize}. Within a
+ * window, the statements that have the same routing key are grouped into unlogged single-partition
+ * batches of at most {@code maxBatchSize} children; since such a batch has a routing key, a
+ * token-aware load balancing policy sends it directly to a replica. Statements that have no routing
+ * key are executed individually. At most {@code maxConcurrentRequests} requests are in flight at
+ * any given time, and the source is only consumed as fast as requests complete.
+ *
+ * <p>An iterable source can block (for example if it is a {@link PagingIterable} that fetches its
+ * pages on demand), so it is never traversed from a driver I/O thread: {@link #execute} traverses
+ * it on the calling thread, and {@link #executeAsync(Iterable, Function)} on the executor passed to
+ * the constructor. The binding function runs on the same thread.
+ *
+ * <p>The first error (from the source, from the binding function, or from a request) fails the
+ * whole operation. Requests that were already in flight are not cancelled, but no new requests are
+ * started.
+ */
+@ThreadSafe
+public class BulkExecutor {
+
+  private final CqlSession session;
+  private final int maxConcurrentRequests;
+  private final int maxBatchSize;
+  private final Executor sourceExecutor;
+
+  public BulkExecutor(@NonNull CqlSession session, int maxConcurrentRequests, int maxBatchSize) {
+    this(session, maxConcurrentRequests, maxBatchSize, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * @param sourceExecutor the executor that traverses iterable sources in {@link
+   *     #executeAsync(Iterable, Function)}. It must not be a driver I/O thread.
+   */
+  public BulkExecutor(
+      @NonNull CqlSession session,
+      int maxConcurrentRequests,
+      int maxBatchSize,
+      @NonNull Executor sourceExecutor) {
+    Preconditions.checkArgument(
+        maxConcurrentRequests > 0,
+        "maxConcurrentRequests must be strictly positive (got %s)",
+        maxConcurrentRequests);
+    Preconditions.checkArgument(
+        maxBatchSize > 0, "maxBatchSize must be strictly positive (got %s)", maxBatchSize);
+    this.session = session;
+    this.maxConcurrentRequests = maxConcurrentRequests;
+    this.maxBatchSize = maxBatchSize;
+    this.sourceExecutor = sourceExecutor;
+  }
+
+  /**
+   * Binds and executes every element of the given iterable, and blocks until all the requests have
+   * completed.
+   *
+   * <p>The iterable is traversed lazily on the calling thread, so it can be backed by a source that
+   * is larger than the available memory.
+   */
+  public <ElementT> void execute(
+      @NonNull Iterable<ElementT> elements,
+      @NonNull Function<? super ElementT, ? extends BoundStatement> binder) {
+    BlockingOperation.checkNotDriverThread();
+    BlockingQueue<Runnable> tasks = new LinkedBlockingQueue<>();
+    IteratorExecution<ElementT> execution =
+        new IteratorExecution<>(elements.iterator(), binder, tasks::add);
+    // Wake up the loop below if the execution fails while it's waiting
+    execution.result.whenComplete((v, error) -> tasks.add(() -> {}));
+    execution.start();
+    while (!execution.result.isDone()) {
+      Uninterruptibles.takeUninterruptibly(tasks).run();
+    }
+    CompletableFutures.getUninterruptibly(execution.result);
+  }
+
+  /**
+   * Binds and executes every element of the given iterable.
+   *
+   * <p>The iterable is traversed lazily, so it can be backed by a source that is larger than the
+   * available memory.
+   */
+  @NonNull
+  public <ElementT> CompletableFuture<Void> executeAsync(
+      @NonNull Iterable<ElementT> elements,
+      @NonNull Function<? super ElementT, ? extends BoundStatement> binder) {
+    IteratorExecution<ElementT> execution =
+        new IteratorExecution<>(elements.iterator(), binder, sourceExecutor);
+    execution.start();
+    return execution.result;
+  }
+
+  /**
+   * Binds and executes every element emitted by the given publisher.
+   *
+   * <p>The publisher is never asked for more elements than can fit in a window, so it is
+   * back-pressured by the pace of the requests.
+   */
+  @NonNull
+  public <ElementT> CompletableFuture<Void> executeAsync(
+      @NonNull Publisher<ElementT> elements,
+      @NonNull Function<? super ElementT, ? extends BoundStatement> binder) {
+    PublisherExecution<ElementT> execution = new PublisherExecution<>(binder);
+    elements.subscribe(execution);
+    return execution.result;
+  }
+
+  private int getWindowSize() {
+    return maxConcurrentRequests * maxBatchSize;
+  }
+
+  private abstract class Execution<ElementT> {
+
+    final CompletableFuture<Void> result = new CompletableFuture<>();
+    private final Function<? super ElementT, ? extends BoundStatement> binder;
+    // Where the source is polled after a request completes
+    private final Executor executor;
+
+    @GuardedBy("this")
+    private final Queue<Statement<?>> pending = new ArrayDeque<>();
+
+    @GuardedBy("this")
+    private int inFlight;
+
+    // Only one thread polls the source at a time. It does so without holding the lock, so that
+    // request callbacks are never blocked by a slow source.
+    @GuardedBy("this")
+    private boolean draining;
+
+    Execution(Function<? super ElementT, ? extends BoundStatement> binder, Executor executor) {
+      this.binder = binder;
+      this.executor = executor;
+    }
+
+    /**
+     * Returns the next available element, or null if there is none available right now. This is
+     * only invoked by the draining thread, without holding the lock.
+     */
+    abstract ElementT poll();
+
+    /** Whether all the elements of the source have been polled. */
+    @GuardedBy("this")
+    abstract boolean isExhausted();
+
+    /** Whether {@link #poll()} might return an element, if it's called again right now. */
+    @GuardedBy("this")
+    abstract boolean hasAvailable();
+
+    /** Invoked after a window has been polled. */
+    void onPolled(int count) {
+      // nothing by default
+    }
+
+    /** Starts draining on the executor, unless a drain is already in progress. */
+    void start() {
+      if (tryStartDrain()) {
+        try {
+          executor.execute(this::drain);
+        } catch (Throwable t) {
+          synchronized (this) {
+            draining = false;
+          }
+          fail(t);
+        }
+      }
+    }
+
+    /** Starts draining on the current thread, unless a drain is already in progress. */
+    void drainNow() {
+      if (tryStartDrain()) {
+        drain();
+      }
+    }
+
+    private synchronized boolean tryStartDrain() {
+      if (draining || result.isDone()) {
+        return false;
+      }
+      draining = true;
+      return true;
+    }
+
+    private void drain() {
+      try {
+        while (true) {
+          Statement<?> statement;
+          synchronized (this) {
+            if (result.isDone() || inFlight >= maxConcurrentRequests) {
+              draining = false;
+              return;
+            }
+            statement = pending.poll();
+            if (statement != null) {
+              inFlight += 1;
+            }
+          }
+          if (statement != null) {
+            session.executeAsync(statement).whenComplete((rs, error) -> onResponse(error));
+          } else if (!fillWindow()) {
+            synchronized (this) {
+              // An element might have become available since we polled
+              if (!hasAvailable()) {
+                if (inFlight == 0 && isExhausted()) {
+                  result.complete(null);
+                }
+                draining = false;
+                return;
+              }
+            }
+          }
+        }
+      } catch (Throwable t) {
+        synchronized (this) {
+          draining = false;
+        }
+        fail(t);
+      }
+    }
+
+    /** @return whether at least one element was polled. */
+    private boolean fillWindow() {
+      int windowSize = getWindowSize();
+      List<Statement<?>> window = new ArrayList<>();
+      Map<ByteBuffer, List<BoundStatement>> partitions = new LinkedHashMap<>();
+      int count = 0;
+      ElementT element;
+      while (count < windowSize && (element = poll()) != null) {
+        count += 1;
+        BoundStatement statement = binder.apply(element);
+        ByteBuffer routingKey = statement.getRoutingKey();
+        if (routingKey == null || maxBatchSize == 1) {
+          window.add(statement);
+        } else {
+          List<BoundStatement> partition =
+              partitions.computeIfAbsent(routingKey, k -> new ArrayList<>());
+          partition.add(statement);
+          if (partition.size() == maxBatchSize) {
+            window.add(toBatch(partition));
+            partitions.remove(routingKey);
+          }
+        }
+      }
+      for (List<BoundStatement> partition : partitions.values()) {
+        window.add(partition.size() == 1 ? partition.get(0) : toBatch(partition));
+      }
+      if (count == 0) {
+        return false;
+      }
+      synchronized (this) {
+        pending.addAll(window);
+      }
+      onPolled(count);
+      return true;
+    }
+
+    private void onResponse(Throwable error) {
+      synchronized (this) {
+        inFlight -= 1;
+      }
+      if (error != null) {
+        fail(error);
+      } else {
+        start();
+      }
+    }
+
+    synchronized void fail(Throwable error) {
+      pending.clear();
+      result.completeExceptionally(error);
+    }
+  }
+
+  private class IteratorExecution<ElementT> extends Execution<ElementT> {
+
+    private final Iterator<ElementT> iterator;
+
+    // Set by the draining thread, which can change between windows
+    private volatile boolean exhausted;
+
+    IteratorExecution(
+        Iterator<ElementT> iterator,
+        Function<? super ElementT, ? extends BoundStatement> binder,
+        Executor executor) {
+      super(binder, executor);
+      this.iterator = iterator;
+    }
+
+    @Override
+    ElementT poll() {
+      if (iterator.hasNext()) {
+        return iterator.next();
+      }
+      exhausted = true;
+      return null;
+    }
+
+    @Override
+    boolean isExhausted() {
+      return exhausted;
+    }
+
+    @Override
+    boolean hasAvailable() {
+      // We only stop polling when the iterator is exhausted
+      return false;
+    }
+  }
+
+  private class PublisherExecution<ElementT> extends Execution<ElementT>
+      implements Subscriber<ElementT> {
+
+    @GuardedBy("this")
+    private final Queue<ElementT> buffer = new ArrayDeque<>();
+
+    @GuardedBy("this")
+    private Subscription subscription;
+
+    @GuardedBy("this")
+    private boolean completed;
+
+    PublisherExecution(Function<? super ElementT, ? extends BoundStatement> binder) {
+      // Polling the buffer never blocks, it can be done from any thread
+      super(binder, Runnable::run);
+    }
+
+    @Override
+    public synchronized void onSubscribe(Subscription subscription) {
+      if (this.subscription != null) {
+        subscription.cancel();
+        return;
+      }
+      this.subscription = subscription;
+      subscription.request(getWindowSize());
+    }
+
+    @Override
+    public void onNext(ElementT element) {
+      synchronized (this) {
+        buffer.add(element);
+      }
+      drainNow();
+    }
+
+    @Override
+    public void onError(Throwable error) {
+      fail(error);
+    }
+
+    @Override
+    public void onComplete() {
+      synchronized (this) {
+        completed = true;
+      }
+      drainNow();
+    }
+
+    @Override
+    synchronized ElementT poll() {
+      return buffer.poll();
+    }
+
+    @Override
+    @GuardedBy("this")
+    boolean isExhausted() {
+      return completed && buffer.isEmpty();
+    }
+
+    @Override
+    @GuardedBy("this")
+    boolean hasAvailable() {
+      return !buffer.isEmpty();
+    }
+
+    @Override
+    void onPolled(int count) {
+      Subscription subscription;
+      synchronized (this) {
+        subscription = this.subscription;
+      }
+      // Keep the publisher's outstanding demand equal to the size of a window
+      subscription.request(count);
+    }
+
+    @Override
+    synchronized void fail(Throwable error) {
+      super.fail(error);
+      buffer.clear();
+      if (subscription != null && !completed) {
+        completed = true;
+        subscription.cancel();
+      }
+    }
+  }
+
+  private static Statement<?> toBatch(List<BoundStatement> statements) {
+    List<BatchableStatement<?>> children = new ArrayList<>(statements);
+    // Settings that are not per child (profile, consistency, etc.) are taken from the first one:
+    // all the statements come from the same method, so they're normally identical.
+    BoundStatement first = statements.get(0);
+    return BatchStatement.newInstance(DefaultBatchType.UNLOGGED, children)
+        .setExecutionProfileName(first.getExecutionProfileName())
+        .setExecutionProfile(first.getExecutionProfile())
+        .setConsistencyLevel(first.getConsistencyLevel())
+        .setSerialConsistencyLevel(first.getSerialConsistencyLevel())
+        .setTimeout(first.getTimeout())
+        .setIdempotent(first.isIdempotent());
+  }
+}
@@ -23,6 +23,7 @@ import com.datastax.oss.driver.api.core.CqlIdentifier;
 import com.datastax.oss.driver.api.core.MappedAsyncPagingIterable;
 import com.datastax.oss.driver.api.core.PagingIterable;
 import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
 import com.datastax.oss.driver.api.core.cql.BoundStatementBuilder;
 import com.datastax.oss.driver.api.core.cql.PreparedStatement;
 import com.datastax.oss.driver.api.core.cql.ResultSet;
@@ -38,11 +39,16 @@ import com.datastax.oss.driver.api.mapper.entity.EntityHelper;
 import com.datastax.oss.driver.api.mapper.entity.saving.NullSavingStrategy;
 import com.datastax.oss.driver.internal.core.ConsistencyLevelRegistry;
 import com.datastax.oss.driver.internal.core.context.InternalDriverContext;
+import com.datastax.oss.driver.internal.core.util.concurrent.CompletableFutures;
 import com.datastax.oss.protocol.internal.ProtocolConstants;
 import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.reactivestreams.Publisher;
 
 /** Base class for generated implementations of {@link Dao}-annotated interfaces. */
 public class DaoBase {
@@ -236,6 +242,30 @@ public class DaoBase {
     return execute(statement).map(entityHelper::get);
   }
 
+  protected <EntityT> Stream<EntityT> executeAndMapToEntityStream(
+      Statement<?> statement, EntityHelper<EntityT> entityHelper) {
+    return StreamSupport.stream(
+        executeAndMapToEntityIterable(statement, entityHelper).spliterator(), false);
+  }
+
+  protected <EntityT> void executeBulk(
+      Iterable<EntityT> entities,
+      Function<EntityT, BoundStatement> binder,
+      int maxConcurrentRequests,
+      int maxBatchSize) {
+    new BulkExecutor(context.getSession(), maxConcurrentRequests, maxBatchSize)
+        .execute(entities, binder);
+  }
+
+  protected <EntityT> void executeBulk(
+      Publisher<EntityT> entities,
+      Function<EntityT, BoundStatement> binder,
+      int maxConcurrentRequests,
+      int maxBatchSize) {
+    CompletableFutures.getUninterruptibly(
+        executeBulkAsync(entities, binder, maxConcurrentRequests, maxBatchSize));
+  }
+
   protected CompletableFuture<AsyncResultSet> executeAsync(Statement<?> statement) {
     CompletionStage<AsyncResultSet> stage = context.getSession().executeAsync(statement);
     // We allow DAO interfaces to return CompletableFuture instead of CompletionStage. This method
@@ -279,6 +309,24 @@ public class DaoBase {
     return executeAsync(statement).thenApply(rs -> rs.map(entityHelper::get));
   }
 
+  protected <EntityT> CompletableFuture<Void> executeBulkAsync(
+      Iterable<EntityT> entities,
+      Function<EntityT, BoundStatement> binder,
+      int maxConcurrentRequests,
+      int maxBatchSize) {
+    return new BulkExecutor(context.getSession(), maxConcurrentRequests, maxBatchSize)
+        .executeAsync(entities, binder);
+  }
+
+  protected <EntityT> CompletableFuture<Void> executeBulkAsync(
+      Publisher<EntityT> entities,
+      Function<EntityT, BoundStatement> binder,
+      int maxConcurrentRequests,
+      int maxBatchSize) {
+    return new BulkExecutor(context.getSession(), maxConcurrentRequests, maxBatchSize)
+        .executeAsync(entities, binder);
+  }
+
   protected ReactiveResultSet executeReactive(Statement<?> statement) {
     return context.getSession().executeReactive(statement);
   }
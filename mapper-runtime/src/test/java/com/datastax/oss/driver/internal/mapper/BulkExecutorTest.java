@@ -0,0 +1,285 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.DefaultBatchType;
+import com.datastax.oss.driver.api.core.cql.ResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.internal.core.cql.ResultSets;
+import com.datastax.oss.driver.internal.core.util.concurrent.BlockingOperation;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BulkExecutorTest {
+
+  private static final ByteBuffer KEY1 = ByteBuffer.wrap(new byte[] {1});
+  private static final ByteBuffer KEY2 = ByteBuffer.wrap(new byte[] {2});
+
+  private CqlSession session;
+  private List<Statement<?>> executed;
+  private List<CompletableFuture<AsyncResultSet>> responses;
+
+  @Before
+  public void setup() {
+    session = mock(CqlSession.class);
+    executed = new ArrayList<>();
+    responses = new ArrayList<>();
+    when(session.executeAsync(any(Statement.class)))
+        .then(
+            invocation -> {
+              executed.add(invocation.getArgument(0));
+              CompletableFuture<AsyncResultSet> response = new CompletableFuture<>();
+              responses.add(response);
+              return response;
+            });
+  }
+
+  @Test
+  public void should_group_statements_by_partition_into_unlogged_batches() {
+    BoundStatement statement1 = statement(KEY1);
+    BoundStatement statement2 = statement(KEY2);
+    BoundStatement statement3 = statement(KEY1);
+    BoundStatement statement4 = statement(null);
+    BoundStatement statement5 = statement(KEY1);
+
+    CompletableFuture<Void> result =
+        new BulkExecutor(session, 10, 10, Runnable::run)
+            .executeAsync(
+                ImmutableList.of(statement1, statement2, statement3, statement4, statement5),
+                s -> s);
+
+    // Statements without a routing key can't be grouped, they're sent right away
+    assertThat(executed).hasSize(3);
+    assertThat(executed.get(0)).isSameAs(statement4);
+    assertThat(executed.get(1)).isInstanceOf(BatchStatement.class);
+    BatchStatement batch = (BatchStatement) executed.get(1);
+    assertThat(batch.getBatchType()).isEqualTo(DefaultBatchType.UNLOGGED);
+    assertThat(batch).containsExactly(statement1, statement3, statement5);
+    // Single-statement partitions are not wrapped in a batch
+    assertThat(executed.get(2)).isSameAs(statement2);
+
+    assertThat(result).isNotDone();
+    completeAll();
+    assertThat(result).isCompleted();
+  }
+
+  @Test
+  public void should_split_partitions_that_exceed_max_batch_size() {
+    BoundStatement statement1 = statement(KEY1);
+    BoundStatement statement2 = statement(KEY1);
+    BoundStatement statement3 = statement(KEY1);
+
+    new BulkExecutor(session, 10, 2, Runnable::run)
+        .executeAsync(ImmutableList.of(statement1, statement2, statement3), s -> s);
+
+    assertThat(executed).hasSize(2);
+    assertThat((BatchStatement) executed.get(0)).containsExactly(statement1, statement2);
+    assertThat(executed.get(1)).isSameAs(statement3);
+  }
+
+  @Test
+  public void should_limit_concurrent_requests() {
+    List<BoundStatement> statements = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      statements.add(statement(ByteBuffer.wrap(new byte[] {(byte) i})));
+    }
+
+    CompletableFuture<Void> result =
+        new BulkExecutor(session, 2, 1, Runnable::run).executeAsync(statements, s -> s);
+
+    assertThat(executed).hasSize(2);
+    responses.get(0).complete(null);
+    assertThat(executed).hasSize(3);
+    responses.get(2).complete(null);
+    assertThat(executed).hasSize(4);
+    responses.get(1).complete(null);
+    assertThat(executed).hasSize(5);
+    assertThat(result).isNotDone();
+    completeAll();
+    assertThat(executed).hasSize(5);
+    assertThat(result).isCompleted();
+  }
+
+  @Test
+  public void should_fail_and_stop_executing_if_request_fails() {
+    List<BoundStatement> statements = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      statements.add(statement(null));
+    }
+
+    CompletableFuture<Void> result =
+        new BulkExecutor(session, 2, 1, Runnable::run).executeAsync(statements, s -> s);
+
+    assertThat(executed).hasSize(2);
+    responses.get(0).completeExceptionally(new RuntimeException("mock error"));
+    assertThat(result).isCompletedExceptionally();
+    responses.get(1).complete(null);
+    assertThat(executed).hasSize(2);
+  }
+
+  @Test
+  public void should_fail_if_binder_fails() {
+    CompletableFuture<Void> result =
+        new BulkExecutor(session, 2, 1, Runnable::run)
+            .executeAsync(
+                ImmutableList.of("a"),
+                s -> {
+                  throw new IllegalArgumentException("mock error");
+                });
+
+    assertThat(result).isCompletedExceptionally();
+    assertThat(executed).isEmpty();
+  }
+
+  @Test
+  public void should_complete_immediately_if_source_is_empty() {
+    CompletableFuture<Void> result =
+        new BulkExecutor(session, 2, 1, Runnable::run)
+            .executeAsync(ImmutableList.<BoundStatement>of(), s -> s);
+
+    assertThat(result).isCompleted();
+    assertThat(executed).isEmpty();
+  }
+
+  @Test
+  public void should_consume_publisher_with_bounded_demand() {
+    List<BoundStatement> statements = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      statements.add(statement(null));
+    }
+    AtomicInteger emitted = new AtomicInteger();
+
+    CompletableFuture<Void> result =
+        new BulkExecutor(session, 2, 1, Runnable::run)
+            .executeAsync(
+                Flowable.fromIterable(statements).doOnNext(s -> emitted.incrementAndGet()), s -> s);
+
+    // The window is 2 * 1: 2 statements are in flight, and 2 more were requested
+    assertThat(executed).hasSize(2);
+    assertThat(emitted.get()).isEqualTo(4);
+
+    while (responses.stream().anyMatch(r -> !r.isDone())) {
+      completeAll();
+    }
+    assertThat(executed).hasSize(10);
+    assertThat(result).isCompleted();
+  }
+
+  @Test
+  public void should_fail_if_publisher_fails() {
+    CompletableFuture<Void> result =
+        new BulkExecutor(session, 2, 1, Runnable::run)
+            .executeAsync(
+                Flowable.<BoundStatement>error(new RuntimeException("mock error")), s -> s);
+
+    assertThat(result).isCompletedExceptionally();
+  }
+
+  @Test
+  public void should_traverse_paging_iterable_on_calling_thread() {
+    AtomicInteger executedCount = new AtomicInteger();
+    ExecutorService ioThread = completeResponsesOnDriverThread(executedCount);
+    try {
+      new BulkExecutor(session, 2, 1).execute(threePageSource(), row -> statement(null));
+    } finally {
+      ioThread.shutdown();
+    }
+
+    // Fetching the next page from the I/O thread that completed a request would have failed
+    assertThat(executedCount.get()).isEqualTo(5);
+  }
+
+  @Test
+  public void should_traverse_paging_iterable_on_source_executor() throws Exception {
+    AtomicInteger executedCount = new AtomicInteger();
+    ExecutorService ioThread = completeResponsesOnDriverThread(executedCount);
+    try {
+      new BulkExecutor(session, 2, 1)
+          .executeAsync(threePageSource(), row -> statement(null))
+          .get(10, TimeUnit.SECONDS);
+    } finally {
+      ioThread.shutdown();
+    }
+
+    assertThat(executedCount.get()).isEqualTo(5);
+  }
+
+  private ExecutorService completeResponsesOnDriverThread(AtomicInteger executedCount) {
+    ExecutorService ioThread =
+        Executors.newSingleThreadExecutor(new BlockingOperation.SafeThreadFactory());
+    when(session.executeAsync(any(Statement.class)))
+        .then(
+            invocation -> {
+              executedCount.incrementAndGet();
+              return CompletableFuture.supplyAsync(() -> null, ioThread);
+            });
+    return ioThread;
+  }
+
+  private static ResultSet threePageSource() {
+    AsyncResultSet page3 = page(null, 1);
+    AsyncResultSet page2 = page(page3, 2);
+    AsyncResultSet page1 = page(page2, 2);
+    return ResultSets.newInstance(page1);
+  }
+
+  private static AsyncResultSet page(AsyncResultSet nextPage, int rowCount) {
+    List<Row> rows = new ArrayList<>();
+    for (int i = 0; i < rowCount; i++) {
+      rows.add(mock(Row.class));
+    }
+    AsyncResultSet page = mock(AsyncResultSet.class);
+    when(page.currentPage()).thenReturn(rows);
+    when(page.remaining()).thenReturn(rowCount);
+    when(page.hasMorePages()).thenReturn(nextPage != null);
+    if (nextPage != null) {
+      when(page.fetchNextPage()).thenReturn(CompletableFuture.completedFuture(nextPage));
+    }
+    return page;
+  }
+
+  private static BoundStatement statement(ByteBuffer routingKey) {
+    BoundStatement statement = mock(BoundStatement.class);
+    when(statement.getRoutingKey()).thenReturn(routingKey);
+    return statement;
+  }
+
+  private void completeAll() {
+    for (CompletableFuture<AsyncResultSet> response : new ArrayList<>(responses)) {
+      response.complete(null);
+    }
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.oss.driver.internal.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.ResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.mapper.MapperContext;
+import com.datastax.oss.driver.api.mapper.entity.EntityHelper;
+import com.datastax.oss.driver.internal.core.cql.ResultSets;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DaoBaseTest {
+
+  private Statement<?> statement;
+  private EntityHelper<String> entityHelper;
+  private AsyncResultSet page1;
+  private DaoBase dao;
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setup() {
+    statement = mock(Statement.class);
+    entityHelper = mock(EntityHelper.class);
+    when(entityHelper.get(any(Row.class)))
+        .then(invocation -> invocation.<Row>getArgument(0).getString(0));
+
+    CqlSession session = mock(CqlSession.class);
+    MapperContext context = mock(MapperContext.class);
+    when(context.getSession()).thenReturn(session);
+    dao = new DaoBase(context) {};
+
+    AsyncResultSet page2 = page(null, "row3");
+    page1 = page(page2, "row1", "row2");
+    ResultSet resultSet = ResultSets.newInstance(page1);
+    when(session.execute(statement)).thenAnswer(invocation -> resultSet);
+  }
+
+  @Test
+  public void should_map_stream_across_pages() {
+    Stream<String> stream = dao.executeAndMapToEntityStream(statement, entityHelper);
+
+    assertThat(stream.collect(Collectors.toList())).containsExactly("row1", "row2", "row3");
+  }
+
+  @Test
+  public void should_fetch_next_page_when_stream_gets_there() {
+    Stream<String> stream = dao.executeAndMapToEntityStream(statement, entityHelper);
+    Iterator<String> iterator = stream.iterator();
+
+    assertThat(iterator.next()).isEqualTo("row1");
+    assertThat(iterator.next()).isEqualTo("row2");
+    verify(page1, never()).fetchNextPage();
+
+    assertThat(iterator.next()).isEqualTo("row3");
+    verify(page1).fetchNextPage();
+    assertThat(iterator.hasNext()).isFalse();
+  }
+
+  private AsyncResultSet page(AsyncResultSet nextPage, String... rowNames) {
+    ImmutableList.Builder<Row> rows = ImmutableList.builder();
+    for (String rowName : rowNames) {
+      Row row = mock(Row.class);
+      when(row.getString(0)).thenReturn(rowName);
+      rows.add(row);
+    }
+    List<Row> currentPage = rows.build();
+    AsyncResultSet page = mock(AsyncResultSet.class);
+    when(page.currentPage()).thenReturn(currentPage);
+    when(page.remaining()).thenReturn(currentPage.size());
+    when(page.hasMorePages()).thenReturn(nextPage != null);
+    if (nextPage != null) {
+      when(page.fetchNextPage()).thenReturn(CompletableFuture.completedFuture(nextPage));
+    }
+    return page;
+  }
+}
@@ -16,11 +16,13 @@
 package com.datastax.oss.driver.api.querybuilder;
 
 import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
 import com.datastax.oss.driver.api.core.cql.SimpleStatement;
 import com.datastax.oss.driver.api.core.cql.SimpleStatementBuilder;
 import com.datastax.oss.driver.api.core.cql.Statement;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 
 /**
  * End state for the query builder DSL, which allows the generation of a CQL query.
@@ -35,6 +37,11 @@ public interface BuildableQuery {
    *
    * <p>Use this if you plan to pass the query to {@link CqlSession#execute(String)} or {@link
    * CqlSession#prepare(String)} without any further customization.
+   *
+   * <p>The built-in implementations are immutable, and compute the string only once (as well as the
+   * statement returned by {@link #build()}). Note that this means that a {@linkplain
+   * QueryBuilder#literal(Object) literal} built from a mutable object is rendered with the value it
+   * had on the first call.
    */
   @NonNull
   String asCql();
@@ -116,4 +123,38 @@ public interface BuildableQuery {
   default SimpleStatementBuilder builder() {
     return SimpleStatement.builder(asCql());
   }
+
+  /**
+   * Prepares the CQL query with the given session, and binds the given values to the resulting
+   * prepared statement.
+   *
+   * <p>This is a shortcut for:
+   *
+   * <pre>{@code
+   * session.prepare(build()).bind(values)
+   * }</pre>
+   *
+   * The session caches prepared statements, so the query is only sent to the server for preparation
+   * the first time; after that, this method only costs a cache lookup, even if the query is built
+   * again for each request. This allows dynamic but repetitive queries to benefit from prepared
+   * statements (server-side parsing done once, token-aware routing, etc.). Keep in mind that, with
+   * the default configuration, the cache only holds prepared statements weakly: see {@code
+   * advanced.prepared-statements.prepared-cache} in the configuration.
+   *
+   * <p>This method blocks until the statement is prepared, it must not be called from a driver
+   * thread. See {@link #prepareAndBindAsync(CqlSession, Object...)} for a non-blocking alternative.
+   */
+  @NonNull
+  default BoundStatement prepareAndBind(@NonNull CqlSession session, @NonNull Object... values) {
+    return session.prepare(build()).bind(values);
+  }
+
+  /**
+   * Same as {@link #prepareAndBind(CqlSession, Object...)}, but prepares the query asynchronously.
+   */
+  @NonNull
+  default CompletionStage<BoundStatement> prepareAndBindAsync(
+      @NonNull CqlSession session, @NonNull Object... values) {
+    return session.prepareAsync(build()).thenApply(prepared -> prepared.bind(values));
+  }
 }
@@ -44,6 +44,10 @@ public class DefaultDelete implements DeleteSelection, Delete {
   private final boolean ifExists;
   private final ImmutableList<Condition> conditions;
 
+  // Memoized, see DefaultSelect
+  private String cql;
+  private SimpleStatement statement;
+
   public DefaultDelete(@Nullable CqlIdentifier keyspace, @NonNull CqlIdentifier table) {
     this(keyspace, table, ImmutableList.of(), ImmutableList.of(), null, false, ImmutableList.of());
   }
@@ -143,6 +147,15 @@ public class DefaultDelete implements DeleteSelection, Delete {
   @NonNull
   @Override
   public String asCql() {
+    String result = cql;
+    if (result == null) {
+      result = cql = computeCql();
+    }
+    return result;
+  }
+
+  @NonNull
+  private String computeCql() {
     StringBuilder builder = new StringBuilder("DELETE");
 
     CqlHelper.append(selectors, builder, " ", ",", null);
@@ -172,7 +185,11 @@ public class DefaultDelete implements DeleteSelection, Delete {
   @NonNull
   @Override
   public SimpleStatement build() {
-    return builder().build();
+    SimpleStatement result = statement;
+    if (result == null) {
+      result = statement = builder().build();
+    }
+    return result;
   }
 
   @NonNull
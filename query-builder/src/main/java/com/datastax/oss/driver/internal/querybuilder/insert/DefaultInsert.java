@@ -52,6 +52,10 @@ public class DefaultInsert implements InsertInto, RegularInsert, JsonInsert {
   private final Object ttlInSeconds;
   private final boolean ifNotExists;
 
+  // Memoized, see DefaultSelect
+  private String cql;
+  private SimpleStatement statement;
+
   public DefaultInsert(@Nullable CqlIdentifier keyspace, @NonNull CqlIdentifier table) {
     this(keyspace, table, null, null, ImmutableMap.of(), null, null, false);
   }
@@ -251,6 +255,15 @@ public class DefaultInsert implements InsertInto, RegularInsert, JsonInsert {
   @NonNull
   @Override
   public String asCql() {
+    String result = cql;
+    if (result == null) {
+      result = cql = computeCql();
+    }
+    return result;
+  }
+
+  @NonNull
+  private String computeCql() {
     StringBuilder builder = new StringBuilder("INSERT INTO ");
     CqlHelper.qualify(keyspace, table, builder);
 
@@ -291,7 +304,11 @@ public class DefaultInsert implements InsertInto, RegularInsert, JsonInsert {
   @NonNull
   @Override
   public SimpleStatement build() {
-    return builder().build();
+    SimpleStatement result = statement;
+    if (result == null) {
+      result = statement = builder().build();
+    }
+    return result;
   }
 
   @NonNull
@@ -51,6 +51,13 @@ public class DefaultSelect implements SelectFrom, Select {
   private final Object perPartitionLimit;
   private final boolean allowsFiltering;
 
+  // Memoized results of asCql() and build(). This object is immutable, so they never change.
+  // Racy single-check (like String.hashCode()): concurrent callers might compute them more than
+  // once, but String and DefaultSimpleStatement only have final fields, so they are always safely
+  // published.
+  private String cql;
+  private SimpleStatement statement;
+
   public DefaultSelect(@Nullable CqlIdentifier keyspace, @NonNull CqlIdentifier table) {
     this(
         keyspace,
@@ -371,6 +378,15 @@ public class DefaultSelect implements SelectFrom, Select {
   @NonNull
   @Override
   public String asCql() {
+    String result = cql;
+    if (result == null) {
+      result = cql = computeCql();
+    }
+    return result;
+  }
+
+  @NonNull
+  private String computeCql() {
     StringBuilder builder = new StringBuilder();
 
     builder.append("SELECT");
@@ -428,7 +444,11 @@ public class DefaultSelect implements SelectFrom, Select {
   @NonNull
   @Override
   public SimpleStatement build() {
-    return builder().build();
+    SimpleStatement result = statement;
+    if (result == null) {
+      result = statement = builder().build();
+    }
+    return result;
   }
 
   @NonNull
@@ -28,6 +28,10 @@ public class DefaultTruncate implements Truncate {
   private final CqlIdentifier keyspace;
   private final CqlIdentifier table;
 
+  // Memoized, see DefaultSelect
+  private String cql;
+  private SimpleStatement statement;
+
   public DefaultTruncate(@Nullable CqlIdentifier keyspace, @NonNull CqlIdentifier table) {
     this.keyspace = keyspace;
     this.table = table;
@@ -36,6 +40,15 @@ public class DefaultTruncate implements Truncate {
   @NonNull
   @Override
   public String asCql() {
+    String result = cql;
+    if (result == null) {
+      result = cql = computeCql();
+    }
+    return result;
+  }
+
+  @NonNull
+  private String computeCql() {
     StringBuilder builder = new StringBuilder();
     builder.append("TRUNCATE ");
     CqlHelper.qualify(keyspace, table, builder);
@@ -65,6 +78,10 @@ public class DefaultTruncate implements Truncate {
   @NonNull
   @Override
   public SimpleStatement build() {
-    return builder().build();
+    SimpleStatement result = statement;
+    if (result == null) {
+      result = statement = builder().build();
+    }
+    return result;
   }
 }
@@ -46,6 +46,10 @@ public class DefaultUpdate implements UpdateStart, UpdateWithAssignments, Update
   private final boolean ifExists;
   private final ImmutableList<Condition> conditions;
 
+  // Memoized, see DefaultSelect
+  private String cql;
+  private SimpleStatement statement;
+
   public DefaultUpdate(@Nullable CqlIdentifier keyspace, @NonNull CqlIdentifier table) {
     this(
         keyspace,
@@ -178,6 +182,15 @@ public class DefaultUpdate implements UpdateStart, UpdateWithAssignments, Update
   @NonNull
   @Override
   public String asCql() {
+    String result = cql;
+    if (result == null) {
+      result = cql = computeCql();
+    }
+    return result;
+  }
+
+  @NonNull
+  private String computeCql() {
     StringBuilder builder = new StringBuilder("UPDATE ");
     CqlHelper.qualify(keyspace, table, builder);
 
@@ -214,7 +227,11 @@ public class DefaultUpdate implements UpdateStart, UpdateWithAssignments, Update
   @NonNull
   @Override
   public SimpleStatement build() {
-    return builder().build();
+    SimpleStatement result = statement;
+    if (result == null) {
+      result = statement = builder().build();
+    }
+    return result;
   }
 
   @NonNull
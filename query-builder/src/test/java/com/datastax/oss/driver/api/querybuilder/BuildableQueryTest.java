@@ -23,16 +23,25 @@ import static com.datastax.oss.driver.api.querybuilder.QueryBuilder.selectFrom;
 import static com.datastax.oss.driver.api.querybuilder.QueryBuilder.tuple;
 import static com.datastax.oss.driver.api.querybuilder.QueryBuilder.update;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
 import com.datastax.oss.driver.api.core.cql.SimpleStatement;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
 import com.tngtech.java.junit.dataprovider.DataProvider;
 import com.tngtech.java.junit.dataprovider.DataProviderRunner;
 import com.tngtech.java.junit.dataprovider.UseDataProvider;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 
 @RunWith(DataProviderRunner.class)
 public class BuildableQueryTest {
@@ -150,4 +159,41 @@ public class BuildableQueryTest {
     assertThat(statement.getPositionalValues()).containsExactly(positionalValues);
     assertThat(statement.getNamedValues()).isEmpty();
   }
+
+  @Test
+  @UseDataProvider("sampleQueries")
+  public void should_memoize_query_string_and_statement(
+      BuildableQuery query,
+      @SuppressWarnings("unused") Map<String, Object> boundValues,
+      @SuppressWarnings("unused") String expectedQueryString,
+      @SuppressWarnings("unused") boolean expectedIdempotence) {
+    assertThat(query.asCql()).isSameAs(query.asCql());
+    assertThat(query.build()).isSameAs(query.build());
+  }
+
+  @Test
+  @UseDataProvider("sampleQueries")
+  public void should_prepare_and_bind(
+      BuildableQuery query,
+      Map<String, Object> boundValues,
+      String expectedQueryString,
+      boolean expectedIdempotence) {
+    CqlSession session = mock(CqlSession.class);
+    PreparedStatement preparedStatement = mock(PreparedStatement.class);
+    BoundStatement boundStatement = mock(BoundStatement.class);
+    when(session.prepare(any(SimpleStatement.class))).thenReturn(preparedStatement);
+    when(session.prepareAsync(any(SimpleStatement.class)))
+        .thenReturn(CompletableFuture.completedFuture(preparedStatement));
+    Object[] positionalValues = boundValues.values().toArray();
+    when(preparedStatement.bind(positionalValues)).thenReturn(boundStatement);
+
+    assertThat(query.prepareAndBind(session, positionalValues)).isSameAs(boundStatement);
+    assertThat(query.prepareAndBindAsync(session, positionalValues).toCompletableFuture())
+        .isCompletedWithValue(boundStatement);
+
+    ArgumentCaptor<SimpleStatement> captor = ArgumentCaptor.forClass(SimpleStatement.class);
+    verify(session).prepare(captor.capture());
+    assertThat(captor.getValue().getQuery()).isEqualTo(expectedQueryString);
+    assertThat(captor.getValue().isIdempotent()).isEqualTo(expectedIdempotence);
+  }
 }